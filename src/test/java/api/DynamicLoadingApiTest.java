@@ -1,11 +1,13 @@
 package api;
 
+import apiandui.EnvConfig;
 import com.microsoft.playwright.*;
 import com.microsoft.playwright.options.WaitForSelectorState;
+import org.aeonbits.owner.ConfigFactory;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
-
-import java.nio.file.Paths;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import reports.tracing.TraceOnFailure;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
@@ -17,17 +19,21 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
  * @since 2025-03-22
  */
 public class DynamicLoadingApiTest {
+    private final EnvConfig config = ConfigFactory.create(EnvConfig.class, System.getProperties());
     private Playwright playwright;
     private Browser browser;
     private Page page;
 
+    @RegisterExtension
+    TraceOnFailure trace = new TraceOnFailure();
+
     /**
      * Тест проверки динамического контента:
      * 1. Инициализация браузера с включенной трассировкой
      * 2. Переход на тестовую страницу
      * 3. Мониторинг сетевых ответов с валидацией статусов
      * 4. Взаимодействие с элементами интерфейса
-     * 5. Сохранение трассировочных данных при успешном выполнении
+     * 5. Трассировка сохраняется в target/traces только при ошибке (см. {@link TraceOnFailure})
      */
     @Test
     void testDynamicLoading() {
@@ -35,11 +41,10 @@ public class DynamicLoadingApiTest {
         browser = playwright.chromium().launch();
         BrowserContext context = browser.newContext();
 
-        context.tracing().start(new Tracing.StartOptions()
-                .setScreenshots(true));
+        trace.start(context);
 
         page = context.newPage();
-        page.navigate("https://the-internet.herokuapp.com/dynamic_loading/1");
+        page.navigate(config.baseUrl() + "/dynamic_loading/1");
 
         page.onResponse(response -> {
             if (response.url().contains("/dynamic_loading")) {
@@ -55,9 +60,6 @@ public class DynamicLoadingApiTest {
 
         assertEquals("Hello World!", finishText.textContent().trim(),
                 "Текст элемента не соответствует ожидаемому");
-
-        context.tracing().stop(new Tracing.StopOptions()
-                .setPath(Paths.get("trace/trace-success.zip")));
     }
 
     /**
@@ -19,4 +19,49 @@ public interface EnvConfig extends org.aeonbits.owner.Config {
     @Key("base.url")
     @DefaultValue("https://the-internet.herokuapp.com")
     String baseUrl();
-}
\ No newline at end of file
+
+    /**
+     * Возвращает тип браузера, который запускает пул браузеров по умолчанию.
+     *
+     * @return имя браузера (chromium, firefox или webkit)
+     */
+    @Key("browser.name")
+    @DefaultValue("chromium")
+    String browserName();
+
+    /**
+     * Определяет, запускать ли браузеры пула без графического интерфейса.
+     *
+     * @return true для headless-режима
+     */
+    @Key("browser.headless")
+    @DefaultValue("false")
+    boolean headless();
+
+    /**
+     * Возвращает режим записи и воспроизведения сетевого трафика тестов через HAR.
+     *
+     * @return off, record, replay или auto (см. browserpool.HarArchive)
+     */
+    @Key("har.mode")
+    @DefaultValue("off")
+    String harMode();
+
+    /**
+     * Возвращает каталог HAR-файлов тестовых классов.
+     *
+     * @return путь к каталогу
+     */
+    @Key("har.dir")
+    @DefaultValue(".test-history/har")
+    String harDir();
+
+    /**
+     * Возвращает возраст HAR-файла, после которого в режиме auto он перезаписывается.
+     *
+     * @return возраст в часах
+     */
+    @Key("har.max-age-hours")
+    @DefaultValue("24")
+    int harMaxAgeHours();
+}
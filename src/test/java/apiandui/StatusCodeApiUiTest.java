@@ -1,7 +1,10 @@
 package apiandui;
 
 import com.microsoft.playwright.*;
+import org.aeonbits.owner.ConfigFactory;
 import org.junit.jupiter.api.*;
+import waits.AdaptiveTimeouts;
+
 import java.nio.file.Paths;
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -14,6 +17,7 @@ import static org.junit.jupiter.api.Assertions.*;
  * @since 2025-03-25
  */
 public class StatusCodeApiUiTest {
+    private final EnvConfig config = ConfigFactory.create(EnvConfig.class, System.getProperties());
     private Playwright playwright;
     private APIRequestContext apiRequest;
     private Browser browser;
@@ -23,7 +27,7 @@ public class StatusCodeApiUiTest {
      * Инициализация тестового окружения:
      * 1. Создание контекста для API-запросов с базовым URL
      * 2. Запуск браузера Chromium с задержкой действий (slowMo) и графическим интерфейсом
-     * 3. Настройка страницы с увеличенным таймаутом по умолчанию
+     * 3. Настройка страницы с увеличенным таймаутом по умолчанию, ограниченным верхней границей адаптивных таймаутов
      * 4. Навигация на стартовую страницу статус-кодов
      */
     @BeforeEach
@@ -32,7 +36,7 @@ public class StatusCodeApiUiTest {
 
         apiRequest = playwright.request().newContext(
                 new APIRequest.NewContextOptions()
-                        .setBaseURL("https://the-internet.herokuapp.com")
+                        .setBaseURL(config.baseUrl())
         );
 
         browser = playwright.chromium().launch(
@@ -42,8 +46,8 @@ public class StatusCodeApiUiTest {
         );
 
         page = browser.newPage();
-        page.setDefaultTimeout(60000);
-        page.navigate("https://the-internet.herokuapp.com/status_codes");
+        page.setDefaultTimeout(AdaptiveTimeouts.pageDefault(60000));
+        page.navigate(config.baseUrl() + "/status_codes");
         page.waitForSelector("div.example");
     }
 
@@ -6,6 +6,9 @@ import org.aeonbits.owner.ConfigFactory;
 import org.junit.jupiter.api.*;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
+import screenshotandvideo.ScreenshotService;
+import waits.AdaptiveTimeouts;
+
 import java.nio.file.Paths;
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -36,7 +39,7 @@ public class StatusCodeCombinedTest {
      * Инициализация тестового окружения перед каждым тестом:
      * 1. Создание контекста для API-запросов с базовым URL из конфигурации
      * 2. Запуск браузера Chromium с графическим интерфейсом и задержкой действий
-     * 3. Настройка страницы с увеличенным таймаутом
+     * 3. Настройка страницы с увеличенным таймаутом, ограниченным верхней границей адаптивных таймаутов
      */
     @BeforeEach
     void setup() {
@@ -54,7 +57,7 @@ public class StatusCodeCombinedTest {
         );
 
         page = browser.newPage();
-        page.setDefaultTimeout(40000);
+        page.setDefaultTimeout(AdaptiveTimeouts.pageDefault(40000));
     }
 
     /**
@@ -116,8 +119,8 @@ public class StatusCodeCombinedTest {
 
             return response.status();
         } catch (Exception e) {
-            page.screenshot(new Page.ScreenshotOptions()
-                    .setPath(Paths.get("screenshots/error-%d-%d.png".formatted(code, System.currentTimeMillis()))));
+            ScreenshotService.shared().capture(page, ScreenshotService.Shot.png(
+                    Paths.get("screenshots/error-%d-%d.png".formatted(code, System.currentTimeMillis()))));
             throw new RuntimeException("Ошибка UI проверки для кода " + code, e);
         }
     }
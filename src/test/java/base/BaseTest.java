@@ -1,43 +1,34 @@
 package base;
 
+import browserpool.BrowserPoolExtension;
 import com.microsoft.playwright.*;
-import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.extension.ExtendWith;
 
 /**
  * Базовый класс для настройки тестового окружения с использованием Playwright.
  * Обеспечивает общую конфигурацию браузера и страницы для всех наследующих тестовых классов.
+ * Браузер берется из общего пула {@link BrowserPoolExtension} и не перезапускается между тестами.
  *
  * @author Oleg Todor
  * @since 2025-03-16
  */
+@ExtendWith(BrowserPoolExtension.class)
 public class BaseTest {
-    Playwright playwright;
-    Browser browser;
     BrowserContext context;
     public Page page;
 
     /**
      * Инициализация тестового окружения перед каждым тестом:
-     * 1. Создание экземпляра Playwright
-     * 2. Запуск браузера Chromium в режиме с графическим интерфейсом
-     * 3. Создание нового контекста браузера
-     * 4. Открытие новой страницы для тестирования
+     * 1. Получение прогретого браузера текущего потока из пула
+     * 2. Создание нового контекста браузера
+     * 3. Открытие новой страницы для тестирования
+     *
+     * Контекст закрывается расширением автоматически после завершения теста.
      */
     @BeforeEach
-    void setUp() {
-        playwright = Playwright.create();
-        browser = playwright.chromium().launch(new BrowserType.LaunchOptions().setHeadless(false));
-        context = browser.newContext();
-        page = context.newPage();
+    void setUp(BrowserContext context, Page page) {
+        this.context = context;
+        this.page = page;
     }
-
-    /**
-     * Завершение работы тестового окружения после каждого теста:
-     * Освобождение ресурсов Playwright и связанных компонентов
-     */
-    @AfterEach
-    void tearDown() {
-        playwright.close();
-    }
-}
\ No newline at end of file
+}
@@ -0,0 +1,240 @@
+package browserpool;
+
+import com.microsoft.playwright.APIResponse;
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.Request;
+import com.microsoft.playwright.Route;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+
+
+/**
+ * Общий для всех контекстов прогона кеш статических ресурсов (стили, скрипты, изображения, шрифты),
+ * подключаемый к контексту через {@code context.route}. Новый контекст браузера начинается с пустого
+ * HTTP-кеша, и без общего кеша каждый из сотен контекстов заново скачивает одни и те же ресурсы.
+ *
+ * Обработка GET-запроса статического ресурса:
+ * 1. Свежая запись (моложе ttl) отдается из памяти без обращения к сети
+ * 2. Устаревшая запись с ETag или Last-Modified проверяется условным запросом; ответ 304 продлевает запись
+ * 3. Иначе ответ загружается через {@code route.fetch()} и сохраняется, если он 200 и не помечен no-store/private
+ *    и не устанавливает cookies
+ * Остальные запросы передаются дальше через {@code route.fallback()}, поэтому маршруты самого теста,
+ * зарегистрированные позже, имеют приоритет.
+ *
+ * Ключ записи - URL ресурса, валидаторы хранятся вместе с ответом. Размер кеша ограничен в байтах тел ответов,
+ * при превышении вытесняются давно не использованные записи (LRU). Записи потокобезопасны: обработчики
+ * маршрутов выполняются в рабочих потоках разных браузеров.
+ *
+ * @since 2026-10-18
+ */
+public class AssetCache {
+    private static final Set<String> STATIC_TYPES = Set.of("stylesheet", "script", "image", "font");
+    private static final Set<String> BODY_HEADERS = Set.of("content-encoding", "content-length", "transfer-encoding");
+
+    private final long maxBytes;
+    private final Duration ttl;
+    private final Clock clock;
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long bytes;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder revalidated = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder bytesSaved = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Сохраненный ответ.
+     *
+     * @param status       HTTP-статус
+     * @param headers      заголовки ответа
+     * @param body         тело ответа
+     * @param etag         валидатор ETag или null
+     * @param lastModified валидатор Last-Modified или null
+     * @param storedAt     момент загрузки или последней проверки, мс
+     */
+    public record Entry(int status, Map<String, String> headers, byte[] body, String etag, String lastModified,
+                        long storedAt) {
+        boolean revalidatable() {
+            return etag != null || lastModified != null;
+        }
+
+        Entry touch(long now) {
+            return new Entry(status, headers, body, etag, lastModified, now);
+        }
+    }
+
+    /**
+     * @param maxBytes предельный суммарный размер тел ответов
+     * @param ttl      время, в течение которого запись отдается без проверки
+     * @param clock    часы для проверки свежести
+     */
+    public AssetCache(long maxBytes, Duration ttl, Clock clock) {
+        this.maxBytes = maxBytes;
+        this.ttl = ttl;
+        this.clock = clock;
+    }
+
+    /**
+     * Подключает кеш к контексту. Вызывается для нового контекста и после каждой очистки контекста пулом,
+     * так как очистка снимает все маршруты.
+     *
+     * @param context контекст браузера
+     */
+    public void install(BrowserContext context) {
+        context.route("**/*", this::handle);
+    }
+
+    private void handle(Route route) {
+        Request request = route.request();
+        if (!"GET".equals(request.method()) || !STATIC_TYPES.contains(request.resourceType())) {
+            route.fallback();
+            return;
+        }
+        String url = request.url();
+        Entry cached = lookup(url);
+        long now = clock.millis();
+        if (cached != null && fresh(cached, now)) {
+            hit(cached, hits);
+            route.fulfill(fulfill(cached));
+            return;
+        }
+        Route.FetchOptions options = new Route.FetchOptions();
+        if (cached != null && cached.revalidatable()) {
+            Map<String, String> headers = new HashMap<>(request.headers());
+            if (cached.etag() != null) {
+                headers.put("if-none-match", cached.etag());
+            }
+            if (cached.lastModified() != null) {
+                headers.put("if-modified-since", cached.lastModified());
+            }
+            options.setHeaders(headers);
+        }
+        APIResponse response = route.fetch(options);
+        if (cached != null && response.status() == 304) {
+            store(url, cached.touch(now));
+            hit(cached, revalidated);
+            route.fulfill(fulfill(cached));
+            return;
+        }
+        misses.increment();
+        Map<String, String> headers = response.headers();
+        if (response.status() == 200 && cacheable(headers)) {
+            store(url, new Entry(200, replayable(headers), response.body(), headers.get("etag"),
+                    headers.get("last-modified"), now));
+        }
+        route.fulfill(new Route.FulfillOptions().setResponse(response));
+    }
+
+    /**
+     * @param url URL ресурса
+     * @return запись кеша или null; найденная запись становится последней использованной
+     */
+    synchronized Entry lookup(String url) {
+        return entries.get(url);
+    }
+
+    /**
+     * Сохраняет запись и вытесняет давно не использованные, пока кеш не уложится в предел.
+     * Запись больше четверти предела не сохраняется, чтобы один ресурс не вытеснял весь кеш.
+     *
+     * @param url   URL ресурса
+     * @param entry ответ
+     */
+    synchronized void store(String url, Entry entry) {
+        if (entry.body().length > maxBytes / 4) {
+            return;
+        }
+        Entry previous = entries.put(url, entry);
+        bytes += entry.body().length - (previous == null ? 0 : previous.body().length);
+        Iterator<Map.Entry<String, Entry>> eldest = entries.entrySet().iterator();
+        while (bytes > maxBytes && eldest.hasNext()) {
+            bytes -= eldest.next().getValue().body().length;
+            eldest.remove();
+            evictions.increment();
+        }
+    }
+
+    boolean fresh(Entry entry, long now) {
+        return now - entry.storedAt() < ttl.toMillis();
+    }
+
+    private void hit(Entry entry, LongAdder counter) {
+        counter.increment();
+        bytesSaved.add(entry.body().length);
+    }
+
+    private static Route.FulfillOptions fulfill(Entry entry) {
+        return new Route.FulfillOptions()
+                .setStatus(entry.status())
+                .setHeaders(entry.headers())
+                .setBodyBytes(entry.body());
+    }
+
+    /**
+     * Заголовки для повторной отдачи из кеша. {@code response.body()} уже распакован, поэтому заголовки
+     * сжатия и длины исходного ответа не соответствуют сохраненному телу и отбрасываются.
+     *
+     * @param headers заголовки ответа
+     * @return заголовки без content-encoding, content-length и transfer-encoding
+     */
+    static Map<String, String> replayable(Map<String, String> headers) {
+        Map<String, String> replayable = new HashMap<>();
+        headers.forEach((name, value) -> {
+            if (!BODY_HEADERS.contains(name.toLowerCase(Locale.ROOT))) {
+                replayable.put(name, value);
+            }
+        });
+        return replayable;
+    }
+
+    private static boolean cacheable(Map<String, String> headers) {
+        String cacheControl = headers.getOrDefault("cache-control", "").toLowerCase(Locale.ROOT);
+        return !cacheControl.contains("no-store") && !cacheControl.contains("private")
+                && !headers.containsKey("set-cookie");
+    }
+
+    /**
+     * Доля запросов, обслуженных из кеша, включая подтвержденные ответом 304.
+     *
+     * @return значение от 0 до 1
+     */
+    public double hitRatio() {
+        long served = hits.sum() + revalidated.sum();
+        long total = served + misses.sum();
+        return total == 0 ? 0 : (double) served / total;
+    }
+
+    public long bytesSaved() {
+        return bytesSaved.sum();
+    }
+
+    public long evictions() {
+        return evictions.sum();
+    }
+
+    synchronized long bytes() {
+        return bytes;
+    }
+
+    /**
+     * Формирует итоговую строку для вывода в конце прогона.
+     *
+     * @return текстовая сводка по кешу
+     */
+    public String summary() {
+        return String.format(
+                "Кеш статических ресурсов: попаданий %d, подтверждено 304 %d, промахов %d (доля попаданий %.0f%%), "
+                        + "сэкономлено %.1f МБ, вытеснений %d, занято %.1f МБ",
+                hits.sum(), revalidated.sum(), misses.sum(), hitRatio() * 100, bytesSaved() / 1048576.0,
+                evictions(), bytes() / 1048576.0);
+    }
+}
@@ -0,0 +1,80 @@
+package browserpool;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+/**
+ * Тестовый класс для проверки вытеснения и свежести записей кеша статических ресурсов без запуска браузера.
+ *
+ * @since 2026-10-18
+ */
+public class AssetCacheTest {
+
+    /**
+     * Проверяет LRU-вытеснение по размеру:
+     * 1. При превышении предела вытесняется давно не использованная запись
+     * 2. Обращение к записи защищает ее от вытеснения
+     * 3. Слишком большой ответ не сохраняется
+     */
+    @Test
+    void testLeastRecentlyUsedEntriesAreEvictedBySize() {
+        AssetCache cache = new AssetCache(1000, Duration.ofMinutes(1), Clock.systemUTC());
+        cache.store("/css/app.css", entry(200));
+        cache.store("/js/app.js", entry(200));
+        cache.store("/img/avatar-1.jpg", entry(200));
+        cache.lookup("/css/app.css");
+
+        cache.store("/img/avatar-2.jpg", entry(200));
+        cache.store("/img/avatar-3.jpg", entry(200));
+        cache.store("/img/avatar-4.jpg", entry(200));
+
+        assertNotNull(cache.lookup("/css/app.css"), "Недавно использованная запись не должна вытесняться");
+        assertNull(cache.lookup("/js/app.js"));
+        assertEquals(1, cache.evictions());
+        assertEquals(1000, cache.bytes());
+
+        cache.store("/img/huge.png", entry(300));
+        assertNull(cache.lookup("/img/huge.png"), "Запись больше четверти кеша не должна сохраняться");
+    }
+
+    /**
+     * Проверяет, что запись отдается без проверки только в пределах ttl.
+     */
+    @Test
+    void testEntriesExpireAfterTtl() {
+        Instant now = Instant.parse("2026-10-18T12:00:00Z");
+        AssetCache cache = new AssetCache(1000, Duration.ofSeconds(30), Clock.fixed(now, ZoneOffset.UTC));
+        AssetCache.Entry entry = new AssetCache.Entry(200, Map.of(), new byte[10], "\"v1\"", null,
+                now.minusSeconds(10).toEpochMilli());
+
+        assertTrue(cache.fresh(entry, now.toEpochMilli()));
+        assertFalse(cache.fresh(entry, now.plusSeconds(25).toEpochMilli()));
+        assertTrue(entry.revalidatable());
+        assertEquals(0, cache.hitRatio());
+    }
+
+    private static AssetCache.Entry entry(int size) {
+        return new AssetCache.Entry(200, Map.of("content-type", "image/jpeg"), new byte[size], null, null, 0);
+    }
+
+    /**
+     * Проверяет, что из кеша не отдаются заголовки сжатия и длины исходного ответа,
+     * так как сохраненное тело уже распаковано
+     */
+    @Test
+    void testEncodingHeadersAreNotReplayed() {
+        Map<String, String> headers = AssetCache.replayable(Map.of(
+                "content-type", "text/css", "content-encoding", "gzip", "Content-Length", "512",
+                "transfer-encoding", "chunked", "etag", "\"v1\""));
+
+        assertEquals(Map.of("content-type", "text/css", "etag", "\"v1\""), headers);
+    }
+}
@@ -0,0 +1,57 @@
+package browserpool;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+
+/**
+ * Блокирует загрузку ресурсов, которые не нужны проверкам теста, в контексте из {@link BrowserPoolExtension}.
+ * Аннотация на методе заменяет аннотацию класса; у вложенных классов учитываются внешние.
+ * Перед тестом набор типов компилируется в один фильтр маршрутов {@link ResourceFilter}.
+ *
+ * Пример: {@code @BlockResources({IMAGE, FONT, MEDIA, THIRD_PARTY})}
+ *
+ * @since 2026-10-18
+ */
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Inherited
+public @interface BlockResources {
+
+    /**
+     * @return блокируемые виды ресурсов
+     */
+    Kind[] value();
+
+    /**
+     * Вид блокируемого ресурса.
+     */
+    enum Kind {
+        /** Изображения */
+        IMAGE("image"),
+        /** Шрифты */
+        FONT("font"),
+        /** Аудио и видео */
+        MEDIA("media"),
+        /** Таблицы стилей */
+        STYLESHEET("stylesheet"),
+        /** Любые подресурсы с хостов, отличных от base.url */
+        THIRD_PARTY(null);
+
+        private final String resourceType;
+
+        Kind(String resourceType) {
+            this.resourceType = resourceType;
+        }
+
+        /**
+         * @return тип ресурса Playwright ({@code Request.resourceType()}) или null для THIRD_PARTY
+         */
+        public String resourceType() {
+            return resourceType;
+        }
+    }
+}
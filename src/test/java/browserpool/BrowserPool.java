@@ -0,0 +1,168 @@
+package browserpool;
+
+import apiandui.EnvConfig;
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.BrowserType;
+import org.aeonbits.owner.ConfigFactory;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import parallel.BrowserFootprint;
+
+import java.util.List;
+import java.util.function.Function;
+
+
+/**
+ * Пул браузеров, живущий на протяжении всего прогона тестов.
+ * Каждый рабочий поток JUnit получает через {@link PlaywrightRegistry} собственный экземпляр
+ * Playwright и по одному прогретому браузеру каждого типа, так как объекты Playwright не потокобезопасны.
+ * Тесты получают из пула только контексты, которые создаются на порядок быстрее браузера
+ * и переиспользуются через {@link ContextPool}.
+ *
+ * При заданных {@link BrowserServers} браузеры не запускаются в этой JVM: рабочие потоки
+ * подключаются к общему для всех форков Surefire серверу браузера.
+ * При заданном {@link AssetCache} все контексты пула получают статические ресурсы из общего кеша.
+ *
+ * @since 2026-10-18
+ */
+public class BrowserPool implements ExtensionContext.Store.CloseableResource {
+    private final EnvConfig config = ConfigFactory.create(EnvConfig.class, System.getProperties());
+    private final PoolMetrics metrics = new PoolMetrics();
+    private final ContextPool contexts;
+    private final PlaywrightRegistry registry;
+    private final BrowserServers servers;
+    private final AssetCache assets;
+
+    /**
+     * @param maxIdleContexts максимальное число свободных контекстов в пуле
+     * @param maxContextUses  число тестов, после которого контекст пересоздается
+     * @param affinity        режим контроля обращений из чужих потоков
+     */
+    public BrowserPool(int maxIdleContexts, int maxContextUses, PlaywrightRegistry.Affinity affinity) {
+        this(maxIdleContexts, maxContextUses, affinity, null);
+    }
+
+    /**
+     * @param maxIdleContexts максимальное число свободных контекстов в пуле
+     * @param maxContextUses  число тестов, после которого контекст пересоздается
+     * @param affinity        режим контроля обращений из чужих потоков
+     * @param servers         общие для форков серверы браузеров или null для запуска браузеров в этой JVM
+     */
+    public BrowserPool(int maxIdleContexts, int maxContextUses, PlaywrightRegistry.Affinity affinity,
+                       BrowserServers servers) {
+        this(maxIdleContexts, maxContextUses, affinity, servers, null);
+    }
+
+    /**
+     * @param maxIdleContexts максимальное число свободных контекстов в пуле
+     * @param maxContextUses  число тестов, после которого контекст пересоздается
+     * @param affinity        режим контроля обращений из чужих потоков
+     * @param servers         общие для форков серверы браузеров или null для запуска браузеров в этой JVM
+     * @param assets          общий кеш статических ресурсов или null без кеширования
+     */
+    public BrowserPool(int maxIdleContexts, int maxContextUses, PlaywrightRegistry.Affinity affinity,
+                       BrowserServers servers, AssetCache assets) {
+        this.servers = servers;
+        this.assets = assets;
+        this.contexts = new ContextPool(maxIdleContexts, maxContextUses, metrics);
+        if (assets != null) {
+            contexts.setContextSetup(assets::install);
+        }
+        BrowserType.LaunchOptions options = new BrowserType.LaunchOptions().setHeadless(config.headless());
+        Function<BrowserType, Browser> launcher = servers == null
+                ? type -> type.launch(options)
+                : type -> type.connect(servers.endpoint(type.name()));
+        this.registry = new PlaywrightRegistry(affinity, launcher, metrics, contexts::prewarm, contexts::discard);
+        contexts.setAffinityCheck(registry::checkOwner);
+    }
+
+    /**
+     * Возвращает браузер по умолчанию из конфигурации для текущего потока.
+     *
+     * @return прогретый экземпляр браузера
+     */
+    public Browser browser() {
+        return browser(config.browserName());
+    }
+
+    /**
+     * Возвращает браузер указанного типа для текущего потока.
+     * При первом обращении из потока запускает Playwright и сам браузер.
+     *
+     * @param name тип браузера (chromium/firefox/webkit)
+     * @return прогретый экземпляр браузера
+     */
+    public Browser browser(String name) {
+        return registry.browser(name);
+    }
+
+    /**
+     * Выдает очищенный контекст браузера текущего потока из пула контекстов.
+     *
+     * @param browser браузер, полученный из этого пула
+     * @return контекст, который необходимо вернуть через {@link #release(ContextPool.PooledContext, boolean)}
+     */
+    public ContextPool.PooledContext acquire(Browser browser) {
+        long start = System.nanoTime();
+        ContextPool.PooledContext context = contexts.acquire(browser);
+        metrics.contextCreated(System.nanoTime() - start);
+        return context;
+    }
+
+    /**
+     * Возвращает контекст в пул после завершения теста.
+     *
+     * @param context контекст, полученный из {@link #acquire(Browser)}
+     * @param failed  true, если тест завершился ошибкой
+     */
+    public void release(ContextPool.PooledContext context, boolean failed) {
+        contexts.release(context, failed);
+    }
+
+    /**
+     * Возвращает и обнуляет длительность запуска браузера, произошедшего в текущем потоке
+     * с момента предыдущего вызова. Позволяет отнести стоимость запуска к конкретному тесту.
+     *
+     * @return наносекунды запуска или 0, если браузер уже был прогрет
+     */
+    long takeLaunchNanos() {
+        return registry.takeLaunchNanos();
+    }
+
+    public PoolMetrics metrics() {
+        return metrics;
+    }
+
+    /**
+     * Завершение прогона:
+     * 1. Закрытие всех экземпляров Playwright вместе с их браузерами
+     * 2. Отключение от общих серверов браузеров или вывод памяти браузеров форка: невостребованные прогретые
+     *    браузеры закрываются до замера, драйверы Playwright в него не входят, а средняя память одного браузера
+     *    сохраняется для подбора параллелизма следующего прогона
+     * 3. Вывод итоговой статистики запусков, контекстов и нарушений привязки к потокам
+     */
+    @Override
+    public void close() {
+        long pid = ProcessHandle.current().pid();
+        List<Long> browsers = List.of();
+        if (servers == null) {
+            BrowserPrewarmer.discardUnclaimed();
+            browsers = ProcessMemory.browsers(pid);
+        }
+        registry.closeAll();
+        if (servers != null) {
+            servers.close();
+        } else if (!browsers.isEmpty()) {
+            long total = browsers.stream().mapToLong(Long::longValue).sum();
+            System.out.printf("Память браузеров форка %d: %d МБ, браузеров %d%n",
+                    pid, ProcessMemory.toMegabytes(total), browsers.size());
+            BrowserFootprint.record(total / browsers.size());
+        }
+        System.out.println(metrics.summary());
+        if (assets != null) {
+            System.out.println(assets.summary());
+        }
+        if (registry.violations() > 0) {
+            System.out.println("Обращений к объектам Playwright из чужих потоков: " + registry.violations());
+        }
+    }
+}
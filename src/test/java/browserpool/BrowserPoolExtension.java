@@ -0,0 +1,267 @@
+package browserpool;
+
+import apiandui.EnvConfig;
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.Page;
+import eventbus.NetworkEventBus;
+import org.aeonbits.owner.ConfigFactory;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.ParameterContext;
+import org.junit.jupiter.api.extension.ParameterResolutionException;
+import org.junit.jupiter.api.extension.ParameterResolver;
+import org.junit.platform.commons.support.AnnotationSupport;
+import org.junit.platform.commons.support.SearchOption;
+import parallel.ResourceGovernor;
+import waits.VirtualClock;
+import waits.VirtualTime;
+
+import java.lang.annotation.Annotation;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * JUnit 5 расширение, выдающее тестам объекты Playwright из общего {@link BrowserPool}.
+ * Внедряет в параметры тестовых и {@code @BeforeEach} методов:
+ * - {@link Page} - новую страницу в новом контексте
+ * - {@link BrowserContext} - новый изолированный контекст
+ * - {@link Browser} - прогретый браузер текущего рабочего потока
+ * - {@link BrowserPool} - сам пул, если тесту нужны браузеры разных типов
+ * - {@link NetworkEventBus} - шину событий страницы теста ({@link EventBusFeature})
+ * - {@link VirtualClock} - виртуальные часы страницы для теста с {@link VirtualTime} ({@link VirtualTimeFeature})
+ *
+ * Контекст выдается лениво при первом запросе и по завершении теста возвращается в пул
+ * контекстов (или закрывается, если тест упал). Если параллелизм подбирается {@link parallel.ResourceAwareStrategy},
+ * тест перед получением контекста ждет разрешения {@link ResourceGovernor}. Время запуска браузера, получения контекста
+ * и попадание в пул публикуются в report entries теста. HAR, блокировка ресурсов, шина событий, сетевые тайминги
+ * и виртуальное время подключаются к контексту как {@link SessionFeature} и описаны в своих классах.
+ *
+ * Параметры пула (junit-platform.properties или системные свойства):
+ * - browserpool.contexts.max - максимум свободных контекстов, по умолчанию равен параллелизму JUnit
+ * - browserpool.contexts.max-uses - число тестов на один контекст, по умолчанию 20
+ * - browserpool.affinity - реакция на обращение из чужого потока: fail, warn или off (по умолчанию fail)
+ * - browserpool.server - подключаться к общему для форков серверу браузера вместо запуска своего (по умолчанию false)
+ * - browserpool.server.dir - общий для форков каталог координации серверов, по умолчанию target/browser-servers
+ * - browserpool.server.health-interval-ms - период проверки здоровья серверов, по умолчанию 5000
+ * - browserpool.asset-cache.max-mb - размер общего кеша статических ресурсов {@link AssetCache}, по умолчанию 0 (выключен)
+ * - browserpool.asset-cache.ttl-ms - время, в течение которого ресурс отдается из кеша без проверки, по умолчанию 60000
+ *
+ * @since 2026-10-18
+ */
+public class BrowserPoolExtension implements ParameterResolver {
+    private static final ExtensionContext.Namespace NAMESPACE =
+            ExtensionContext.Namespace.create(BrowserPoolExtension.class);
+    private static final String MAX_CONTEXTS = "browserpool.contexts.max";
+    private static final String MAX_CONTEXT_USES = "browserpool.contexts.max-uses";
+    private static final String AFFINITY = "browserpool.affinity";
+    private static final String SERVER = "browserpool.server";
+    private static final String SERVER_DIR = "browserpool.server.dir";
+    private static final String SERVER_HEALTH_INTERVAL = "browserpool.server.health-interval-ms";
+    private static final String ASSET_CACHE_MAX = "browserpool.asset-cache.max-mb";
+    private static final String ASSET_CACHE_TTL = "browserpool.asset-cache.ttl-ms";
+    private static final String FIXED_PARALLELISM = "junit.jupiter.execution.parallel.config.fixed.parallelism";
+
+    @Override
+    public boolean supportsParameter(ParameterContext parameterContext, ExtensionContext extensionContext) {
+        Class<?> type = parameterContext.getParameter().getType();
+        return type == Page.class || type == BrowserContext.class || type == Browser.class
+                || type == BrowserPool.class || type == NetworkEventBus.class || type == VirtualClock.class;
+    }
+
+    @Override
+    public Object resolveParameter(ParameterContext parameterContext, ExtensionContext extensionContext) {
+        if (extensionContext.getTestMethod().isEmpty()) {
+            throw new ParameterResolutionException(
+                    "Объекты пула привязаны к потоку теста и недоступны в @BeforeAll/@AfterAll");
+        }
+        if (parameterContext.getParameter().getType() == BrowserPool.class) {
+            return pool(extensionContext);
+        }
+        TestSession session = extensionContext.getStore(NAMESPACE)
+                .getOrComputeIfAbsent(TestSession.class, key -> openSession(extensionContext), TestSession.class);
+
+        Class<?> type = parameterContext.getParameter().getType();
+        if (type == Page.class) {
+            return session.page;
+        }
+        if (type == BrowserContext.class) {
+            return session.context;
+        }
+        if (type == NetworkEventBus.class) {
+            return session.feature(EventBusFeature.class).orElseThrow().events();
+        }
+        if (type == VirtualClock.class) {
+            return session.feature(VirtualTimeFeature.class).map(VirtualTimeFeature::clock)
+                    .orElseThrow(() -> new ParameterResolutionException(
+                            "Виртуальные часы доступны только тесту с @VirtualTime: " + extensionContext.getDisplayName()));
+        }
+        return session.browser;
+    }
+
+    /**
+     * Возвращает пул браузеров текущего прогона, создавая его при первом обращении.
+     * Пул хранится в корневом контексте и закрывается JUnit по завершении всех тестов.
+     *
+     * @param extensionContext любой контекст текущего прогона
+     * @return общий пул браузеров
+     */
+    public static BrowserPool pool(ExtensionContext extensionContext) {
+        return extensionContext.getRoot().getStore(NAMESPACE)
+                .getOrComputeIfAbsent(BrowserPool.class, key -> createPool(extensionContext), BrowserPool.class);
+    }
+
+    /**
+     * Ищет аннотацию теста на методе, затем на классе теста и на внешних классах.
+     */
+    static <A extends Annotation> Optional<A> findAnnotation(ExtensionContext extensionContext,
+                                                             Class<A> annotationType) {
+        Optional<A> onMethod = AnnotationSupport.findAnnotation(extensionContext.getRequiredTestMethod(), annotationType);
+        if (onMethod.isPresent()) {
+            return onMethod;
+        }
+        return AnnotationSupport.findAnnotation(extensionContext.getRequiredTestClass(), annotationType,
+                SearchOption.INCLUDE_ENCLOSING_CLASSES);
+    }
+
+    private static BrowserPool createPool(ExtensionContext extensionContext) {
+        int parallelism = ResourceGovernor.current().map(ResourceGovernor::target)
+                .or(() -> extensionContext.getConfigurationParameter(FIXED_PARALLELISM, Integer::parseInt))
+                .orElse(Runtime.getRuntime().availableProcessors());
+        int maxContexts = extensionContext.getConfigurationParameter(MAX_CONTEXTS, Integer::parseInt)
+                .orElse(parallelism);
+        int maxUses = extensionContext.getConfigurationParameter(MAX_CONTEXT_USES, Integer::parseInt)
+                .orElse(20);
+        PlaywrightRegistry.Affinity affinity = extensionContext.getConfigurationParameter(AFFINITY,
+                        value -> PlaywrightRegistry.Affinity.valueOf(value.trim().toUpperCase(Locale.ROOT)))
+                .orElse(PlaywrightRegistry.Affinity.FAIL);
+        BrowserServers servers = null;
+        if (extensionContext.getConfigurationParameter(SERVER, Boolean::parseBoolean).orElse(false)) {
+            Path dir = Paths.get(extensionContext.getConfigurationParameter(SERVER_DIR).orElse("target/browser-servers"));
+            long interval = extensionContext.getConfigurationParameter(SERVER_HEALTH_INTERVAL, Long::parseLong)
+                    .orElse(5000L);
+            servers = new BrowserServers(dir, ConfigFactory.create(EnvConfig.class, System.getProperties()).headless(),
+                    Duration.ofMillis(interval));
+        }
+        AssetCache assets = null;
+        long assetCacheMegabytes = extensionContext.getConfigurationParameter(ASSET_CACHE_MAX, Long::parseLong).orElse(0L);
+        if (assetCacheMegabytes > 0) {
+            long ttl = extensionContext.getConfigurationParameter(ASSET_CACHE_TTL, Long::parseLong).orElse(60_000L);
+            assets = new AssetCache(assetCacheMegabytes * 1024 * 1024, Duration.ofMillis(ttl), Clock.systemUTC());
+        }
+        return new BrowserPool(maxContexts, maxUses, affinity, servers, assets);
+    }
+
+    /**
+     * Возможности теста в порядке подведения итогов.
+     */
+    private static List<SessionFeature> features(ExtensionContext extensionContext) {
+        String testKey = extensionContext.getRequiredTestMethod().getName() + "-"
+                + Integer.toHexString(extensionContext.getUniqueId().hashCode());
+        List<SessionFeature> features = new ArrayList<>();
+        features.add(new HarFeature(extensionContext, testKey));
+        features.add(new EventBusFeature(extensionContext, testKey));
+        PageLoadFeature.forTest(extensionContext, testKey).ifPresent(features::add);
+        TimingsFeature.forTest(extensionContext).ifPresent(features::add);
+        VirtualTimeFeature.forTest(extensionContext).ifPresent(features::add);
+        return features;
+    }
+
+    private TestSession openSession(ExtensionContext extensionContext) {
+        BrowserPool pool = pool(extensionContext);
+        List<SessionFeature> features = features(extensionContext);
+        Optional<ResourceGovernor> governor = ResourceGovernor.current();
+        governor.ifPresent(ResourceGovernor::acquire);
+        long launchNanos;
+        ContextPool.PooledContext context;
+        Page page;
+        long contextNanos;
+        try {
+            Browser browser = pool.browser();
+            launchNanos = pool.takeLaunchNanos();
+
+            long start = System.nanoTime();
+            context = pool.acquire(browser);
+            page = context.newPage();
+            contextNanos = System.nanoTime() - start;
+            for (SessionFeature feature : features) {
+                feature.install(context.context(), page);
+            }
+        } catch (RuntimeException e) {
+            governor.ifPresent(ResourceGovernor::release);
+            throw e;
+        }
+
+        Map<String, String> entry = new LinkedHashMap<>();
+        if (launchNanos > 0) {
+            entry.put("browser.launch.ms", String.valueOf(TimeUnit.NANOSECONDS.toMillis(launchNanos)));
+        }
+        entry.put("context.create.ms", String.valueOf(TimeUnit.NANOSECONDS.toMillis(contextNanos)));
+        entry.put("context.pool", context.isPoolHit() ? "hit" : "miss");
+        extensionContext.publishReportEntry(entry);
+
+        return new TestSession(pool, context, page, extensionContext, governor, features);
+    }
+
+    /**
+     * Ресурсы одного теста. JUnit закрывает их при очистке хранилища теста,
+     * после чего контекст возвращается в пул или закрывается, если тест упал или его не может переиспользовать
+     * одна из возможностей теста.
+     */
+    private static class TestSession implements ExtensionContext.Store.CloseableResource {
+        private final BrowserPool pool;
+        private final ContextPool.PooledContext pooled;
+        private final Browser browser;
+        private final BrowserContext context;
+        private final Page page;
+        private final ExtensionContext extensionContext;
+        private final Optional<ResourceGovernor> governor;
+        private final List<SessionFeature> features;
+
+        TestSession(BrowserPool pool, ContextPool.PooledContext pooled, Page page, ExtensionContext extensionContext,
+                    Optional<ResourceGovernor> governor, List<SessionFeature> features) {
+            this.pool = pool;
+            this.pooled = pooled;
+            this.browser = pooled.browser();
+            this.context = pooled.context();
+            this.page = page;
+            this.extensionContext = extensionContext;
+            this.governor = governor;
+            this.features = features;
+        }
+
+        <F extends SessionFeature> Optional<F> feature(Class<F> type) {
+            return features.stream().filter(type::isInstance).map(type::cast).findFirst();
+        }
+
+        /**
+         * Публикует итоги теста и возвращает контекст в пул. Разрешение {@link ResourceGovernor} освобождается
+         * и возможности завершаются в любом случае: занятое разрешение блокировало бы следующие тесты.
+         */
+        @Override
+        public void close() {
+            boolean failed = extensionContext.getExecutionException().isPresent();
+            try {
+                try {
+                    for (SessionFeature feature : features) {
+                        feature.report(failed);
+                    }
+                } finally {
+                    pool.release(pooled, failed || !features.stream().allMatch(SessionFeature::reusable));
+                }
+            } finally {
+                governor.ifPresent(ResourceGovernor::release);
+                features.forEach(feature -> feature.released(failed));
+            }
+        }
+    }
+}
@@ -0,0 +1,428 @@
+package browserpool;
+
+import apiandui.EnvConfig;
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.BrowserType;
+import com.microsoft.playwright.Playwright;
+import com.microsoft.playwright.PlaywrightException;
+import org.aeonbits.owner.ConfigFactory;
+import org.junit.platform.engine.TestSource;
+import org.junit.platform.engine.support.descriptor.MethodSource;
+import org.junit.platform.launcher.LauncherSession;
+import org.junit.platform.launcher.LauncherSessionListener;
+import org.junit.platform.launcher.TestExecutionListener;
+import org.junit.platform.launcher.TestIdentifier;
+import org.junit.platform.launcher.TestPlan;
+import parallel.BrowserFootprint;
+import parallel.HostResources;
+import parallel.ResourceAwareStrategy;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+
+/**
+ * Слушатель сессии JUnit Platform, запускающий браузеры в фоне еще до начала выполнения тестов.
+ * Регистрируется через META-INF/services и срабатывает при открытии сессии, то есть параллельно
+ * с обнаружением тестов:
+ * 1. Сканирует скомпилированные тестовые классы и определяет, какие типы браузеров им нужны
+ * 2. Запускает в отдельном потоке один экземпляр Playwright с браузером по умолчанию
+ * 3. После построения плана досоздает экземпляры по числу выбранных тестов каждого типа
+ *    и закрывает браузеры типов, которые не нужны ни одному выбранному классу
+ * 4. Выводит время от открытия сессии до старта первого теста
+ *
+ * Рабочие потоки {@link PlaywrightRegistry} забирают готовые экземпляры через {@link #claim(String)}
+ * вместо холодного запуска. Экземпляр передается потоку целиком, после чего используется только им.
+ *
+ * Параметры (системные свойства или junit-platform.properties):
+ * - browserpool.prewarm - включает прогрев, по умолчанию true
+ * - browserpool.prewarm.instances - предел числа экземпляров браузера по умолчанию, по умолчанию равен параллелизму JUnit;
+ *   браузеры остальных типов прогреваются в одном экземпляре. Экземпляров не больше, чем выбранных тестов
+ *   этого типа, поэтому запуск одного класса через -Dtest не поднимает браузеры на весь параллелизм
+ *
+ * При подключении к общему серверу браузера (browserpool.server=true) прогрев не выполняется:
+ * подключение к уже запущенному серверу дешевле запуска браузера.
+ *
+ * @since 2026-10-18
+ */
+public class BrowserPrewarmer implements LauncherSessionListener {
+    private static final String ENABLED = "browserpool.prewarm";
+    private static final String INSTANCES = "browserpool.prewarm.instances";
+    private static final String SHARED_SERVER = "browserpool.server";
+    private static final String STRATEGY = "junit.jupiter.execution.parallel.config.strategy";
+    private static final String CUSTOM_STRATEGY = "junit.jupiter.execution.parallel.config.custom.class";
+    private static final String FIXED_PARALLELISM = "junit.jupiter.execution.parallel.config.fixed.parallelism";
+    private static final List<String> BROWSER_TYPES = List.of("chromium", "firefox", "webkit");
+    private static final String EXTENSION_MARKER = "browserpool/BrowserPoolExtension";
+
+    private static final Map<String, Deque<CompletableFuture<Prewarmed>>> READY = new ConcurrentHashMap<>();
+    private static final LongAdder CLAIMED = new LongAdder();
+    private static final LongAdder UNCLAIMED = new LongAdder();
+
+    private final EnvConfig config = ConfigFactory.create(EnvConfig.class, System.getProperties());
+    private final Properties platformProperties = loadPlatformProperties();
+    private final AtomicInteger launched = new AtomicInteger();
+    private ExecutorService executor;
+    private CompletableFuture<Map<String, Set<String>>> scan;
+    private long sessionStart;
+
+    /**
+     * Браузер, запущенный заранее, вместе с владеющим им экземпляром Playwright.
+     *
+     * @param playwright экземпляр Playwright, который закрывается вместе с браузером
+     * @param browser    запущенный браузер
+     */
+    public record Prewarmed(Playwright playwright, Browser browser) {
+        void close() {
+            try {
+                playwright.close();
+            } catch (PlaywrightException e) {
+                System.err.println("Не удалось закрыть прогретый браузер: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Забирает прогретый браузер указанного типа. Если запуск еще идет, дожидается его завершения:
+     * оставшееся ожидание всегда короче холодного запуска.
+     *
+     * @param type тип браузера (chromium/firefox/webkit)
+     * @return прогретый браузер или пустое значение, если готовых экземпляров нет или запуск упал
+     */
+    public static Optional<Prewarmed> claim(String type) {
+        Deque<CompletableFuture<Prewarmed>> queue = READY.get(type);
+        CompletableFuture<Prewarmed> future = queue == null ? null : queue.poll();
+        if (future == null) {
+            return Optional.empty();
+        }
+        try {
+            Prewarmed prewarmed = future.join();
+            CLAIMED.increment();
+            return Optional.of(prewarmed);
+        } catch (CompletionException e) {
+            System.err.println("Прогрев браузера " + type + " не удался, запуск в потоке теста: "
+                    + e.getCause().getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Открытие сессии:
+     * 1. Запоминает момент старта для расчета времени до первого теста
+     * 2. Запускает в фоне сканирование классов и прогрев первого браузера по умолчанию
+     * 3. Регистрирует слушатель выполнения для прогрева по плану тестов, отсечения лишних типов и вывода времени
+     */
+    @Override
+    public void launcherSessionOpened(LauncherSession session) {
+        sessionStart = System.nanoTime();
+        if (!Boolean.parseBoolean(parameter(ENABLED, "true"))) {
+            return;
+        }
+        if (Boolean.parseBoolean(parameter(SHARED_SERVER, "false"))) {
+            System.out.println("Прогрев браузеров отключен: форк подключается к общему серверу браузера");
+            return;
+        }
+        executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "browser-prewarm-" + launched.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        scan = CompletableFuture.supplyAsync(() -> scanClasspath(classLoader), executor)
+                .thenApply(usage -> {
+                    prewarm(usage);
+                    return usage;
+                });
+        session.getLauncher().registerTestExecutionListeners(new PlanListener());
+    }
+
+    /**
+     * Закрывает браузеры, которые так и не понадобились тестам.
+     */
+    @Override
+    public void launcherSessionClosed(LauncherSession session) {
+        if (executor == null) {
+            return;
+        }
+        discardUnclaimed();
+        executor.shutdown();
+        System.out.printf("Прогрев браузеров: использовано %d, закрыто невостребованных %d%n",
+                CLAIMED.sum(), UNCLAIMED.sum());
+    }
+
+    /**
+     * Закрывает прогретые браузеры, которые никто не забрал. Пул браузеров вызывает его по завершении тестов,
+     * до замера памяти своих браузеров; при закрытии сессии закрываются оставшиеся.
+     */
+    public static void discardUnclaimed() {
+        for (String type : new ArrayList<>(READY.keySet())) {
+            UNCLAIMED.add(discard(type));
+        }
+    }
+
+    /**
+     * Запускает первый экземпляр браузера по умолчанию, пока идет обнаружение тестов.
+     * Остальные экземпляры и типы запускаются после построения плана в {@link #topUp(Map)}.
+     */
+    private void prewarm(Map<String, Set<String>> usage) {
+        String type = config.browserName();
+        if (usage.values().stream().noneMatch(types -> types.contains(type))) {
+            return;
+        }
+        enqueue(type, 1);
+        System.out.println("Прогрев браузеров запущен: [" + type + "]");
+    }
+
+    /**
+     * Доводит число прогретых экземпляров каждого типа до нужного выбранным тестам.
+     *
+     * @param testsPerType тип браузера -> число выбранных тестов, которым он нужен
+     */
+    private void topUp(Map<String, Integer> testsPerType) {
+        int defaultInstances = Integer.parseInt(parameter(INSTANCES, String.valueOf(parallelism())));
+        Map<String, Integer> targets = targets(testsPerType, config.browserName(), defaultInstances);
+        targets.forEach((type, target) -> {
+            Deque<CompletableFuture<Prewarmed>> queue = READY.get(type);
+            int missing = target - (queue == null ? 0 : queue.size());
+            if (missing > 0) {
+                enqueue(type, missing);
+            }
+        });
+        System.out.println("Прогрев браузеров по плану тестов: " + targets);
+    }
+
+    /**
+     * Число экземпляров каждого типа: не больше числа выбранных тестов этого типа,
+     * для типа по умолчанию - не больше заданного предела, для остальных - один.
+     *
+     * @param testsPerType     тип браузера -> число выбранных тестов
+     * @param defaultType      тип браузера по умолчанию
+     * @param defaultInstances предел числа экземпляров типа по умолчанию
+     * @return тип браузера -> число экземпляров
+     */
+    static Map<String, Integer> targets(Map<String, Integer> testsPerType, String defaultType, int defaultInstances) {
+        Map<String, Integer> targets = new TreeMap<>();
+        testsPerType.forEach((type, tests) -> {
+            int limit = type.equals(defaultType) ? defaultInstances : 1;
+            if (tests > 0) {
+                targets.put(type, Math.min(tests, Math.max(1, limit)));
+            }
+        });
+        return targets;
+    }
+
+    private void enqueue(String type, int instances) {
+        BrowserType.LaunchOptions options = new BrowserType.LaunchOptions().setHeadless(config.headless());
+        Deque<CompletableFuture<Prewarmed>> queue = READY.computeIfAbsent(type, key -> new ConcurrentLinkedDeque<>());
+        for (int i = 0; i < instances; i++) {
+            queue.add(CompletableFuture.supplyAsync(() -> launch(type, options), executor));
+        }
+    }
+
+    /**
+     * Параллелизм предстоящего прогона: по стратегии {@link ResourceAwareStrategy}, если она подключена,
+     * иначе фиксированный из конфигурации.
+     */
+    private int parallelism() {
+        if ("custom".equals(parameter(STRATEGY, "dynamic"))
+                && ResourceAwareStrategy.class.getName().equals(parameter(CUSTOM_STRATEGY, ""))) {
+            return ResourceAwareStrategy.size(new HostResources(Paths.get("/")), BrowserFootprint.load(),
+                    key -> Optional.ofNullable(parameter(key, null))).parallelism();
+        }
+        return Integer.parseInt(parameter(FIXED_PARALLELISM, String.valueOf(Runtime.getRuntime().availableProcessors())));
+    }
+
+    private static Prewarmed launch(String type, BrowserType.LaunchOptions options) {
+        Playwright playwright = Playwright.create();
+        try {
+            BrowserType browserType = switch (type) {
+                case "chromium" -> playwright.chromium();
+                case "firefox" -> playwright.firefox();
+                case "webkit" -> playwright.webkit();
+                default -> throw new IllegalArgumentException("Unsupported browser: " + type);
+            };
+            return new Prewarmed(playwright, browserType.launch(options));
+        } catch (RuntimeException e) {
+            playwright.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Убирает из очереди все экземпляры типа и закрывает их по мере завершения запуска.
+     *
+     * @return число закрытых экземпляров
+     */
+    private static int discard(String type) {
+        Deque<CompletableFuture<Prewarmed>> queue = READY.remove(type);
+        if (queue == null) {
+            return 0;
+        }
+        int closed = 0;
+        for (CompletableFuture<Prewarmed> future : queue) {
+            try {
+                future.get(30, TimeUnit.SECONDS).close();
+                closed++;
+            } catch (Exception ignored) {
+                // Запуск упал или не успел завершиться - закрывать нечего
+            }
+        }
+        return closed;
+    }
+
+    /**
+     * Определяет типы браузеров, используемые тестовыми классами из каталогов classpath.
+     * Класс считается использующим браузер, если его байт-код содержит имя типа
+     * (вызов chromium()/firefox()/webkit() или строковый параметр теста), либо тип браузера
+     * по умолчанию, если класс подключает {@link BrowserPoolExtension}.
+     * Классы самого пула не учитываются.
+     *
+     * @param root        корневой каталог скомпилированных классов
+     * @param defaultType тип браузера по умолчанию
+     * @return имя класса -> используемые типы браузеров
+     */
+    static Map<String, Set<String>> scan(Path root, String defaultType) throws IOException {
+        Map<String, Set<String>> usage = new HashMap<>();
+        try (Stream<Path> files = Files.walk(root)) {
+            for (Path file : (Iterable<Path>) files.filter(path -> path.toString().endsWith(".class"))::iterator) {
+                String name = root.relativize(file).toString().replace(File.separatorChar, '/');
+                if (name.startsWith("browserpool/")) {
+                    continue;
+                }
+                String bytes = new String(Files.readAllBytes(file), StandardCharsets.ISO_8859_1);
+                Set<String> types = new HashSet<>();
+                for (String type : BROWSER_TYPES) {
+                    if (bytes.contains(type)) {
+                        types.add(type);
+                    }
+                }
+                if (bytes.contains(EXTENSION_MARKER)) {
+                    types.add(defaultType);
+                }
+                if (!types.isEmpty()) {
+                    usage.put(name.substring(0, name.length() - ".class".length()).replace('/', '.'), types);
+                }
+            }
+        }
+        return usage;
+    }
+
+    private Map<String, Set<String>> scanClasspath(ClassLoader classLoader) {
+        Map<String, Set<String>> usage = new HashMap<>();
+        try {
+            Enumeration<URL> roots = classLoader.getResources("");
+            while (roots.hasMoreElements()) {
+                URL root = roots.nextElement();
+                if ("file".equals(root.getProtocol())) {
+                    usage.putAll(scan(Paths.get(root.toURI()), config.browserName()));
+                }
+            }
+        } catch (IOException | URISyntaxException e) {
+            System.err.println("Не удалось просканировать тестовые классы: " + e.getMessage());
+        }
+        return usage;
+    }
+
+    private String parameter(String key, String defaultValue) {
+        return System.getProperty(key, platformProperties.getProperty(key, defaultValue));
+    }
+
+    private static Properties loadPlatformProperties() {
+        Properties properties = new Properties();
+        try (InputStream stream = BrowserPrewarmer.class.getResourceAsStream("/junit-platform.properties")) {
+            if (stream != null) {
+                properties.load(stream);
+            }
+        } catch (IOException e) {
+            System.err.println("Не удалось прочитать junit-platform.properties: " + e.getMessage());
+        }
+        return properties;
+    }
+
+    /**
+     * Слушатель выполнения плана: после построения плана досоздает браузеры по числу выбранных тестов
+     * (методов тестов и фабрик тестов) и закрывает браузеры ненужных типов, при старте первого теста выводит время до него.
+     */
+    private class PlanListener implements TestExecutionListener {
+        private final AtomicBoolean firstTest = new AtomicBoolean(true);
+
+        @Override
+        public void testPlanExecutionStarted(TestPlan testPlan) {
+            Map<String, Set<String>> usage = scan.join();
+            Map<String, Integer> testsPerType = new HashMap<>();
+            for (TestIdentifier root : testPlan.getRoots()) {
+                for (TestIdentifier identifier : testPlan.getDescendants(root)) {
+                    Optional<TestSource> source = identifier.getSource();
+                    if (source.isPresent() && source.get() instanceof MethodSource method) {
+                        for (String type : typesOf(method.getJavaClass(), usage)) {
+                            testsPerType.merge(type, 1, Integer::sum);
+                        }
+                    }
+                }
+            }
+            topUp(testsPerType);
+            for (String type : BROWSER_TYPES) {
+                if (!testsPerType.containsKey(type) && READY.containsKey(type)) {
+                    System.out.println("Браузер " + type + " не нужен выбранным тестам, прогрев отменен");
+                    CompletableFuture.runAsync(() -> discard(type), executor);
+                }
+            }
+        }
+
+        @Override
+        public void executionStarted(TestIdentifier testIdentifier) {
+            if (!testIdentifier.isTest() || !firstTest.compareAndSet(true, false)) {
+                return;
+            }
+            long ready = READY.values().stream().flatMap(Deque::stream)
+                    .filter(future -> future.isDone() && !future.isCompletedExceptionally()).count();
+            System.out.printf("Время до первого теста: %d мс; прогретых браузеров готово %d, уже используется %d%n",
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - sessionStart), ready, CLAIMED.sum());
+        }
+    }
+
+    /**
+     * Собирает типы браузеров класса с учетом родительских и внешних классов,
+     * так как расширение и параметры часто объявлены в базовом классе.
+     */
+    private static Set<String> typesOf(Class<?> type, Map<String, Set<String>> usage) {
+        Set<String> types = new HashSet<>();
+        if (type == null || type == Object.class) {
+            return types;
+        }
+        types.addAll(usage.getOrDefault(type.getName(), Collections.emptySet()));
+        types.addAll(typesOf(type.getSuperclass(), usage));
+        types.addAll(typesOf(type.getEnclosingClass(), usage));
+        return types;
+    }
+}
@@ -0,0 +1,51 @@
+package browserpool;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+/**
+ * Тестовый класс для проверки определения типов браузеров, которые понадобятся тестам.
+ * Сканирует скомпилированные тестовые классы так же, как {@link BrowserPrewarmer} при открытии сессии.
+ *
+ * @since 2026-10-18
+ */
+public class BrowserPrewarmerTest {
+
+    /**
+     * Проверяет результат сканирования:
+     * 1. Класс с параметром типа браузера требует все перечисленные типы
+     * 2. Класс, подключающий пул браузеров, требует тип по умолчанию
+     * 3. Классы самого пула и тесты без браузера не учитываются
+     */
+    @Test
+    void testScanFindsBrowserTypesUsedByTests() throws Exception {
+        Path root = Paths.get(BrowserPrewarmerTest.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+        Map<String, Set<String>> usage = BrowserPrewarmer.scan(root, "chromium");
+
+        assertEquals(Set.of("chromium", "firefox"), usage.get("parallelnavigat.ParallelNavigationTest"));
+        assertEquals(Set.of("chromium"), usage.get("base.BaseTest"));
+        assertFalse(usage.containsKey(PlaywrightRegistry.class.getName()), "Классы пула не должны учитываться");
+        assertFalse(usage.containsKey("auto.ExampleTest"), "Тест без браузера не должен требовать прогрева");
+    }
+
+    /**
+     * Проверяет размер прогрева по плану тестов:
+     * 1. Экземпляров типа по умолчанию не больше числа выбранных тестов и заданного предела
+     * 2. Остальные типы прогреваются в одном экземпляре
+     * 3. Тип без выбранных тестов не прогревается
+     */
+    @Test
+    void testTargetsFollowSelectedTests() {
+        assertEquals(Map.of("chromium", 2), BrowserPrewarmer.targets(Map.of("chromium", 2), "chromium", 8));
+        assertEquals(Map.of("chromium", 8, "firefox", 1),
+                BrowserPrewarmer.targets(Map.of("chromium", 40, "firefox", 3), "chromium", 8));
+        assertEquals(Map.of(), BrowserPrewarmer.targets(Map.of("webkit", 0), "chromium", 8));
+    }
+}
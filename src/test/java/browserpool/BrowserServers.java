@@ -0,0 +1,369 @@
+package browserpool;
+
+import com.microsoft.playwright.CLI;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.URI;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+
+/**
+ * Общие для всех форков Surefire серверы браузеров.
+ * Вместо запуска собственных браузеров в каждой JVM на каждый тип браузера поднимается один
+ * сервер (команда launch-server драйвера Playwright), а форки подключаются к нему через
+ * {@code BrowserType.connect()} и получают изолированные контексты. Сервер запускается отдельной JVM
+ * через публичную точку входа {@link CLI}, а не через внутренние классы драйвера, которые меняются
+ * между версиями Playwright; браузеры к этому моменту уже установлены {@code Playwright.create()} форка.
+ *
+ * Координация между форками идет через файлы в общем каталоге под файловой блокировкой:
+ * - {@code <тип>.endpoint} - pid и WebSocket-адрес запущенного сервера
+ * - {@code <тип>.refs/<pid>} - форки, подключенные к серверу
+ * - {@code <тип>.log} - вывод сервера
+ *
+ * Первый форк запускает сервер, остальные подключаются к уже работающему. Фоновая проверка
+ * здоровья (живой процесс и открытый порт) перезапускает упавший сервер, а рабочие потоки
+ * переподключаются при следующем запросе браузера. Последний отключившийся форк останавливает сервер.
+ * Параллельно проверка собирает пиковую память браузеров форка и общих серверов.
+ *
+ * @since 2026-10-18
+ */
+public class BrowserServers implements AutoCloseable {
+    private static final Duration STARTUP_TIMEOUT = Duration.ofSeconds(60);
+    private static final Duration LINGER = Duration.ofSeconds(2);
+
+    private final Path dir;
+    private final boolean headless;
+    private final long pid = ProcessHandle.current().pid();
+    private final Map<String, Server> servers = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService health;
+    private final AtomicLong peakOwnMemory = new AtomicLong();
+
+    /**
+     * @param dir            общий для форков каталог координации
+     * @param headless       запускать ли серверы без графического интерфейса
+     * @param healthInterval период проверки здоровья серверов
+     */
+    public BrowserServers(Path dir, boolean headless, Duration healthInterval) {
+        this.dir = dir;
+        this.headless = headless;
+        this.health = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "browser-server-health");
+            thread.setDaemon(true);
+            return thread;
+        });
+        health.scheduleWithFixedDelay(this::checkHealth,
+                healthInterval.toMillis(), healthInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Возвращает адрес сервера браузера указанного типа, при первом обращении
+     * подключая к нему форк и при необходимости запуская сервер.
+     *
+     * @param type тип браузера (chromium/firefox/webkit)
+     * @return WebSocket-адрес для {@code BrowserType.connect()}
+     */
+    public String endpoint(String type) {
+        return servers.computeIfAbsent(type, Server::new).endpoint();
+    }
+
+    private void checkHealth() {
+        peakOwnMemory.accumulateAndGet(ownMemory(), Math::max);
+        for (Server server : servers.values()) {
+            try {
+                server.checkHealth();
+            } catch (RuntimeException e) {
+                System.err.println("Проверка сервера браузера " + server.type + " не удалась: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Память процессов-потомков форка без общих серверов, даже если сервер запущен этим форком.
+     */
+    private long ownMemory() {
+        Set<Long> shared = servers.values().stream()
+                .flatMap(server -> ProcessHandle.of(server.serverPid).stream())
+                .flatMap(server -> Stream.concat(Stream.of(server), server.descendants()))
+                .map(ProcessHandle::pid)
+                .collect(Collectors.toSet());
+        return ProcessHandle.current().descendants()
+                .filter(process -> !shared.contains(process.pid()))
+                .mapToLong(process -> ProcessMemory.memory(process.pid()))
+                .sum();
+    }
+
+    /**
+     * Отключает форк от серверов и выводит память браузеров форка.
+     * Сервер, к которому не осталось подключенных форков, останавливается.
+     */
+    @Override
+    public void close() {
+        health.shutdownNow();
+        peakOwnMemory.accumulateAndGet(ownMemory(), Math::max);
+        StringBuilder report = new StringBuilder(String.format(
+                "Память браузеров форка %d: собственные процессы до %d МБ", pid,
+                ProcessMemory.toMegabytes(peakOwnMemory.get())));
+        for (Server server : servers.values()) {
+            server.sample();
+            report.append(String.format("; сервер %s до %d МБ на %d форков (~%d МБ на форк), перезапусков %d",
+                    server.type, ProcessMemory.toMegabytes(server.peakMemory), server.peakForks,
+                    ProcessMemory.toMegabytes(server.peakMemory / Math.max(1, server.peakForks)), server.restarts));
+            server.detach();
+        }
+        System.out.println(report);
+    }
+
+    /**
+     * Сервер одного типа браузера с точки зрения текущего форка.
+     */
+    private class Server {
+        private final String type;
+        private final Path state;
+        private final Path lock;
+        private final Path refs;
+        private volatile String endpoint;
+        private volatile long serverPid;
+        private volatile long peakMemory;
+        private volatile int peakForks;
+        private volatile int restarts;
+
+        Server(String type) {
+            this.type = type;
+            this.state = dir.resolve(type + ".endpoint");
+            this.lock = dir.resolve(type + ".lock");
+            this.refs = dir.resolve(type + ".refs");
+        }
+
+        synchronized String endpoint() {
+            if (endpoint == null) {
+                withLock(() -> {
+                    if (!adoptRunning()) {
+                        start();
+                    }
+                    Files.createDirectories(refs);
+                    Files.writeString(refs.resolve(String.valueOf(pid)), "");
+                });
+            }
+            return endpoint;
+        }
+
+        /**
+         * Проверка здоровья:
+         * 1. Живой сервер - обновляется пиковая память и число подключенных форков
+         * 2. Упавший сервер - под блокировкой либо подхватывается адрес, уже перезапущенный
+         *    другим форком, либо сервер запускается заново
+         */
+        synchronized void checkHealth() {
+            if (endpoint == null) {
+                return;
+            }
+            if (healthy(serverPid, endpoint)) {
+                sample();
+                return;
+            }
+            withLock(() -> {
+                if (!adoptRunning()) {
+                    System.out.println("Сервер браузера " + type + " недоступен, перезапуск");
+                    ProcessHandle.of(serverPid).ifPresent(BrowserServers::destroyTree);
+                    start();
+                    restarts++;
+                }
+            });
+        }
+
+        synchronized void sample() {
+            if (endpoint != null) {
+                peakMemory = Math.max(peakMemory, ProcessMemory.tree(serverPid));
+                peakForks = Math.max(peakForks, liveRefs().size());
+            }
+        }
+
+        /**
+         * Отключение форка. Сервер останавливается, только если за время ожидания
+         * к нему не подключился ни один другой форк.
+         */
+        synchronized void detach() {
+            if (endpoint == null) {
+                return;
+            }
+            withLock(() -> Files.deleteIfExists(refs.resolve(String.valueOf(pid))));
+            sleep(LINGER.toMillis());
+            withLock(() -> {
+                if (liveRefs().isEmpty()) {
+                    ProcessHandle.of(serverPid).ifPresent(BrowserServers::destroyTree);
+                    Files.deleteIfExists(state);
+                }
+            });
+            endpoint = null;
+        }
+
+        /**
+         * Читает адрес сервера, запущенного этим или другим форком.
+         *
+         * @return true, если сервер жив и форк может к нему подключиться
+         */
+        private boolean adoptRunning() throws IOException {
+            if (!Files.exists(state)) {
+                return false;
+            }
+            State running = State.parse(Files.readString(state));
+            if (running == null || !healthy(running.pid(), running.endpoint())) {
+                return false;
+            }
+            serverPid = running.pid();
+            endpoint = running.endpoint();
+            return true;
+        }
+
+        private void start() throws IOException {
+            Path config = dir.resolve(type + ".config.json");
+            Path log = dir.resolve(type + ".log");
+            Files.writeString(config, "{\"headless\": " + headless + "}");
+            Files.deleteIfExists(log);
+
+            ProcessBuilder builder = new ProcessBuilder(Path.of(System.getProperty("java.home"), "bin", "java").toString(),
+                    "-cp", classPath(), CLI.class.getName(),
+                    "launch-server", "--browser", type, "--config", config.toString());
+            builder.redirectErrorStream(true).redirectOutput(log.toFile());
+            Process process = builder.start();
+
+            long deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+            while (System.nanoTime() < deadline) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException("Сервер браузера " + type + " завершился при запуске, см. " + log);
+                }
+                String address = Files.exists(log) ? Files.readAllLines(log).stream()
+                        .filter(line -> line.startsWith("ws://")).findFirst().orElse(null) : null;
+                if (address != null) {
+                    serverPid = process.pid();
+                    endpoint = address.trim();
+                    Files.writeString(state, serverPid + " " + endpoint);
+                    System.out.println("Сервер браузера " + type + " запущен форком " + pid + ": " + endpoint);
+                    return;
+                }
+                sleep(100);
+            }
+            destroyTree(process.toHandle());
+            throw new IllegalStateException("Сервер браузера " + type + " не сообщил адрес за " + STARTUP_TIMEOUT);
+        }
+
+        /**
+         * @return pid форков, которые подключены к серверу и еще работают
+         */
+        private List<Long> liveRefs() {
+            if (!Files.isDirectory(refs)) {
+                return List.of();
+            }
+            try (Stream<Path> files = Files.list(refs)) {
+                return files.map(file -> Long.parseLong(file.getFileName().toString()))
+                        .filter(ref -> ProcessHandle.of(ref).map(ProcessHandle::isAlive).orElse(false))
+                        .toList();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        /**
+         * Выполняет действие под межпроцессной блокировкой файла сервера.
+         * Внутри JVM доступ сериализуется через synchronized методов сервера.
+         */
+        private void withLock(IoAction action) {
+            try {
+                Files.createDirectories(dir);
+                try (FileChannel channel = FileChannel.open(lock, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+                    FileLock held = channel.lock();
+                    try {
+                        action.run();
+                    } finally {
+                        held.release();
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Ошибка координации сервера браузера " + type, e);
+            }
+        }
+    }
+
+    /**
+     * Содержимое файла {@code <тип>.endpoint}: pid сервера и его адрес через пробел.
+     */
+    record State(long pid, String endpoint) {
+
+        /**
+         * @param content содержимое файла
+         * @return состояние или null, если файл пуст или недописан (например, форк остановлен во время записи) -
+         * это означает, что сервер не запущен
+         */
+        static State parse(String content) {
+            String[] parts = content.trim().split(" ", 2);
+            if (parts.length < 2 || parts[1].isBlank()) {
+                return null;
+            }
+            try {
+                return new State(Long.parseLong(parts[0]), parts[1].trim());
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface IoAction {
+        void run() throws IOException;
+    }
+
+    /**
+     * Classpath для JVM сервера. Surefire с {@code useSystemClassLoader=false} загружает тесты отдельным
+     * загрузчиком, и полный classpath тестов доступен только в свойстве surefire.test.class.path.
+     */
+    private static String classPath() {
+        return System.getProperty("surefire.test.class.path", System.getProperty("java.class.path"));
+    }
+
+    /**
+     * Сервер считается здоровым, если его процесс жив и принимает TCP-подключения.
+     */
+    static boolean healthy(long serverPid, String endpoint) {
+        if (!ProcessHandle.of(serverPid).map(ProcessHandle::isAlive).orElse(false)) {
+            return false;
+        }
+        URI uri = URI.create(endpoint);
+        try (Socket socket = new Socket()) {
+            socket.connect(new InetSocketAddress(uri.getHost(), uri.getPort()), 1000);
+            return true;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private static void destroyTree(ProcessHandle process) {
+        process.descendants().forEach(ProcessHandle::destroy);
+        process.destroy();
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package browserpool;
+
+import org.junit.jupiter.api.Test;
+
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+
+/**
+ * Тестовый класс для проверки служебной логики общих серверов браузеров:
+ * проверки здоровья сервера и чтения памяти процессов форка.
+ *
+ * @since 2026-10-18
+ */
+public class BrowserServersTest {
+
+    /**
+     * Проверяет проверку здоровья:
+     * 1. Живой процесс с открытым портом считается здоровым
+     * 2. После закрытия порта сервер считается упавшим
+     * 3. Несуществующий процесс считается упавшим независимо от порта
+     */
+    @Test
+    void testHealthCheckRequiresLiveProcessAndOpenPort() throws Exception {
+        long pid = ProcessHandle.current().pid();
+        String endpoint;
+        try (ServerSocket socket = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+            endpoint = "ws://127.0.0.1:" + socket.getLocalPort() + "/c4a1e0";
+            assertTrue(BrowserServers.healthy(pid, endpoint), "Сервер с открытым портом должен быть здоров");
+        }
+        assertFalse(BrowserServers.healthy(pid, endpoint), "Закрытый порт означает упавший сервер");
+        assertFalse(BrowserServers.healthy(Long.MAX_VALUE, endpoint), "Несуществующий процесс означает упавший сервер");
+    }
+
+    /**
+     * Проверяет чтение файла состояния сервера: пустой или недописанный файл означает незапущенный сервер,
+     * а не ошибку запуска форка
+     */
+    @Test
+    void testTruncatedStateMeansNotRunning() {
+        assertEquals(new BrowserServers.State(4242, "ws://127.0.0.1:5000/abc"),
+                BrowserServers.State.parse("4242 ws://127.0.0.1:5000/abc\n"));
+        assertNull(BrowserServers.State.parse(""));
+        assertNull(BrowserServers.State.parse("4242"));
+        assertNull(BrowserServers.State.parse("42ws://127.0.0.1:5000 "));
+        assertNull(BrowserServers.State.parse("ws://127.0.0.1:5000/abc"));
+    }
+
+    /**
+     * Проверяет, что память процесса читается из /proc и дерево процессов не меньше самого процесса
+     */
+    @Test
+    void testProcessMemoryIsReadFromProc() {
+        assumeTrue(Files.isDirectory(Paths.get("/proc/self")), "Требуется Linux с /proc");
+        long pid = ProcessHandle.current().pid();
+
+        long own = ProcessMemory.memory(pid);
+        assertTrue(own > 0, "Память JVM должна быть больше нуля");
+        assertTrue(ProcessMemory.tree(pid) >= own);
+        assertEquals(0, ProcessMemory.memory(Long.MAX_VALUE), "Для несуществующего процесса память равна 0");
+    }
+}
@@ -0,0 +1,329 @@
+package browserpool;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.PlaywrightException;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+
+/**
+ * Ограниченный пул заранее созданных контекстов браузера.
+ * После теста контекст не закрывается, а очищается (cookies, разрешения, маршруты, страницы,
+ * подписки на события) и возвращается в пул. Контекст выбрасывается, если:
+ * - он отработал заданное число тестов
+ * - тест упал или страница в контексте аварийно завершилась
+ * - тест изменил состояние, которое нельзя откатить (init-скрипты, часы, геолокация, localStorage)
+ * - в пуле уже лежит максимально допустимое число свободных контекстов
+ *
+ * Свободные контексты хранятся отдельно для каждого браузера: браузер принадлежит одному
+ * рабочему потоку, поэтому и его контексты используются только из этого потока.
+ * Обращения теста к контексту из чужого потока проверяются так же, как для браузера.
+ *
+ * @since 2026-10-18
+ */
+public class ContextPool {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final Set<String> IRREVERSIBLE = Set.of(
+            "addInitScript", "exposeBinding", "exposeFunction", "clock", "setGeolocation");
+
+    private final int maxIdle;
+    private final int maxUses;
+    private final PoolMetrics metrics;
+    private final AtomicInteger idleCount = new AtomicInteger();
+    private final Map<Browser, Deque<PooledContext>> idle = new ConcurrentHashMap<>();
+    private BiConsumer<Thread, String> affinityCheck = (owner, object) -> { };
+    private Consumer<BrowserContext> setup = context -> { };
+
+    /**
+     * @param maxIdle максимальное число свободных контекстов во всем пуле
+     * @param maxUses число тестов, после которого контекст пересоздается
+     * @param metrics счетчики пула для учета попаданий, промахов и вытеснений
+     */
+    public ContextPool(int maxIdle, int maxUses, PoolMetrics metrics) {
+        this.maxIdle = maxIdle;
+        this.maxUses = maxUses;
+        this.metrics = metrics;
+    }
+
+    /**
+     * Задает проверку потока-владельца, выполняемую при каждом обращении теста к контексту.
+     *
+     * @param affinityCheck проверка (поток-владелец, описание объекта)
+     */
+    void setAffinityCheck(BiConsumer<Thread, String> affinityCheck) {
+        this.affinityCheck = affinityCheck;
+    }
+
+    /**
+     * Задает настройку, применяемую к новому контексту и к контексту после очистки
+     * (например, общие маршруты, которые очистка снимает).
+     *
+     * @param setup настройка контекста
+     */
+    void setContextSetup(Consumer<BrowserContext> setup) {
+        this.setup = setup;
+    }
+
+    /**
+     * Заранее создает свободный контекст для только что запущенного браузера,
+     * чтобы первый тест потока не тратил время на его создание.
+     *
+     * @param browser прогретый браузер рабочего потока
+     */
+    void prewarm(Browser browser) {
+        if (idleCount.incrementAndGet() > maxIdle) {
+            idleCount.decrementAndGet();
+            return;
+        }
+        idle.computeIfAbsent(browser, key -> new ArrayDeque<>()).push(newContext(browser));
+    }
+
+    /**
+     * Выдает свободный контекст браузера или создает новый, если свободных нет.
+     *
+     * @param browser браузер текущего рабочего потока
+     * @return контекст, который необходимо вернуть через {@link #release(PooledContext, boolean)}
+     */
+    public PooledContext acquire(Browser browser) {
+        Deque<PooledContext> contexts = idle.get(browser);
+        PooledContext pooled = contexts == null ? null : contexts.poll();
+        if (pooled != null) {
+            idleCount.decrementAndGet();
+            metrics.poolHit();
+            pooled.hit = true;
+            return pooled;
+        }
+        metrics.poolMiss();
+        return newContext(browser);
+    }
+
+    private PooledContext newContext(Browser browser) {
+        BrowserContext context = browser.newContext();
+        setup.accept(context);
+        return new PooledContext(browser, context, affinityCheck);
+    }
+
+    /**
+     * Возвращает контекст в пул после очистки или закрывает его.
+     *
+     * @param pooled контекст, полученный из {@link #acquire(Browser)}
+     * @param failed true, если тест завершился ошибкой
+     */
+    public void release(PooledContext pooled, boolean failed) {
+        pooled.uses++;
+        if (failed || pooled.broken || pooled.uses >= maxUses || !pooled.reset()) {
+            evict(pooled);
+            return;
+        }
+        setup.accept(pooled.context);
+        if (idleCount.incrementAndGet() > maxIdle) {
+            idleCount.decrementAndGet();
+            evict(pooled);
+            return;
+        }
+        idle.computeIfAbsent(pooled.browser, key -> new ArrayDeque<>()).push(pooled);
+    }
+
+    /**
+     * Забывает свободные контексты браузера перед его закрытием.
+     *
+     * @param browser закрываемый браузер
+     */
+    void discard(Browser browser) {
+        Deque<PooledContext> contexts = idle.remove(browser);
+        if (contexts != null) {
+            idleCount.addAndGet(-contexts.size());
+        }
+    }
+
+    private void evict(PooledContext pooled) {
+        metrics.poolEviction();
+        try {
+            pooled.context.close();
+        } catch (PlaywrightException ignored) {
+            // Контекст уже закрыт вместе с упавшим браузером
+        }
+    }
+
+    /**
+     * Контекст из пула вместе с учетом всего, что тест успел в нем изменить.
+     * Тесту выдается прокси {@link #context()}, который запоминает подписки на события
+     * и вызовы, после которых контекст уже нельзя вернуть в исходное состояние.
+     */
+    public static class PooledContext {
+        private final BrowserContext context;
+        private final Browser browser;
+        private final BrowserContext proxy;
+        private final Thread owner = Thread.currentThread();
+        private final BiConsumer<Thread, String> affinityCheck;
+        private final Map<Object, String> listeners = Collections.synchronizedMap(new IdentityHashMap<>());
+        private volatile boolean broken;
+        private boolean dirty;
+        private boolean hit;
+        private int uses;
+
+        PooledContext(Browser browser, BrowserContext context, BiConsumer<Thread, String> affinityCheck) {
+            this.context = context;
+            this.browser = browser;
+            this.affinityCheck = affinityCheck;
+            this.proxy = (BrowserContext) Proxy.newProxyInstance(
+                    BrowserContext.class.getClassLoader(),
+                    new Class<?>[]{BrowserContext.class},
+                    new Tracker());
+            context.onPage(page -> page.onCrash(crashed -> broken = true));
+            context.onClose(closed -> broken = true);
+        }
+
+        /**
+         * @return контекст для использования в тесте
+         */
+        public BrowserContext context() {
+            return proxy;
+        }
+
+        /**
+         * @return браузер, которому принадлежит контекст
+         */
+        public Browser browser() {
+            return browser;
+        }
+
+        /**
+         * @return true, если контекст был взят из пула, а не создан заново
+         */
+        public boolean isPoolHit() {
+            return hit;
+        }
+
+        /**
+         * Открывает новую страницу в контексте. {@code page.context()} у выданной страницы возвращает
+         * тот же прокси, что и {@link #context()}, поэтому изменения контекста через страницу тоже учитываются.
+         *
+         * @return новая страница
+         */
+        public Page newPage() {
+            Page page = context.newPage();
+            return (Page) Proxy.newProxyInstance(
+                    Page.class.getClassLoader(),
+                    new Class<?>[]{Page.class},
+                    (target, method, args) -> {
+                        if (method.getName().equals("context") && method.getParameterCount() == 0) {
+                            return proxy;
+                        }
+                        try {
+                            return method.invoke(page, args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getCause();
+                        }
+                    });
+        }
+
+        /**
+         * Возвращает контекст в исходное состояние.
+         *
+         * @return false, если контекст нельзя переиспользовать
+         */
+        boolean reset() {
+            if (dirty) {
+                return false;
+            }
+            try {
+                for (Page page : new ArrayList<>(context.pages())) {
+                    page.close();
+                }
+                removeListeners();
+                context.unrouteAll();
+                context.clearCookies();
+                context.clearPermissions();
+                context.setExtraHTTPHeaders(Map.of());
+                context.setOffline(false);
+                return !hasLocalStorage(context.storageState());
+            } catch (PlaywrightException e) {
+                return false;
+            }
+        }
+
+        private void removeListeners() {
+            List<Map.Entry<Object, String>> registered;
+            synchronized (listeners) {
+                registered = new ArrayList<>(listeners.entrySet());
+                listeners.clear();
+            }
+            for (Map.Entry<Object, String> listener : registered) {
+                invokeOff(listener.getValue(), listener.getKey());
+            }
+        }
+
+        private void invokeOff(String event, Object handler) {
+            for (Method method : BrowserContext.class.getMethods()) {
+                if (method.getName().equals("off" + event) && method.getParameterCount() == 1) {
+                    try {
+                        method.invoke(context, handler);
+                    } catch (IllegalAccessException | InvocationTargetException e) {
+                        dirty = true;
+                    }
+                    return;
+                }
+            }
+        }
+
+        private static boolean hasLocalStorage(String storageState) {
+            try {
+                for (JsonNode origin : MAPPER.readTree(storageState).path("origins")) {
+                    if (origin.path("localStorage").size() > 0) {
+                        return true;
+                    }
+                }
+                return false;
+            } catch (Exception e) {
+                return true;
+            }
+        }
+
+        /**
+         * Перехватчик вызовов контекста: запоминает подписки onX для последующего offX
+         * и помечает контекст как непригодный для повторного использования.
+         */
+        private class Tracker implements InvocationHandler {
+            @Override
+            public Object invoke(Object target, Method method, Object[] args) throws Throwable {
+                String name = method.getName();
+                if (!PlaywrightRegistry.isObjectMethod(method)) {
+                    affinityCheck.accept(owner, "Контекст браузера");
+                }
+                if (IRREVERSIBLE.contains(name)) {
+                    dirty = true;
+                } else if (args != null && args.length == 1 && name.length() > 2
+                        && name.startsWith("on") && Character.isUpperCase(name.charAt(2))) {
+                    listeners.put(args[0], name.substring(2));
+                } else if (args != null && args.length == 1 && name.startsWith("off")) {
+                    listeners.remove(args[0]);
+                }
+                try {
+                    return method.invoke(context, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package browserpool;
+
+import apiandui.EnvConfig;
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.options.Cookie;
+import org.aeonbits.owner.ConfigFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+/**
+ * Тестовый класс для проверки переиспользования контекстов из {@link ContextPool}.
+ * Проверяет, что возвращенный в пул контекст выдается повторно уже очищенным,
+ * а контекст упавшего теста в пул не попадает.
+ *
+ * @since 2026-10-18
+ */
+public class ContextPoolTest {
+    private final EnvConfig config = ConfigFactory.create(EnvConfig.class, System.getProperties());
+    private BrowserPool pool;
+    private Browser browser;
+
+    /**
+     * Создает отдельный пул на один свободный контекст и запускает браузер текущего потока
+     */
+    @BeforeEach
+    void setUp() {
+        pool = new BrowserPool(1, 5, PlaywrightRegistry.Affinity.FAIL);
+        browser = pool.browser();
+    }
+
+    /**
+     * Проверяет очистку состояния между тестами:
+     * 1. Первый контекст берется из заранее созданных
+     * 2. Тест добавляет cookie и открывает страницу
+     * 3. После возврата в пул тот же контекст выдается без cookies и страниц
+     */
+    @Test
+    void testContextIsResetBeforeReuse() {
+        ContextPool.PooledContext first = pool.acquire(browser);
+        assertTrue(first.isPoolHit(), "Первый контекст должен быть создан заранее при запуске браузера");
+
+        BrowserContext context = first.context();
+        context.addCookies(List.of(new Cookie("session", "secret").setUrl(config.baseUrl())));
+        Page page = first.newPage();
+        page.navigate(config.baseUrl() + "/checkboxes");
+        pool.release(first, false);
+
+        ContextPool.PooledContext second = pool.acquire(browser);
+        assertSame(first, second, "Очищенный контекст должен вернуться из пула");
+        assertTrue(second.context().cookies().isEmpty(), "Cookies предыдущего теста не удалены");
+        assertTrue(second.context().pages().isEmpty(), "Страницы предыдущего теста не закрыты");
+        pool.release(second, false);
+    }
+
+    /**
+     * Проверяет, что изменения через {@code page.context()} учитываются так же, как через контекст из пула:
+     * 1. Страница возвращает отслеживаемый контекст
+     * 2. Init-скрипт, добавленный через страницу, не дает вернуть контекст в пул
+     */
+    @Test
+    void testChangesThroughPageContextAreTracked() {
+        ContextPool.PooledContext pooled = pool.acquire(browser);
+        Page page = pooled.newPage();
+        assertSame(pooled.context(), page.context(), "Страница должна возвращать контекст из пула");
+
+        page.context().addInitScript("window.__dirty = true");
+        pool.release(pooled, false);
+
+        assertNotSame(pooled, pool.acquire(browser), "Контекст с init-скриптом не должен переиспользоваться");
+    }
+
+    /**
+     * Проверяет, что контекст упавшего теста закрывается, а следующий тест получает новый
+     */
+    @Test
+    void testFailedContextIsEvicted() {
+        ContextPool.PooledContext failed = pool.acquire(browser);
+        pool.release(failed, true);
+
+        ContextPool.PooledContext next = pool.acquire(browser);
+        assertNotSame(failed, next, "Контекст упавшего теста не должен переиспользоваться");
+        assertFalse(next.isPoolHit(), "Пул должен быть пуст после вытеснения");
+        assertEquals(1, pool.metrics().poolEvictions(), "Вытеснение не учтено в метриках");
+        pool.release(next, false);
+    }
+
+    /**
+     * Закрывает пул вместе с браузером
+     */
+    @AfterEach
+    void tearDown() {
+        pool.close();
+    }
+}
@@ -0,0 +1,76 @@
+package browserpool;
+
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.Page;
+import eventbus.EventAttachment;
+import eventbus.EventCounters;
+import eventbus.EventLogWriter;
+import eventbus.NetworkEventBus;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+import java.util.List;
+
+
+/**
+ * Шина событий страницы теста {@link NetworkEventBus}. Создается при первом запросе параметра; события попадают
+ * в счетчики, журнал target/network-events и вложение Allure. Число событий по видам публикуется как network.events.
+ *
+ * Параметры (junit-platform.properties или системные свойства):
+ * - browserpool.events.capacity - емкость буфера шины, по умолчанию 4096
+ * - browserpool.events.attachment-limit - сколько последних событий попадает во вложение, по умолчанию 500
+ *
+ * @since 2026-10-18
+ */
+class EventBusFeature implements SessionFeature {
+    private static final String EVENTS_CAPACITY = "browserpool.events.capacity";
+    private static final String EVENTS_ATTACHMENT_LIMIT = "browserpool.events.attachment-limit";
+
+    private final ExtensionContext extensionContext;
+    private final String testKey;
+    private Page page;
+    private NetworkEventBus events;
+    private EventCounters counters;
+
+    /**
+     * @param extensionContext контекст теста
+     * @param testKey          ключ теста, пригодный для имени файла
+     */
+    EventBusFeature(ExtensionContext extensionContext, String testKey) {
+        this.extensionContext = extensionContext;
+        this.testKey = testKey;
+    }
+
+    @Override
+    public void install(BrowserContext context, Page page) {
+        this.page = page;
+    }
+
+    /**
+     * @return шина событий страницы теста, созданная при первом вызове
+     */
+    NetworkEventBus events() {
+        if (events == null) {
+            int capacity = extensionContext.getConfigurationParameter(EVENTS_CAPACITY, Integer::parseInt)
+                    .orElse(4096);
+            int attachmentLimit = extensionContext.getConfigurationParameter(EVENTS_ATTACHMENT_LIMIT,
+                    Integer::parseInt).orElse(500);
+            counters = new EventCounters();
+            events = new NetworkEventBus(extensionContext.getDisplayName(), capacity, List.of(counters,
+                    EventLogWriter.forTest(extensionContext.getRequiredTestClass().getName(), testKey),
+                    new EventAttachment(attachmentLimit))).attach(page);
+        }
+        return events;
+    }
+
+    @Override
+    public void report(boolean failed) {
+        if (events == null) {
+            return;
+        }
+        events.close();
+        extensionContext.publishReportEntry("network.events", counters.summary());
+        if (events.dropped() > 0) {
+            extensionContext.publishReportEntry("network.events.dropped", String.valueOf(events.dropped()));
+        }
+    }
+}
@@ -0,0 +1,353 @@
+package browserpool;
+
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.options.HarMode;
+import com.microsoft.playwright.options.HarNotFound;
+import com.microsoft.playwright.options.RouteFromHarUpdateContentPolicy;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+
+/**
+ * Архив сетевого трафика тестов в формате HAR: запись при первом прогоне и воспроизведение
+ * через {@code routeFromHAR} при следующих, чтобы UI-тесты не ждали сетевых ответов.
+ *
+ * Трафик хранится по тестовым классам: {@code <каталог>/<класс>/<метод>-<хеш>.har}, рядом в timings.properties
+ * лежит длительность каждого теста при живой сети. По ней для воспроизведенного теста считается сэкономленное время.
+ *
+ * Режимы ({@link Mode}):
+ * - off - сеть без изменений
+ * - record - каждый тест записывает свой HAR заново
+ * - replay - тест с HAR воспроизводит его, без HAR идет в сеть
+ * - auto - воспроизводит свежий HAR, а отсутствующий или устаревший (старше har.max-age-hours) записывает заново;
+ *   HAR теста, упавшего при воспроизведении, удаляется и перезаписывается в следующем прогоне
+ *
+ * Запросы, которых нет в HAR, при воспроизведении уходят в сеть. Такие промахи считаются маршрутами вокруг
+ * {@code routeFromHAR}: время воспроизведенного теста засчитывается как сэкономленное, только если все его запросы
+ * были отданы из HAR. HAR с промахами в режиме auto удаляется и перезаписывается в следующем прогоне.
+ *
+ * Адрес тестируемого приложения (например, локальный сервер страниц на случайном порту) в записанном HAR
+ * заменяется на {@link #ORIGIN_PLACEHOLDER}, а при воспроизведении подставляется адрес текущего прогона.
+ *
+ * HAR записывается при закрытии контекста, поэтому контекст записывающего теста не возвращается в пул,
+ * а файл появляется на месте только после успешного завершения теста.
+ *
+ * @since 2026-10-18
+ */
+public class HarArchive implements ExtensionContext.Store.CloseableResource {
+    static final String ORIGIN_PLACEHOLDER = "http://har.base.url";
+
+    private final Path dir;
+    private final Mode mode;
+    private final Duration maxAge;
+    private final Clock clock;
+    private final String origin;
+    private final Map<Path, Properties> timings = new ConcurrentHashMap<>();
+    private final LongAdder recorded = new LongAdder();
+    private final LongAdder replayed = new LongAdder();
+    private final LongAdder partial = new LongAdder();
+    private final LongAdder savedMillis = new LongAdder();
+
+    /**
+     * Режим работы архива, задается свойством har.mode.
+     */
+    public enum Mode {
+        OFF, RECORD, REPLAY, AUTO;
+
+        /**
+         * @param value значение свойства в любом регистре
+         * @return режим
+         */
+        public static Mode parse(String value) {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        }
+    }
+
+    /**
+     * Действие с сетью для одного теста.
+     */
+    public enum Action {
+        /** Живая сеть без записи */
+        LIVE,
+        /** Живая сеть с записью HAR */
+        RECORD,
+        /** Ответы из HAR */
+        REPLAY
+    }
+
+    /**
+     * Решение для теста: что делать с сетью и где лежит его HAR.
+     *
+     * @param action  действие с сетью
+     * @param har     итоговый HAR-файл теста
+     * @param timings файл длительностей класса
+     * @param key     ключ теста в файле длительностей
+     * @param hits    счетчики запросов, отданных из HAR и ушедших в сеть при воспроизведении
+     */
+    public record Decision(Action action, Path har, Path timings, String key, Hits hits) {
+        Path recording() {
+            return har.resolveSibling(key + ".recording.har");
+        }
+
+        Path replaying() {
+            return har.resolveSibling(key + ".replaying.har");
+        }
+    }
+
+    /**
+     * Запросы теста при воспроизведении: дошедшие до HAR и не найденные в нем.
+     */
+    public static class Hits {
+        private final LongAdder reached = new LongAdder();
+        private final LongAdder missed = new LongAdder();
+
+        void reached() {
+            reached.increment();
+        }
+
+        void missed() {
+            missed.increment();
+        }
+
+        /**
+         * @return число запросов, отданных из HAR
+         */
+        public long served() {
+            return reached.sum() - missed.sum();
+        }
+
+        /**
+         * @return число запросов, ушедших в сеть мимо HAR
+         */
+        public long missedCount() {
+            return missed.sum();
+        }
+    }
+
+    /**
+     * @param dir    корневой каталог архива
+     * @param mode   режим работы
+     * @param maxAge возраст HAR, после которого он перезаписывается в режиме auto
+     * @param clock  часы для проверки возраста
+     */
+    public HarArchive(Path dir, Mode mode, Duration maxAge, Clock clock) {
+        this(dir, mode, maxAge, clock, null);
+    }
+
+    /**
+     * @param dir     корневой каталог архива
+     * @param mode    режим работы
+     * @param maxAge  возраст HAR, после которого он перезаписывается в режиме auto
+     * @param clock   часы для проверки возраста
+     * @param baseUrl адрес тестируемого приложения, который в HAR заменяется на {@link #ORIGIN_PLACEHOLDER}, или null
+     */
+    public HarArchive(Path dir, Mode mode, Duration maxAge, Clock clock, String baseUrl) {
+        this.dir = dir;
+        this.mode = mode;
+        this.maxAge = maxAge;
+        this.clock = clock;
+        this.origin = baseUrl == null ? null : origin(baseUrl);
+    }
+
+    /**
+     * @return режим работы архива
+     */
+    public Mode mode() {
+        return mode;
+    }
+
+    /**
+     * Определяет действие с сетью для теста.
+     *
+     * @param className имя тестового класса
+     * @param testKey   уникальный в пределах класса ключ теста, пригодный для имени файла
+     * @return решение для теста
+     */
+    public Decision decide(String className, String testKey) {
+        Path classDir = dir.resolve(className);
+        Path har = classDir.resolve(testKey + ".har");
+        Action action = switch (mode) {
+            case OFF -> Action.LIVE;
+            case RECORD -> Action.RECORD;
+            case REPLAY -> Files.exists(har) ? Action.REPLAY : Action.LIVE;
+            case AUTO -> fresh(har) ? Action.REPLAY : Action.RECORD;
+        };
+        return new Decision(action, har, classDir.resolve("timings.properties"), testKey, new Hits());
+    }
+
+    /**
+     * Подключает HAR к контексту теста. Для записи контекст должен быть закрыт после теста.
+     * При воспроизведении маршрут, зарегистрированный после HAR, срабатывает раньше него и считает дошедшие
+     * запросы, а зарегистрированный до HAR - только запросы, которые HAR передал дальше в сеть.
+     *
+     * @param context  контекст теста
+     * @param decision решение из {@link #decide(String, String)}
+     */
+    public void apply(BrowserContext context, Decision decision) {
+        if (decision.action() == Action.REPLAY) {
+            Path replaying = prepareReplay(decision);
+            context.route("**/*", route -> {
+                decision.hits().missed();
+                route.fallback();
+            });
+            context.routeFromHAR(replaying, new BrowserContext.RouteFromHAROptions()
+                    .setNotFound(HarNotFound.FALLBACK));
+            context.route("**/*", route -> {
+                decision.hits().reached();
+                route.fallback();
+            });
+        } else if (decision.action() == Action.RECORD) {
+            try {
+                Files.createDirectories(decision.har().getParent());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            context.routeFromHAR(decision.recording(), new BrowserContext.RouteFromHAROptions()
+                    .setUpdate(true)
+                    .setUpdateContent(RouteFromHarUpdateContentPolicy.EMBED)
+                    .setUpdateMode(HarMode.MINIMAL));
+        }
+    }
+
+    /**
+     * Завершает тест после закрытия или возврата его контекста:
+     * 1. Запись - успешный HAR с замененным адресом приложения занимает место прежнего,
+     *    длительность запоминается как время при живой сети
+     * 2. Воспроизведение - сэкономленное время считается, только если все запросы теста отданы из HAR;
+     *    HAR упавшего теста удаляется как устаревший, HAR с промахами в режиме auto - тоже
+     *
+     * @param decision решение для теста
+     * @param nanos    длительность теста
+     * @param failed   true, если тест упал
+     * @return сэкономленные миллисекунды или 0
+     */
+    public long finish(Decision decision, long nanos, boolean failed) {
+        long millis = TimeUnit.NANOSECONDS.toMillis(nanos);
+        try {
+            if (decision.action() == Action.RECORD) {
+                if (failed || !Files.exists(decision.recording())) {
+                    Files.deleteIfExists(decision.recording());
+                    return 0;
+                }
+                Files.writeString(decision.recording(), replaceOrigin(Files.readString(decision.recording()), false));
+                Files.move(decision.recording(), decision.har(), StandardCopyOption.REPLACE_EXISTING);
+                timings(decision.timings()).setProperty(decision.key(), String.valueOf(millis));
+                recorded.increment();
+            } else if (decision.action() == Action.REPLAY) {
+                Files.deleteIfExists(decision.replaying());
+                if (failed) {
+                    Files.deleteIfExists(decision.har());
+                    System.out.println("HAR удален после падения теста при воспроизведении: " + decision.har());
+                    return 0;
+                }
+                Hits hits = decision.hits();
+                if (hits.served() == 0 || hits.missedCount() > 0) {
+                    partial.increment();
+                    System.out.printf("HAR %s отдал %d запросов, в сеть ушло %d: время не засчитано%s%n",
+                            decision.har(), hits.served(), hits.missedCount(),
+                            mode == Mode.AUTO ? ", HAR будет перезаписан" : "");
+                    if (mode == Mode.AUTO) {
+                        Files.deleteIfExists(decision.har());
+                    }
+                    return 0;
+                }
+                replayed.increment();
+                String live = timings(decision.timings()).getProperty(decision.key());
+                if (live != null) {
+                    long saved = Math.max(0, Long.parseLong(live) - millis);
+                    savedMillis.add(saved);
+                    return saved;
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Не удалось обновить HAR " + decision.har() + ": " + e.getMessage());
+        }
+        return 0;
+    }
+
+    /**
+     * Сохраняет длительности тестов и выводит итог: сколько тестов записано, воспроизведено и сколько времени сэкономлено.
+     */
+    @Override
+    public void close() {
+        for (Map.Entry<Path, Properties> entry : timings.entrySet()) {
+            try (OutputStream stream = Files.newOutputStream(entry.getKey())) {
+                entry.getValue().store(stream, "Длительность тестов при живой сети, мс");
+            } catch (IOException e) {
+                System.err.println("Не удалось сохранить " + entry.getKey() + ": " + e.getMessage());
+            }
+        }
+        if (mode != Mode.OFF) {
+            System.out.printf("HAR (%s): записано тестов %d, воспроизведено %d, с промахами %d, сэкономлено %.1f с%n",
+                    mode.name().toLowerCase(Locale.ROOT), recorded.sum(), replayed.sum(), partial.sum(), savedMillis.sum() / 1000.0);
+        }
+    }
+
+    /**
+     * Готовит копию HAR с адресом приложения текущего прогона вместо {@link #ORIGIN_PLACEHOLDER}.
+     *
+     * @param decision решение для воспроизводимого теста
+     * @return файл для {@code routeFromHAR}
+     */
+    Path prepareReplay(Decision decision) {
+        try {
+            return Files.writeString(decision.replaying(), replaceOrigin(Files.readString(decision.har()), true));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Не удалось подготовить HAR " + decision.har(), e);
+        }
+    }
+
+    private String replaceOrigin(String har, boolean replay) {
+        if (origin == null) {
+            return har;
+        }
+        return replay ? har.replace(ORIGIN_PLACEHOLDER, origin) : har.replace(origin, ORIGIN_PLACEHOLDER);
+    }
+
+    /**
+     * @return схема, хост и порт адреса без пути
+     */
+    static String origin(String baseUrl) {
+        URI uri = URI.create(baseUrl);
+        return uri.getScheme() + "://" + uri.getRawAuthority();
+    }
+
+    private boolean fresh(Path har) {
+        try {
+            return Files.exists(har)
+                    && Files.getLastModifiedTime(har).toInstant().plus(maxAge).isAfter(clock.instant());
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private Properties timings(Path file) {
+        return timings.computeIfAbsent(file, path -> {
+            Properties properties = new Properties();
+            if (Files.exists(path)) {
+                try (InputStream stream = Files.newInputStream(path)) {
+                    properties.load(stream);
+                } catch (IOException e) {
+                    System.err.println("Не удалось прочитать " + path + ": " + e.getMessage());
+                }
+            }
+            return properties;
+        });
+    }
+}
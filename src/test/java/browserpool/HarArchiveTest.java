@@ -0,0 +1,119 @@
+package browserpool;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+/**
+ * Тестовый класс для проверки решений и учета архива HAR без запуска браузера.
+ *
+ * @since 2026-10-18
+ */
+public class HarArchiveTest {
+    private static final Instant NOW = Instant.parse("2026-10-18T12:00:00Z");
+
+    @TempDir
+    Path dir;
+
+    /**
+     * Проверяет решения режима auto и replay:
+     * 1. Без HAR тест записывается (auto) или идет в сеть (replay)
+     * 2. Свежий HAR воспроизводится
+     * 3. Устаревший HAR записывается заново
+     */
+    @Test
+    void testAutoModeRefreshesStaleArchives() throws Exception {
+        HarArchive auto = archive(HarArchive.Mode.AUTO);
+        HarArchive.Decision missing = auto.decide("selectors.HoverTest", "testHoverProfiles-1");
+        assertEquals(HarArchive.Action.RECORD, missing.action());
+        assertEquals(HarArchive.Action.LIVE,
+                archive(HarArchive.Mode.REPLAY).decide("selectors.HoverTest", "testHoverProfiles-1").action());
+
+        Files.createDirectories(missing.har().getParent());
+        Files.writeString(missing.har(), "{}");
+        Files.setLastModifiedTime(missing.har(), FileTime.from(NOW.minus(Duration.ofHours(1))));
+        assertEquals(HarArchive.Action.REPLAY, auto.decide("selectors.HoverTest", "testHoverProfiles-1").action());
+
+        Files.setLastModifiedTime(missing.har(), FileTime.from(NOW.minus(Duration.ofHours(25))));
+        assertEquals(HarArchive.Action.RECORD, auto.decide("selectors.HoverTest", "testHoverProfiles-1").action());
+        assertEquals(HarArchive.Action.LIVE,
+                archive(HarArchive.Mode.OFF).decide("selectors.HoverTest", "testHoverProfiles-1").action());
+    }
+
+    /**
+     * Проверяет учет записи и воспроизведения:
+     * 1. Успешная запись переносит HAR на место и запоминает время при живой сети
+     * 2. Воспроизведение, все запросы которого отданы из HAR, возвращает сэкономленное время относительно записи
+     * 3. Падение при воспроизведении удаляет HAR
+     */
+    @Test
+    void testReplayReportsTimeSavedAgainstLiveRun() throws Exception {
+        HarArchive recording = archive(HarArchive.Mode.RECORD);
+        HarArchive.Decision record = recording.decide("dynamic.DynamicContentTest", "testDynamicLoading-2");
+        Files.createDirectories(record.har().getParent());
+        Files.writeString(record.recording(), "{}");
+        assertEquals(0, recording.finish(record, TimeUnit.SECONDS.toNanos(8), false));
+        recording.close();
+        assertTrue(Files.exists(record.har()));
+        assertFalse(Files.exists(record.recording()));
+        Files.setLastModifiedTime(record.har(), FileTime.from(NOW));
+
+        HarArchive replaying = archive(HarArchive.Mode.AUTO);
+        HarArchive.Decision replay = replaying.decide("dynamic.DynamicContentTest", "testDynamicLoading-2");
+        assertEquals(HarArchive.Action.REPLAY, replay.action());
+        replay.hits().reached();
+        assertEquals(6_000, replaying.finish(replay, TimeUnit.SECONDS.toNanos(2), false));
+
+        replaying.finish(replay, TimeUnit.SECONDS.toNanos(2), true);
+        assertFalse(Files.exists(replay.har()), "HAR упавшего при воспроизведении теста должен быть удален");
+    }
+
+    /**
+     * Проверяет воспроизведение на другом адресе приложения и учет промахов:
+     * 1. Записанный HAR хранит адрес-заглушку, а при воспроизведении получает адрес текущего прогона
+     * 2. Тест, часть запросов которого ушла в сеть, не получает сэкономленного времени
+     * 3. В режиме auto такой HAR удаляется для перезаписи
+     */
+    @Test
+    void testReplayNormalizesOriginAndIgnoresMisses() throws Exception {
+        HarArchive recording = archive(HarArchive.Mode.RECORD, "http://127.0.0.1:41234/");
+        HarArchive.Decision record = recording.decide("selectors.HoverTest", "testHoverProfiles-1");
+        Files.createDirectories(record.har().getParent());
+        Files.writeString(record.recording(), "{\"url\":\"http://127.0.0.1:41234/hovers\"}");
+        recording.finish(record, TimeUnit.SECONDS.toNanos(3), false);
+        recording.close();
+        assertEquals("{\"url\":\"" + HarArchive.ORIGIN_PLACEHOLDER + "/hovers\"}", Files.readString(record.har()));
+        Files.setLastModifiedTime(record.har(), FileTime.from(NOW));
+
+        HarArchive replaying = archive(HarArchive.Mode.AUTO, "http://127.0.0.1:50001");
+        HarArchive.Decision replay = replaying.decide("selectors.HoverTest", "testHoverProfiles-1");
+        assertEquals("{\"url\":\"http://127.0.0.1:50001/hovers\"}", Files.readString(replaying.prepareReplay(replay)));
+
+        replay.hits().reached();
+        replay.hits().reached();
+        replay.hits().missed();
+        assertEquals(1, replay.hits().served());
+        assertEquals(0, replaying.finish(replay, TimeUnit.SECONDS.toNanos(1), false));
+        assertFalse(Files.exists(replay.har()), "HAR с промахами должен быть перезаписан");
+        assertFalse(Files.exists(replay.replaying()));
+    }
+
+    private HarArchive archive(HarArchive.Mode mode, String baseUrl) {
+        return new HarArchive(dir, mode, Duration.ofHours(24), Clock.fixed(NOW, ZoneOffset.UTC), baseUrl);
+    }
+
+    private HarArchive archive(HarArchive.Mode mode) {
+        return new HarArchive(dir, mode, Duration.ofHours(24), Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+}
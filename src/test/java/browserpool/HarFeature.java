@@ -0,0 +1,75 @@
+package browserpool;
+
+import apiandui.EnvConfig;
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.Page;
+import org.aeonbits.owner.ConfigFactory;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+import java.nio.file.Paths;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Locale;
+
+
+/**
+ * Запись или воспроизведение сетевого трафика теста через {@link HarArchive} (системное свойство har.mode).
+ * Действие публикуется как har, сэкономленное воспроизведением время - как har.saved.ms.
+ * Контекст, записывающий HAR, закрывается после теста, чтобы файл был сохранен.
+ *
+ * @since 2026-10-18
+ */
+class HarFeature implements SessionFeature {
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(HarFeature.class);
+
+    private final ExtensionContext extensionContext;
+    private final HarArchive archive;
+    private final HarArchive.Decision decision;
+    private long start;
+
+    /**
+     * @param extensionContext контекст теста
+     * @param testKey          ключ теста, пригодный для имени файла
+     */
+    HarFeature(ExtensionContext extensionContext, String testKey) {
+        this.extensionContext = extensionContext;
+        this.archive = archive(extensionContext);
+        this.decision = archive.decide(extensionContext.getRequiredTestClass().getName(), testKey);
+    }
+
+    /**
+     * Возвращает архив HAR текущего прогона, создавая его при первом обращении.
+     *
+     * @param extensionContext любой контекст текущего прогона
+     * @return архив сетевого трафика тестов
+     */
+    static HarArchive archive(ExtensionContext extensionContext) {
+        return extensionContext.getRoot().getStore(NAMESPACE).getOrComputeIfAbsent(HarArchive.class, key -> {
+            EnvConfig config = ConfigFactory.create(EnvConfig.class, System.getProperties());
+            return new HarArchive(Paths.get(config.harDir()), HarArchive.Mode.parse(config.harMode()),
+                    Duration.ofHours(config.harMaxAgeHours()), Clock.systemUTC(), config.baseUrl());
+        }, HarArchive.class);
+    }
+
+    @Override
+    public void install(BrowserContext context, Page page) {
+        start = System.nanoTime();
+        archive.apply(context, decision);
+        if (archive.mode() != HarArchive.Mode.OFF) {
+            extensionContext.publishReportEntry("har", decision.action().name().toLowerCase(Locale.ROOT));
+        }
+    }
+
+    @Override
+    public boolean reusable() {
+        return decision.action() != HarArchive.Action.RECORD;
+    }
+
+    @Override
+    public void released(boolean failed) {
+        long saved = archive.finish(decision, System.nanoTime() - start, failed);
+        if (saved > 0) {
+            extensionContext.publishReportEntry("har.saved.ms", String.valueOf(saved));
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package browserpool;
+
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.OptionalLong;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+
+/**
+ * Время загрузки страниц тестов с {@link BlockResources} без блокировки, по которому считается выигрыш от фильтра.
+ *
+ * Базовое время записывается прогоном с выключенной блокировкой (browserpool.block-resources=false)
+ * и хранится в properties-файле по ключу теста. В прогоне с блокировкой для теста, у которого есть базовое время,
+ * считается сокращение времени загрузки.
+ *
+ * @since 2026-10-18
+ */
+public class PageLoadBaseline implements ExtensionContext.Store.CloseableResource {
+    private final Path file;
+    private final Properties baseline = new Properties();
+    private final AtomicBoolean changed = new AtomicBoolean();
+    private final LongAdder blockedRequests = new LongAdder();
+    private final LongAdder reducedMillis = new LongAdder();
+
+    /**
+     * @param file файл базового времени загрузки
+     */
+    public PageLoadBaseline(Path file) {
+        this.file = file;
+        if (Files.exists(file)) {
+            try (InputStream stream = Files.newInputStream(file)) {
+                baseline.load(stream);
+            } catch (IOException e) {
+                System.err.println("Не удалось прочитать " + file + ": " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Запоминает время загрузки теста без блокировки.
+     *
+     * @param key    ключ теста
+     * @param millis время загрузки страниц теста, мс
+     */
+    public void record(String key, long millis) {
+        baseline.setProperty(key, String.valueOf(millis));
+        changed.set(true);
+    }
+
+    /**
+     * Учитывает тест, выполненный с блокировкой.
+     *
+     * @param key     ключ теста
+     * @param millis  время загрузки страниц теста, мс
+     * @param blocked число заблокированных запросов
+     * @return сокращение времени загрузки относительно базового, мс; пусто, если базового времени нет
+     */
+    public OptionalLong compare(String key, long millis, int blocked) {
+        blockedRequests.add(blocked);
+        String base = baseline.getProperty(key);
+        if (base == null) {
+            return OptionalLong.empty();
+        }
+        long reduction = Long.parseLong(base) - millis;
+        reducedMillis.add(Math.max(0, reduction));
+        return OptionalLong.of(reduction);
+    }
+
+    /**
+     * Сохраняет базовое время и выводит итог по заблокированным запросам.
+     */
+    @Override
+    public void close() {
+        if (changed.get()) {
+            try {
+                Files.createDirectories(file.getParent());
+                try (OutputStream stream = Files.newOutputStream(file)) {
+                    baseline.store(stream, "Время загрузки страниц без блокировки ресурсов, мс");
+                }
+            } catch (IOException e) {
+                System.err.println("Не удалось сохранить " + file + ": " + e.getMessage());
+            }
+        }
+        if (blockedRequests.sum() > 0) {
+            System.out.printf("Блокировка ресурсов: заблокировано запросов %d, загрузка страниц сократилась на %.1f с%n",
+                    blockedRequests.sum(), reducedMillis.sum() / 1000.0);
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package browserpool;
+
+import apiandui.EnvConfig;
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.Page;
+import org.aeonbits.owner.ConfigFactory;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+
+/**
+ * Блокировка ресурсов теста с {@link BlockResources} фильтром {@link ResourceFilter}. По завершении успешного теста
+ * публикуются blocked.requests и page.load.ms - суммарное время загрузки открытых страниц по Navigation Timing,
+ * а при наличии базового времени из прогона без блокировки ({@link PageLoadBaseline}) - page.load.reduction.ms.
+ *
+ * Параметр browserpool.block-resources=false выключает фильтр и записывает базовое время (по умолчанию true).
+ *
+ * @since 2026-10-18
+ */
+class PageLoadFeature implements SessionFeature {
+    private static final ExtensionContext.Namespace NAMESPACE =
+            ExtensionContext.Namespace.create(PageLoadFeature.class);
+    private static final String BLOCK_RESOURCES = "browserpool.block-resources";
+    private static final String PAGE_LOAD_SCRIPT = "() => performance.getEntriesByType('navigation')"
+            + ".reduce((sum, entry) => sum + Math.max(0, entry.loadEventEnd - entry.startTime), 0)";
+
+    private final ExtensionContext extensionContext;
+    private final String key;
+    private final PageLoadBaseline baseline;
+    private final ResourceFilter filter;
+    private BrowserContext context;
+
+    private PageLoadFeature(ExtensionContext extensionContext, String testKey, ResourceFilter filter) {
+        this.extensionContext = extensionContext;
+        this.key = extensionContext.getRequiredTestClass().getName() + "#" + testKey;
+        this.baseline = extensionContext.getRoot().getStore(NAMESPACE).getOrComputeIfAbsent(PageLoadBaseline.class,
+                k -> new PageLoadBaseline(Paths.get(".test-history", "page-load.properties")), PageLoadBaseline.class);
+        this.filter = filter;
+    }
+
+    /**
+     * @param extensionContext контекст теста
+     * @param testKey          ключ теста, пригодный для имени файла
+     * @return блокировка для теста с {@link BlockResources} или пусто
+     */
+    static Optional<SessionFeature> forTest(ExtensionContext extensionContext, String testKey) {
+        return BrowserPoolExtension.findAnnotation(extensionContext, BlockResources.class).map(annotation -> {
+            boolean enabled = extensionContext.getConfigurationParameter(BLOCK_RESOURCES, Boolean::parseBoolean)
+                    .orElse(true);
+            String baseUrl = ConfigFactory.create(EnvConfig.class, System.getProperties()).baseUrl();
+            ResourceFilter filter = enabled ? ResourceFilter.compile(annotation, baseUrl) : null;
+            return new PageLoadFeature(extensionContext, testKey, filter);
+        });
+    }
+
+    @Override
+    public void install(BrowserContext context, Page page) {
+        this.context = context;
+        if (filter != null) {
+            filter.install(context);
+        }
+    }
+
+    /**
+     * Публикует время загрузки страниц теста: без фильтра оно становится базовым,
+     * с фильтром сравнивается с базовым.
+     */
+    @Override
+    public void report(boolean failed) {
+        if (failed) {
+            return;
+        }
+        long millis = pageLoadMillis();
+        Map<String, String> entry = new LinkedHashMap<>();
+        entry.put("page.load.ms", String.valueOf(millis));
+        if (filter == null) {
+            baseline.record(key, millis);
+        } else {
+            entry.put("blocked.requests", String.valueOf(filter.blocked()));
+            baseline.compare(key, millis, filter.blocked())
+                    .ifPresent(reduction -> entry.put("page.load.reduction.ms", String.valueOf(reduction)));
+        }
+        extensionContext.publishReportEntry(entry);
+    }
+
+    private long pageLoadMillis() {
+        double total = 0;
+        for (Page open : context.pages()) {
+            try {
+                total += ((Number) open.evaluate(PAGE_LOAD_SCRIPT)).doubleValue();
+            } catch (RuntimeException e) {
+                // Страница закрыта или не загружена - ее время не учитывается
+            }
+        }
+        return Math.round(total);
+    }
+}
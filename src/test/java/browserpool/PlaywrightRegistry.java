@@ -0,0 +1,257 @@
+package browserpool;
+
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.BrowserType;
+import com.microsoft.playwright.Playwright;
+import com.microsoft.playwright.PlaywrightException;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+
+/**
+ * Реестр экземпляров Playwright, привязанных к рабочим потокам JUnit.
+ * Каждое подключение к драйверу создается в своем потоке ForkJoin и используется только им:
+ * объекты Playwright не потокобезопасны, а общий браузер в static-поле при параллельном запуске
+ * приводит к плавающим ошибкам протокола.
+ *
+ * Браузеры выдаются через прокси, который проверяет вызывающий поток. Реакция на обращение
+ * из чужого потока задается режимом {@link Affinity}. Экземпляры завершившихся потоков
+ * закрываются при регистрации новых, остальные - в конце прогона через {@link #closeAll()}.
+ *
+ * Если {@link BrowserPrewarmer} уже запустил браузер нужного типа, поток забирает его себе
+ * вместе с экземпляром Playwright и запускает браузер сам, только когда прогретых не осталось.
+ * Отключившийся браузер (упал процесс или перезапущен общий сервер) заменяется новым при следующем запросе.
+ *
+ * @since 2026-10-18
+ */
+public class PlaywrightRegistry {
+    private final Map<Thread, Worker> workers = new ConcurrentHashMap<>();
+    private final Affinity affinity;
+    private final PoolMetrics metrics;
+    private final Function<BrowserType, Browser> launcher;
+    private final Consumer<Browser> onLaunch;
+    private final Consumer<Browser> onClose;
+    private final LongAdder violations = new LongAdder();
+
+    /**
+     * Режим контроля обращений к объектам Playwright из чужого потока.
+     */
+    public enum Affinity {
+        /** Бросать {@link IllegalStateException} */
+        FAIL,
+        /** Выводить предупреждение и продолжать */
+        WARN,
+        /** Не проверять */
+        OFF
+    }
+
+    /**
+     * @param affinity      режим контроля потоков
+     * @param launcher      запуск браузера: локальный launch или подключение к общему серверу
+     * @param metrics       счетчики пула для учета запусков
+     * @param onLaunch      действие над только что запущенным браузером в потоке-владельце
+     * @param onClose       действие перед закрытием браузера
+     */
+    public PlaywrightRegistry(Affinity affinity, Function<BrowserType, Browser> launcher, PoolMetrics metrics,
+                              Consumer<Browser> onLaunch, Consumer<Browser> onClose) {
+        this.affinity = affinity;
+        this.launcher = launcher;
+        this.metrics = metrics;
+        this.onLaunch = onLaunch;
+        this.onClose = onClose;
+    }
+
+    /**
+     * Возвращает браузер указанного типа, принадлежащий текущему потоку.
+     * При первом обращении потока запускает для него драйвер Playwright и браузер.
+     *
+     * @param name тип браузера (chromium/firefox/webkit)
+     * @return браузер, защищенный от использования в других потоках
+     */
+    public Browser browser(String name) {
+        Thread thread = Thread.currentThread();
+        Worker worker = workers.get(thread);
+        if (worker == null) {
+            reapDeadWorkers();
+            worker = new Worker(thread);
+            workers.put(thread, worker);
+        }
+        return worker.browser(name.toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * Возвращает и обнуляет длительность запусков, выполненных текущим потоком
+     * с момента предыдущего вызова.
+     *
+     * @return наносекунды запуска или 0, если браузер уже был прогрет
+     */
+    long takeLaunchNanos() {
+        Worker worker = workers.get(Thread.currentThread());
+        if (worker == null) {
+            return 0;
+        }
+        long nanos = worker.pendingLaunchNanos;
+        worker.pendingLaunchNanos = 0;
+        return nanos;
+    }
+
+    /**
+     * Проверяет, что объект Playwright используется потоком-владельцем.
+     *
+     * @param owner  поток, создавший объект
+     * @param object описание объекта для сообщения об ошибке
+     * @throws IllegalStateException при обращении из чужого потока в режиме {@link Affinity#FAIL}
+     */
+    void checkOwner(Thread owner, String object) {
+        Thread current = Thread.currentThread();
+        if (affinity == Affinity.OFF || current == owner) {
+            return;
+        }
+        violations.increment();
+        String message = String.format("%s принадлежит потоку '%s', но вызван из потока '%s'",
+                object, owner.getName(), current.getName());
+        if (affinity == Affinity.FAIL) {
+            throw new IllegalStateException(message);
+        }
+        System.err.println("Нарушение привязки к потоку: " + message);
+    }
+
+    /**
+     * @return число обнаруженных обращений из чужих потоков
+     */
+    public long violations() {
+        return violations.sum();
+    }
+
+    /**
+     * Закрывает все экземпляры Playwright в конце прогона. Вызывается, когда рабочие
+     * потоки уже завершили тесты, поэтому закрытие из чужого потока безопасно.
+     */
+    public void closeAll() {
+        Iterator<Worker> iterator = workers.values().iterator();
+        while (iterator.hasNext()) {
+            iterator.next().close();
+            iterator.remove();
+        }
+    }
+
+    /**
+     * Закрывает экземпляры потоков, которые ForkJoin уже завершил по таймауту простоя.
+     */
+    private void reapDeadWorkers() {
+        workers.entrySet().removeIf(entry -> {
+            if (entry.getKey().isAlive()) {
+                return false;
+            }
+            entry.getValue().close();
+            return true;
+        });
+    }
+
+    /**
+     * Драйвер Playwright и браузеры одного рабочего потока.
+     */
+    private class Worker {
+        private final Thread owner;
+        private final Map<String, Browser> browsers = new HashMap<>();
+        private final List<Playwright> playwrights = new ArrayList<>();
+        private Playwright playwright;
+        private long pendingLaunchNanos;
+
+        Worker(Thread owner) {
+            this.owner = owner;
+        }
+
+        Browser browser(String name) {
+            Browser browser = browsers.get(name);
+            if (browser != null && !browser.isConnected()) {
+                System.out.println("Браузер " + name + " потока '" + owner.getName() + "' отключен, переподключение");
+                onClose.accept(browsers.remove(name));
+                browser = null;
+            }
+            if (browser == null) {
+                long start = System.nanoTime();
+                browser = guard(BrowserPrewarmer.claim(name).map(this::adopt).orElseGet(() -> launch(name)), name);
+                onLaunch.accept(browser);
+                long nanos = System.nanoTime() - start;
+                metrics.browserLaunched(nanos);
+                pendingLaunchNanos += nanos;
+                browsers.put(name, browser);
+            }
+            return browser;
+        }
+
+        /**
+         * Принимает во владение браузер, запущенный заранее {@link BrowserPrewarmer}.
+         */
+        private Browser adopt(BrowserPrewarmer.Prewarmed prewarmed) {
+            playwrights.add(prewarmed.playwright());
+            metrics.browserPrewarmed();
+            return prewarmed.browser();
+        }
+
+        private Browser launch(String name) {
+            if (playwright == null) {
+                playwright = Playwright.create();
+                playwrights.add(playwright);
+            }
+            return launcher.apply(browserType(name));
+        }
+
+        private BrowserType browserType(String name) {
+            return switch (name) {
+                case "chromium" -> playwright.chromium();
+                case "firefox" -> playwright.firefox();
+                case "webkit" -> playwright.webkit();
+                default -> throw new IllegalArgumentException("Unsupported browser: " + name);
+            };
+        }
+
+        private Browser guard(Browser browser, String name) {
+            if (affinity == Affinity.OFF) {
+                return browser;
+            }
+            String description = "Браузер " + name;
+            InvocationHandler handler = (proxy, method, args) -> {
+                if (!isObjectMethod(method)) {
+                    checkOwner(owner, description);
+                }
+                try {
+                    return method.invoke(browser, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+            };
+            return (Browser) Proxy.newProxyInstance(
+                    Browser.class.getClassLoader(), new Class<?>[]{Browser.class}, handler);
+        }
+
+        void close() {
+            browsers.values().forEach(onClose);
+            for (Playwright instance : playwrights) {
+                try {
+                    instance.close();
+                } catch (PlaywrightException e) {
+                    System.err.println("Не удалось закрыть Playwright потока '" + owner.getName() + "': " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    static boolean isObjectMethod(Method method) {
+        return method.getDeclaringClass() == Object.class;
+    }
+}
@@ -0,0 +1,81 @@
+package browserpool;
+
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.BrowserType;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+/**
+ * Тестовый класс для проверки привязки объектов Playwright к рабочим потокам.
+ * Проверяет обнаружение обращений из чужого потока во всех режимах {@link PlaywrightRegistry.Affinity}.
+ *
+ * @since 2026-10-18
+ */
+public class PlaywrightRegistryTest {
+
+    /**
+     * Проверяет режим FAIL: обращение из потока-владельца проходит, из чужого - завершается исключением
+     */
+    @Test
+    void testForeignThreadFailsInStrictMode() throws Exception {
+        PlaywrightRegistry registry = registry(PlaywrightRegistry.Affinity.FAIL);
+        Thread owner = Thread.currentThread();
+
+        assertDoesNotThrow(() -> registry.checkOwner(owner, "Браузер chromium"));
+
+        ExecutionException error = assertThrows(ExecutionException.class, () ->
+                CompletableFuture.runAsync(() -> registry.checkOwner(owner, "Браузер chromium")).get());
+        assertInstanceOf(IllegalStateException.class, error.getCause());
+        assertTrue(error.getCause().getMessage().contains(owner.getName()),
+                "Сообщение должно содержать имя потока-владельца");
+        assertEquals(1, registry.violations());
+    }
+
+    /**
+     * Проверяет режимы WARN и OFF: обращение из чужого потока не прерывает тест,
+     * но в режиме WARN учитывается в счетчике нарушений
+     */
+    @Test
+    void testForeignThreadIsCountedInWarnMode() throws Exception {
+        Thread owner = Thread.currentThread();
+        PlaywrightRegistry warn = registry(PlaywrightRegistry.Affinity.WARN);
+        PlaywrightRegistry off = registry(PlaywrightRegistry.Affinity.OFF);
+
+        CompletableFuture.runAsync(() -> {
+            warn.checkOwner(owner, "Контекст браузера");
+            off.checkOwner(owner, "Контекст браузера");
+        }).get();
+
+        assertEquals(1, warn.violations());
+        assertEquals(0, off.violations());
+    }
+
+    /**
+     * Проверяет, что браузер из реестра нельзя использовать в другом потоке,
+     * а повторный запрос из того же потока возвращает уже запущенный экземпляр
+     */
+    @Test
+    void testBrowserIsBoundToOwnerThread() {
+        PlaywrightRegistry registry = registry(PlaywrightRegistry.Affinity.FAIL);
+        try {
+            Browser browser = registry.browser("chromium");
+            assertSame(browser, registry.browser("chromium"), "Браузер должен запускаться один раз на поток");
+
+            ExecutionException error = assertThrows(ExecutionException.class, () ->
+                    CompletableFuture.runAsync(browser::newContext).get());
+            assertInstanceOf(IllegalStateException.class, error.getCause());
+        } finally {
+            registry.closeAll();
+        }
+    }
+
+    private static PlaywrightRegistry registry(PlaywrightRegistry.Affinity affinity) {
+        return new PlaywrightRegistry(affinity, type -> type.launch(new BrowserType.LaunchOptions()), new PoolMetrics(),
+                browser -> { }, browser -> { });
+    }
+}
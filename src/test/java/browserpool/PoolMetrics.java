@@ -0,0 +1,143 @@
+package browserpool;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+
+/**
+ * Счетчики пула браузеров: сколько раз и за какое время запускались браузеры
+ * и создавались контексты. Безопасны для обновления из нескольких рабочих потоков.
+ *
+ * @since 2026-10-18
+ */
+public class PoolMetrics {
+    private final LongAdder launches = new LongAdder();
+    private final LongAdder launchNanos = new LongAdder();
+    private final LongAdder prewarmed = new LongAdder();
+    private final LongAdder contexts = new LongAdder();
+    private final LongAdder contextNanos = new LongAdder();
+    private final LongAdder poolHits = new LongAdder();
+    private final LongAdder poolMisses = new LongAdder();
+    private final LongAdder poolEvictions = new LongAdder();
+
+    /**
+     * Регистрирует запуск драйвера Playwright и браузера.
+     *
+     * @param nanos длительность запуска в наносекундах
+     */
+    void browserLaunched(long nanos) {
+        launches.increment();
+        launchNanos.add(nanos);
+    }
+
+    /**
+     * Регистрирует получение браузера, запущенного заранее при открытии сессии JUnit.
+     */
+    void browserPrewarmed() {
+        prewarmed.increment();
+    }
+
+    /**
+     * Регистрирует выдачу контекста и страницы для теста.
+     *
+     * @param nanos длительность создания в наносекундах
+     */
+    void contextCreated(long nanos) {
+        contexts.increment();
+        contextNanos.add(nanos);
+    }
+
+    /**
+     * Регистрирует выдачу готового контекста из пула.
+     */
+    void poolHit() {
+        poolHits.increment();
+    }
+
+    /**
+     * Регистрирует создание нового контекста из-за пустого пула.
+     */
+    void poolMiss() {
+        poolMisses.increment();
+    }
+
+    /**
+     * Регистрирует закрытие контекста вместо возврата в пул.
+     */
+    void poolEviction() {
+        poolEvictions.increment();
+    }
+
+    public long poolHits() {
+        return poolHits.sum();
+    }
+
+    public long poolMisses() {
+        return poolMisses.sum();
+    }
+
+    public long poolEvictions() {
+        return poolEvictions.sum();
+    }
+
+    public long launches() {
+        return launches.sum();
+    }
+
+    public long prewarmed() {
+        return prewarmed.sum();
+    }
+
+    public long contexts() {
+        return contexts.sum();
+    }
+
+    /**
+     * Средняя длительность запуска браузера.
+     *
+     * @return миллисекунды или 0, если запусков не было
+     */
+    public double averageLaunchMillis() {
+        return average(launchNanos.sum(), launches.sum());
+    }
+
+    /**
+     * Средняя длительность создания контекста.
+     *
+     * @return миллисекунды или 0, если контекстов не было
+     */
+    public double averageContextMillis() {
+        return average(contextNanos.sum(), contexts.sum());
+    }
+
+    /**
+     * Оценка сэкономленного времени: каждый контекст сверх числа запусков
+     * раньше стоил бы полного запуска Playwright и браузера.
+     *
+     * @return сэкономленные миллисекунды
+     */
+    public long savedMillis() {
+        long avoided = contexts() - launches();
+        if (avoided <= 0) {
+            return 0;
+        }
+        return Math.round(avoided * (averageLaunchMillis() - averageContextMillis()));
+    }
+
+    /**
+     * Формирует итоговую строку для вывода в конце прогона.
+     *
+     * @return текстовая сводка по пулу
+     */
+    public String summary() {
+        return String.format(
+                "Пул браузеров: запусков %d (в среднем %.1f мс, из них прогретых заранее %d), контекстов %d (в среднем %.1f мс), сэкономлено ~%d мс; "
+                        + "пул контекстов: попаданий %d, промахов %d, вытеснений %d",
+                launches(), averageLaunchMillis(), prewarmed(), contexts(), averageContextMillis(), savedMillis(),
+                poolHits(), poolMisses(), poolEvictions());
+    }
+
+    private static double average(long totalNanos, long count) {
+        return count == 0 ? 0 : (double) TimeUnit.NANOSECONDS.toMicros(totalNanos) / count / 1000.0;
+    }
+}
@@ -0,0 +1,98 @@
+package browserpool;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+
+/**
+ * Чтение памяти процессов браузеров из /proc.
+ * Используется пропорциональная доля памяти (Pss из smaps_rollup): страницы, общие для
+ * нескольких процессов Chromium, делятся между ними и не учитываются многократно, как в RSS.
+ * Если smaps_rollup недоступен, берется VmRSS из status. Вне Linux все значения равны 0.
+ *
+ * @since 2026-10-18
+ */
+public final class ProcessMemory {
+
+    private ProcessMemory() {
+    }
+
+    /**
+     * Память одного процесса.
+     *
+     * @param pid идентификатор процесса
+     * @return байты или 0, если процесс завершен или /proc недоступен
+     */
+    public static long memory(long pid) {
+        Path proc = Paths.get("/proc", String.valueOf(pid));
+        long pss = readKilobytes(proc.resolve("smaps_rollup"), "Pss:");
+        return pss > 0 ? pss : readKilobytes(proc.resolve("status"), "VmRSS:");
+    }
+
+    /**
+     * Память всех потомков процесса: драйвера Playwright и запущенных им браузеров.
+     *
+     * @param pid идентификатор родительского процесса
+     * @return суммарные байты потомков без самого процесса
+     */
+    public static long descendants(long pid) {
+        return ProcessHandle.of(pid)
+                .map(process -> process.descendants().mapToLong(child -> memory(child.pid())).sum())
+                .orElse(0L);
+    }
+
+    /**
+     * Память браузеров, запущенных драйверами Playwright процесса. Браузер - это потомок, родитель которого
+     * является процессом node драйвера; сами драйверы в память браузеров не входят.
+     *
+     * @param pid идентификатор процесса JVM
+     * @return память каждого браузера вместе с его дочерними процессами (рендерерами, GPU и другими)
+     */
+    public static List<Long> browsers(long pid) {
+        return ProcessHandle.of(pid).stream()
+                .flatMap(ProcessHandle::descendants)
+                .filter(process -> !isNode(process) && process.parent().map(ProcessMemory::isNode).orElse(false))
+                .map(browser -> tree(browser.pid()))
+                .toList();
+    }
+
+    /**
+     * Память процесса вместе со всеми потомками.
+     *
+     * @param pid идентификатор корневого процесса
+     * @return суммарные байты дерева процессов
+     */
+    public static long tree(long pid) {
+        return memory(pid) + descendants(pid);
+    }
+
+    /**
+     * Переводит байты в мегабайты для вывода.
+     */
+    public static long toMegabytes(long bytes) {
+        return bytes / (1024 * 1024);
+    }
+
+    private static boolean isNode(ProcessHandle process) {
+        return process.info().command()
+                .map(command -> Paths.get(command).getFileName().toString().startsWith("node"))
+                .orElse(false);
+    }
+
+    private static long readKilobytes(Path file, String key) {
+        try {
+            List<String> lines = Files.readAllLines(file);
+            for (String line : lines) {
+                if (line.startsWith(key)) {
+                    return Long.parseLong(line.substring(key.length()).replace("kB", "").trim()) * 1024;
+                }
+            }
+        } catch (IOException | NumberFormatException | SecurityException ignored) {
+            // Процесс уже завершен или /proc недоступен
+        }
+        return 0;
+    }
+}
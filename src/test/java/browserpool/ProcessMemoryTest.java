@@ -0,0 +1,53 @@
+package browserpool;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+/**
+ * Тестовый класс для проверки замера памяти браузеров по дереву процессов.
+ *
+ * @since 2026-10-18
+ */
+public class ProcessMemoryTest {
+
+    /**
+     * Проверяет, что в память браузеров входят только потомки процесса node:
+     * 1. Запускает процесс, как JVM, с дочерней копией оболочки под именем node, как драйвером Playwright,
+     *    у которой есть свой дочерний процесс вместо браузера
+     * 2. Дочерний процесс node учитывается как один браузер, а сам "драйвер" - нет
+     */
+    @Test
+    @EnabledOnOs(OS.LINUX)
+    void testBrowsersExcludeDriverProcess(@TempDir Path dir) throws IOException, InterruptedException {
+        Path node = Files.copy(Paths.get("/bin/sh"), dir.resolve("node"));
+        Process root = new ProcessBuilder("/bin/sh", "-c", node + " -c 'sleep 30 & wait' & wait").start();
+        try {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (root.descendants().count() < 2 && System.nanoTime() < deadline) {
+                Thread.sleep(20);
+            }
+            List<Long> browsers = ProcessMemory.browsers(root.pid());
+            long browser = root.children().flatMap(ProcessHandle::children)
+                    .mapToLong(child -> ProcessMemory.tree(child.pid())).sum();
+
+            assertEquals(1, browsers.size(), "Ожидается один браузер под процессом node");
+            assertTrue(browser > 0);
+            assertEquals(browser, browsers.get(0), 64 * 1024, "В память браузера не должен входить драйвер");
+        } finally {
+            root.descendants().forEach(ProcessHandle::destroy);
+            root.destroy();
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package browserpool;
+
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.Request;
+import com.microsoft.playwright.Route;
+
+import java.net.URI;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+
+/**
+ * Фильтр маршрутов, скомпилированный из {@link BlockResources}: один обработчик {@code context.route}
+ * на тест вместо отдельного маршрута на каждый вид ресурса.
+ *
+ * Запрос блокируется ({@code route.abort("blockedbyclient")}), если его тип входит в набор блокируемых
+ * или включен THIRD_PARTY и хост запроса не совпадает с хостом base.url и не является его поддоменом.
+ * Навигационные запросы документа не блокируются никогда. Остальные запросы передаются дальше
+ * через {@code route.fallback()}, поэтому фильтр совместим с маршрутами теста и кешем {@link AssetCache}.
+ *
+ * Маршрут снимается очисткой контекста при возврате в пул.
+ *
+ * @since 2026-10-18
+ */
+public class ResourceFilter {
+    private final Set<String> resourceTypes;
+    private final boolean thirdParty;
+    private final String firstPartyHost;
+    private final AtomicInteger blocked = new AtomicInteger();
+
+    private ResourceFilter(Set<String> resourceTypes, boolean thirdParty, String firstPartyHost) {
+        this.resourceTypes = resourceTypes;
+        this.thirdParty = thirdParty;
+        this.firstPartyHost = firstPartyHost;
+    }
+
+    /**
+     * Компилирует аннотацию в фильтр.
+     *
+     * @param annotation    аннотация теста
+     * @param firstPartyUrl адрес тестируемого приложения (base.url)
+     * @return фильтр запросов
+     */
+    public static ResourceFilter compile(BlockResources annotation, String firstPartyUrl) {
+        Set<String> types = Arrays.stream(annotation.value())
+                .map(BlockResources.Kind::resourceType)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toUnmodifiableSet());
+        boolean thirdParty = Arrays.asList(annotation.value()).contains(BlockResources.Kind.THIRD_PARTY);
+        return new ResourceFilter(types, thirdParty, host(firstPartyUrl));
+    }
+
+    /**
+     * Подключает фильтр к контексту теста.
+     *
+     * @param context контекст браузера
+     */
+    public void install(BrowserContext context) {
+        context.route("**/*", this::handle);
+    }
+
+    private void handle(Route route) {
+        Request request = route.request();
+        if (blocks(request.resourceType(), request.url(), request.isNavigationRequest())) {
+            blocked.incrementAndGet();
+            route.abort("blockedbyclient");
+        } else {
+            route.fallback();
+        }
+    }
+
+    /**
+     * @param resourceType тип ресурса Playwright
+     * @param url          адрес запроса
+     * @param navigation   true для навигационного запроса документа
+     * @return true, если запрос нужно заблокировать
+     */
+    boolean blocks(String resourceType, String url, boolean navigation) {
+        if (navigation) {
+            return false;
+        }
+        if (resourceTypes.contains(resourceType)) {
+            return true;
+        }
+        if (!thirdParty) {
+            return false;
+        }
+        String host = host(url);
+        return host != null && firstPartyHost != null
+                && !host.equals(firstPartyHost) && !host.endsWith("." + firstPartyHost);
+    }
+
+    /**
+     * @return число заблокированных запросов
+     */
+    public int blocked() {
+        return blocked.get();
+    }
+
+    private static String host(String url) {
+        try {
+            return URI.create(url).getHost();
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
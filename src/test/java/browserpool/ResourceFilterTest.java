@@ -0,0 +1,81 @@
+package browserpool;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.OptionalLong;
+
+import static browserpool.BlockResources.Kind.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+
+/**
+ * Тестовый класс для проверки фильтра блокируемых ресурсов и базового времени загрузки без запуска браузера.
+ *
+ * @since 2026-10-18
+ */
+public class ResourceFilterTest {
+
+    @BlockResources({IMAGE, FONT, THIRD_PARTY})
+    private static class Annotated {
+    }
+
+    @BlockResources(STYLESHEET)
+    private static class StylesOnly {
+    }
+
+    /**
+     * Проверяет блокировку по типу ресурса и по хосту:
+     * 1. Изображения и шрифты блокируются, скрипты и стили первой стороны - нет
+     * 2. Подресурсы чужих хостов блокируются, поддомены base.url - нет
+     * 3. Навигационный запрос документа не блокируется никогда
+     */
+    @Test
+    void testRequestsAreBlockedByTypeAndHost() {
+        ResourceFilter filter = ResourceFilter.compile(Annotated.class.getAnnotation(BlockResources.class),
+                "http://127.0.0.1:8080");
+
+        assertTrue(filter.blocks("image", "http://127.0.0.1:8080/img/avatar-blank.jpg", false));
+        assertTrue(filter.blocks("font", "http://127.0.0.1:8080/font.woff2", false));
+        assertFalse(filter.blocks("script", "http://127.0.0.1:8080/js/app.js", false));
+        assertFalse(filter.blocks("stylesheet", "http://127.0.0.1:8080/css/app.css", false));
+
+        assertTrue(filter.blocks("script", "https://www.googletagmanager.com/gtm.js", false));
+        assertTrue(filter.blocks("document", "https://ads.example.com/frame.html", false));
+        assertFalse(filter.blocks("document", "https://ads.example.com/", true),
+                "Навигация на чужой хост не должна блокироваться");
+        assertFalse(filter.blocks("image", "http://127.0.0.1:8080/index.html", true));
+
+        ResourceFilter subdomains = ResourceFilter.compile(Annotated.class.getAnnotation(BlockResources.class),
+                "https://the-internet.herokuapp.com");
+        assertFalse(subdomains.blocks("script", "https://cdn.the-internet.herokuapp.com/app.js", false));
+        assertTrue(subdomains.blocks("script", "https://herokuapp.com.evil.io/app.js", false));
+
+        ResourceFilter styles = ResourceFilter.compile(StylesOnly.class.getAnnotation(BlockResources.class),
+                "http://127.0.0.1:8080");
+        assertTrue(styles.blocks("stylesheet", "http://127.0.0.1:8080/css/app.css", false));
+        assertFalse(styles.blocks("script", "https://www.googletagmanager.com/gtm.js", false),
+                "Без THIRD_PARTY чужие хосты не блокируются");
+    }
+
+    /**
+     * Проверяет базовое время загрузки:
+     * 1. Без базового времени сокращение не считается
+     * 2. Базовое время сохраняется в файл и читается следующим прогоном
+     * 3. Сокращение равно разнице базового и текущего времени, в том числе отрицательной
+     */
+    @Test
+    void testLoadReductionIsComparedWithSavedBaseline(@TempDir Path dir) {
+        Path file = dir.resolve("history").resolve("page-load.properties");
+        PageLoadBaseline first = new PageLoadBaseline(file);
+        assertEquals(OptionalLong.empty(), first.compare("DragDropTest#test-1", 300, 4));
+        first.record("DragDropTest#test-1", 1200);
+        first.record("DragDropTest#test-2", 500);
+        first.close();
+
+        PageLoadBaseline second = new PageLoadBaseline(file);
+        assertEquals(OptionalLong.of(900), second.compare("DragDropTest#test-1", 300, 4));
+        assertEquals(OptionalLong.of(-100), second.compare("DragDropTest#test-2", 600, 0));
+    }
+}
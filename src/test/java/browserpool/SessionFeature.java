@@ -0,0 +1,48 @@
+package browserpool;
+
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.Page;
+
+
+/**
+ * Дополнительная возможность теста из {@link BrowserPoolExtension} (HAR, блокировка ресурсов, шина событий,
+ * сетевые тайминги, виртуальное время). Жизненный цикл в тесте:
+ * 1. {@link #install} - после получения контекста из пула, до начала теста
+ * 2. {@link #report} - после теста, пока контекст еще открыт
+ * 3. {@link #released} - после возврата или закрытия контекста; вызывается, даже если отчет завершился ошибкой
+ *
+ * @since 2026-10-18
+ */
+interface SessionFeature {
+
+    /**
+     * Подключает возможность к контексту теста. Вызывается из потока теста.
+     *
+     * @param context контекст теста
+     * @param page    страница теста
+     */
+    void install(BrowserContext context, Page page);
+
+    /**
+     * @return false, если контекст после теста нельзя вернуть в пул
+     */
+    default boolean reusable() {
+        return true;
+    }
+
+    /**
+     * Публикует итоги теста до возврата контекста в пул.
+     *
+     * @param failed true, если тест упал
+     */
+    default void report(boolean failed) {
+    }
+
+    /**
+     * Завершает работу после возврата или закрытия контекста.
+     *
+     * @param failed true, если тест упал
+     */
+    default void released(boolean failed) {
+    }
+}
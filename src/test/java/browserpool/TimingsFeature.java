@@ -0,0 +1,62 @@
+package browserpool;
+
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.Page;
+import networktiming.EndpointReport;
+import networktiming.NetworkTimings;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+import java.nio.file.Paths;
+import java.util.Optional;
+
+
+/**
+ * Сетевые тайминги всех запросов теста ({@link NetworkTimings}). Они прикладываются к тесту в Allure,
+ * итог публикуется как network.timings, а сводка прогона по эндпоинтам пишется в
+ * target/network-timings/endpoints.csv. Параметр browserpool.network-timings=false выключает сбор.
+ *
+ * @since 2026-10-18
+ */
+class TimingsFeature implements SessionFeature {
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(TimingsFeature.class);
+    private static final String NETWORK_TIMINGS = "browserpool.network-timings";
+
+    private final ExtensionContext extensionContext;
+    private final NetworkTimings timings = new NetworkTimings();
+
+    private TimingsFeature(ExtensionContext extensionContext) {
+        this.extensionContext = extensionContext;
+    }
+
+    /**
+     * @param extensionContext контекст теста
+     * @return сбор таймингов или пусто, если он выключен
+     */
+    static Optional<SessionFeature> forTest(ExtensionContext extensionContext) {
+        if (!extensionContext.getConfigurationParameter(NETWORK_TIMINGS, Boolean::parseBoolean).orElse(true)) {
+            return Optional.empty();
+        }
+        return Optional.of(new TimingsFeature(extensionContext));
+    }
+
+    @Override
+    public void install(BrowserContext context, Page page) {
+        timings.attach(context);
+    }
+
+    /**
+     * Прикладывает сетевые тайминги теста к отчету Allure и добавляет их в сводку прогона по эндпоинтам.
+     */
+    @Override
+    public void report(boolean failed) {
+        NetworkTimings.Summary summary = timings.finish();
+        if (summary.requests().isEmpty()) {
+            return;
+        }
+        summary.attachToAllure();
+        extensionContext.getRoot().getStore(NAMESPACE).getOrComputeIfAbsent(EndpointReport.class,
+                key -> new EndpointReport(Paths.get("target", "network-timings", "endpoints.csv")),
+                EndpointReport.class).add(summary);
+        extensionContext.publishReportEntry("network.timings", summary.text());
+    }
+}
@@ -0,0 +1,60 @@
+package browserpool;
+
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.Page;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import waits.VirtualClock;
+import waits.VirtualTime;
+
+import java.util.Optional;
+
+
+/**
+ * Виртуальные часы {@link VirtualClock} для теста с {@link VirtualTime}. Сэкономленное ими время публикуется
+ * как virtual.time.saved.ms. Контекст с часами закрывается после теста, потому что часы нельзя снять.
+ *
+ * @since 2026-10-18
+ */
+class VirtualTimeFeature implements SessionFeature {
+    private final ExtensionContext extensionContext;
+    private final long stepMs;
+    private VirtualClock clock;
+
+    private VirtualTimeFeature(ExtensionContext extensionContext, long stepMs) {
+        this.extensionContext = extensionContext;
+        this.stepMs = stepMs;
+    }
+
+    /**
+     * @param extensionContext контекст теста
+     * @return виртуальное время для теста с {@link VirtualTime} или пусто
+     */
+    static Optional<SessionFeature> forTest(ExtensionContext extensionContext) {
+        return BrowserPoolExtension.findAnnotation(extensionContext, VirtualTime.class)
+                .map(annotation -> new VirtualTimeFeature(extensionContext, annotation.stepMs()));
+    }
+
+    @Override
+    public void install(BrowserContext context, Page page) {
+        clock = VirtualClock.install(context, stepMs);
+    }
+
+    /**
+     * @return часы, установленные на контекст теста
+     */
+    VirtualClock clock() {
+        return clock;
+    }
+
+    @Override
+    public boolean reusable() {
+        return false;
+    }
+
+    @Override
+    public void report(boolean failed) {
+        if (clock.advancedMillis() > 0) {
+            extensionContext.publishReportEntry("virtual.time.saved.ms", String.valueOf(clock.savedMillis()));
+        }
+    }
+}
@@ -1,8 +1,13 @@
 package di.components;
 
+import apiandui.EnvConfig;
 import com.microsoft.playwright.Locator;
 import com.microsoft.playwright.Page;
 import com.microsoft.playwright.options.WaitForSelectorState;
+import org.aeonbits.owner.ConfigFactory;
+import waits.Waits;
+
+import java.time.Duration;
 
 
 /**
@@ -13,8 +18,10 @@ import com.microsoft.playwright.options.WaitForSelectorState;
  * @since 2025-03-24
  */
 public class DynamicControlsPage {
+    private final EnvConfig config = ConfigFactory.create(EnvConfig.class, System.getProperties());
     private final Page page;
     private final Locator checkbox;
+    private final Locator checkboxForm;
     private final Locator removeButton;
 
     /**
@@ -24,6 +31,7 @@ public class DynamicControlsPage {
     public DynamicControlsPage(Page page) {
         this.page = page;
         this.checkbox = page.locator("#checkbox");
+        this.checkboxForm = page.locator("#checkbox-example");
         this.removeButton = page.locator("button:has-text('Remove')");
     }
 
@@ -31,15 +39,15 @@ public class DynamicControlsPage {
      * Переход на тестовую страницу динамических элементов
      */
     public void navigate() {
-        page.navigate("https://the-internet.herokuapp.com/dynamic_controls");
+        page.navigate(config.baseUrl() + "/dynamic_controls");
     }
 
     /**
-     * Выполняет клик по кнопке удаления с ожиданием обработки операции
+     * Выполняет клик по кнопке удаления и ждет, пока чекбокс будет удален из формы
      */
     public void clickRemoveButton() {
-        removeButton.click();
-        page.waitForTimeout(5000);
+        Waits.domChange(checkboxForm, "form => !form.querySelector('#checkbox')", removeButton::click,
+                Duration.ofSeconds(10));
     }
 
     /**
@@ -1,6 +1,8 @@
 package docker;
 
+import apiandui.EnvConfig;
 import com.microsoft.playwright.*;
+import org.aeonbits.owner.ConfigFactory;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
@@ -18,6 +20,7 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
  * @since 2025-03-26
  */
 public class FileUpTest {
+    private final EnvConfig config = ConfigFactory.create(EnvConfig.class, System.getProperties());
     private static Playwright playwright;
     private static Browser browser;
     private static Page page;
@@ -37,15 +40,14 @@ public class FileUpTest {
 
     /**
      * Тест проверки загрузки файла:
-     * 1. Переход на страницу загрузки (BASE_URL из переменных окружения или значение по умолчанию)
+     * 1. Переход на страницу загрузки (base.url из конфигурации окружения)
      * 2. Ожидание и выбор файла для загрузки
      * 3. Отправка формы
      * 4. Проверка сообщения об успешной загрузке с таймаутом 15 секунд
      */
     @Test
     void testFileUpload() {
-        String baseUrl = System.getenv().getOrDefault("BASE_URL", "https://the-internet.herokuapp.com");
-        page.navigate(baseUrl + "/upload");
+        page.navigate(config.baseUrl() + "/upload");
 
         page.locator("#file-upload").waitFor(new Locator.WaitForOptions().setTimeout(10000));
         page.locator("#file-upload").setInputFiles(Paths.get("test.txt"));
@@ -1,10 +1,13 @@
 package dynamic;
 
+import apiandui.EnvConfig;
+import browserpool.BrowserPoolExtension;
 import com.microsoft.playwright.*;
-import org.junit.jupiter.api.AfterEach;
+import org.aeonbits.owner.ConfigFactory;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
 
 
 /**
@@ -17,26 +20,20 @@ import org.junit.jupiter.api.Test;
  * @author Oleg Todor
  * @since 2025-03-19
  */
+@ExtendWith(BrowserPoolExtension.class)
 public class DynamicContentHomeTest {
+    private final EnvConfig config = ConfigFactory.create(EnvConfig.class, System.getProperties());
 
-    Playwright playwright;
-    Browser browser;
-    BrowserContext context;
     Page page;
 
     /**
      * Настройка тестового окружения перед каждым тестом:
-     * 1. Инициализация Playwright
-     * 2. Запуск браузера Chromium в режиме с графическим интерфейсом
-     * 3. Создание нового контекста и страницы
+     * 1. Получение прогретого браузера из пула
+     * 2. Создание нового контекста и страницы
      */
     @BeforeEach
-    void setUp() {
-        playwright = Playwright.create();
-        browser = playwright.chromium()
-                .launch(new BrowserType.LaunchOptions().setHeadless(false));
-        context = browser.newContext();
-        page = context.newPage();
+    void setUp(Page page) {
+        this.page = page;
     }
 
     /**
@@ -48,7 +45,7 @@ public class DynamicContentHomeTest {
      */
     @Test
     void testFormSubmission() {
-        page.navigate("https://the-internet.herokuapp.com/login");
+        page.navigate(config.baseUrl() + "/login");
 
         page.waitForNavigation(() -> {
             page.fill("#username", "tomsmith");
@@ -67,7 +64,7 @@ public class DynamicContentHomeTest {
      */
     @Test
     void testNestedFrames() {
-        page.navigate("https://the-internet.herokuapp.com/nested_frames");
+        page.navigate(config.baseUrl() + "/nested_frames");
 
         Frame leftFrame = page.frame("frame-left");
         String leftText = leftFrame.locator("body").textContent();
@@ -78,16 +75,7 @@ public class DynamicContentHomeTest {
         Assertions.assertTrue(middleText.contains("MIDDLE"), "Текст во фрейме MIDDLE не найден");
 
         Page newPage = page.context().newPage();
-        newPage.navigate("https://the-internet.herokuapp.com");
+        newPage.navigate(config.baseUrl());
         newPage.close();
     }
-
-    /**
-     * Завершение работы тестового окружения:
-     * Освобождение ресурсов Playwright
-     */
-    @AfterEach
-    void tearDown() {
-        playwright.close();
-    }
 }
\ No newline at end of file
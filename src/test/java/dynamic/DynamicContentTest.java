@@ -1,13 +1,19 @@
 package dynamic;
 
+import apiandui.EnvConfig;
+import browserpool.BrowserPoolExtension;
 import com.microsoft.playwright.*;
 import com.microsoft.playwright.options.LoadState;
 import com.microsoft.playwright.options.WaitForSelectorState;
-import org.junit.jupiter.api.AfterEach;
+import org.aeonbits.owner.ConfigFactory;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import waits.VirtualClock;
+import waits.VirtualTime;
 
+import java.net.URI;
 import java.nio.file.Paths;
 
 
@@ -18,26 +24,26 @@ import java.nio.file.Paths;
  * @author Oleg Todor
  * @since 2025-03-18
  */
+@ExtendWith(BrowserPoolExtension.class)
+@VirtualTime
 public class DynamicContentTest {
+    private final EnvConfig config = ConfigFactory.create(EnvConfig.class, System.getProperties());
 
-    Playwright playwright;
-    Browser browser;
     BrowserContext context;
     Page page;
+    VirtualClock clock;
 
     /**
      * Настройка тестового окружения перед каждым тестом:
-     * 1. Инициализация Playwright
-     * 2. Запуск браузера Chromium в режиме с графическим интерфейсом
-     * 3. Создание нового контекста и страницы
+     * 1. Получение прогретого браузера из пула
+     * 2. Создание нового контекста и страницы
+     * 3. Получение виртуальных часов страницы: таймер загрузки срабатывает без реального ожидания
      */
     @BeforeEach
-    void setUp() {
-        playwright = Playwright.create();
-        browser = playwright.chromium()
-                .launch(new BrowserType.LaunchOptions().setHeadless(false));
-        context = browser.newContext();
-        page = context.newPage();
+    void setUp(BrowserContext context, Page page, VirtualClock clock) {
+        this.context = context;
+        this.page = page;
+        this.clock = clock;
     }
 
     /**
@@ -51,24 +57,27 @@ public class DynamicContentTest {
     @Test
     void testDynamicLoading() {
         try {
-            page.navigate("https://the-internet.herokuapp.com/dynamic_loading/1");
+            page.navigate(config.baseUrl() + "/dynamic_loading/1");
 
             Locator startButton = page.locator("button:has-text('Start')");
             startButton.waitFor(new Locator.WaitForOptions().setState(WaitForSelectorState.VISIBLE));
             startButton.click();
 
             Locator helloWorldText = page.locator("#finish >> text=Hello World!");
-            helloWorldText.waitFor(new Locator.WaitForOptions().setTimeout(45000));
+            clock.waitFor(helloWorldText, new Locator.WaitForOptions().setTimeout(45000));
 
             Locator seleniumLink = page.locator("text=Elemental Selenium");
             seleniumLink.waitFor(new Locator.WaitForOptions().setState(WaitForSelectorState.VISIBLE));
             Assertions.assertTrue(seleniumLink.isVisible(), "Ссылка на Elemental Selenium не отображается");
 
+            // Локальный сервер страниц ведет ссылку на свой заменитель сайта, поэтому сравнивается хост из ссылки
+            String linkHost = URI.create(page.url()).resolve(seleniumLink.getAttribute("href")).getHost();
             Page newPage = context.waitForPage(() -> seleniumLink.click());
             newPage.waitForLoadState(LoadState.LOAD);
 
-            Assertions.assertTrue(
-                    newPage.url().startsWith("https://elementalselenium.com/"),
+            Assertions.assertEquals(
+                    linkHost.replaceFirst("^www\\.", ""),
+                    URI.create(newPage.url()).getHost().replaceFirst("^www\\.", ""),
                     "Некорректный URL после перехода: " + newPage.url()
             );
             Assertions.assertTrue(
@@ -84,13 +93,4 @@ public class DynamicContentTest {
             throw e;
         }
     }
-
-    /**
-     * Завершение работы тестового окружения:
-     * 1. Освобождение ресурсов Playwright
-     */
-    @AfterEach
-    void tearDown() {
-        playwright.close();
-    }
 }
\ No newline at end of file
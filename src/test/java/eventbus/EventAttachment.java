@@ -0,0 +1,64 @@
+package eventbus;
+
+import io.qameta.allure.Allure;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+
+
+/**
+ * Потребитель, прикладывающий события теста к отчету Allure.
+ *
+ * Пачки приходят в фоновом потоке шины, а вложение Allure относится к тесту текущего потока, поэтому:
+ * 1. Потребитель хранит строки последних {@code limit} событий, более ранние отбрасывает и считает
+ * 2. При закрытии шины, которое выполняется в потоке теста, строки прикладываются одним вложением
+ *
+ * @since 2026-10-18
+ */
+public class EventAttachment implements EventConsumer {
+    private final int limit;
+    private final Deque<String> lines = new ArrayDeque<>();
+    private long skipped;
+
+    /**
+     * @param limit сколько последних событий попадает во вложение
+     */
+    public EventAttachment(int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Число событий во вложении должно быть положительным: " + limit);
+        }
+        this.limit = limit;
+    }
+
+    @Override
+    public synchronized void accept(List<NetworkEvent> batch) {
+        for (NetworkEvent event : batch) {
+            if (lines.size() == limit) {
+                lines.removeFirst();
+                skipped++;
+            }
+            lines.addLast(event.format());
+        }
+    }
+
+    /**
+     * @return текст вложения: пропущенные ранние события и строки оставшихся
+     */
+    public synchronized String text() {
+        StringBuilder text = new StringBuilder();
+        if (skipped > 0) {
+            text.append("... пропущено ранних событий: ").append(skipped).append('\n');
+        }
+        lines.forEach(line -> text.append(line).append('\n'));
+        return text.toString();
+    }
+
+    @Override
+    public void close() {
+        String text = text();
+        if (!text.isEmpty()) {
+            Allure.addAttachment("Сетевые события", "text/plain", text, ".log");
+        }
+    }
+}
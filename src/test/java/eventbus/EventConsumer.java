@@ -0,0 +1,27 @@
+package eventbus;
+
+import java.util.List;
+
+
+/**
+ * Потребитель событий {@link NetworkEventBus}. Получает события пачками в фоновом потоке шины,
+ * поэтому не должен обращаться к объектам Playwright.
+ *
+ * @since 2026-10-18
+ */
+public interface EventConsumer extends AutoCloseable {
+
+    /**
+     * Обрабатывает очередную пачку событий в порядке их поступления.
+     *
+     * @param batch события
+     */
+    void accept(List<NetworkEvent> batch);
+
+    /**
+     * Вызывается после последней пачки при закрытии шины.
+     */
+    @Override
+    default void close() {
+    }
+}
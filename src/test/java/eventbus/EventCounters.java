@@ -0,0 +1,38 @@
+package eventbus;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+
+/**
+ * Потребитель, считающий события по видам. Обновляется фоновым потоком шины,
+ * значения можно читать из потока теста в любой момент.
+ *
+ * @since 2026-10-18
+ */
+public class EventCounters implements EventConsumer {
+    private final Map<NetworkEvent.Type, Integer> counts = new EnumMap<>(NetworkEvent.Type.class);
+
+    @Override
+    public synchronized void accept(List<NetworkEvent> batch) {
+        for (NetworkEvent event : batch) {
+            counts.merge(event.type(), 1, Integer::sum);
+        }
+    }
+
+    /**
+     * @param type вид события
+     * @return число событий этого вида
+     */
+    public synchronized int count(NetworkEvent.Type type) {
+        return counts.getOrDefault(type, 0);
+    }
+
+    /**
+     * @return число событий по видам, например {@code REQUEST=12, RESPONSE=12}
+     */
+    public synchronized String summary() {
+        return counts.toString().replaceAll("[{}]", "");
+    }
+}
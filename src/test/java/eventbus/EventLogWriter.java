@@ -0,0 +1,73 @@
+package eventbus;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+
+/**
+ * Потребитель, записывающий события в текстовый журнал по строке на событие.
+ * Файл открывается при первой пачке, пачка записывается целиком и сбрасывается на диск.
+ *
+ * @since 2026-10-18
+ */
+public class EventLogWriter implements EventConsumer {
+    private final Path file;
+    private BufferedWriter writer;
+
+    /**
+     * @param file файл журнала
+     */
+    public EventLogWriter(Path file) {
+        this.file = file;
+    }
+
+    /**
+     * @param className имя тестового класса
+     * @param testKey   ключ теста, пригодный для имени файла
+     * @return журнал теста в target/network-events/&lt;класс&gt;/&lt;ключ&gt;.log
+     */
+    public static EventLogWriter forTest(String className, String testKey) {
+        return new EventLogWriter(Paths.get("target", "network-events", className, testKey + ".log"));
+    }
+
+    @Override
+    public void accept(List<NetworkEvent> batch) {
+        try {
+            if (writer == null) {
+                Files.createDirectories(file.getParent());
+                writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8);
+            }
+            for (NetworkEvent event : batch) {
+                writer.write(event.format());
+                writer.newLine();
+            }
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void close() {
+        if (writer != null) {
+            try {
+                writer.close();
+            } catch (IOException e) {
+                System.err.println("Не удалось закрыть журнал событий " + file + ": " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * @return файл журнала
+     */
+    public Path file() {
+        return file;
+    }
+}
@@ -0,0 +1,72 @@
+package eventbus;
+
+import com.microsoft.playwright.ConsoleMessage;
+import com.microsoft.playwright.Request;
+import com.microsoft.playwright.Response;
+
+import java.time.Instant;
+
+
+/**
+ * Событие страницы, собранное {@link NetworkEventBus}. Поля заполняются из данных, которые Playwright
+ * уже передал в Java, поэтому создание события не обращается к браузеру.
+ *
+ * @param type      вид события
+ * @param timestamp момент события, мс от эпохи
+ * @param method    HTTP-метод или null
+ * @param url       адрес запроса или страницы
+ * @param status    HTTP-статус ответа или 0
+ * @param text      текст сообщения консоли, ошибки или причины сбоя запроса; иначе null
+ * @since 2026-10-18
+ */
+public record NetworkEvent(Type type, long timestamp, String method, String url, int status, String text) {
+
+    /**
+     * Вид события.
+     */
+    public enum Type {
+        REQUEST, RESPONSE, REQUEST_FAILED, CONSOLE, PAGE_ERROR
+    }
+
+    public static NetworkEvent request(Request request) {
+        return new NetworkEvent(Type.REQUEST, System.currentTimeMillis(), request.method(), request.url(), 0, null);
+    }
+
+    public static NetworkEvent response(Response response) {
+        return new NetworkEvent(Type.RESPONSE, System.currentTimeMillis(), response.request().method(),
+                response.url(), response.status(), null);
+    }
+
+    public static NetworkEvent requestFailed(Request request) {
+        return new NetworkEvent(Type.REQUEST_FAILED, System.currentTimeMillis(), request.method(), request.url(), 0,
+                request.failure());
+    }
+
+    public static NetworkEvent console(ConsoleMessage message) {
+        return new NetworkEvent(Type.CONSOLE, System.currentTimeMillis(), null, message.location(), 0,
+                message.type() + ": " + message.text());
+    }
+
+    public static NetworkEvent pageError(String url, String error) {
+        return new NetworkEvent(Type.PAGE_ERROR, System.currentTimeMillis(), null, url, 0, error);
+    }
+
+    /**
+     * @return строка журнала: время, вид события и его данные через пробел
+     */
+    public String format() {
+        StringBuilder line = new StringBuilder(Instant.ofEpochMilli(timestamp).toString())
+                .append(' ').append(type);
+        if (method != null) {
+            line.append(' ').append(method);
+        }
+        if (status != 0) {
+            line.append(' ').append(status);
+        }
+        line.append(' ').append(url);
+        if (text != null) {
+            line.append(' ').append(text.replace('\n', ' '));
+        }
+        return line.toString();
+    }
+}
@@ -0,0 +1,173 @@
+package eventbus;
+
+import com.microsoft.playwright.ConsoleMessage;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.Request;
+import com.microsoft.playwright.Response;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+
+/**
+ * Шина событий страницы (запросы, ответы, сбои запросов, сообщения консоли и ошибки страницы) одного теста.
+ *
+ * Обработчики {@code page.onRequest} и другие выполняются в потоке-диспетчере Playwright, и
+ * {@code System.out.println} в них упирается в блокировку общего stdout при параллельном прогоне.
+ * Шина вместо этого:
+ * 1. Складывает событие в неблокирующий кольцевой буфер {@link RingBuffer} ограниченной емкости
+ * 2. Если буфер заполнен, отбрасывает событие и увеличивает счетчик потерь, не задерживая диспетчер
+ * 3. Раз в {@value #DRAIN_INTERVAL_MS} мс общий для всех шин фоновый поток забирает события пачками
+ *    и передает их потребителям ({@link EventLogWriter}, {@link EventCounters}, {@link EventAttachment})
+ * При закрытии шина снимает обработчики со страниц, передает потребителям оставшиеся события и закрывает их.
+ *
+ * @since 2026-10-18
+ */
+public class NetworkEventBus implements AutoCloseable {
+    private static final long DRAIN_INTERVAL_MS = 50;
+    private static final int BATCH_SIZE = 512;
+    private static final ScheduledExecutorService DRAINER = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "network-events");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final String name;
+    private final RingBuffer<NetworkEvent> buffer;
+    private final List<EventConsumer> consumers;
+    private final List<Runnable> detachers = new ArrayList<>();
+    private final LongAdder published = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final ScheduledFuture<?> drain;
+    private volatile boolean closed;
+
+    /**
+     * @param name      имя шины для итоговых сообщений, обычно имя теста
+     * @param capacity  емкость буфера, степень двойки
+     * @param consumers потребители событий
+     */
+    public NetworkEventBus(String name, int capacity, List<EventConsumer> consumers) {
+        this.name = name;
+        this.buffer = new RingBuffer<>(capacity);
+        this.consumers = List.copyOf(consumers);
+        this.drain = DRAINER.scheduleWithFixedDelay(this::drain, DRAIN_INTERVAL_MS, DRAIN_INTERVAL_MS,
+                TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Подписывает шину на события страницы. Вызывается из потока, владеющего страницей.
+     *
+     * @param page страница
+     * @return эта шина
+     */
+    public NetworkEventBus attach(Page page) {
+        Consumer<Request> onRequest = request -> publish(NetworkEvent.request(request));
+        Consumer<Response> onResponse = response -> publish(NetworkEvent.response(response));
+        Consumer<Request> onRequestFailed = request -> publish(NetworkEvent.requestFailed(request));
+        Consumer<ConsoleMessage> onConsole = message -> publish(NetworkEvent.console(message));
+        Consumer<String> onPageError = error -> publish(NetworkEvent.pageError(page.url(), error));
+        page.onRequest(onRequest);
+        page.onResponse(onResponse);
+        page.onRequestFailed(onRequestFailed);
+        page.onConsoleMessage(onConsole);
+        page.onPageError(onPageError);
+        synchronized (detachers) {
+            detachers.add(() -> {
+                page.offRequest(onRequest);
+                page.offResponse(onResponse);
+                page.offRequestFailed(onRequestFailed);
+                page.offConsoleMessage(onConsole);
+                page.offPageError(onPageError);
+            });
+        }
+        return this;
+    }
+
+    /**
+     * Помещает событие в буфер без ожидания. Если буфер заполнен, событие отбрасывается;
+     * события после закрытия шины не учитываются.
+     *
+     * @param event событие
+     */
+    public void publish(NetworkEvent event) {
+        if (closed) {
+            return;
+        }
+        if (buffer.offer(event)) {
+            published.increment();
+        } else {
+            dropped.increment();
+        }
+    }
+
+    private void drain() {
+        List<NetworkEvent> batch = new ArrayList<>(Math.min(BATCH_SIZE, buffer.capacity()));
+        while (buffer.drainTo(batch, BATCH_SIZE) > 0) {
+            for (EventConsumer consumer : consumers) {
+                try {
+                    consumer.accept(batch);
+                } catch (RuntimeException e) {
+                    System.err.println("Потребитель событий " + consumer.getClass().getSimpleName()
+                            + " шины " + name + " завершился с ошибкой: " + e);
+                }
+            }
+            batch.clear();
+        }
+    }
+
+    /**
+     * @return число принятых в буфер событий
+     */
+    public long published() {
+        return published.sum();
+    }
+
+    /**
+     * @return число событий, отброшенных из-за заполненного буфера
+     */
+    public long dropped() {
+        return dropped.sum();
+    }
+
+    /**
+     * Снимает обработчики со страниц, передает потребителям оставшиеся события и закрывает потребителей.
+     * Вызывается из потока, владеющего страницами.
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        synchronized (detachers) {
+            for (Runnable detacher : detachers) {
+                try {
+                    detacher.run();
+                } catch (RuntimeException e) {
+                    // Страница уже закрыта вместе с контекстом
+                }
+            }
+            detachers.clear();
+        }
+        drain.cancel(false);
+        try {
+            DRAINER.submit(this::drain).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            System.err.println("Не удалось передать события шины " + name + ": " + e.getCause());
+        }
+        consumers.forEach(EventConsumer::close);
+        if (dropped() > 0) {
+            System.out.printf("Шина событий %s: принято %d, потеряно %d из-за заполненного буфера%n",
+                    name, published(), dropped());
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package eventbus;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+/**
+ * Тестовый класс для проверки кольцевого буфера и шины событий без запуска браузера.
+ *
+ * @since 2026-10-18
+ */
+public class NetworkEventBusTest {
+
+    /**
+     * Проверяет буфер при одновременной записи и чтении:
+     * 1. Четыре производителя пишут в буфер, пока два потребителя его вычитывают
+     * 2. Каждый элемент прочитан ровно один раз, ни один не потерян
+     */
+    @Test
+    void testConcurrentProducersAndConsumersLoseNothing() throws Exception {
+        RingBuffer<Integer> buffer = new RingBuffer<>(64);
+        int producers = 4;
+        int perProducer = 20_000;
+        ExecutorService executor = Executors.newFixedThreadPool(producers + 2);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            for (int p = 0; p < producers; p++) {
+                int base = p * perProducer;
+                executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < perProducer; i++) {
+                        while (!buffer.offer(base + i)) {
+                            Thread.onSpinWait();
+                        }
+                    }
+                    return null;
+                });
+            }
+            List<Future<List<Integer>>> consumers = new ArrayList<>();
+            int total = producers * perProducer;
+            AtomicInteger taken = new AtomicInteger();
+            for (int c = 0; c < 2; c++) {
+                consumers.add(executor.submit(() -> {
+                    List<Integer> read = new ArrayList<>();
+                    start.await();
+                    while (taken.get() < total) {
+                        Integer item = buffer.poll();
+                        if (item != null) {
+                            read.add(item);
+                            taken.incrementAndGet();
+                        }
+                    }
+                    return read;
+                }));
+            }
+            start.countDown();
+
+            Set<Integer> seen = new HashSet<>();
+            for (Future<List<Integer>> consumer : consumers) {
+                for (Integer item : consumer.get()) {
+                    assertTrue(seen.add(item), "Элемент прочитан дважды: " + item);
+                }
+            }
+            assertEquals(total, seen.size());
+            assertNull(buffer.poll());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Проверяет шину:
+     * 1. Пока потребитель занят пачкой, события сверх емкости буфера отбрасываются и учитываются как потерянные
+     * 2. Принятые события передаются потребителям в порядке поступления, остаток - при закрытии
+     * 3. События после закрытия не учитываются
+     */
+    @Test
+    void testFullBufferDropsEventsAndCloseFlushesTheRest() throws InterruptedException {
+        List<String> received = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch busy = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        EventCounters counters = new EventCounters();
+        EventConsumer slow = batch -> {
+            batch.forEach(event -> received.add(event.url()));
+            busy.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+        NetworkEventBus bus = new NetworkEventBus("test", 4, List.of(counters, slow));
+
+        bus.publish(event("/first"));
+        assertTrue(busy.await(5, TimeUnit.SECONDS), "Фоновый поток не забрал первое событие");
+        for (int i = 0; i < 6; i++) {
+            bus.publish(event("/page-" + i));
+        }
+        assertEquals(2, bus.dropped());
+        release.countDown();
+        bus.close();
+        bus.publish(event("/late"));
+
+        assertEquals(List.of("/first", "/page-0", "/page-1", "/page-2", "/page-3"), received);
+        assertEquals(5, bus.published());
+        assertEquals(2, bus.dropped());
+        assertEquals("REQUEST=5", counters.summary());
+    }
+
+    /**
+     * Проверяет вложение событий:
+     * 1. Во вложении остаются только последние события в пределах лимита
+     * 2. Число отброшенных ранних событий указывается в начале вложения
+     */
+    @Test
+    void testAttachmentKeepsLastEvents() {
+        EventAttachment attachment = new EventAttachment(2);
+
+        attachment.accept(List.of(event("/a"), event("/b")));
+        attachment.accept(List.of(event("/c")));
+
+        String[] lines = attachment.text().split("\n");
+        assertEquals(3, lines.length);
+        assertEquals("... пропущено ранних событий: 1", lines[0]);
+        assertTrue(lines[1].endsWith("GET /b"), lines[1]);
+        assertTrue(lines[2].endsWith("GET /c"), lines[2]);
+    }
+
+    private static NetworkEvent event(String url) {
+        return new NetworkEvent(NetworkEvent.Type.REQUEST, 0, "GET", url, 0, null);
+    }
+}
@@ -0,0 +1,125 @@
+package eventbus;
+
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+
+/**
+ * Ограниченная неблокирующая очередь на кольцевом буфере для нескольких производителей и потребителей
+ * (алгоритм Д. Вьюкова). У каждой ячейки есть номер последовательности: производитель занимает ячейку,
+ * если ее номер равен позиции записи, потребитель - если номер на единицу больше позиции чтения.
+ * Позиции сдвигаются через compareAndSet, поэтому ни запись, ни чтение не берут блокировок.
+ *
+ * Заполненный буфер не растет и не ждет: {@link #offer(Object)} возвращает false, и решение о потере
+ * события принимает вызывающий код.
+ *
+ * @param <T> тип элементов
+ * @since 2026-10-18
+ */
+public class RingBuffer<T> {
+    private final int mask;
+    private final AtomicReferenceArray<T> items;
+    private final AtomicLongArray sequences;
+    private final AtomicLong head = new AtomicLong();
+    private final AtomicLong tail = new AtomicLong();
+
+    /**
+     * @param capacity емкость буфера, степень двойки
+     */
+    public RingBuffer(int capacity) {
+        if (capacity < 2 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Емкость буфера должна быть степенью двойки: " + capacity);
+        }
+        mask = capacity - 1;
+        items = new AtomicReferenceArray<>(capacity);
+        sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * Добавляет элемент, если в буфере есть место.
+     *
+     * @param item элемент
+     * @return false, если буфер заполнен
+     */
+    public boolean offer(T item) {
+        long position = tail.get();
+        while (true) {
+            int index = (int) (position & mask);
+            long difference = sequences.get(index) - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    items.lazySet(index, item);
+                    sequences.set(index, position + 1);
+                    return true;
+                }
+                position = tail.get();
+            } else if (difference < 0) {
+                return false;
+            } else {
+                position = tail.get();
+            }
+        }
+    }
+
+    /**
+     * Извлекает самый старый элемент.
+     *
+     * @return элемент или null, если буфер пуст
+     */
+    public T poll() {
+        long position = head.get();
+        while (true) {
+            int index = (int) (position & mask);
+            long difference = sequences.get(index) - (position + 1);
+            if (difference == 0) {
+                if (head.compareAndSet(position, position + 1)) {
+                    T item = items.get(index);
+                    items.lazySet(index, null);
+                    sequences.set(index, position + mask + 1);
+                    return item;
+                }
+                position = head.get();
+            } else if (difference < 0) {
+                return null;
+            } else {
+                position = head.get();
+            }
+        }
+    }
+
+    /**
+     * Переносит в коллекцию до max элементов.
+     *
+     * @param target коллекция-приемник
+     * @param max    наибольшее число элементов
+     * @return число перенесенных элементов
+     */
+    public int drainTo(Collection<? super T> target, int max) {
+        int drained = 0;
+        T item;
+        while (drained < max && (item = poll()) != null) {
+            target.add(item);
+            drained++;
+        }
+        return drained;
+    }
+
+    /**
+     * @return приблизительное число элементов в буфере
+     */
+    public int size() {
+        return (int) Math.max(0, tail.get() - head.get());
+    }
+
+    /**
+     * @return емкость буфера
+     */
+    public int capacity() {
+        return mask + 1;
+    }
+}
@@ -1,9 +1,14 @@
 package faker;
 
+import apiandui.EnvConfig;
+import browserpool.BrowserPoolExtension;
 import com.github.javafaker.Faker;
 import com.microsoft.playwright.*;
 import com.microsoft.playwright.options.WaitForSelectorState;
+import networkrequests.MockRegistry;
+import org.aeonbits.owner.ConfigFactory;
 import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.extension.ExtendWith;
 import static org.junit.jupiter.api.Assertions.*;
 
 
@@ -14,9 +19,9 @@ import static org.junit.jupiter.api.Assertions.*;
  * @author Oleg Todor
  * @since 2025-03-23
  */
+@ExtendWith(BrowserPoolExtension.class)
 public class DynamicFakerTest {
-    Playwright playwright;
-    Browser browser;
+    private final EnvConfig config = ConfigFactory.create(EnvConfig.class, System.getProperties());
     Page page;
     Faker faker;
     String mockName;
@@ -24,32 +29,30 @@ public class DynamicFakerTest {
     /**
      * Подготовка тестового окружения:
      * 1. Инициализация генератора тестовых данных Faker
-     * 2. Настройка браузера Chromium
-     * 3. Конфигурация мокированного ответа для эндпоинта /dynamic_content
+     * 2. Получение новой страницы в прогретом браузере из пула
+     * 3. Подключение реестра моков с ответом для эндпоинта /dynamic_content
      */
     @BeforeEach
-    void setUp() {
+    void setUp(Page page) {
         faker = new Faker();
         mockName = faker.name().fullName();
 
-        playwright = Playwright.create();
-        browser = playwright.chromium().launch(new BrowserType.LaunchOptions().setHeadless(false));
-        page = browser.newPage();
+        this.page = page;
 
-        page.route("**/dynamic_content", route -> {
-            String mockResponse = "<html><body>" +
-                    "<div class='row'>" +
-                    "  <div class='large-2 columns'>" +
-                    "    <img src='/img/avatars/Original-Facebook-Geek-Profile-Avatar-1.jpg'>" +
-                    "  </div>" +
-                    "  <div class='large-10 columns'>" + mockName + "</div>" +
-                    "</div>" +
-                    "</body></html>";
+        String mockResponse = "<html><body>" +
+                "<div class='row'>" +
+                "  <div class='large-2 columns'>" +
+                "    <img src='/img/avatars/Original-Facebook-Geek-Profile-Avatar-1.jpg'>" +
+                "  </div>" +
+                "  <div class='large-10 columns'>" + mockName + "</div>" +
+                "</div>" +
+                "</body></html>";
 
-            route.fulfill(new Route.FulfillOptions()
-                    .setContentType("text/html")
-                    .setBody(mockResponse));
-        });
+        new MockRegistry()
+                .fulfill("**/dynamic_content", new Route.FulfillOptions()
+                        .setContentType("text/html")
+                        .setBody(mockResponse))
+                .install(page);
     }
 
     /**
@@ -60,7 +63,7 @@ public class DynamicFakerTest {
      */
     @Test
     void testDynamicContentWithMock() {
-        page.navigate("https://the-internet.herokuapp.com/dynamic_content");
+        page.navigate(config.baseUrl() + "/dynamic_content");
 
         Locator content = page.locator(".large-10.columns:has-text('" + mockName + "')");
         content.waitFor(new Locator.WaitForOptions().setState(WaitForSelectorState.VISIBLE));
@@ -69,17 +72,4 @@ public class DynamicFakerTest {
         assertEquals(mockName, content.textContent().trim(),
                 "Отображаемый текст не совпадает с сгенерированными данными");
     }
-
-    /**
-     * Завершение работы тестового окружения:
-     * 1. Закрытие страницы
-     * 2. Остановка браузера
-     * 3. Освобождение ресурсов Playwright
-     */
-    @AfterEach
-    void tearDown() {
-        page.close();
-        browser.close();
-        playwright.close();
-    }
 }
\ No newline at end of file
@@ -0,0 +1,309 @@
+package fixture;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.GradientPaint;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+
+/**
+ * Встроенный HTTP-сервер, отдающий заменители страниц the-internet.herokuapp.com, которые использует набор тестов.
+ * Страницы написаны вручную, а не записаны с сайта: они повторяют только разметку и поведение, на которые
+ * опираются тесты, поэтому прогон на сервере не заменяет проверку реального сайта. Сервер включается явно
+ * ({@code fixture.server=true}, см. {@link FixtureSession}). Страницы лежат в ресурсах fixture/the-internet:
+ * - фрагмент {@code <путь>.html} вставляется в общий макет layout.html (заголовок "The Internet", подвал
+ *   со ссылкой Elemental Selenium); файл, начинающийся с {@code <html>}, отдается как есть (фреймы)
+ * - ссылка Elemental Selenium ведет на локальный заменитель /elemental_selenium, чтобы прогон не выходил в сеть
+ * - в фрагментах подставляются значения {@code {{delay}}}, {@code {{code}}}, {@code {{flash}}} и т.п.
+ *
+ * Кроме статических страниц сервер воспроизводит поведение сайта, на которое опираются тесты:
+ * - /status_codes/{код} - страница с указанным HTTP-статусом
+ * - POST /upload - прием multipart-формы и страница "File Uploaded!" с именем файла
+ * - POST /authenticate - вход tomsmith / SuperSecretPassword! с переходом на /secure
+ * - /dynamic_content - случайные строки при каждой загрузке
+ * - неизвестный путь (например, /users/1 после "View profile") - ответ 404 без заголовка страницы
+ *
+ * Страницы подключают статические ресурсы, как на реальном сайте, чтобы блокировка ресурсов и кеш статики
+ * было на чем измерить: /css/app.css и /js/app.js из тех же ресурсов, изображения /img/... (аватары, лента
+ * "Fork me on GitHub") генерируются при первом запросе. Ресурсы отдаются с ETag и Cache-Control и могут
+ * приходить с заданной задержкой, имитирующей сеть до CDN.
+ *
+ * Асинхронные примеры (dynamic_loading, dynamic_controls) ждут в браузере заданную задержку
+ * вместо 5 с на реальном сайте. Шаблоны читаются из classpath один раз и кешируются.
+ *
+ * @since 2026-10-18
+ */
+public class FixtureServer implements AutoCloseable {
+    private static final String ROOT = "fixture/the-internet/";
+    private static final String USERNAME = "tomsmith";
+    private static final String PASSWORD = "SuperSecretPassword!";
+    private static final Pattern STATUS_CODE = Pattern.compile("/status_codes/(\\d{3})");
+    private static final Pattern FILE_NAME = Pattern.compile("filename=\"([^\"]*)\"");
+    private static final Pattern ASSET = Pattern.compile("/(css|js|img)/[\\w/.-]+\\.(css|js|png|jpg)");
+    private static final Map<String, String> ASSET_TYPES = Map.of(
+            "css", "text/css", "js", "application/javascript", "png", "image/png", "jpg", "image/jpeg");
+    private static final List<String> CONTENT = List.of(
+            "Accusantium eius ut architecto neque vel voluptatem vel nam eos minus ullam dolores voluptates enim sed voluptatem rerum qui sapiente nesciunt aspernatur et accusamus laboriosam culpa tenetur hic aut placeat error autem qui sunt.",
+            "Omnis fugiat porro vero quas tempora quis eveniet ab officia cupiditate culpa repellat debitis itaque possimus odit dolorum et iste quibusdam quis dicta autem sint vel quo vel consequuntur dolorem nihil neque sunt aperiam blanditiis.",
+            "Sunt repellendus ipsum qui voluptas nemo quia minima consequatur eum ex cupiditate molestiae beatae et repudiandae quas sit consequatur consequuntur dolores minus aspernatur praesentium fugit architecto quidem aut et.");
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final long delayMillis;
+    private final long assetLatencyMillis;
+    private final ScheduledExecutorService latency;
+    private final Map<String, Optional<String>> templates = new ConcurrentHashMap<>();
+    private final Map<String, Optional<byte[]>> assets = new ConcurrentHashMap<>();
+
+    /**
+     * Запускает сервер на локальном интерфейсе.
+     *
+     * @param port  порт; 0 - любой свободный
+     * @param delay задержка асинхронных примеров в браузере
+     */
+    public FixtureServer(int port, Duration delay) {
+        this(port, delay, Duration.ZERO);
+    }
+
+    /**
+     * Запускает сервер на локальном интерфейсе.
+     *
+     * @param port         порт; 0 - любой свободный
+     * @param delay        задержка асинхронных примеров в браузере
+     * @param assetLatency задержка ответа на запрос статического ресурса
+     */
+    public FixtureServer(int port, Duration delay, Duration assetLatency) {
+        this.delayMillis = delay.toMillis();
+        this.assetLatencyMillis = assetLatency.toMillis();
+        AtomicInteger threads = new AtomicInteger();
+        this.executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "fixture-server-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Не удалось запустить локальный сервер страниц на порту " + port, e);
+        }
+        latency = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "fixture-server-latency");
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.setExecutor(executor);
+        server.createContext("/", this::handle);
+        server.start();
+    }
+
+    /**
+     * @return базовый URL сервера без завершающего слеша, например http://127.0.0.1:41234
+     */
+    public String url() {
+        return "http://" + server.getAddress().getAddress().getHostAddress() + ":" + server.getAddress().getPort();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+        latency.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        String path = exchange.getRequestURI().getPath();
+        if ("GET".equals(exchange.getRequestMethod()) && ASSET.matcher(path).matches() && !path.contains("..")) {
+            if (assetLatencyMillis > 0) {
+                latency.schedule(() -> asset(exchange, path), assetLatencyMillis, TimeUnit.MILLISECONDS);
+            } else {
+                asset(exchange, path);
+            }
+            return;
+        }
+        try (exchange) {
+            String method = exchange.getRequestMethod();
+            Matcher statusCode = STATUS_CODE.matcher(path);
+
+            if ("POST".equals(method) && "/upload".equals(path)) {
+                String body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.ISO_8859_1);
+                Matcher fileName = FILE_NAME.matcher(body);
+                page(exchange, 200, "uploaded", Map.of("file", fileName.find() ? fileName.group(1) : ""));
+            } else if ("POST".equals(method) && "/authenticate".equals(path)) {
+                Map<String, String> form = form(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+                String location = !USERNAME.equals(form.get("username")) ? "/login?error=username"
+                        : !PASSWORD.equals(form.get("password")) ? "/login?error=password" : "/secure";
+                exchange.getResponseHeaders().set("Location", location);
+                exchange.sendResponseHeaders(303, -1);
+            } else if ("/login".equals(path)) {
+                String error = form(Optional.ofNullable(exchange.getRequestURI().getRawQuery()).orElse("")).get("error");
+                String flash = error == null ? ""
+                        : "<div id=\"flash\" class=\"flash error\">Your " + ("password".equals(error) ? "password" : "username")
+                        + " is invalid!</div>";
+                page(exchange, 200, "login", Map.of("flash", flash));
+            } else if (statusCode.matches()) {
+                page(exchange, Integer.parseInt(statusCode.group(1)), "status_code", Map.of("code", statusCode.group(1)));
+            } else if ("/dynamic_content".equals(path)) {
+                page(exchange, 200, "dynamic_content", Map.of("rows", dynamicRows()));
+            } else {
+                page(exchange, 200, name(path), Map.of());
+            }
+        }
+    }
+
+    /**
+     * Отдает страницу по имени шаблона или 404, если такой страницы нет.
+     */
+    private void page(HttpExchange exchange, int status, String name, Map<String, String> values) throws IOException {
+        Optional<String> fragment = template(name);
+        String html;
+        if (fragment.isEmpty()) {
+            status = 404;
+            html = "<html><body><h1>Not Found</h1></body></html>";
+        } else {
+            Map<String, String> all = new HashMap<>(values);
+            all.put("delay", String.valueOf(delayMillis));
+            html = fragment.get();
+            for (Map.Entry<String, String> value : all.entrySet()) {
+                html = html.replace("{{" + value.getKey() + "}}", value.getValue());
+            }
+            if (!html.startsWith("<html")) {
+                html = template("layout").orElseThrow().replace("{{content}}", html);
+            }
+        }
+        byte[] body = html.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "text/html;charset=utf-8");
+        exchange.sendResponseHeaders(status, body.length);
+        exchange.getResponseBody().write(body);
+    }
+
+    /**
+     * Отдает статический ресурс; ответ 304 на совпадающий If-None-Match, 404 для неизвестного ресурса.
+     */
+    private void asset(HttpExchange exchange, String path) {
+        try (exchange) {
+            Optional<byte[]> body = assets.computeIfAbsent(path, FixtureServer::loadAsset);
+            if (body.isEmpty()) {
+                exchange.sendResponseHeaders(404, -1);
+                return;
+            }
+            String etag = "\"" + Integer.toHexString(Arrays.hashCode(body.get())) + "\"";
+            exchange.getResponseHeaders().set("ETag", etag);
+            exchange.getResponseHeaders().set("Cache-Control", "public, max-age=3600");
+            if (etag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                exchange.sendResponseHeaders(304, -1);
+                return;
+            }
+            exchange.getResponseHeaders().set("Content-Type", ASSET_TYPES.get(path.substring(path.lastIndexOf('.') + 1)));
+            exchange.sendResponseHeaders(200, body.get().length);
+            exchange.getResponseBody().write(body.get());
+        } catch (IOException ignored) {
+            // Браузер закрыл соединение, не дождавшись ресурса
+        }
+    }
+
+    /**
+     * Текстовые ресурсы читаются из classpath, изображения генерируются: аватары 160x160 JPEG,
+     * остальные изображения 149x149 PNG, цвет зависит от пути.
+     */
+    static Optional<byte[]> loadAsset(String path) {
+        try (InputStream stream = FixtureServer.class.getClassLoader().getResourceAsStream(ROOT + path.substring(1))) {
+            if (stream != null) {
+                return Optional.of(stream.readAllBytes());
+            }
+            if (!path.startsWith("/img/")) {
+                return Optional.empty();
+            }
+            boolean jpeg = path.endsWith(".jpg");
+            int size = path.startsWith("/img/avatars/") ? 160 : 149;
+            BufferedImage image = new BufferedImage(size, size, BufferedImage.TYPE_INT_RGB);
+            Graphics2D graphics = image.createGraphics();
+            Color color = new Color(path.hashCode() & 0xFFFFFF);
+            graphics.setPaint(new GradientPaint(0, 0, color, size, size, color.brighter().brighter()));
+            graphics.fillRect(0, 0, size, size);
+            graphics.setColor(Color.WHITE);
+            graphics.fillOval(size / 4, size / 8, size / 2, size / 2);
+            graphics.fillOval(size / 8, size * 5 / 8, size * 3 / 4, size / 2);
+            graphics.dispose();
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            ImageIO.write(image, jpeg ? "jpg" : "png", bytes);
+            return Optional.of(bytes.toByteArray());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Optional<String> template(String name) {
+        return templates.computeIfAbsent(name, key -> {
+            try (InputStream stream = FixtureServer.class.getClassLoader().getResourceAsStream(ROOT + key + ".html")) {
+                return stream == null ? Optional.empty() : Optional.of(new String(stream.readAllBytes(), StandardCharsets.UTF_8));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    /**
+     * Имя шаблона по пути запроса: "/" - index, завершающий слеш отбрасывается.
+     * Пути с переходом на уровень выше не обслуживаются.
+     */
+    static String name(String path) {
+        String name = path.replaceAll("^/+|/+$", "");
+        if (name.isEmpty()) {
+            return "index";
+        }
+        return name.contains("..") || name.equals("layout") ? "" : name;
+    }
+
+    private static String dynamicRows() {
+        StringBuilder rows = new StringBuilder();
+        for (int i = 0; i < 3; i++) {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            int avatar = random.nextInt(1, 8);
+            rows.append("<div class=\"row\">")
+                    .append("<div class=\"large-2 columns\"><img src=\"/img/avatars/Original-Facebook-Geek-Profile-Avatar-")
+                    .append(avatar).append(".jpg\" alt=\"Avatar ").append(avatar).append("\"></div>")
+                    .append("<div class=\"large-10 columns\">").append(CONTENT.get(random.nextInt(CONTENT.size())))
+                    .append("</div></div><br>\n");
+        }
+        return rows.toString();
+    }
+
+    private static Map<String, String> form(String encoded) {
+        Map<String, String> values = new HashMap<>();
+        for (String pair : encoded.split("&")) {
+            int separator = pair.indexOf('=');
+            if (separator > 0) {
+                values.put(URLDecoder.decode(pair.substring(0, separator), StandardCharsets.UTF_8),
+                        URLDecoder.decode(pair.substring(separator + 1), StandardCharsets.UTF_8));
+            }
+        }
+        return values;
+    }
+}
@@ -0,0 +1,137 @@
+package fixture;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+/**
+ * Тестовый класс для проверки локального сервера страниц через HTTP-клиент JDK, без браузера.
+ *
+ * @since 2026-10-18
+ */
+public class FixtureServerTest {
+    private static FixtureServer server;
+    private static final HttpClient client = HttpClient.newHttpClient();
+
+    @BeforeAll
+    static void startServer() {
+        server = new FixtureServer(0, Duration.ofMillis(100));
+    }
+
+    /**
+     * Проверяет страницы и статусы:
+     * 1. Главная страница собрана в общем макете с заголовком "The Internet"
+     * 2. /status_codes/{код} возвращает указанный статус
+     * 3. Неизвестный путь возвращает 404 без заголовка страницы
+     * 4. Задержка асинхронного примера подставлена в страницу
+     * 5. Ссылка Elemental Selenium ведет на локальный заменитель, а не во внешнюю сеть
+     */
+    @Test
+    void testPagesAndStatusCodes() throws Exception {
+        HttpResponse<String> index = get("/");
+        assertEquals(200, index.statusCode());
+        assertTrue(index.body().contains("<title>The Internet</title>"));
+        assertTrue(index.body().contains("Welcome to the-internet"));
+
+        assertEquals(404, get("/status_codes/404").statusCode());
+        assertEquals(500, get("/status_codes/500").statusCode());
+        assertTrue(get("/status_codes/301").body().contains("This page returned a 301 status code."));
+
+        HttpResponse<String> missing = get("/users/1");
+        assertEquals(404, missing.statusCode());
+        assertFalse(missing.body().contains("<title>"));
+        assertEquals(404, get("/../pom.xml").statusCode());
+
+        assertTrue(get("/dynamic_loading/1").body().contains("}, 100);"));
+        assertEquals(200, get("/add_remove_elements/").statusCode());
+        assertTrue(get("/nested_frames").body().startsWith("<html>"));
+
+        assertTrue(index.body().contains("href=\"/elemental_selenium\""), index.body());
+        assertFalse(index.body().contains("elementalselenium.com"));
+        assertTrue(get("/elemental_selenium").body().contains("<h1>Elemental Selenium</h1>"));
+    }
+
+    /**
+     * Проверяет формы:
+     * 1. Верные учетные данные ведут на /secure, неверный пароль - обратно на /login с сообщением
+     * 2. Загрузка файла возвращает "File Uploaded!" с именем файла
+     */
+    @Test
+    void testFormsAreHandled() throws Exception {
+        HttpResponse<String> login = post("/authenticate", "application/x-www-form-urlencoded",
+                "username=tomsmith&password=SuperSecretPassword%21");
+        assertEquals(303, login.statusCode());
+        assertEquals("/secure", login.headers().firstValue("Location").orElse(""));
+
+        HttpResponse<String> denied = post("/authenticate", "application/x-www-form-urlencoded",
+                "username=tomsmith&password=wrong");
+        assertEquals("/login?error=password", denied.headers().firstValue("Location").orElse(""));
+        assertTrue(get("/login?error=password").body().contains("Your password is invalid!"));
+
+        HttpResponse<String> upload = post("/upload", "multipart/form-data; boundary=xyz",
+                "--xyz\r\nContent-Disposition: form-data; name=\"file\"; filename=\"test.txt\"\r\n"
+                        + "Content-Type: text/plain\r\n\r\nhello\r\n--xyz--\r\n");
+        assertEquals(200, upload.statusCode());
+        assertTrue(upload.body().contains("File Uploaded!"));
+        assertTrue(upload.body().contains("<div id=\"uploaded-files\" class=\"panel text-center\">test.txt</div>"));
+    }
+
+    /**
+     * Проверяет статические ресурсы страниц:
+     * 1. Макет подключает стили, скрипт и изображение, а аватары ссылаются на /img/avatars
+     * 2. Стили отдаются из ресурсов, изображения генерируются в своем формате
+     * 3. Повторный запрос с ETag получает 304, неизвестный ресурс - 404
+     */
+    @Test
+    void testAssetsAreServedWithValidators() throws Exception {
+        String hovers = get("/hovers").body();
+        assertTrue(hovers.contains("href=\"/css/app.css\""));
+        assertTrue(hovers.contains("src=\"/js/app.js\""));
+        assertTrue(hovers.contains("src=\"/img/avatars/Original-Facebook-Geek-Profile-Avatar-1.jpg\""));
+
+        HttpResponse<String> css = get("/css/app.css");
+        assertEquals("text/css", css.headers().firstValue("Content-Type").orElse(""));
+        assertTrue(css.body().contains(".figcaption"));
+
+        HttpResponse<byte[]> avatar = client.send(HttpRequest.newBuilder(
+                URI.create(server.url() + "/img/avatars/Original-Facebook-Geek-Profile-Avatar-1.jpg")).build(),
+                HttpResponse.BodyHandlers.ofByteArray());
+        assertEquals("image/jpeg", avatar.headers().firstValue("Content-Type").orElse(""));
+        assertEquals((byte) 0xFF, avatar.body()[0]);
+        assertEquals((byte) 0xD8, avatar.body()[1]);
+
+        String etag = avatar.headers().firstValue("ETag").orElseThrow();
+        HttpResponse<Void> revalidated = client.send(HttpRequest.newBuilder(
+                URI.create(server.url() + "/img/avatars/Original-Facebook-Geek-Profile-Avatar-1.jpg"))
+                .header("If-None-Match", etag).build(), HttpResponse.BodyHandlers.discarding());
+        assertEquals(304, revalidated.statusCode());
+        assertEquals(404, get("/css/missing.css").statusCode());
+    }
+
+    private static HttpResponse<String> get(String path) throws Exception {
+        return client.send(HttpRequest.newBuilder(URI.create(server.url() + path)).build(),
+                HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static HttpResponse<String> post(String path, String contentType, String body) throws Exception {
+        return client.send(HttpRequest.newBuilder(URI.create(server.url() + path))
+                        .header("Content-Type", contentType)
+                        .POST(HttpRequest.BodyPublishers.ofString(body))
+                        .build(),
+                HttpResponse.BodyHandlers.ofString());
+    }
+
+    @AfterAll
+    static void stopServer() {
+        server.close();
+    }
+}
@@ -0,0 +1,79 @@
+package fixture;
+
+import org.junit.platform.launcher.LauncherSession;
+import org.junit.platform.launcher.LauncherSessionListener;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.Properties;
+
+
+/**
+ * Слушатель сессии JUnit Platform, поднимающий {@link FixtureServer} один раз на JVM (форк Surefire)
+ * и направляющий на него тесты через системное свойство base.url, которое читает {@link apiandui.EnvConfig#baseUrl()}.
+ * Регистрируется через META-INF/services.
+ *
+ * Параметры (системные свойства или junit-platform.properties):
+ * - fixture.server - включает локальный сервер страниц, по умолчанию false
+ * - fixture.port - порт сервера, по умолчанию любой свободный
+ * - fixture.delay-ms - задержка асинхронных примеров (dynamic_loading, dynamic_controls), по умолчанию 500
+ * - fixture.asset-delay-ms - задержка ответа на запросы стилей, скриптов и изображений, по умолчанию 0
+ *
+ * Без fixture.server тесты идут на реальный сайт из base.url; сервер включают прогоны, которым нужна
+ * независимость от сети (CI, docker compose). Явно заданный -Dbase.url имеет приоритет: сервер не запускается,
+ * тесты идут на указанный адрес.
+ *
+ * @since 2026-10-18
+ */
+public class FixtureSession implements LauncherSessionListener {
+    private static final String ENABLED = "fixture.server";
+    private static final String PORT = "fixture.port";
+    private static final String DELAY = "fixture.delay-ms";
+    private static final String ASSET_DELAY = "fixture.asset-delay-ms";
+    private static final String BASE_URL = "base.url";
+
+    private final Properties platformProperties = loadPlatformProperties();
+    private FixtureServer server;
+
+    @Override
+    public void launcherSessionOpened(LauncherSession session) {
+        if (!Boolean.parseBoolean(parameter(ENABLED, "false"))) {
+            return;
+        }
+        if (System.getProperty(BASE_URL) != null) {
+            System.out.println("Локальный сервер страниц не запущен: задан base.url=" + System.getProperty(BASE_URL));
+            return;
+        }
+        server = new FixtureServer(Integer.parseInt(parameter(PORT, "0")),
+                Duration.ofMillis(Long.parseLong(parameter(DELAY, "500"))),
+                Duration.ofMillis(Long.parseLong(parameter(ASSET_DELAY, "0"))));
+        System.setProperty(BASE_URL, server.url());
+        System.out.println("Локальный сервер страниц запущен: " + server.url());
+    }
+
+    @Override
+    public void launcherSessionClosed(LauncherSession session) {
+        if (server != null) {
+            server.close();
+            System.clearProperty(BASE_URL);
+            server = null;
+        }
+    }
+
+    private String parameter(String key, String defaultValue) {
+        return System.getProperty(key, platformProperties.getProperty(key, defaultValue));
+    }
+
+    private static Properties loadPlatformProperties() {
+        Properties properties = new Properties();
+        try (InputStream stream = FixtureSession.class.getResourceAsStream("/junit-platform.properties")) {
+            if (stream != null) {
+                properties.load(stream);
+            }
+        } catch (IOException e) {
+            System.err.println("Не удалось прочитать junit-platform.properties: " + e.getMessage());
+        }
+        return properties;
+    }
+}
@@ -1,7 +1,12 @@
 package mobile;
 
+import apiandui.EnvConfig;
 import com.microsoft.playwright.*;
+import org.aeonbits.owner.ConfigFactory;
 import org.junit.jupiter.api.*;
+import waits.Waits;
+
+import java.time.Duration;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -13,6 +18,7 @@ import static org.junit.jupiter.api.Assertions.*;
  * @since 2025-03-22
  */
 public class MobileDragAndDropTest {
+    private final EnvConfig config = ConfigFactory.create(EnvConfig.class, System.getProperties());
     Playwright playwright;
     Browser browser;
     BrowserContext context;
@@ -54,7 +60,7 @@ public class MobileDragAndDropTest {
      */
     @Test
     void testDragAndDropMobile() {
-        page.navigate("https://the-internet.herokuapp.com/drag_and_drop");
+        page.navigate(config.baseUrl() + "/drag_and_drop");
 
         Locator columnA = page.locator("#column-a");
         Locator columnB = page.locator("#column-b");
@@ -62,14 +68,14 @@ public class MobileDragAndDropTest {
         assertEquals("A", columnA.textContent().trim(), "Начальный текст колонки A неверный");
         assertEquals("B", columnB.textContent().trim(), "Начальный текст колонки B неверный");
 
-        page.evaluate("() => {\n" +
-                "  const dataTransfer = new DataTransfer();\n" +
-                "  const event = new DragEvent('drop', { dataTransfer });\n" +
-                "  document.querySelector('#column-a').dispatchEvent(new DragEvent('dragstart', { dataTransfer }));\n" +
-                "  document.querySelector('#column-b').dispatchEvent(event);\n" +
-                "}");
-
-        page.waitForTimeout(1000);
+        Waits.domChange(page.locator("#columns"), "columns => columns.querySelector('#column-b').textContent.trim() === 'A'",
+                () -> page.evaluate("() => {\n" +
+                        "  const dataTransfer = new DataTransfer();\n" +
+                        "  const event = new DragEvent('drop', { dataTransfer });\n" +
+                        "  document.querySelector('#column-a').dispatchEvent(new DragEvent('dragstart', { dataTransfer }));\n" +
+                        "  document.querySelector('#column-b').dispatchEvent(event);\n" +
+                        "}"),
+                Duration.ofSeconds(5));
         assertEquals("A", columnB.textContent().trim(), "Текст в колонке B не соответствует ожидаемому после перетаскивания");
     }
 
@@ -1,8 +1,13 @@
 package mobile;
 
+import apiandui.EnvConfig;
 import com.microsoft.playwright.*;
 import com.microsoft.playwright.options.WaitForSelectorState;
+import org.aeonbits.owner.ConfigFactory;
 import org.junit.jupiter.api.*;
+import waits.Waits;
+
+import java.time.Duration;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -14,6 +19,7 @@ import static org.junit.jupiter.api.Assertions.*;
  * @since 2025-03-22
  */
 public class MobileDynamicControlsTest {
+    private final EnvConfig config = ConfigFactory.create(EnvConfig.class, System.getProperties());
     Playwright playwright;
     Browser browser;
     BrowserContext context;
@@ -50,12 +56,12 @@ public class MobileDynamicControlsTest {
      * 1. Переход на страницу динамических элементов
      * 2. Проверка начального состояния поля ввода
      * 3. Клик по кнопке активации
-     * 4. Ожидание завершения загрузки
+     * 4. Ожидание завершения загрузки и активации поля: условие проверяется в странице по изменениям DOM
      * 5. Проверка активации поля
      */
     @Test
     void testInputEnabling() {
-        page.navigate("https://the-internet.herokuapp.com/dynamic_controls");
+        page.navigate(config.baseUrl() + "/dynamic_controls");
 
         Locator input = page.locator("input[type='text']");
         Locator enableButton = page.locator("button:has-text('Enable')");
@@ -69,8 +75,7 @@ public class MobileDynamicControlsTest {
                         .setState(WaitForSelectorState.HIDDEN)
                         .setTimeout(10000));
 
-        page.waitForCondition(() -> input.isEnabled(),
-                new Page.WaitForConditionOptions().setTimeout(10000));
+        Waits.until(input, "el => !el.disabled", Duration.ofSeconds(10));
 
         assertTrue(input.isEnabled(), "Поле не активировалось после нажатия кнопки");
     }
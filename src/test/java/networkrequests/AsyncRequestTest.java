@@ -1,10 +1,18 @@
 package networkrequests;
 
+import apiandui.EnvConfig;
 import com.microsoft.playwright.*;
+import eventbus.EventCounters;
+import eventbus.EventLogWriter;
+import eventbus.NetworkEvent;
+import eventbus.NetworkEventBus;
+import org.aeonbits.owner.ConfigFactory;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -17,16 +25,20 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
  * @since 2025-03-18
  */
 public class AsyncRequestTest {
+    private final EnvConfig config = ConfigFactory.create(EnvConfig.class, System.getProperties());
     Playwright playwright;
     Browser browser;
     BrowserContext context;
     Page page;
+    EventCounters counters;
+    NetworkEventBus events;
 
     /**
      * Настройка тестового окружения перед каждым тестом:
      * 1. Инициализация Playwright
      * 2. Запуск браузера Chromium в режиме с графическим интерфейсом
      * 3. Создание нового контекста и страницы
+     * 4. Подписка шины событий на страницу: журнал пишется в фоне в target/network-events
      */
     @BeforeEach
     void setUp() {
@@ -36,24 +48,22 @@ public class AsyncRequestTest {
         );
         context = browser.newContext();
         page = context.newPage();
+        counters = new EventCounters();
+        events = new NetworkEventBus("AsyncRequestTest", 1024,
+                List.of(counters, EventLogWriter.forTest(AsyncRequestTest.class.getName(), "testAsyncRequest")))
+                .attach(page);
     }
 
     /**
      * Тест проверки асинхронной загрузки контента:
      * 1. Переход на тестовую страницу
-     * 2. Регистрация обработчика сетевых запросов
-     * 3. Запуск процесса загрузки
-     * 4. Ожидание и верификация результатов
+     * 2. Запуск процесса загрузки
+     * 3. Ожидание и верификация результатов
+     * 4. Проверка, что запросы страницы попали в шину событий
      */
     @Test
     void testAsyncRequest() {
-        page.navigate("https://the-internet.herokuapp.com/dynamic_loading/2");
-
-        page.onRequest(request -> {
-            if (request.url().contains("dynamic_loading/2")) {
-                System.out.println("Запрос к: " + request.url());
-            }
-        });
+        page.navigate(config.baseUrl() + "/dynamic_loading/2");
 
         page.click("button:has-text('Start')");
 
@@ -63,15 +73,20 @@ public class AsyncRequestTest {
         assertTrue(helloText.isVisible(), "Текст не отображается после загрузки");
         assertEquals("Hello World!", helloText.textContent(),
                 "Содержимое элемента не соответствует ожидаемому");
+
+        events.close();
+        assertTrue(counters.count(NetworkEvent.Type.REQUEST) > 0, "Запросы страницы не попали в шину событий");
     }
 
     /**
      * Завершение работы тестового окружения:
-     * 1. Закрытие контекста браузера
-     * 2. Освобождение ресурсов Playwright
+     * 1. Закрытие шины событий с передачей оставшихся событий в журнал
+     * 2. Закрытие контекста браузера
+     * 3. Освобождение ресурсов Playwright
      */
     @AfterEach
     void tearDown() {
+        events.close();
         context.close();
         playwright.close();
     }
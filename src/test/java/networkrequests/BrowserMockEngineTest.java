@@ -0,0 +1,94 @@
+package networkrequests;
+
+import apiandui.EnvConfig;
+import browserpool.BrowserPoolExtension;
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.Page;
+import org.aeonbits.owner.ConfigFactory;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+
+/**
+ * Тестовый класс для проверки ответов статических моков внутри браузера и сравнения их стоимости
+ * с ответами через Java-маршрут.
+ *
+ * @since 2026-10-18
+ */
+@ExtendWith(BrowserPoolExtension.class)
+public class BrowserMockEngineTest {
+    private static final int REQUESTS = 200;
+    private static final String FETCH_ALL = """
+            async count => {
+                const start = performance.now();
+                for (let i = 0; i < count; i++) {
+                    await (await fetch('/api/items/' + (i % 10))).text();
+                }
+                return performance.now() - start;
+            }
+            """;
+
+    private final EnvConfig config = ConfigFactory.create(EnvConfig.class, System.getProperties());
+
+    /**
+     * Проверяет совместную работу моков:
+     * 1. fetch и XMLHttpRequest к статическому моку получают ответ от браузера, маршрут Java не вызывается
+     * 2. Мок с Java-обработчиком обслуживается маршрутом реестра
+     */
+    @Test
+    void testStaticMocksAreAnsweredInBrowser(BrowserContext context, Page page) {
+        AtomicInteger javaCalls = new AtomicInteger();
+        new MockRegistry()
+                .respond("**/api/items/*", MockRegistry.StaticResponse.ok("application/json", "{\"name\":\"mock\"}"))
+                .on("**/api/dynamic", route -> {
+                    javaCalls.incrementAndGet();
+                    route.fulfill(MockRegistry.StaticResponse.ok("text/plain", "java").fulfill());
+                })
+                .installInBrowser(context);
+        page.navigate(config.baseUrl() + "/");
+
+        assertEquals("mock", page.evaluate("async () => (await (await fetch('/api/items/1')).json()).name"));
+        assertEquals(200, page.evaluate("""
+                () => new Promise(resolve => {
+                    const xhr = new XMLHttpRequest();
+                    xhr.open('GET', '/api/items/2');
+                    xhr.onload = () => resolve(xhr.status);
+                    xhr.send();
+                })
+                """));
+        assertEquals(0, javaCalls.get(), "Статический мок не должен обращаться к Java");
+
+        assertEquals("java", page.evaluate("async () => (await fetch('/api/dynamic')).text()"));
+        assertEquals(1, javaCalls.get());
+        assertEquals(2, page.evaluate("() => window.__mockEngine.hits"));
+    }
+
+    /**
+     * Сравнивает время ответа на {@value REQUESTS} запросов fetch:
+     * 1. Через Java-маршрут реестра - сообщение в Java и ответ на каждый запрос
+     * 2. Через движок моков в браузере
+     */
+    @Test
+    void testBrowserSideMocksSkipJavaRoundTrip(Page page) {
+        MockRegistry.StaticResponse item = new MockRegistry.StaticResponse(200,
+                Map.of("Content-Type", "application/json"), "{\"name\":\"mock\"}");
+
+        new MockRegistry().respond("**/api/items/*", item).install(page);
+        page.navigate(config.baseUrl() + "/");
+        double javaMillis = ((Number) page.evaluate(FETCH_ALL, REQUESTS)).doubleValue();
+        page.unrouteAll();
+
+        new MockRegistry().respond("**/api/items/*", item).installInBrowser(page);
+        page.navigate(config.baseUrl() + "/");
+        double browserMillis = ((Number) page.evaluate(FETCH_ALL, REQUESTS)).doubleValue();
+
+        System.out.printf("Статические моки, %d запросов: Java-маршрут %.2f мс/запрос, в браузере %.3f мс/запрос%n",
+                REQUESTS, javaMillis / REQUESTS, browserMillis / REQUESTS);
+        assertEquals(REQUESTS, page.evaluate("() => window.__mockEngine.hits"));
+    }
+}
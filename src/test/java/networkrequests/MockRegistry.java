@@ -0,0 +1,273 @@
+package networkrequests;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.Route;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+
+/**
+ * Реестр моков сетевых ответов, подключаемый к контексту или странице одним обработчиком маршрута.
+ *
+ * Каждый {@code route(glob, ...)} - отдельный обработчик: URL запроса сверяется со всеми шаблонами по очереди,
+ * и каждый совпавший запрос отдельно передается в Java. Реестр вместо этого:
+ * 1. Переводит glob-шаблоны всех моков в регулярные выражения без захватывающих групп
+ * 2. Объединяет их в одно выражение-альтернативу, где каждый мок - своя захватывающая группа
+ * 3. Регистрирует одно выражение одним {@code route(Pattern, ...)}: запросы, не подходящие ни под один мок,
+ *    не перехватываются вовсе, а совпавшие за одно сопоставление находят свой обработчик по номеру группы
+ * Если запрос все же не совпал (например, URL изменился при перенаправлении), он передается дальше через
+ * {@code route.fallback()}.
+ *
+ * Как и у route в Playwright, при пересечении шаблонов срабатывает мок, зарегистрированный позже.
+ * Glob поддерживает {@code **} (любые символы), {@code *} (любые символы, кроме /) и {@code {a,b}};
+ * остальные символы, включая {@code ?}, сравниваются буквально.
+ *
+ * Статические моки ({@link #respond(String, StaticResponse)}) можно дополнительно передать в браузер
+ * ({@link #installInBrowser(BrowserContext)}): init-скрипт mock-engine.js подменяет fetch и XMLHttpRequest страницы
+ * и отвечает на совпавшие запросы сам, без сообщения в Java и ответа на него. Навигации, изображения и другие
+ * запросы, которые страница делает не через fetch/XHR, по-прежнему обслуживает маршрут реестра, как и моки
+ * с Java-обработчиком ({@link #on(String, Consumer)}).
+ *
+ * После подключения реестр больше не меняется: шаблоны уже переданы браузеру.
+ *
+ * @since 2026-10-18
+ */
+public class MockRegistry {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final List<Consumer<Route>> handlers = new ArrayList<>();
+    private final List<String> regexes = new ArrayList<>();
+    private final List<Map<String, Object>> staticMocks = new ArrayList<>();
+    private Pattern compiled;
+
+    /**
+     * Постоянный ответ мока, который можно передать в браузер.
+     *
+     * @param status  HTTP-статус
+     * @param headers заголовки ответа
+     * @param body    тело ответа
+     */
+    public record StaticResponse(int status, Map<String, String> headers, String body) {
+        /**
+         * @param contentType тип содержимого
+         * @param body        тело ответа
+         * @return ответ 200 с указанным типом содержимого
+         */
+        public static StaticResponse ok(String contentType, String body) {
+            return new StaticResponse(200, Map.of("Content-Type", contentType), body);
+        }
+
+        Route.FulfillOptions fulfill() {
+            return new Route.FulfillOptions().setStatus(status).setHeaders(headers).setBody(body);
+        }
+    }
+
+    /**
+     * Регистрирует мок с произвольной обработкой запроса.
+     *
+     * @param glob    шаблон URL
+     * @param handler обработчик, который обязан завершить маршрут (fulfill, abort, resume или fallback)
+     * @return этот реестр
+     */
+    public synchronized MockRegistry on(String glob, Consumer<Route> handler) {
+        if (compiled != null) {
+            throw new IllegalStateException("Реестр моков уже подключен, новый шаблон не будет перехвачен: " + glob);
+        }
+        regexes.add(regex(glob));
+        handlers.add(handler);
+        return this;
+    }
+
+    /**
+     * Регистрирует мок с постоянным ответом.
+     *
+     * @param glob     шаблон URL
+     * @param response подставляемый ответ
+     * @return этот реестр
+     */
+    public MockRegistry fulfill(String glob, Route.FulfillOptions response) {
+        return on(glob, route -> route.fulfill(response));
+    }
+
+    /**
+     * Регистрирует статический мок, на который при {@link #installInBrowser(BrowserContext)} отвечает сам браузер.
+     *
+     * @param glob     шаблон URL
+     * @param response постоянный ответ
+     * @return этот реестр
+     */
+    public synchronized MockRegistry respond(String glob, StaticResponse response) {
+        on(glob, route -> route.fulfill(response.fulfill()));
+        Map<String, Object> mock = new LinkedHashMap<>();
+        mock.put("regex", "^" + regexes.get(regexes.size() - 1) + "$");
+        mock.put("status", response.status());
+        mock.put("headers", response.headers());
+        mock.put("body", response.body());
+        staticMocks.add(mock);
+        return this;
+    }
+
+    /**
+     * Передает статические моки в браузер init-скриптом и подключает маршрут для остальных запросов.
+     * Скрипт действует на страницы, открытые или загруженные после вызова.
+     *
+     * @param context контекст браузера
+     */
+    public void installInBrowser(BrowserContext context) {
+        context.addInitScript(browserScript());
+        install(context);
+    }
+
+    /**
+     * Передает статические моки в браузер init-скриптом и подключает маршрут для остальных запросов.
+     * Скрипт действует со следующей навигации страницы.
+     *
+     * @param page страница
+     */
+    public void installInBrowser(Page page) {
+        page.addInitScript(browserScript());
+        install(page);
+    }
+
+    /**
+     * Подключает все моки к контексту одним маршрутом.
+     *
+     * @param context контекст браузера
+     */
+    public void install(BrowserContext context) {
+        context.route(compile(), this::dispatch);
+    }
+
+    /**
+     * Подключает все моки к странице одним маршрутом.
+     *
+     * @param page страница
+     */
+    public void install(Page page) {
+        page.route(compile(), this::dispatch);
+    }
+
+    private void dispatch(Route route) {
+        Consumer<Route> handler = match(route.request().url());
+        if (handler == null) {
+            route.fallback();
+        } else {
+            handler.accept(route);
+        }
+    }
+
+    /**
+     * @param url адрес запроса
+     * @return обработчик мока, зарегистрированного последним среди совпавших, или null
+     */
+    Consumer<Route> match(String url) {
+        Matcher matcher = compile().matcher(url);
+        if (!matcher.matches()) {
+            return null;
+        }
+        int count = handlers.size();
+        for (int group = 1; group <= count; group++) {
+            if (matcher.start(group) >= 0) {
+                return handlers.get(count - group);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Собирает общее выражение; моки перечисляются от последнего к первому, чтобы при пересечении
+     * шаблонов первой совпадала альтернатива более позднего мока. Выражение привязано к началу и концу URL,
+     * так как браузер проверяет его поиском, а не полным совпадением.
+     *
+     * @return скомпилированное выражение всех моков
+     */
+    synchronized Pattern compile() {
+        if (compiled == null) {
+            if (handlers.isEmpty()) {
+                throw new IllegalStateException("Реестр моков пуст");
+            }
+            StringBuilder alternation = new StringBuilder();
+            for (int i = regexes.size() - 1; i >= 0; i--) {
+                alternation.append(alternation.isEmpty() ? "" : "|").append('(').append(regexes.get(i)).append(')');
+            }
+            compiled = Pattern.compile("^(?:" + alternation + ")$");
+        }
+        return compiled;
+    }
+
+    /**
+     * Переводит glob-шаблон в регулярное выражение без захватывающих групп,
+     * совместимое с JavaScript, так как выражение передается браузеру.
+     *
+     * @param glob шаблон URL
+     * @return регулярное выражение
+     */
+    static String regex(String glob) {
+        StringBuilder regex = new StringBuilder();
+        boolean inGroup = false;
+        for (int i = 0; i < glob.length(); i++) {
+            char c = glob.charAt(i);
+            switch (c) {
+                case '*' -> {
+                    if (i + 1 < glob.length() && glob.charAt(i + 1) == '*') {
+                        regex.append(".*");
+                        i++;
+                    } else {
+                        regex.append("[^/]*");
+                    }
+                }
+                case '{' -> {
+                    regex.append("(?:");
+                    inGroup = true;
+                }
+                case '}' -> {
+                    regex.append(inGroup ? ")" : "\\}");
+                    inGroup = false;
+                }
+                case ',' -> regex.append(inGroup ? "|" : ",");
+                case '\\', '^', '$', '.', '|', '?', '+', '(', ')', '[', ']', '/' -> regex.append('\\').append(c);
+                default -> regex.append(c);
+            }
+        }
+        if (inGroup) {
+            throw new IllegalArgumentException("Незакрытая группа в шаблоне: " + glob);
+        }
+        return regex.toString();
+    }
+
+    /**
+     * Собирает init-скрипт: движок mock-engine.js с определениями статических моков в порядке регистрации.
+     *
+     * @return текст скрипта
+     */
+    synchronized String browserScript() {
+        try (InputStream stream = MockRegistry.class.getResourceAsStream("/networkrequests/mock-engine.js")) {
+            String engine = new String(stream.readAllBytes(), StandardCharsets.UTF_8);
+            return engine.replace("__MOCKS__", MAPPER.writeValueAsString(staticMocks));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Не удалось сериализовать моки", e);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * @return число зарегистрированных моков
+     */
+    public synchronized int size() {
+        return handlers.size();
+    }
+}
@@ -0,0 +1,147 @@
+package networkrequests;
+
+import com.microsoft.playwright.Route;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+/**
+ * Тестовый класс для проверки сопоставления URL реестром моков и замера накладных расходов перехвата
+ * в зависимости от числа моков. Браузер не запускается.
+ *
+ * @since 2026-10-18
+ */
+public class MockRegistryTest {
+    private static final int[] MOCK_COUNTS = {1, 10, 50, 200};
+    private static final int ROUNDS = 20;
+
+    /**
+     * Проверяет перевод glob-шаблонов:
+     * 1. {@code **} совпадает с любыми символами, {@code *} - с любыми, кроме /
+     * 2. {@code {a,b}} задает альтернативы
+     * 3. Точка и вопросительный знак сравниваются буквально
+     */
+    @Test
+    void testGlobsAreTranslatedLikePlaywright() {
+        assertTrue(matches("**/dynamic_loading/2", "http://127.0.0.1:8080/dynamic_loading/2"));
+        assertFalse(matches("**/dynamic_loading/2", "http://127.0.0.1:8080/dynamic_loading/22"));
+        assertTrue(matches("**/status_codes/*", "http://127.0.0.1:8080/status_codes/404"));
+        assertFalse(matches("**/status_codes/*", "http://127.0.0.1:8080/status_codes/404/details"));
+        assertTrue(matches("**/*.{png,jpg}", "http://127.0.0.1:8080/img/avatar.jpg"));
+        assertFalse(matches("**/*.{png,jpg}", "http://127.0.0.1:8080/img/avatar-jpg"));
+        assertTrue(matches("**/search?q=*", "http://127.0.0.1:8080/search?q=java"));
+        assertFalse(matches("**/search?q=*", "http://127.0.0.1:8080/searchXq=java"));
+    }
+
+    /**
+     * Проверяет выбор обработчика:
+     * 1. Каждый URL находит обработчик своего мока
+     * 2. При пересечении шаблонов срабатывает мок, зарегистрированный позже
+     * 3. URL без мока не совпадает, а реестр после подключения не меняется
+     */
+    @Test
+    void testLatestMatchingMockWins() {
+        Consumer<Route> any = route -> { };
+        Consumer<Route> status = route -> { };
+        Consumer<Route> notFound = route -> { };
+        MockRegistry registry = new MockRegistry()
+                .on("**/*.html", any)
+                .on("**/status_codes/*", status)
+                .on("**/status_codes/404", notFound);
+
+        assertSame(notFound, registry.match("http://127.0.0.1:8080/status_codes/404"));
+        assertSame(status, registry.match("http://127.0.0.1:8080/status_codes/500"));
+        assertSame(any, registry.match("http://127.0.0.1:8080/checkboxes.html"));
+        assertNull(registry.match("http://127.0.0.1:8080/checkboxes"));
+        assertThrows(IllegalStateException.class, () -> registry.on("**/late", any));
+    }
+
+    /**
+     * Проверяет init-скрипт движка моков в браузере:
+     * 1. В скрипт попадают только статические моки в порядке регистрации
+     * 2. Выражения привязаны к началу и концу URL
+     */
+    @Test
+    void testBrowserScriptContainsStaticMocksInOrder() {
+        String script = new MockRegistry()
+                .respond("**/api/items/*", MockRegistry.StaticResponse.ok("application/json", "[]"))
+                .on("**/api/dynamic", route -> { })
+                .respond("**/api/users", new MockRegistry.StaticResponse(204, Map.of(), ""))
+                .browserScript();
+
+        assertFalse(script.contains("__MOCKS__"));
+        assertTrue(script.contains("\"regex\":\"^.*\\\\/api\\\\/items\\\\/[^/]*$\",\"status\":200"), script);
+        assertFalse(script.contains("dynamic"));
+        assertTrue(script.indexOf("api\\\\/items") < script.indexOf("api\\\\/users"));
+    }
+
+    /**
+     * Замеряет стоимость поиска мока для одного запроса при росте числа моков:
+     * по отдельному шаблону на мок, как при отдельных route-обработчиках, и одним выражением реестра.
+     * Каждый пятый запрос совпадает с моком. Результаты обоих способов должны совпадать.
+     */
+    @Test
+    void testInterceptionOverheadPerRequest() {
+        List<String> urls = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            urls.add(i % 5 == 0
+                    ? "http://127.0.0.1:8080/api/mock-" + (i % 200) + "/items"
+                    : "http://127.0.0.1:8080/static/asset-" + i + ".js?v=" + i);
+        }
+        System.out.println("Моков | отдельные шаблоны, нс/запрос | реестр, нс/запрос");
+        for (int count : MOCK_COUNTS) {
+            MockRegistry registry = new MockRegistry();
+            List<Pattern> separate = new ArrayList<>();
+            for (int i = 0; i < count; i++) {
+                String glob = "**/api/mock-" + i + "/*";
+                registry.on(glob, route -> { });
+                separate.add(Pattern.compile(MockRegistry.regex(glob)));
+            }
+            for (String url : urls) {
+                assertEquals(firstMatch(separate, url) >= 0, registry.match(url) != null, url);
+            }
+
+            long separateNanos = Long.MAX_VALUE;
+            long registryNanos = Long.MAX_VALUE;
+            int sink = 0;
+            for (int round = 0; round < ROUNDS; round++) {
+                long start = System.nanoTime();
+                for (String url : urls) {
+                    sink += firstMatch(separate, url);
+                }
+                separateNanos = Math.min(separateNanos, System.nanoTime() - start);
+
+                start = System.nanoTime();
+                for (String url : urls) {
+                    sink += registry.match(url) == null ? 0 : 1;
+                }
+                registryNanos = Math.min(registryNanos, System.nanoTime() - start);
+            }
+            System.out.printf("%5d | %28d | %17d%s%n", count, separateNanos / urls.size(), registryNanos / urls.size(),
+                    sink == Integer.MIN_VALUE ? "!" : "");
+        }
+    }
+
+    private static boolean matches(String glob, String url) {
+        return Pattern.matches(MockRegistry.regex(glob), url);
+    }
+
+    /**
+     * Сопоставление отдельными шаблонами: от последнего зарегистрированного к первому, как у route-обработчиков.
+     */
+    private static int firstMatch(List<Pattern> patterns, String url) {
+        for (int i = patterns.size() - 1; i >= 0; i--) {
+            if (patterns.get(i).matcher(url).matches()) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -1,6 +1,8 @@
 package networkrequests;
 
+import apiandui.EnvConfig;
 import com.microsoft.playwright.*;
+import org.aeonbits.owner.ConfigFactory;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -18,6 +20,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
  * @since 2025-03-18
  */
 public class NetworkInterceptionTest {
+    private final EnvConfig config = ConfigFactory.create(EnvConfig.class, System.getProperties());
     Playwright playwright;
     Browser browser;
     BrowserContext context;
@@ -27,7 +30,7 @@ public class NetworkInterceptionTest {
      * Настройка тестового окружения перед каждым тестом:
      * 1. Инициализация Playwright и браузера Chromium
      * 2. Создание нового контекста и страницы
-     * 3. Регистрация обработчика для перехвата запросов
+     * 3. Подключение реестра моков одним обработчиком маршрута
      *    - Подмена ответа для URL /dynamic_loading/2
      *    - Возвращение кастомного HTML-контента
      */
@@ -38,20 +41,19 @@ public class NetworkInterceptionTest {
         context = browser.newContext();
         page = context.newPage();
 
-        context.route("**/dynamic_loading/2", route -> {
-            route.fulfill(new Route.FulfillOptions()
-                    .setStatus(200)
-                    .setHeaders(Collections.singletonMap("Content-Type", "text/html"))
-                    .setBody("""
-                            <div id="start">
-                                <button>Start</button>
-                            </div>
-                            <div id="finish" style="display: block;">
-                                <h4>Mocked Title</h4>
-                            </div>
-                            """)
-            );
-        });
+        new MockRegistry()
+                .fulfill("**/dynamic_loading/2", new Route.FulfillOptions()
+                        .setStatus(200)
+                        .setHeaders(Collections.singletonMap("Content-Type", "text/html"))
+                        .setBody("""
+                                <div id="start">
+                                    <button>Start</button>
+                                </div>
+                                <div id="finish" style="display: block;">
+                                    <h4>Mocked Title</h4>
+                                </div>
+                                """))
+                .install(context);
     }
 
     /**
@@ -62,7 +64,7 @@ public class NetworkInterceptionTest {
      */
     @Test
     void testMockedContent() {
-        page.navigate("https://the-internet.herokuapp.com/dynamic_loading/2");
+        page.navigate(config.baseUrl() + "/dynamic_loading/2");
         page.click("button:has-text('Start')");
 
         Locator title = page.locator("#finish h4");
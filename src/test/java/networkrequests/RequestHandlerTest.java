@@ -1,13 +1,16 @@
 package networkrequests;
 
+import apiandui.EnvConfig;
+import browserpool.BrowserPoolExtension;
 import com.microsoft.playwright.*;
 import com.microsoft.playwright.options.LoadState;
+import eventbus.NetworkEventBus;
+import org.aeonbits.owner.ConfigFactory;
 import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.api.parallel.Execution;
 import org.junit.jupiter.api.parallel.ExecutionMode;
 
-import java.util.function.Consumer;
-
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 
@@ -16,47 +19,27 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
  * Демонстрирует различные подходы к работе с обработчиками событий и проверке контента.
  *
  * @Execution(ExecutionMode.CONCURRENT) - позволяет параллельное выполнение тестов
+ * @ExtendWith(BrowserPoolExtension.class) - выдает каждому потоку собственный браузер вместо общего static-поля
  * @author Oleg Todor
  * @since 2025-03-21
  */
 @Execution(ExecutionMode.CONCURRENT)
+@ExtendWith(BrowserPoolExtension.class)
 public class RequestHandlerTest {
-    static Playwright playwright;
-    static Browser browser;
-
-    /**
-     * Инициализация тестового окружения перед всеми тестами:
-     * 1. Создание экземпляра Playwright
-     * 2. Запуск браузера Chromium в headful-режиме
-     */
-    @BeforeAll
-    static void setUp() {
-        playwright = Playwright.create();
-        browser = playwright.chromium()
-                .launch(new BrowserType.LaunchOptions()
-                        .setHeadless(false));
-    }
+    private final EnvConfig config = ConfigFactory.create(EnvConfig.class, System.getProperties());
 
     /**
      * Тест логирования сетевых запросов:
-     * 1. Создание контекста и страницы
-     * 2. Регистрация обработчика запросов
-     * 3. Выполнение навигации по страницам
-     * 4. Автоматическое закрытие ресурсов
+     * 1. Получение страницы и шины событий в браузере текущего потока
+     * 2. Выполнение навигации по страницам
+     * 3. Проверка, что запросы попали в шину; журнал пишется в фоне в target/network-events
      */
     @Test
-    void testRequestLogging() {
-        try (BrowserContext context = browser.newContext();
-             Page page = context.newPage()) {
-
-            Consumer<Request> requestListener = request ->
-                    System.out.println("Зарегистрирован запрос: " + request.url());
+    void testRequestLogging(Page page, NetworkEventBus events) {
+        page.navigate(config.baseUrl() + "/");
+        page.click("a[href='/add_remove_elements/']");
 
-            page.onRequest(requestListener);
-
-            page.navigate("https://the-internet.herokuapp.com/");
-            page.click("a[href='/add_remove_elements/']");
-        }
+        assertTrue(events.published() > 0, "Запросы страницы не попали в шину событий");
     }
 
     /**
@@ -65,40 +48,25 @@ public class RequestHandlerTest {
      * 2. Анализ HTML-контента
      * 3. Проверка текста элементов
      * 4. Верификация состояния загрузки
+     * 5. Проверка, что запросы страницы попали в журнал шины событий вместо вывода в консоль
      */
     @Test
-    void testPageContentVerification() {
-        try (BrowserContext context = browser.newContext();
-             Page page = context.newPage()) {
-
-            page.onRequest(request ->
-                    System.out.println("Обработан запрос: " + request.url()));
-
-            page.navigate("https://the-internet.herokuapp.com/");
-            page.waitForLoadState(LoadState.DOMCONTENTLOADED);
+    void testPageContentVerification(Page page, NetworkEventBus events) {
+        page.navigate(config.baseUrl() + "/");
+        page.waitForLoadState(LoadState.DOMCONTENTLOADED);
 
-            String title = page.title();
-            assertTrue(title.contains("The Internet"),
-                    "Фактический заголовок: " + title);
+        String title = page.title();
+        assertTrue(title.contains("The Internet"),
+                "Фактический заголовок: " + title);
 
-            String headerText = page.locator("h1.heading").innerText();
-            assertTrue(headerText.contains("Welcome to the-internet"),
-                    "Текст заголовка: " + headerText);
+        String headerText = page.locator("h1.heading").innerText();
+        assertTrue(headerText.contains("Welcome to the-internet"),
+                "Текст заголовка: " + headerText);
 
-            Locator examplesSection = page.locator("div#content ul");
-            assertTrue(examplesSection.isVisible(),
-                    "Секция примеров не отображается");
-        }
-    }
+        Locator examplesSection = page.locator("div#content ul");
+        assertTrue(examplesSection.isVisible(),
+                "Секция примеров не отображается");
 
-    /**
-     * Завершение работы тестового окружения:
-     * 1. Закрытие браузера
-     * 2. Освобождение ресурсов Playwright
-     */
-    @AfterAll
-    static void cleanUp() {
-        browser.close();
-        playwright.close();
+        assertTrue(events.published() > 0, "Запросы страницы не попали в шину событий");
     }
 }
\ No newline at end of file
@@ -1,7 +1,9 @@
 package networkrequests;
 
 
+import apiandui.EnvConfig;
 import com.microsoft.playwright.*;
+import org.aeonbits.owner.ConfigFactory;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -21,6 +23,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
  * @since 2025-03-21
  */
 public class StatusCodeInterceptionTest {
+    private final EnvConfig config = ConfigFactory.create(EnvConfig.class, System.getProperties());
     Playwright playwright;
     Browser browser;
     BrowserContext context;
@@ -30,7 +33,7 @@ public class StatusCodeInterceptionTest {
      * Настройка тестового окружения перед каждым тестом:
      * 1. Инициализация Playwright и браузера
      * 2. Создание нового контекста браузера
-     * 3. Регистрация обработчика для перехвата запросов к /status_codes/404
+     * 3. Подключение реестра моков для перехвата запросов к /status_codes/404
      *    - Подмена статус-кода 404 на 200
      *    - Возвращение кастомного HTML-контента
      */
@@ -41,13 +44,12 @@ public class StatusCodeInterceptionTest {
         context = browser.newContext();
         page = context.newPage();
 
-        context.route("**/status_codes/404", route -> {
-            route.fulfill(new Route.FulfillOptions()
-                    .setStatus(200)
-                    .setHeaders(Collections.singletonMap("Content-Type", "text/html"))
-                    .setBody("<h3>Mocked Success Response</h3>")
-            );
-        });
+        new MockRegistry()
+                .fulfill("**/status_codes/404", new Route.FulfillOptions()
+                        .setStatus(200)
+                        .setHeaders(Collections.singletonMap("Content-Type", "text/html"))
+                        .setBody("<h3>Mocked Success Response</h3>"))
+                .install(context);
     }
 
     /**
@@ -58,7 +60,7 @@ public class StatusCodeInterceptionTest {
      */
     @Test
     void testMockedStatusCode() {
-        page.navigate("https://the-internet.herokuapp.com/status_codes");
+        page.navigate(config.baseUrl() + "/status_codes");
 
         page.click("a[href='status_codes/404']");
 
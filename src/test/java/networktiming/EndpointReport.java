@@ -0,0 +1,104 @@
+package networktiming;
+
+import org.junit.jupiter.api.extension.ExtensionContext;
+import reports.CsvReport;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+
+/**
+ * Сводка сетевых таймингов всего прогона по эндпоинтам. Тесты добавляют свои запросы через
+ * {@link #add(NetworkTimings.Summary)}, а при закрытии корневого хранилища JUnit сводка записывается в CSV,
+ * отсортированный по суммарному времени запросов: в начале - эндпоинты, на которые уходит больше всего
+ * времени UI-тестов.
+ *
+ * @since 2026-10-18
+ */
+public class EndpointReport implements ExtensionContext.Store.CloseableResource {
+    /** Заголовок CSV сводки */
+    static final String CSV_HEADER =
+            "endpoint,count,total_ms,ttfb_ms,download_ms,p50_ms,p95_ms,p99_ms,max_ms,bytes";
+
+    private final Path file;
+    private final Map<String, Endpoint> endpoints = new HashMap<>();
+
+    /**
+     * Накопленные данные одного эндпоинта.
+     */
+    static class Endpoint {
+        final String name;
+        final LatencyHistogram histogram = new LatencyHistogram();
+        double totalMs;
+        double ttfbMs;
+        double downloadMs;
+        long bytes;
+
+        Endpoint(String name) {
+            this.name = name;
+        }
+
+        void add(RequestTiming request) {
+            histogram.recordMillis(request.totalMs());
+            totalMs += request.totalMs();
+            ttfbMs += request.ttfbMs();
+            downloadMs += request.downloadMs();
+            bytes += request.requestBytes() + request.responseBytes();
+        }
+
+        String csv() {
+            return String.join(",", CsvReport.quote(name), String.valueOf(histogram.count()),
+                    RequestTiming.ms(totalMs), RequestTiming.ms(ttfbMs), RequestTiming.ms(downloadMs),
+                    RequestTiming.ms(histogram.percentileMillis(50)), RequestTiming.ms(histogram.percentileMillis(95)),
+                    RequestTiming.ms(histogram.percentileMillis(99)), RequestTiming.ms(histogram.max() / 1000.0),
+                    String.valueOf(bytes));
+        }
+    }
+
+    /**
+     * @param file CSV-файл сводки
+     */
+    public EndpointReport(Path file) {
+        this.file = file;
+    }
+
+    /**
+     * Добавляет запросы теста в сводку.
+     *
+     * @param summary итог теста
+     */
+    public synchronized void add(NetworkTimings.Summary summary) {
+        for (RequestTiming request : summary.requests()) {
+            endpoints.computeIfAbsent(request.endpoint(), Endpoint::new).add(request);
+        }
+    }
+
+    /**
+     * @return эндпоинты по убыванию суммарного времени запросов
+     */
+    synchronized List<Endpoint> ranked() {
+        List<Endpoint> ranked = new ArrayList<>(endpoints.values());
+        ranked.sort(Comparator.comparingDouble((Endpoint endpoint) -> endpoint.totalMs).reversed());
+        return ranked;
+    }
+
+    /**
+     * Записывает CSV и выводит пять самых затратных эндпоинтов.
+     */
+    @Override
+    public void close() {
+        List<Endpoint> ranked = ranked();
+        if (ranked.isEmpty()) {
+            return;
+        }
+        CsvReport.write(file, CSV_HEADER, ranked.stream().map(Endpoint::csv).toList());
+        CsvReport.printTop("Эндпоинты с наибольшим суммарным временем запросов (" + file + "):", ranked, 5,
+                endpoint -> String.format(Locale.ROOT, "%-60s %5d запросов, %8.0f мс, p95 %.1f мс", endpoint.name,
+                        endpoint.histogram.count(), endpoint.totalMs, endpoint.histogram.percentileMillis(95)));
+    }
+}
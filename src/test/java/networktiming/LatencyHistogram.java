@@ -0,0 +1,113 @@
+package networktiming;
+
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * Гистограмма задержек с логарифмически-линейными корзинами в духе HdrHistogram: значения до 32 мкс
+ * хранятся точно, каждый следующий двоичный порядок делится на 32 равные корзины.
+ * Относительная погрешность перцентиля не превышает 1/32 (около 3%) при фиксированном объеме памяти
+ * и постоянном времени записи.
+ *
+ * Экземпляр не потокобезопасен; гистограммы разных потоков объединяются через {@link #add(LatencyHistogram)}.
+ *
+ * @since 2026-10-18
+ */
+public class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    private final long[] counts = new long[(64 - SUB_BUCKET_BITS) * SUB_BUCKETS];
+    private long total;
+    private long max;
+
+    /**
+     * Записывает значение.
+     *
+     * @param micros задержка, мкс; отрицательные значения считаются нулем
+     */
+    public void record(long micros) {
+        long value = Math.max(0, micros);
+        counts[index(value)]++;
+        total++;
+        max = Math.max(max, value);
+    }
+
+    /**
+     * Записывает значение в миллисекундах, как их отдает Playwright.
+     *
+     * @param millis задержка, мс
+     */
+    public void recordMillis(double millis) {
+        record(Math.round(millis * 1000));
+    }
+
+    /**
+     * Добавляет все значения другой гистограммы.
+     *
+     * @param other гистограмма
+     */
+    public void add(LatencyHistogram other) {
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] += other.counts[i];
+        }
+        total += other.total;
+        max = Math.max(max, other.max);
+    }
+
+    /**
+     * @param percentile перцентиль от 0 до 100
+     * @return значение перцентиля, мкс: середина корзины, не больше максимального записанного значения
+     */
+    public long percentile(double percentile) {
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100 * total));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(max, lowerBound(i) + width(i) / 2);
+            }
+        }
+        return max;
+    }
+
+    /**
+     * @param percentile перцентиль от 0 до 100
+     * @return значение перцентиля, мс
+     */
+    public double percentileMillis(double percentile) {
+        return percentile(percentile) / (double) TimeUnit.MILLISECONDS.toMicros(1);
+    }
+
+    public long count() {
+        return total;
+    }
+
+    public long max() {
+        return max;
+    }
+
+    static int index(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    static long lowerBound(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int exponent = index / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        return (long) (SUB_BUCKETS + index % SUB_BUCKETS) << (exponent - SUB_BUCKET_BITS);
+    }
+
+    private static long width(int index) {
+        return index < SUB_BUCKETS ? 1 : 1L << (index / SUB_BUCKETS - 1);
+    }
+}
@@ -0,0 +1,124 @@
+package networktiming;
+
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.Request;
+import io.qameta.allure.Allure;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Consumer;
+import java.util.function.ToDoubleFunction;
+
+
+/**
+ * Сбор сетевых таймингов одного теста. Подписывается на {@code requestfinished} контекста и хранит только
+ * ссылки на запросы: тайминги и размеры читаются один раз в конце теста ({@link #finish()}),
+ * чтобы не нагружать поток-диспетчер Playwright во время теста.
+ *
+ * Итог теста ({@link Summary}) - число запросов, байты, сумма фаз DNS/соединение/TTFB/загрузка
+ * и перцентили p50/p95/p99 полной длительности запроса.
+ *
+ * @since 2026-10-18
+ */
+public class NetworkTimings {
+    private final List<Request> finished = new ArrayList<>();
+    private final Consumer<Request> listener = this::finished;
+    private BrowserContext context;
+
+    /**
+     * Итог теста.
+     *
+     * @param requests  тайминги запросов теста
+     * @param histogram распределение полной длительности запросов
+     */
+    public record Summary(List<RequestTiming> requests, LatencyHistogram histogram) {
+
+        /**
+         * @param requests тайминги запросов теста
+         * @return итог по запросам
+         */
+        public static Summary of(List<RequestTiming> requests) {
+            LatencyHistogram histogram = new LatencyHistogram();
+            requests.forEach(request -> histogram.recordMillis(request.totalMs()));
+            return new Summary(List.copyOf(requests), histogram);
+        }
+
+        public long bytes() {
+            return requests.stream().mapToLong(request -> request.requestBytes() + request.responseBytes()).sum();
+        }
+
+        /**
+         * @return текстовый итог для отчета
+         */
+        public String text() {
+            return String.format(Locale.ROOT,
+                    "Запросов %d, %.1f КБ; DNS %.0f мс, соединение %.0f мс, TTFB %.0f мс, загрузка %.0f мс; "
+                            + "p50 %.1f мс, p95 %.1f мс, p99 %.1f мс",
+                    requests.size(), bytes() / 1024.0,
+                    sum(RequestTiming::dnsMs), sum(RequestTiming::connectMs), sum(RequestTiming::ttfbMs),
+                    sum(RequestTiming::downloadMs), histogram.percentileMillis(50), histogram.percentileMillis(95),
+                    histogram.percentileMillis(99));
+        }
+
+        /**
+         * @return тайминги запросов в формате CSV с заголовком
+         */
+        public String csv() {
+            StringBuilder csv = new StringBuilder(RequestTiming.CSV_HEADER).append('\n');
+            requests.forEach(request -> csv.append(request.csv()).append('\n'));
+            return csv.toString();
+        }
+
+        /**
+         * Прикладывает итог и CSV к текущему тесту в отчете Allure.
+         */
+        public void attachToAllure() {
+            Allure.addAttachment("Сетевые тайминги", text());
+            Allure.addAttachment("Сетевые тайминги.csv", "text/csv", csv(), ".csv");
+        }
+
+        private double sum(ToDoubleFunction<RequestTiming> phase) {
+            return requests.stream().mapToDouble(phase).sum();
+        }
+    }
+
+    /**
+     * Подписывается на завершенные запросы контекста. Вызывается из потока, владеющего контекстом.
+     *
+     * @param context контекст браузера
+     * @return этот сборщик
+     */
+    public NetworkTimings attach(BrowserContext context) {
+        this.context = context;
+        context.onRequestFinished(listener);
+        return this;
+    }
+
+    private synchronized void finished(Request request) {
+        finished.add(request);
+    }
+
+    /**
+     * Отписывается от контекста и читает тайминги и размеры собранных запросов.
+     * Вызывается из потока теста до закрытия страниц.
+     *
+     * @return итог теста
+     */
+    public Summary finish() {
+        if (context != null) {
+            context.offRequestFinished(listener);
+            context = null;
+        }
+        List<Request> requests;
+        synchronized (this) {
+            requests = new ArrayList<>(finished);
+            finished.clear();
+        }
+        List<RequestTiming> timings = new ArrayList<>(requests.size());
+        for (Request request : requests) {
+            timings.add(RequestTiming.of(request));
+        }
+        return Summary.of(timings);
+    }
+}
@@ -0,0 +1,101 @@
+package networktiming;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+/**
+ * Тестовый класс для проверки гистограммы задержек, нормализации эндпоинтов и сводки прогона без запуска браузера.
+ *
+ * @since 2026-10-18
+ */
+public class NetworkTimingsTest {
+
+    /**
+     * Проверяет точность перцентилей:
+     * 1. Значения до 32 мкс хранятся точно
+     * 2. Для логнормального распределения p50/p95/p99 отличаются от точных не более чем на 1/32
+     * 3. Объединение гистограмм равносильно записи всех значений в одну
+     */
+    @Test
+    void testPercentilesStayWithinBucketPrecision() {
+        LatencyHistogram small = new LatencyHistogram();
+        for (int i = 1; i <= 20; i++) {
+            small.record(i);
+        }
+        assertEquals(10, small.percentile(50));
+        assertEquals(19, small.percentile(95));
+
+        Random random = new Random(42);
+        long[] values = new long[50_000];
+        LatencyHistogram first = new LatencyHistogram();
+        LatencyHistogram second = new LatencyHistogram();
+        for (int i = 0; i < values.length; i++) {
+            values[i] = (long) Math.exp(9 + random.nextGaussian());
+            (i % 2 == 0 ? first : second).record(values[i]);
+        }
+        first.add(second);
+        Arrays.sort(values);
+        for (double percentile : new double[]{50, 95, 99}) {
+            long exact = values[(int) Math.ceil(percentile / 100 * values.length) - 1];
+            assertEquals(exact, first.percentile(percentile), exact / 32.0, "p" + percentile);
+        }
+        assertEquals(values.length, first.count());
+        assertEquals(values[values.length - 1], first.max());
+    }
+
+    /**
+     * Проверяет нормализацию адресов:
+     * 1. Параметры запроса отбрасываются, порт сохраняется
+     * 2. Числовые идентификаторы, UUID и ObjectId заменяются на {id}
+     */
+    @Test
+    void testEndpointsCollapseIdentifiers() {
+        assertEquals("GET 127.0.0.1:8080/status_codes/{id}",
+                RequestTiming.endpoint("GET", "http://127.0.0.1:8080/status_codes/404?x=1"));
+        assertEquals("POST api.example.com/users/{id}/orders/{id}", RequestTiming.endpoint("POST",
+                "https://api.example.com/users/3f2b8c1e-9a4d-4e5f-8b6a-1c2d3e4f5a6b/orders/65a1f0c2e4b0a1b2c3d4e5f6"));
+        assertEquals("GET the-internet.herokuapp.com/", RequestTiming.endpoint("GET", "https://the-internet.herokuapp.com"));
+        assertEquals("GET data:image/png;base64,AAA", RequestTiming.endpoint("GET", "data:image/png;base64,AAA"));
+    }
+
+    /**
+     * Проверяет сводку прогона:
+     * 1. Запросы разных тестов объединяются по эндпоинту
+     * 2. CSV отсортирован по суммарному времени запросов
+     */
+    @Test
+    void testEndpointReportRanksByTotalTime(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("endpoints.csv");
+        EndpointReport report = new EndpointReport(file);
+        report.add(NetworkTimings.Summary.of(List.of(
+                timing("GET 127.0.0.1/css/app.css", 20),
+                timing("GET 127.0.0.1/api/items/{id}", 150))));
+        report.add(NetworkTimings.Summary.of(List.of(
+                timing("GET 127.0.0.1/css/app.css", 30),
+                timing("GET 127.0.0.1/api/items/{id}", 250))));
+        report.close();
+
+        List<String> lines = Files.readAllLines(file);
+        assertEquals(EndpointReport.CSV_HEADER, lines.get(0));
+        assertTrue(lines.get(1).startsWith("GET 127.0.0.1/api/items/{id},2,400.0,"), lines.get(1));
+        assertTrue(lines.get(2).startsWith("GET 127.0.0.1/css/app.css,2,50.0,"), lines.get(2));
+
+        NetworkTimings.Summary summary = NetworkTimings.Summary.of(List.of(timing("GET a/b,c", 10)));
+        assertTrue(summary.csv().contains("\"GET a/b,c\",document,200"), summary.csv());
+        assertTrue(summary.text().startsWith("Запросов 1, 0.3 КБ"), summary.text());
+    }
+
+    private static RequestTiming timing(String endpoint, double totalMs) {
+        return new RequestTiming(endpoint, "document", 200, 0, 0, totalMs / 2, totalMs / 2, totalMs, 100, 200);
+    }
+}
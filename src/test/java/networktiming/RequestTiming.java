@@ -0,0 +1,105 @@
+package networktiming;
+
+import com.microsoft.playwright.Request;
+import com.microsoft.playwright.Response;
+import com.microsoft.playwright.options.Sizes;
+import com.microsoft.playwright.options.Timing;
+import reports.CsvReport;
+
+import java.net.URI;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+
+/**
+ * Тайминги и размеры одного завершенного запроса по данным {@code Request.timing()} и {@code Request.sizes()}.
+ * Фаза, которую браузер не измерял (например, DNS при повторном соединении), равна 0.
+ *
+ * @param endpoint      нормализованный адрес: метод, хост и путь без параметров, идентификаторы заменены на {id}
+ * @param resourceType  тип ресурса Playwright
+ * @param status        HTTP-статус или 0
+ * @param dnsMs         разрешение имени
+ * @param connectMs     установка соединения, включая TLS
+ * @param ttfbMs        от отправки запроса до первого байта ответа
+ * @param downloadMs    загрузка тела ответа
+ * @param totalMs       от начала запроса до конца ответа
+ * @param requestBytes  размер заголовков и тела запроса
+ * @param responseBytes размер заголовков и тела ответа
+ * @since 2026-10-18
+ */
+public record RequestTiming(String endpoint, String resourceType, int status, double dnsMs, double connectMs,
+                            double ttfbMs, double downloadMs, double totalMs, long requestBytes, long responseBytes) {
+    /** Заголовок CSV для {@link #csv()} */
+    public static final String CSV_HEADER =
+            "endpoint,resource_type,status,dns_ms,connect_ms,ttfb_ms,download_ms,total_ms,request_bytes,response_bytes";
+
+    private static final Pattern ID_SEGMENT =
+            Pattern.compile("/(\\d+|[0-9a-fA-F]{8}-[0-9a-fA-F-]{27}|[0-9a-fA-F]{24,})(?=/|$)");
+
+    /**
+     * Собирает тайминги завершенного запроса. {@code sizes()} обращается к браузеру,
+     * поэтому вызывается из потока теста, пока страница открыта.
+     *
+     * @param request завершенный запрос
+     * @return тайминги запроса
+     */
+    public static RequestTiming of(Request request) {
+        Timing timing = request.timing();
+        long requestBytes = 0;
+        long responseBytes = 0;
+        int status = 0;
+        try {
+            Sizes sizes = request.sizes();
+            requestBytes = (long) sizes.requestHeadersSize + sizes.requestBodySize;
+            responseBytes = (long) sizes.responseHeadersSize + sizes.responseBodySize;
+            Response response = request.response();
+            status = response == null ? 0 : response.status();
+        } catch (RuntimeException e) {
+            // Страница уже закрыта - размеры и статус недоступны
+        }
+        return new RequestTiming(endpoint(request.method(), request.url()), request.resourceType(), status,
+                phase(timing.domainLookupStart, timing.domainLookupEnd),
+                phase(timing.connectStart, timing.connectEnd),
+                phase(timing.requestStart, timing.responseStart),
+                phase(timing.responseStart, timing.responseEnd),
+                Math.max(0, timing.responseEnd),
+                requestBytes, responseBytes);
+    }
+
+    /**
+     * Нормализует адрес, чтобы запросы к одному обработчику попадали в одну строку отчета.
+     *
+     * @param method HTTP-метод
+     * @param url    адрес запроса
+     * @return например {@code GET 127.0.0.1:8080/api/users/{id}}
+     */
+    public static String endpoint(String method, String url) {
+        try {
+            URI uri = URI.create(url);
+            if (uri.getHost() == null) {
+                return method + " " + url;
+            }
+            String path = uri.getRawPath() == null || uri.getRawPath().isEmpty() ? "/" : uri.getRawPath();
+            String port = uri.getPort() < 0 ? "" : ":" + uri.getPort();
+            return method + " " + uri.getHost() + port + ID_SEGMENT.matcher(path).replaceAll("/{id}");
+        } catch (IllegalArgumentException e) {
+            return method + " " + url;
+        }
+    }
+
+    /**
+     * @return строка CSV в порядке {@link #CSV_HEADER}
+     */
+    public String csv() {
+        return String.join(",", CsvReport.quote(endpoint), resourceType, String.valueOf(status), ms(dnsMs), ms(connectMs),
+                ms(ttfbMs), ms(downloadMs), ms(totalMs), String.valueOf(requestBytes), String.valueOf(responseBytes));
+    }
+
+    static String ms(double millis) {
+        return String.format(Locale.ROOT, "%.1f", millis);
+    }
+
+    private static double phase(double start, double end) {
+        return start < 0 || end < 0 ? 0 : Math.max(0, end - start);
+    }
+}
@@ -0,0 +1,76 @@
+package parallel;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.OptionalLong;
+import java.util.Properties;
+
+
+/**
+ * Измеренная память одного экземпляра браузера, сохраняемая между прогонами.
+ * Пул браузеров записывает замер в конце прогона, а {@link ResourceAwareStrategy}
+ * использует его при выборе параллелизма следующего прогона. Новый замер сглаживается
+ * с предыдущим, чтобы один нетипичный прогон не менял размер пула скачком.
+ *
+ * @since 2026-10-18
+ */
+public final class BrowserFootprint {
+    private static final String KEY = "browser.memory.bytes";
+    private static final Path DEFAULT_FILE = Paths.get(".test-history", "browser-memory.properties");
+
+    private BrowserFootprint() {
+    }
+
+    /**
+     * @return сохраненная память одного браузера в байтах или пустое значение, если замеров еще не было
+     */
+    public static OptionalLong load() {
+        return load(DEFAULT_FILE);
+    }
+
+    static OptionalLong load(Path file) {
+        if (!Files.exists(file)) {
+            return OptionalLong.empty();
+        }
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(file)) {
+            properties.load(reader);
+            return OptionalLong.of(Long.parseLong(properties.getProperty(KEY)));
+        } catch (IOException | NumberFormatException | NullPointerException e) {
+            return OptionalLong.empty();
+        }
+    }
+
+    /**
+     * Сохраняет замер памяти одного браузера.
+     *
+     * @param bytes память одного браузера вместе с его драйвером
+     */
+    public static void record(long bytes) {
+        record(DEFAULT_FILE, bytes);
+    }
+
+    static void record(Path file, long bytes) {
+        if (bytes <= 0) {
+            return;
+        }
+        long smoothed = load(file).stream().map(previous -> (previous * 2 + bytes) / 3).findFirst().orElse(bytes);
+        Properties properties = new Properties();
+        properties.setProperty(KEY, String.valueOf(smoothed));
+        try {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            Path temp = Files.createTempFile(file.toAbsolutePath().getParent(), "browser-memory", ".tmp");
+            try (Writer writer = Files.newBufferedWriter(temp)) {
+                properties.store(writer, "Memory of one browser instance measured by the browser pool");
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            System.err.println("Не удалось сохранить замер памяти браузера: " + e.getMessage());
+        }
+    }
+}
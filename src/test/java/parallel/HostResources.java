@@ -0,0 +1,155 @@
+package parallel;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.OptionalDouble;
+import java.util.OptionalLong;
+
+
+/**
+ * Ресурсы хоста или контейнера, доступные прогону тестов.
+ * Читает данные ядра из /proc и ограничения контейнера из cgroup (v2 и v1):
+ * - процессоры - число CPU JVM и квота cpu.max / cpu.cfs_quota_us
+ * - память - MemAvailable и остаток лимита memory.max / memory.limit_in_bytes
+ * - свободное место в /dev/shm, которое Chromium использует для обмена с рендерерами
+ * - счетчики подкачки pswpin/pswpout для обнаружения свопинга во время прогона
+ *
+ * Корневой каталог задается явно, чтобы логику можно было проверить на подготовленном дереве файлов.
+ *
+ * @since 2026-10-18
+ */
+public class HostResources {
+    private static final long UNLIMITED = Long.MAX_VALUE / 2;
+
+    private final Path root;
+
+    /**
+     * @param root корень файловой системы, обычно "/"
+     */
+    public HostResources(Path root) {
+        this.root = root;
+    }
+
+    /**
+     * @return число процессоров, доступных JVM
+     */
+    public int processors() {
+        return Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * Квота процессора контейнера.
+     *
+     * @return число процессоров по квоте или пустое значение, если квота не задана
+     */
+    public OptionalDouble cpuQuota() {
+        List<String> v2 = read("sys/fs/cgroup/cpu.max");
+        if (!v2.isEmpty()) {
+            String[] parts = v2.get(0).trim().split("\\s+");
+            if (parts.length == 2 && !parts[0].equals("max")) {
+                return OptionalDouble.of(Double.parseDouble(parts[0]) / Double.parseDouble(parts[1]));
+            }
+            return OptionalDouble.empty();
+        }
+        OptionalLong quota = number("sys/fs/cgroup/cpu/cpu.cfs_quota_us");
+        OptionalLong period = number("sys/fs/cgroup/cpu/cpu.cfs_period_us");
+        if (quota.isPresent() && quota.getAsLong() > 0 && period.isPresent() && period.getAsLong() > 0) {
+            return OptionalDouble.of((double) quota.getAsLong() / period.getAsLong());
+        }
+        return OptionalDouble.empty();
+    }
+
+    /**
+     * Доступная память хоста (MemAvailable).
+     *
+     * @return байты или пустое значение, если /proc/meminfo недоступен
+     */
+    public OptionalLong hostAvailableMemory() {
+        for (String line : read("proc/meminfo")) {
+            if (line.startsWith("MemAvailable:")) {
+                return OptionalLong.of(kilobytes(line));
+            }
+        }
+        return OptionalLong.empty();
+    }
+
+    /**
+     * Остаток лимита памяти контейнера: лимит минус текущее потребление cgroup.
+     *
+     * @return байты или пустое значение, если лимит не задан
+     */
+    public OptionalLong cgroupAvailableMemory() {
+        OptionalLong limit = number("sys/fs/cgroup/memory.max");
+        OptionalLong usage = number("sys/fs/cgroup/memory.current");
+        if (limit.isEmpty()) {
+            limit = number("sys/fs/cgroup/memory/memory.limit_in_bytes");
+            usage = number("sys/fs/cgroup/memory/memory.usage_in_bytes");
+        }
+        if (limit.isEmpty() || limit.getAsLong() >= UNLIMITED) {
+            return OptionalLong.empty();
+        }
+        return OptionalLong.of(Math.max(0, limit.getAsLong() - usage.orElse(0)));
+    }
+
+    /**
+     * Свободное место в /dev/shm.
+     *
+     * @return байты или пустое значение, если /dev/shm отсутствует
+     */
+    public OptionalLong sharedMemoryFree() {
+        Path shm = root.resolve("dev/shm");
+        if (!Files.isDirectory(shm)) {
+            return OptionalLong.empty();
+        }
+        try {
+            return OptionalLong.of(Files.getFileStore(shm).getUsableSpace());
+        } catch (IOException e) {
+            return OptionalLong.empty();
+        }
+    }
+
+    /**
+     * Суммарное число страниц, выгруженных в своп и загруженных из него с момента загрузки системы.
+     *
+     * @return число страниц или 0, если /proc/vmstat недоступен
+     */
+    public long swappedPages() {
+        long pages = 0;
+        for (String line : read("proc/vmstat")) {
+            if (line.startsWith("pswpin ") || line.startsWith("pswpout ")) {
+                pages += Long.parseLong(line.substring(line.indexOf(' ') + 1).trim());
+            }
+        }
+        return pages;
+    }
+
+    private OptionalLong number(String file) {
+        List<String> lines = read(file);
+        if (lines.isEmpty()) {
+            return OptionalLong.empty();
+        }
+        String value = lines.get(0).trim();
+        if (value.equals("max")) {
+            return OptionalLong.of(Long.MAX_VALUE);
+        }
+        try {
+            return OptionalLong.of(Long.parseLong(value));
+        } catch (NumberFormatException e) {
+            return OptionalLong.empty();
+        }
+    }
+
+    private static long kilobytes(String line) {
+        return Long.parseLong(line.substring(line.indexOf(':') + 1).replace("kB", "").trim()) * 1024;
+    }
+
+    private List<String> read(String file) {
+        try {
+            return Files.readAllLines(root.resolve(file));
+        } catch (IOException | SecurityException e) {
+            return List.of();
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package parallel;
+
+import org.junit.platform.engine.ConfigurationParameters;
+import org.junit.platform.engine.support.hierarchical.ParallelExecutionConfiguration;
+import org.junit.platform.engine.support.hierarchical.ParallelExecutionConfigurationStrategy;
+
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalDouble;
+import java.util.OptionalLong;
+import java.util.function.Function;
+
+
+/**
+ * Стратегия параллельного выполнения JUnit, подбирающая число рабочих потоков под ресурсы
+ * контейнера вместо фиксированного значения. Подключается в junit-platform.properties:
+ * junit.jupiter.execution.parallel.config.strategy=custom
+ * junit.jupiter.execution.parallel.config.custom.class=parallel.ResourceAwareStrategy
+ *
+ * Параллелизм - минимум из ограничений:
+ * 1. Процессоры: число CPU JVM с учетом квоты cgroup, умноженное на resource.workers-per-cpu
+ * 2. Память: min(MemAvailable, остаток лимита cgroup) за вычетом резерва JVM, деленный на память браузера
+ * 3. /dev/shm: свободное место, деленное на resource.browser.shm-mb
+ * 4. Явный предел resource.parallelism.max, если задан
+ *
+ * Память браузера берется из resource.browser.memory-mb, иначе из замера прошлого прогона
+ * ({@link BrowserFootprint}), иначе используется оценка по умолчанию. Причины выбора выводятся в лог.
+ * Во время прогона {@link ResourceGovernor} уменьшает число одновременно работающих браузерных тестов,
+ * если хост начинает использовать своп.
+ *
+ * @since 2026-10-18
+ */
+public class ResourceAwareStrategy implements ParallelExecutionConfigurationStrategy {
+    static final String WORKERS_PER_CPU = "resource.workers-per-cpu";
+    static final String BROWSER_MEMORY = "resource.browser.memory-mb";
+    static final String BROWSER_SHM = "resource.browser.shm-mb";
+    static final String JVM_RESERVE = "resource.jvm.reserve-mb";
+    static final String MAX_PARALLELISM = "resource.parallelism.max";
+    static final String SWAP_CHECK_INTERVAL = "resource.swap.check-interval-ms";
+    static final String SWAP_THRESHOLD = "resource.swap.pages-per-check";
+    private static final long DEFAULT_BROWSER_MEMORY_MB = 350;
+    private static final long MB = 1024 * 1024;
+
+    /**
+     * Результат подбора параллелизма вместе с причинами выбора.
+     *
+     * @param parallelism число рабочих потоков
+     * @param reasons     значения каждого ограничения для вывода в лог
+     */
+    public record Sizing(int parallelism, List<String> reasons) {
+        /**
+         * @return многострочное объяснение выбора
+         */
+        public String explain() {
+            return "Параллелизм " + parallelism + ":\n  " + String.join("\n  ", reasons);
+        }
+    }
+
+    @Override
+    public ParallelExecutionConfiguration createConfiguration(ConfigurationParameters configurationParameters) {
+        HostResources host = new HostResources(Paths.get("/"));
+        Sizing sizing = size(host, BrowserFootprint.load(), configurationParameters::get);
+        System.out.println(sizing.explain());
+
+        Duration interval = Duration.ofMillis(configurationParameters.get(SWAP_CHECK_INTERVAL, Long::parseLong)
+                .orElse(2000L));
+        long threshold = configurationParameters.get(SWAP_THRESHOLD, Long::parseLong).orElse(256L);
+        ResourceGovernor.start(host, sizing.parallelism(), interval, threshold);
+        return new Configuration(sizing.parallelism());
+    }
+
+    /**
+     * Подбирает параллелизм по ресурсам хоста.
+     *
+     * @param host            ресурсы хоста или контейнера
+     * @param measuredBrowser замер памяти одного браузера из прошлого прогона
+     * @param parameters      параметры конфигурации JUnit
+     * @return выбранный параллелизм и причины
+     */
+    public static Sizing size(HostResources host, OptionalLong measuredBrowser,
+                              Function<String, Optional<String>> parameters) {
+        List<String> reasons = new ArrayList<>();
+        int processors = host.processors();
+        OptionalDouble quota = host.cpuQuota();
+        double cpus = quota.isPresent() ? Math.min(processors, quota.getAsDouble()) : processors;
+        double perCpu = parameters.apply(WORKERS_PER_CPU).map(Double::parseDouble).orElse(1.0);
+        int byCpu = Math.max(1, (int) Math.floor(cpus * perCpu));
+        reasons.add(String.format("CPU: %d доступно JVM, квота cgroup %s, потоков на CPU %.1f -> %d",
+                processors, quota.isPresent() ? String.format("%.1f", quota.getAsDouble()) : "нет", perCpu, byCpu));
+        int parallelism = byCpu;
+        String limitedBy = "CPU";
+
+        long browserMb = parameters.apply(BROWSER_MEMORY).map(Long::parseLong).orElse(-1L);
+        String browserSource = "задано в " + BROWSER_MEMORY;
+        if (browserMb <= 0) {
+            browserMb = measuredBrowser.isPresent() ? Math.max(1, measuredBrowser.getAsLong() / MB) : DEFAULT_BROWSER_MEMORY_MB;
+            browserSource = measuredBrowser.isPresent() ? "замер прошлого прогона" : "оценка по умолчанию";
+        }
+        OptionalLong hostMemory = host.hostAvailableMemory();
+        OptionalLong cgroupMemory = host.cgroupAvailableMemory();
+        if (hostMemory.isPresent() || cgroupMemory.isPresent()) {
+            long available = Math.min(hostMemory.orElse(Long.MAX_VALUE), cgroupMemory.orElse(Long.MAX_VALUE));
+            long reserveMb = parameters.apply(JVM_RESERVE).map(Long::parseLong).orElse(512L);
+            int byMemory = (int) Math.max(1, Math.min(Integer.MAX_VALUE, (available / MB - reserveMb) / browserMb));
+            reasons.add(String.format("Память: доступно %d МБ (хост %s, cgroup %s), резерв JVM %d МБ, "
+                            + "браузер %d МБ (%s) -> %d",
+                    available / MB, megabytes(hostMemory), megabytes(cgroupMemory), reserveMb,
+                    browserMb, browserSource, byMemory));
+            if (byMemory < parallelism) {
+                parallelism = byMemory;
+                limitedBy = "память";
+            }
+        } else {
+            reasons.add("Память: данные недоступны, ограничение не применяется");
+        }
+
+        OptionalLong shm = host.sharedMemoryFree();
+        if (shm.isPresent()) {
+            long shmMb = parameters.apply(BROWSER_SHM).map(Long::parseLong).orElse(128L);
+            int byShm = (int) Math.max(1, Math.min(Integer.MAX_VALUE, shm.getAsLong() / MB / shmMb));
+            reasons.add(String.format("/dev/shm: свободно %d МБ, на браузер %d МБ -> %d", shm.getAsLong() / MB, shmMb, byShm));
+            if (byShm < parallelism) {
+                parallelism = byShm;
+                limitedBy = "/dev/shm";
+            }
+        } else {
+            reasons.add("/dev/shm: отсутствует, ограничение не применяется");
+        }
+
+        Optional<Integer> max = parameters.apply(MAX_PARALLELISM).map(Integer::parseInt);
+        if (max.isPresent()) {
+            reasons.add("Предел " + MAX_PARALLELISM + " -> " + max.get());
+            if (max.get() < parallelism) {
+                parallelism = Math.max(1, max.get());
+                limitedBy = MAX_PARALLELISM;
+            }
+        }
+        reasons.add("Выбрано " + parallelism + ", ограничивает: " + limitedBy);
+        return new Sizing(parallelism, reasons);
+    }
+
+    private static String megabytes(OptionalLong bytes) {
+        return bytes.isPresent() ? bytes.getAsLong() / MB + " МБ" : "нет";
+    }
+
+    /**
+     * Конфигурация ForkJoin-пула JUnit, аналогичная стратегии fixed с подобранным параллелизмом.
+     */
+    private record Configuration(int parallelism) implements ParallelExecutionConfiguration {
+        @Override
+        public int getParallelism() {
+            return parallelism;
+        }
+
+        @Override
+        public int getMinimumRunnable() {
+            return parallelism;
+        }
+
+        @Override
+        public int getMaxPoolSize() {
+            return parallelism + 256;
+        }
+
+        @Override
+        public int getCorePoolSize() {
+            return parallelism;
+        }
+
+        @Override
+        public int getKeepAliveSeconds() {
+            return 30;
+        }
+    }
+}
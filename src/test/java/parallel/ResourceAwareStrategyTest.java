@@ -0,0 +1,94 @@
+package parallel;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+/**
+ * Тестовый класс для проверки подбора параллелизма по ресурсам контейнера.
+ * Использует подготовленное дерево /proc и /sys/fs/cgroup во временном каталоге.
+ *
+ * @since 2026-10-18
+ */
+public class ResourceAwareStrategyTest {
+    private static final long MB = 1024 * 1024;
+
+    @TempDir
+    Path root;
+
+    /**
+     * Проверяет ограничение по памяти:
+     * 1. Лимит cgroup меньше свободной памяти хоста и учитывается он
+     * 2. Из остатка вычитается резерв JVM и делится на замер памяти браузера
+     */
+    @Test
+    void testMemoryLimitOfContainerBoundsParallelism() throws IOException {
+        write("proc/meminfo", "MemTotal: 16000000 kB\nMemAvailable: 12000000 kB\n");
+        write("sys/fs/cgroup/memory.max", String.valueOf(2048 * MB));
+        write("sys/fs/cgroup/memory.current", String.valueOf(512 * MB));
+
+        ResourceAwareStrategy.Sizing sizing = ResourceAwareStrategy.size(new HostResources(root),
+                OptionalLong.of(256 * MB), parameters(Map.of(ResourceAwareStrategy.JVM_RESERVE, "512")));
+
+        int expected = Math.min(Runtime.getRuntime().availableProcessors(), (2048 - 512 - 512) / 256);
+        assertEquals(expected, sizing.parallelism());
+        assertTrue(sizing.explain().contains("замер прошлого прогона"), "В логе должен быть указан источник памяти браузера");
+    }
+
+    /**
+     * Проверяет, что квота CPU cgroup и явный предел уменьшают параллелизм, но не ниже одного потока
+     */
+    @Test
+    void testCpuQuotaAndExplicitMaximumAreApplied() throws IOException {
+        write("sys/fs/cgroup/cpu.max", "150000 100000");
+
+        ResourceAwareStrategy.Sizing byQuota = ResourceAwareStrategy.size(new HostResources(root),
+                OptionalLong.empty(), parameters(Map.of(ResourceAwareStrategy.WORKERS_PER_CPU, "2")));
+        assertEquals(Math.min(Runtime.getRuntime().availableProcessors() * 2, 3), byQuota.parallelism());
+
+        ResourceAwareStrategy.Sizing byMaximum = ResourceAwareStrategy.size(new HostResources(root),
+                OptionalLong.empty(), parameters(Map.of(ResourceAwareStrategy.MAX_PARALLELISM, "0")));
+        assertEquals(1, byMaximum.parallelism());
+        assertTrue(byMaximum.explain().contains("ограничивает: " + ResourceAwareStrategy.MAX_PARALLELISM));
+    }
+
+    /**
+     * Проверяет реакцию на свопинг во время прогона:
+     * 1. Рост счетчиков подкачки выше порога снижает лимит на 1
+     * 2. После трех спокойных проверок лимит возвращается
+     */
+    @Test
+    void testGovernorShrinksWhileHostIsSwapping() throws IOException {
+        write("proc/vmstat", "pswpin 0\npswpout 0\n");
+        ResourceGovernor governor = new ResourceGovernor(new HostResources(root), 3, 100);
+
+        write("proc/vmstat", "pswpin 400\npswpout 300\n");
+        governor.check();
+        assertEquals(2, governor.limit());
+
+        for (int i = 0; i < 3; i++) {
+            governor.check();
+        }
+        assertEquals(3, governor.limit());
+    }
+
+    private void write(String file, String content) throws IOException {
+        Path path = root.resolve(file);
+        Files.createDirectories(path.getParent());
+        Files.writeString(path, content);
+    }
+
+    private static Function<String, Optional<String>> parameters(Map<String, String> values) {
+        return key -> Optional.ofNullable(values.get(key));
+    }
+}
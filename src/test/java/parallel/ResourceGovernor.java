@@ -0,0 +1,141 @@
+package parallel;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * Ограничитель числа одновременно выполняемых браузерных тестов во время прогона.
+ * Размер ForkJoin-пула JUnit после старта изменить нельзя, поэтому при нехватке памяти
+ * параллелизм снижается на уровне тестов: перед получением контекста браузера тест берет
+ * разрешение, а лишние рабочие потоки ждут.
+ *
+ * Фоновая проверка следит за счетчиками подкачки:
+ * 1. Если за период проверки в своп ушло больше порога страниц, лимит уменьшается на 1 (не ниже 1)
+ * 2. После трех спокойных проверок подряд лимит возвращается на 1 к исходному значению
+ *
+ * @since 2026-10-18
+ */
+public final class ResourceGovernor {
+    private static final int CALM_CHECKS_TO_GROW = 3;
+    private static volatile ResourceGovernor current;
+
+    private final HostResources host;
+    private final int target;
+    private final long threshold;
+    private final AdjustableSemaphore permits;
+    private volatile int limit;
+    private long lastSwapped;
+    private int calmChecks;
+
+    ResourceGovernor(HostResources host, int target, long threshold) {
+        this.host = host;
+        this.target = target;
+        this.threshold = threshold;
+        this.limit = target;
+        this.permits = new AdjustableSemaphore(target);
+        this.lastSwapped = host.swappedPages();
+    }
+
+    /**
+     * Запускает ограничитель прогона с фоновой проверкой подкачки.
+     *
+     * @param host        ресурсы хоста
+     * @param parallelism исходный параллелизм
+     * @param interval    период проверки
+     * @param threshold   число страниц подкачки за период, считающееся свопингом
+     */
+    static synchronized void start(HostResources host, int parallelism, Duration interval, long threshold) {
+        if (current != null) {
+            return;
+        }
+        ResourceGovernor governor = new ResourceGovernor(host, parallelism, threshold);
+        ScheduledExecutorService monitor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "resource-governor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        monitor.scheduleWithFixedDelay(governor::check, interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+        current = governor;
+    }
+
+    /**
+     * @return ограничитель прогона или пустое значение, если стратегия {@link ResourceAwareStrategy} не используется
+     */
+    public static Optional<ResourceGovernor> current() {
+        return Optional.ofNullable(current);
+    }
+
+    /**
+     * Ожидает разрешения на запуск браузерного теста.
+     */
+    public void acquire() {
+        permits.acquireUninterruptibly();
+    }
+
+    /**
+     * Возвращает разрешение по завершении теста.
+     */
+    public void release() {
+        permits.release();
+    }
+
+    /**
+     * @return исходный параллелизм, выбранный стратегией
+     */
+    public int target() {
+        return target;
+    }
+
+    /**
+     * @return текущий лимит одновременно выполняемых браузерных тестов
+     */
+    public int limit() {
+        return limit;
+    }
+
+    /**
+     * Одна проверка подкачки.
+     */
+    synchronized void check() {
+        long swapped = host.swappedPages();
+        long delta = swapped - lastSwapped;
+        lastSwapped = swapped;
+        if (delta > threshold) {
+            calmChecks = 0;
+            if (limit > 1) {
+                limit--;
+                permits.reducePermits(1);
+                System.out.printf("Хост использует своп (%d страниц за проверку), параллелизм снижен до %d%n",
+                        delta, limit);
+            }
+            return;
+        }
+        if (limit < target && ++calmChecks >= CALM_CHECKS_TO_GROW) {
+            calmChecks = 0;
+            limit++;
+            permits.release();
+            System.out.printf("Своп не используется, параллелизм возвращен до %d из %d%n", limit, target);
+        }
+    }
+
+    /**
+     * Семафор с открытым уменьшением числа разрешений.
+     */
+    private static class AdjustableSemaphore extends Semaphore {
+        private static final long serialVersionUID = 1L;
+
+        AdjustableSemaphore(int permits) {
+            super(permits, true);
+        }
+
+        @Override
+        protected void reducePermits(int reduction) {
+            super.reducePermits(reduction);
+        }
+    }
+}
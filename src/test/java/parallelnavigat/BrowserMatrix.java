@@ -0,0 +1,195 @@
+package parallelnavigat;
+
+import browserpool.BrowserPool;
+import browserpool.ContextPool;
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.Page;
+import org.junit.jupiter.api.DynamicContainer;
+import org.junit.jupiter.api.DynamicNode;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+import java.util.stream.Stream;
+
+
+/**
+ * Матрица кросс-браузерных проверок: строки "тип браузера, путь", сгруппированные по типу браузера.
+ *
+ * Каждый тип браузера становится динамическим контейнером, строки типа - его динамическими тестами.
+ * Строки одного типа выполняются по очереди в выделенном потоке типа, которому принадлежит браузер
+ * этого типа из {@link BrowserPool}: браузер запускается один раз, а каждая строка получает свой
+ * контекст из пула контекстов. Потоки разных типов работают параллельно.
+ * После выполнения фабрики тестов выводится пропускная способность каждого браузера в страницах в секунду.
+ *
+ * @since 2026-10-18
+ */
+public class BrowserMatrix {
+    private final Map<String, List<Row>> rows;
+
+    /**
+     * Строка матрицы.
+     *
+     * @param browserType тип браузера (chromium/firefox/webkit)
+     * @param path        путь тестируемой страницы
+     */
+    public record Row(String browserType, String path) {
+    }
+
+    private BrowserMatrix(Map<String, List<Row>> rows) {
+        this.rows = rows;
+    }
+
+    /**
+     * Разбирает строки матрицы в формате {@code @CsvSource}.
+     *
+     * @param rows строки вида "chromium, /login"
+     * @return матрица, сгруппированная по типу браузера в порядке первого появления
+     * @throws IllegalArgumentException если строка не состоит из двух значений
+     */
+    public static BrowserMatrix of(String... rows) {
+        Map<String, List<Row>> grouped = new LinkedHashMap<>();
+        for (String line : rows) {
+            String[] values = line.split(",");
+            if (values.length != 2) {
+                throw new IllegalArgumentException("Ожидается строка \"тип браузера, путь\": " + line);
+            }
+            Row row = new Row(values[0].trim(), values[1].trim());
+            grouped.computeIfAbsent(row.browserType(), type -> new ArrayList<>()).add(row);
+        }
+        return new BrowserMatrix(grouped);
+    }
+
+    /**
+     * @return типы браузеров матрицы
+     */
+    public Set<String> browserTypes() {
+        return Collections.unmodifiableSet(rows.keySet());
+    }
+
+    /**
+     * @param browserType тип браузера
+     * @return строки матрицы для этого типа
+     */
+    public List<Row> rows(String browserType) {
+        return rows.getOrDefault(browserType, List.of());
+    }
+
+    /**
+     * Создает по динамическому контейнеру на каждый тип браузера матрицы.
+     * Фабрика тестов должна выполняться в режиме CONCURRENT, чтобы контейнеры разных типов шли параллельно.
+     *
+     * @param pool  пул браузеров прогона
+     * @param lanes потоки типов браузеров фабрики тестов
+     * @param check проверка страницы для строки
+     * @return контейнеры типов браузеров в порядке первого появления
+     */
+    public Stream<DynamicNode> containers(BrowserPool pool, Lanes lanes, BiConsumer<Page, Row> check) {
+        return browserTypes().stream().map(browserType ->
+                DynamicContainer.dynamicContainer(browserType, tests(pool, lanes, browserType, check)));
+    }
+
+    /**
+     * Создает динамические тесты для строк одного типа браузера.
+     * Строки выполняются в потоке типа из {@link Lanes}, а поток JUnit только дожидается результата строки:
+     * объекты Playwright привязаны к потоку, и так все строки типа используют один браузер.
+     *
+     * Для каждой строки:
+     * 1. Берет браузер типа из пула (при первой строке поток типа запускает его)
+     * 2. Получает отдельный контекст и страницу и выполняет проверку
+     * 3. Возвращает контекст в пул (упавший контекст закрывается)
+     *
+     * @param pool        пул браузеров прогона
+     * @param lanes       потоки типов браузеров фабрики тестов
+     * @param browserType тип браузера
+     * @param check       проверка страницы для строки
+     * @return динамические тесты строк
+     */
+    public Stream<DynamicTest> tests(BrowserPool pool, Lanes lanes, String browserType, BiConsumer<Page, Row> check) {
+        return rows(browserType).stream()
+                .map(row -> DynamicTest.dynamicTest(browserType + " " + row.path(), () -> {
+                    Lane lane = lanes.lane(browserType);
+                    Future<?> result = lane.executor.submit(() -> {
+                        Browser browser = pool.browser(browserType);
+                        long start = System.nanoTime();
+                        ContextPool.PooledContext context = pool.acquire(browser);
+                        boolean failed = true;
+                        try {
+                            check.accept(context.newPage(), row);
+                            failed = false;
+                        } finally {
+                            pool.release(context, failed);
+                            lane.nanos.addAndGet(System.nanoTime() - start);
+                            lane.pages.incrementAndGet();
+                        }
+                    });
+                    try {
+                        result.get();
+                    } catch (ExecutionException e) {
+                        throw e.getCause();
+                    }
+                }));
+    }
+
+    /**
+     * Потоки типов браузеров одной фабрики тестов. Хранятся в хранилище JUnit метода-фабрики
+     * ({@link BrowserMatrixExtension}) и закрываются после всех его динамических тестов, в том числе когда часть
+     * строк отфильтрована или не выполнялась. Закрытие потока тестов для этого не подходит: в режиме CONCURRENT
+     * JUnit закрывает его до выполнения динамических тестов.
+     *
+     * При закрытии потоки останавливаются, а для каждого типа выводится число страниц и их число в секунду.
+     * Время запуска браузера в расчет не входит.
+     */
+    public static class Lanes implements ExtensionContext.Store.CloseableResource {
+        private final Map<String, Lane> lanes = new LinkedHashMap<>();
+
+        synchronized Lane lane(String browserType) {
+            return lanes.computeIfAbsent(browserType, Lane::new);
+        }
+
+        @Override
+        public synchronized void close() {
+            lanes.values().forEach(Lane::close);
+        }
+    }
+
+    /**
+     * Выделенный поток одного типа браузера и его пропускная способность.
+     */
+    private static class Lane {
+        private final String browserType;
+        private final ExecutorService executor;
+        private final AtomicLong pages = new AtomicLong();
+        private final AtomicLong nanos = new AtomicLong();
+
+        Lane(String browserType) {
+            this.browserType = browserType;
+            this.executor = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "browser-matrix-" + browserType);
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+
+        void close() {
+            executor.shutdown();
+            if (pages.get() == 0) {
+                return;
+            }
+            double seconds = nanos.get() / 1e9;
+            System.out.printf("Браузер %s: страниц %d за %.1f с, %.2f стр/с%n",
+                    browserType, pages.get(), seconds, seconds > 0 ? pages.get() / seconds : 0);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package parallelnavigat;
+
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.ParameterContext;
+import org.junit.jupiter.api.extension.ParameterResolver;
+
+
+/**
+ * JUnit 5 расширение, внедряющее в метод-фабрику тестов потоки типов браузеров {@link BrowserMatrix.Lanes}.
+ * Потоки хранятся в хранилище метода, поэтому JUnit закрывает их после всех динамических тестов фабрики.
+ *
+ * @since 2026-10-18
+ */
+public class BrowserMatrixExtension implements ParameterResolver {
+    private static final ExtensionContext.Namespace NAMESPACE =
+            ExtensionContext.Namespace.create(BrowserMatrixExtension.class);
+
+    @Override
+    public boolean supportsParameter(ParameterContext parameterContext, ExtensionContext extensionContext) {
+        return parameterContext.getParameter().getType() == BrowserMatrix.Lanes.class;
+    }
+
+    @Override
+    public Object resolveParameter(ParameterContext parameterContext, ExtensionContext extensionContext) {
+        return extensionContext.getStore(NAMESPACE)
+                .getOrComputeIfAbsent(BrowserMatrix.Lanes.class, key -> new BrowserMatrix.Lanes(),
+                        BrowserMatrix.Lanes.class);
+    }
+}
@@ -0,0 +1,71 @@
+package parallelnavigat;
+
+import org.junit.jupiter.api.DynamicNode;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+/**
+ * Тестовый класс для проверки разбора и группировки строк кросс-браузерной матрицы.
+ *
+ * @since 2026-10-18
+ */
+public class BrowserMatrixTest {
+
+    /**
+     * Проверяет группировку:
+     * 1. Строки группируются по типу браузера в порядке первого появления
+     * 2. Порядок строк внутри типа сохраняется
+     * 3. Строка без пути отклоняется
+     */
+    @Test
+    void testRowsAreGroupedByBrowserType() {
+        BrowserMatrix matrix = BrowserMatrix.of("firefox, /hover", "chromium, /", "firefox, /checkboxes");
+
+        assertEquals(List.of("firefox", "chromium"), List.copyOf(matrix.browserTypes()));
+        assertEquals(List.of(new BrowserMatrix.Row("firefox", "/hover"), new BrowserMatrix.Row("firefox", "/checkboxes")),
+                matrix.rows("firefox"));
+        assertTrue(matrix.rows("webkit").isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> BrowserMatrix.of("chromium"));
+    }
+
+    /**
+     * Проверяет, что каждый тип браузера матрицы, включая webkit, получает свой контейнер
+     */
+    @Test
+    void testEveryBrowserTypeGetsContainer() {
+        BrowserMatrix matrix = BrowserMatrix.of("chromium, /", "webkit, /hover", "firefox, /checkboxes");
+
+        assertEquals(List.of("chromium", "webkit", "firefox"),
+                matrix.containers(null, new BrowserMatrix.Lanes(), (page, row) -> { }).map(DynamicNode::getDisplayName).toList());
+    }
+
+    /**
+     * Проверяет потоки типов браузеров:
+     * 1. Строки выполняются и после закрытия потока тестов, как при выполнении JUnit в режиме CONCURRENT:
+     *    ошибка строки (здесь - отсутствующий пул) доходит до теста
+     * 2. Закрытие {@link BrowserMatrix.Lanes}, как при очистке хранилища метода-фабрики, останавливает поток типа,
+     *    даже если часть строк не выполнялась
+     */
+    @Test
+    void testLanesRunRowsAndStopOnClose() {
+        BrowserMatrix matrix = BrowserMatrix.of("chromium, /", "chromium, /hover", "chromium, /checkboxes");
+        BrowserMatrix.Lanes lanes = new BrowserMatrix.Lanes();
+        List<DynamicTest> tests;
+        try (Stream<DynamicTest> stream = matrix.tests(null, lanes, "chromium", (page, row) -> { })) {
+            tests = stream.toList();
+        }
+
+        for (DynamicTest test : tests.subList(0, 2)) {
+            assertThrows(NullPointerException.class, () -> test.getExecutable().execute(), test.getDisplayName());
+        }
+        lanes.close();
+        assertThrows(RejectedExecutionException.class, () -> tests.get(2).getExecutable().execute());
+    }
+}
@@ -1,37 +1,36 @@
 package parallelnavigat;
 
+import apiandui.EnvConfig;
+import browserpool.BrowserPool;
+import browserpool.BrowserPoolExtension;
 import com.microsoft.playwright.*;
 import com.microsoft.playwright.options.WaitUntilState;
+import org.aeonbits.owner.ConfigFactory;
+import org.junit.jupiter.api.DynamicNode;
+import org.junit.jupiter.api.TestFactory;
+import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.api.parallel.Execution;
 import org.junit.jupiter.api.parallel.ExecutionMode;
-import org.junit.jupiter.params.ParameterizedTest;
-import org.junit.jupiter.params.provider.CsvSource;
+
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
 
 /**
  * Тестовый класс для параллельной проверки навигации на различных страницах.
- * Выполняет кросс-браузерное тестирование с использованием параметризованных тестов.
+ * Выполняет кросс-браузерное тестирование по матрице {@link BrowserMatrix}:
+ * строки одного типа браузера идут в отдельных контекстах одного браузера,
+ * а контейнеры разных типов браузеров, по одному на каждый тип матрицы, выполняются параллельно.
  *
  * @author Oleg Todor
  * @since 2025-03-21
  */
 @Execution(ExecutionMode.CONCURRENT)
+@ExtendWith({BrowserPoolExtension.class, BrowserMatrixExtension.class})
 public class ParallelNavigationTest {
-    private static final String BASE_URL = "https://the-internet.herokuapp.com";
-
-    /**
-     * Параметризованный тест для проверки навигации:
-     * 1. Запускает указанный браузер (Chromium/Firefox)
-     * 2. Переходит на указанную страницу
-     * 3. Проверяет соответствие заголовка ожидаемому значению
-     *
-     * @param browserType тип браузера (chromium/firefox)
-     * @param path путь тестируемой страницы
-     */
-    @ParameterizedTest
-    @CsvSource({
+    private final EnvConfig config = ConfigFactory.create(EnvConfig.class, System.getProperties());
+    private static final BrowserMatrix MATRIX = BrowserMatrix.of(
             "chromium, /",
             "chromium, /login",
             "chromium, /dropdown",
@@ -39,29 +38,29 @@ public class ParallelNavigationTest {
             "firefox, /checkboxes",
             "firefox, /hover",
             "firefox, /status_codes"
-    })
-    void testAllPages(String browserType, String path) {
-        try (Playwright playwright = Playwright.create()) {
-            BrowserType type = switch (browserType.toLowerCase()) {
-                case "chromium" -> playwright.chromium();
-                case "firefox" -> playwright.firefox();
-                default -> throw new IllegalArgumentException("Unsupported browser: " + browserType);
-            };
+    );
 
-            try (Browser browser = type.launch(new BrowserType.LaunchOptions().setHeadless(true))) {
-                try (BrowserContext context = browser.newContext()) {
-                    Page page = context.newPage();
-
-                    page.navigate(BASE_URL + path, new Page.NavigateOptions()
-                            .setTimeout(30_000)
-                            .setWaitUntil(WaitUntilState.LOAD));
+    /**
+     * Проверка навигации для каждой строки матрицы, по контейнеру на тип браузера:
+     * 1. Берет браузер типа, закрепленный за потоком этого типа
+     * 2. Переходит на страницу строки в отдельном контексте
+     * 3. Проверяет соответствие заголовка ожидаемому значению
+     *
+     * @param pool  пул браузеров рабочих потоков
+     * @param lanes потоки типов браузеров, закрываемые после всех строк матрицы
+     * @return динамические контейнеры типов браузеров
+     */
+    @TestFactory
+    Stream<DynamicNode> testAllPages(BrowserPool pool, BrowserMatrix.Lanes lanes) {
+        return MATRIX.containers(pool, lanes, (page, row) -> {
+            page.navigate(config.baseUrl() + row.path(), new Page.NavigateOptions()
+                    .setTimeout(30_000)
+                    .setWaitUntil(WaitUntilState.LOAD));
 
-                    assertThat(page.title())
-                            .as("Проверка пути: %s", path)
-                            .isEqualTo(getExpectedTitle(path));
-                }
-            }
-        }
+            assertThat(page.title())
+                    .as("Проверка пути: %s", row.path())
+                    .isEqualTo(getExpectedTitle(row.path()));
+        });
     }
 
     /**
@@ -71,11 +70,11 @@ public class ParallelNavigationTest {
      * @return ожидаемое значение заголовка
      * @throws IllegalArgumentException при передаче неизвестного пути
      */
-    private String getExpectedTitle(String path) {
+    private static String getExpectedTitle(String path) {
         return switch (path) {
             case "/", "/login", "/dropdown", "/javascript_alerts", "/checkboxes", "/status_codes" -> "The Internet";
             case "/hover" -> "";
             default -> throw new IllegalArgumentException("Unknown path: " + path);
         };
     }
-}
\ No newline at end of file
+}
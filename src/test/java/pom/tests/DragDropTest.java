@@ -1,7 +1,12 @@
 package pom.tests;
 
-import com.microsoft.playwright.*;
-import org.junit.jupiter.api.*;
+import apiandui.EnvConfig;
+import browserpool.BrowserPoolExtension;
+import com.microsoft.playwright.Page;
+import org.aeonbits.owner.ConfigFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
 import pom.pages.DragDropPage;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -14,36 +19,21 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
  * @author Oleg Todor
  * @since 2025-03-23
  */
+@ExtendWith(BrowserPoolExtension.class)
 public class DragDropTest {
-    static Playwright playwright;
-    static Browser browser;
-    BrowserContext context;
+    private final EnvConfig config = ConfigFactory.create(EnvConfig.class, System.getProperties());
     Page page;
     DragDropPage dragDropPage;
 
-    /**
-     * Инициализация браузера перед всеми тестами:
-     * 1. Создание экземпляра Playwright
-     * 2. Запуск браузера Chromium в режиме с графическим интерфейсом
-     */
-    @BeforeAll
-    static void launchBrowser() {
-        playwright = Playwright.create();
-        browser = playwright
-                .chromium()
-                .launch(new BrowserType.LaunchOptions().setHeadless(false));
-    }
-
     /**
      * Подготовка тестового окружения перед каждым тестом:
-     * 1. Создание нового контекста браузера
+     * 1. Получение очищенного контекста браузера из пула
      * 2. Открытие новой страницы
      * 3. Инициализация Page Object для работы с элементами страницы
      */
     @BeforeEach
-    void setUp() {
-        context = browser.newContext();
-        page = context.newPage();
+    void setUp(Page page) {
+        this.page = page;
         dragDropPage = new DragDropPage(page);
     }
 
@@ -55,7 +45,7 @@ public class DragDropTest {
      */
     @Test
     void testDragAndDrop() {
-        dragDropPage.navigateTo("https://the-internet.herokuapp.com/drag_and_drop");
+        dragDropPage.navigateTo(config.baseUrl() + "/drag_and_drop");
 
         dragDropPage.dragDropArea().dragAToB();
 
@@ -64,20 +54,4 @@ public class DragDropTest {
         assertEquals("B", dragDropPage.dragDropArea().getTextA(),
                 "Текст в зоне 'A' не соответствует ожидаемому значению после перетаскивания");
     }
-
-    /**
-     * Завершение работы с контекстом браузера после каждого теста
-     */
-    @AfterEach
-    void closeContext() {
-        context.close();
-    }
-
-    /**
-     * Завершение работы с браузером после всех тестов
-     */
-    @AfterAll
-    static void closeBrowser() {
-        playwright.close();
-    }
 }
\ No newline at end of file
@@ -0,0 +1,72 @@
+package reports;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.function.Function;
+
+
+/**
+ * Общие шаги итоговых отчетов прогона (эндпоинты, ожидания, таймауты, трассировки):
+ * 1. Строки отчета записываются в CSV с заголовком, поля экранируются {@link #quote(String)}
+ * 2. Ошибка записи выводится в System.err и не прерывает прогон
+ * 3. Первые строки отчета выводятся в консоль под заголовком
+ *
+ * @since 2026-10-18
+ */
+public final class CsvReport {
+
+    private CsvReport() {
+    }
+
+    /**
+     * @param value значение поля
+     * @return значение в кавычках, если оно содержит запятую, кавычку или перевод строки, иначе без изменений
+     */
+    public static String quote(String value) {
+        if (value.contains(",") || value.contains("\"") || value.contains("\n")) {
+            return '"' + value.replace("\"", "\"\"") + '"';
+        }
+        return value;
+    }
+
+    /**
+     * Записывает CSV, создавая каталог при необходимости.
+     *
+     * @param file   CSV-файл
+     * @param header заголовок
+     * @param rows   строки в формате заголовка
+     * @return {@code true}, если файл записан
+     */
+    public static boolean write(Path file, String header, List<String> rows) {
+        try {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+                writer.write(header + "\n");
+                for (String row : rows) {
+                    writer.write(row + "\n");
+                }
+            }
+            return true;
+        } catch (IOException e) {
+            System.err.println("Не удалось сохранить " + file + ": " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Выводит заголовок и первые строки отчета с отступом.
+     *
+     * @param title  заголовок
+     * @param ranked строки отчета в порядке вывода
+     * @param limit  сколько строк вывести
+     * @param line   текст строки
+     */
+    public static <T> void printTop(String title, List<T> ranked, int limit, Function<T, String> line) {
+        System.out.println(title);
+        ranked.stream().limit(limit).forEach(row -> System.out.println("  " + line.apply(row)));
+    }
+}
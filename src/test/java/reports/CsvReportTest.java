@@ -0,0 +1,41 @@
+package reports;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+/**
+ * Тестовый класс для проверки записи итоговых отчетов в CSV.
+ *
+ * @since 2026-10-18
+ */
+public class CsvReportTest {
+
+    /**
+     * Проверяет отчет:
+     * 1. Поля с запятой, кавычкой или переводом строки берутся в кавычки, кавычки удваиваются
+     * 2. CSV записывается с заголовком в еще не созданный каталог
+     * 3. Ошибка записи не бросает исключение, а возвращает false
+     */
+    @Test
+    void testQuotesFieldsAndWritesHeader(@TempDir Path dir) throws IOException {
+        assertEquals("GET /api", CsvReport.quote("GET /api"));
+        assertEquals("\"a,b\"", CsvReport.quote("a,b"));
+        assertEquals("\"say \"\"hi\"\"\"", CsvReport.quote("say \"hi\""));
+        assertEquals("\"line\nbreak\"", CsvReport.quote("line\nbreak"));
+
+        Path file = dir.resolve("nested").resolve("report.csv");
+        assertTrue(CsvReport.write(file, "name,count", List.of(CsvReport.quote("a,b") + ",1", "c,2")));
+        assertEquals(List.of("name,count", "\"a,b\",1", "c,2"), Files.readAllLines(file));
+
+        Files.writeString(dir.resolve("file"), "");
+        assertFalse(CsvReport.write(dir.resolve("file").resolve("report.csv"), "name", List.of()));
+    }
+}
@@ -1,17 +1,22 @@
 package reports.allure;
 
+import apiandui.EnvConfig;
+import browserpool.BlockResources;
+import browserpool.BrowserPoolExtension;
 import com.microsoft.playwright.*;
 import io.qameta.allure.*;
-import org.junit.jupiter.api.AfterEach;
+import org.aeonbits.owner.ConfigFactory;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.AfterTestExecutionCallback;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.api.extension.ExtensionContext;
-import org.junit.jupiter.api.extension.TestWatcher;
+import screenshotandvideo.ScreenshotService;
 
 import java.nio.file.Paths;
 
+import static browserpool.BlockResources.Kind.*;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -27,39 +32,36 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
  */
 @Epic("Веб-интерфейс тестов")
 @Feature("Операции с чекбоксами")
-@ExtendWith(CheckboxTest.ScreenshotWatcher.class)
+@ExtendWith({BrowserPoolExtension.class, CheckboxTest.ScreenshotWatcher.class})
+@BlockResources({IMAGE, FONT, MEDIA, THIRD_PARTY})
 public class CheckboxTest {
-    private Playwright playwright;
-    private Browser browser;
-    private BrowserContext context;
+    private final EnvConfig config = ConfigFactory.create(EnvConfig.class, System.getProperties());
     private Page page;
 
     /**
      * Вложенный класс для обработки провалившихся тестов.
      * Автоматически создает скриншот страницы при обнаружении ошибки.
+     * Срабатывает сразу после метода теста, пока страница еще не возвращена в пул.
      */
-    static class ScreenshotWatcher implements TestWatcher {
+    static class ScreenshotWatcher implements AfterTestExecutionCallback {
         @Override
-        public void testFailed(ExtensionContext context, Throwable cause) {
-            CheckboxTest testInstance = (CheckboxTest) context.getRequiredTestInstance();
-            testInstance.captureScreenshotOnFailure();
+        public void afterTestExecution(ExtensionContext context) {
+            if (context.getExecutionException().isPresent()) {
+                CheckboxTest testInstance = (CheckboxTest) context.getRequiredTestInstance();
+                testInstance.captureScreenshotOnFailure();
+            }
         }
     }
 
     /**
      * Инициализация тестового окружения перед каждым тестом:
-     * 1. Создание экземпляра Playwright
-     * 2. Запуск браузера Chromium в headless-режиме
-     * 3. Создание нового контекста браузера
-     * 4. Открытие новой страницы
+     * 1. Получение прогретого браузера и очищенного контекста из пула
+     * 2. Получение новой страницы с фильтром ненужных проверке ресурсов
      */
     @BeforeEach
-    @Step("Инициализация браузера и контекста")
-    void setUp() {
-        playwright = Playwright.create();
-        browser = playwright.chromium().launch(new BrowserType.LaunchOptions().setHeadless(false));
-        context = browser.newContext();
-        page = context.newPage();
+    @Step("Получение страницы из пула браузеров")
+    void setUp(Page page) {
+        this.page = page;
     }
 
     /**
@@ -89,7 +91,7 @@ public class CheckboxTest {
      */
     @Step("Переход на страницу /checkboxes")
     private void navigateToCheckboxesPage() {
-        page.navigate("https://the-internet.herokuapp.com/checkboxes");
+        page.navigate(config.baseUrl() + "/checkboxes");
     }
 
     /**
@@ -129,29 +131,17 @@ public class CheckboxTest {
 
     /**
      * Создание скриншота при возникновении ошибки.
-     * Сохраняет снимок экрана в папку screenshots с уникальным именем файла.
+     * Снимок передается в {@link ScreenshotService}: запись в папку screenshots с уникальным именем файла
+     * и вложение Allure выполняются в фоне.
      */
     @Step("Создание скриншота при ошибке")
     void captureScreenshotOnFailure() {
         try {
-            page.screenshot(new Page.ScreenshotOptions()
-                    .setPath(Paths.get("screenshots/failure_" + System.currentTimeMillis() + ".png")));
+            ScreenshotService.shared().capture(page,
+                    ScreenshotService.Shot.png(Paths.get("screenshots/failure_" + System.currentTimeMillis() + ".png"))
+                            .attach("Скриншот при ошибке"));
         } catch (Exception e) {
             System.err.println("Failed to capture screenshot: " + e.getMessage());
         }
     }
-
-    /**
-     * Завершение работы тестового окружения:
-     * 1. Закрытие контекста браузера
-     * 2. Остановка браузера
-     * 3. Освобождение ресурсов Playwright
-     */
-    @AfterEach
-    @Step("Закрытие ресурсов")
-    void tearDown() {
-        context.close();
-        browser.close();
-        playwright.close();
-    }
-}
\ No newline at end of file
+}
@@ -1,5 +1,6 @@
 package reports.extent;
 
+import apiandui.EnvConfig;
 import com.aventstack.extentreports.ExtentReports;
 import com.aventstack.extentreports.ExtentTest;
 import com.aventstack.extentreports.Status;
@@ -9,11 +10,15 @@ import com.microsoft.playwright.BrowserContext;
 import com.microsoft.playwright.Page;
 import com.microsoft.playwright.Playwright;
 import io.qameta.allure.*;
+import org.aeonbits.owner.ConfigFactory;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
+import screenshotandvideo.ScreenshotService;
+import waits.Waits;
 
 import java.nio.file.Paths;
+import java.time.Duration;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -30,6 +35,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 @Epic("Тесты для the-internet.herokuapp.com")
 @Feature("Работа с JavaScript-алертами")
 public class AdvancedReportingTest {
+    private final EnvConfig config = ConfigFactory.create(EnvConfig.class, System.getProperties());
     private static ExtentReports extent;
     private ExtentTest extentTest;
     private Page page;
@@ -72,37 +78,29 @@ public class AdvancedReportingTest {
             page = context.newPage();
 
             Allure.step("Открыть страницу с алертами", () -> {
-                page.navigate("https://the-internet.herokuapp.com/javascript_alerts");
+                page.navigate(config.baseUrl() + "/javascript_alerts");
                 extentTest.pass("Страница загружена");
             });
 
             final String[] alertText = new String[1];
-            page.onDialog(dialog -> {
-                alertText[0] = dialog.message();
-                dialog.accept();
-            });
-
             Allure.step("Кликнуть на кнопку Alert", () -> {
-                page.click("button[onclick='jsAlert()']");
+                alertText[0] = Waits.dialog(page, () -> page.click("button[onclick='jsAlert()']"),
+                        Duration.ofSeconds(5));
                 extentTest.pass("Кнопка Alert нажата");
             });
 
-            page.waitForTimeout(500);
-
             Allure.step("Проверить текст алерта", () -> {
                 assertThat(alertText[0]).isEqualTo("I am a JS Alert");
                 extentTest.pass("Текст алерта корректен: " + alertText[0]);
             });
 
-            String screenshotPath = "screenshots/alert-success.png";
-            page.screenshot(new Page.ScreenshotOptions().setPath(Paths.get(screenshotPath)));
-            extentTest.addScreenCaptureFromPath(screenshotPath);
+            ScreenshotService.shared().capture(page,
+                    ScreenshotService.Shot.png(Paths.get("screenshots/alert-success.png")).extent(extentTest));
 
         } catch (Exception e) {
             if (page != null) {
-                String errorScreenshotPath = "alert-error.png";
-                page.screenshot(new Page.ScreenshotOptions().setPath(Paths.get(errorScreenshotPath)));
-                Allure.addAttachment("Ошибка", "image/png", Paths.get(errorScreenshotPath).toUri().toString(), "png");
+                ScreenshotService.shared().capture(page,
+                        ScreenshotService.Shot.png(Paths.get("alert-error.png")).attach("Ошибка"));
             }
             extentTest.fail("Тест упал: " + e.getMessage());
             throw e;
@@ -111,10 +109,12 @@ public class AdvancedReportingTest {
 
     /**
      * Финализация отчетности после всех тестов:
-     * Сохраняет собранные данные в HTML-отчет
+     * 1. Дожидается фоновой записи скриншотов, чтобы они попали в отчет
+     * 2. Сохраняет собранные данные в HTML-отчет
      */
     @AfterAll
     static void tearDown() {
+        ScreenshotService.shared().drain(10000);
         extent.flush();
     }
 }
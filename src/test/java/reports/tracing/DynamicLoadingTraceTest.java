@@ -1,31 +1,37 @@
 package reports.tracing;
 
+import apiandui.EnvConfig;
 import com.microsoft.playwright.*;
+import org.aeonbits.owner.ConfigFactory;
 import org.junit.jupiter.api.*;
-import java.nio.file.Paths;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
  * Тестовый класс для проверки динамической загрузки элементов с использованием трассировки.
- * Демонстрирует запись и сохранение трассировочных данных как при успешном выполнении, так и при ошибках.
+ * Демонстрирует трассировку с сохранением архива только при ошибке (см. {@link TraceOnFailure}).
  *
  * @author Oleg Todor
  * @since 2025-03-21
  */
 public class DynamicLoadingTraceTest {
+    private final EnvConfig config = ConfigFactory.create(EnvConfig.class, System.getProperties());
     Playwright playwright;
     Browser browser;
     BrowserContext context;
     Page page;
 
+    @RegisterExtension
+    TraceOnFailure trace = new TraceOnFailure();
+
     /**
      * Настраивает тестовое окружение перед каждым тестом:
      * 1. Инициализирует движок Playwright
      * 2. Запускает браузер Chromium
-     * 3. Создает новый контекст с включенной трассировкой
-     * 4. Начинает запись трассировки с параметрами:
-     *    - Сохранение скриншотов
-     *    - Запись снимков состояний DOM
+     * 3. Создает новый контекст
+     * 4. Начинает запись трассировки со скриншотами и снимками состояний DOM; архив будет записан,
+     *    только если тест упадет
      */
     @BeforeEach
     void setUp() {
@@ -33,9 +39,7 @@ public class DynamicLoadingTraceTest {
         browser = playwright.chromium().launch();
         context = browser.newContext();
 
-        context.tracing().start(new Tracing.StartOptions()
-                .setScreenshots(true)
-                .setSnapshots(true));
+        trace.start(context);
 
         page = context.newPage();
     }
@@ -47,38 +51,27 @@ public class DynamicLoadingTraceTest {
      * 3. Ожидание появления результата
      * 4. Верификация текста элемента
      *
-     * При возникновении ошибки сохраняет трассировочные данные в trace-failure.zip
+     * При возникновении ошибки трассировка последних действий сохраняется в target/traces
      */
     @Test
     void testDynamicLoadingWithTrace() {
-        try {
-            page.navigate("https://the-internet.herokuapp.com/dynamic_loading/1");
-            page.click("button:text('Start')");
+        page.navigate(config.baseUrl() + "/dynamic_loading/1");
+        page.click("button:text('Start')");
 
-            Locator finishText = page.locator("#finish >> text=Hello World!");
-            finishText.waitFor(new Locator.WaitForOptions().setTimeout(10000));
+        Locator finishText = page.locator("#finish >> text=Hello World!");
+        finishText.waitFor(new Locator.WaitForOptions().setTimeout(10000));
 
-            assertEquals("Hello World!", finishText.textContent());
-
-        } catch (Exception e) {
-            context.tracing().stop(new Tracing.StopOptions()
-                    .setPath(Paths.get("trace-failure.zip")));
-            throw e;
-        }
+        assertEquals("Hello World!", finishText.textContent());
     }
 
     /**
-     * Завершает тестовое окружение после каждого теста:
-     * 1. Сохраняет трассировку в trace/trace-success.zip
-     * 2. Закрывает контекст браузера
-     * 3. Останавливает браузер
-     * 4. Освобождает ресурсы Playwright
+     * Завершает тестовое окружение после каждого теста (трассировку к этому моменту уже остановил {@link TraceOnFailure}):
+     * 1. Закрывает контекст браузера
+     * 2. Останавливает браузер
+     * 3. Освобождает ресурсы Playwright
      */
     @AfterEach
     void tearDown() {
-        context.tracing().stop(new Tracing.StopOptions()
-                .setPath(Paths.get("trace/trace-success.zip")));
-
         context.close();
         browser.close();
         playwright.close();
@@ -0,0 +1,122 @@
+package reports.tracing;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+
+/**
+ * Потоковый разбор архивов трассировки Playwright без распаковки на диск. Архив читается одним проходом
+ * {@link ZipInputStream}, а из файлов событий построчно (JSON Lines) берется только нужное:
+ * - *.trace - события before/after (и action старого формата) дают длительность действий,
+ *   frame-snapshot - число снимков DOM, screencast-frame - число кадров скриншотов
+ * - *.network - события resource-snapshot дают водопад запросов; начало запроса берется по тем же монотонным
+ *   часам, что и у действий ({@code _monotonicTime}), а при их отсутствии - из startedDateTime
+ * Ресурсы архива (скриншоты, тела ответов) пропускаются без чтения в память.
+ *
+ * @since 2026-10-18
+ */
+public final class TraceAnalyzer {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private TraceAnalyzer() {
+    }
+
+    /**
+     * @param archive архив трассировки
+     * @return сведения архива
+     * @throws IOException если архив не читается
+     */
+    public static TraceSummary analyze(Path archive) throws IOException {
+        try (InputStream stream = Files.newInputStream(archive)) {
+            return analyze(archive.getFileName().toString(), stream);
+        }
+    }
+
+    /**
+     * @param name   имя архива для отчета
+     * @param stream содержимое архива
+     * @return сведения архива
+     * @throws IOException если архив не читается
+     */
+    public static TraceSummary analyze(String name, InputStream stream) throws IOException {
+        Map<String, JsonNode> started = new LinkedHashMap<>();
+        List<TraceSummary.Action> actions = new ArrayList<>();
+        List<TraceSummary.NetworkEntry> network = new ArrayList<>();
+        int[] counts = new int[2];
+        ZipInputStream zip = new ZipInputStream(stream, StandardCharsets.UTF_8);
+        for (ZipEntry entry = zip.getNextEntry(); entry != null; entry = zip.getNextEntry()) {
+            boolean trace = entry.getName().endsWith(".trace");
+            if (!trace && !entry.getName().endsWith(".network")) {
+                continue;
+            }
+            // Читатель не закрывается: он закрыл бы весь архив, а конец записи ZipInputStream отдает как конец потока
+            BufferedReader reader = new BufferedReader(new InputStreamReader(zip, StandardCharsets.UTF_8));
+            for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                JsonNode event = MAPPER.readTree(line);
+                switch (event.path("type").asText()) {
+                    case "before" -> started.put(event.path("callId").asText(), event);
+                    case "after" -> {
+                        JsonNode before = started.remove(event.path("callId").asText());
+                        if (before != null) {
+                            actions.add(action(before, event.path("endTime").asDouble(), event.path("error")));
+                        }
+                    }
+                    case "action" -> {
+                        JsonNode metadata = event.path("metadata");
+                        actions.add(action(metadata, metadata.path("endTime").asDouble(), metadata.path("error").path("error")));
+                    }
+                    case "frame-snapshot" -> counts[0]++;
+                    case "screencast-frame" -> counts[1]++;
+                    case "resource-snapshot" -> network.add(networkEntry(event.path("snapshot")));
+                    default -> {
+                    }
+                }
+            }
+        }
+        actions.removeIf(action -> action.api().isEmpty());
+        actions.sort(Comparator.comparingDouble(TraceSummary.Action::startMs));
+        network.sort(Comparator.comparingDouble(TraceSummary.NetworkEntry::startMs));
+        return new TraceSummary(name, actions, network, counts[0], counts[1]);
+    }
+
+    private static TraceSummary.Action action(JsonNode start, double endTime, JsonNode error) {
+        String api = start.has("apiName") ? start.path("apiName").asText()
+                : start.has("method") ? start.path("class").asText() + "." + start.path("method").asText() : "";
+        double startTime = start.path("startTime").asDouble();
+        String message = null;
+        if (!error.isMissingNode() && !error.isNull()) {
+            message = error.has("message") ? error.path("message").asText() : error.asText();
+        }
+        return new TraceSummary.Action(api, start.path("params").path("selector").asText(), startTime,
+                Math.max(0, endTime - startTime), message);
+    }
+
+    private static TraceSummary.NetworkEntry networkEntry(JsonNode snapshot) {
+        JsonNode response = snapshot.path("response");
+        double start = snapshot.has("_monotonicTime") ? snapshot.path("_monotonicTime").asDouble()
+                : snapshot.has("startedDateTime") ? Instant.parse(snapshot.path("startedDateTime").asText()).toEpochMilli()
+                : 0;
+        return new TraceSummary.NetworkEntry(snapshot.path("request").path("method").asText(),
+                snapshot.path("request").path("url").asText(), response.path("status").asInt(), start,
+                Math.max(0, snapshot.path("time").asDouble()), Math.max(0, response.path("content").path("size").asLong()));
+    }
+}
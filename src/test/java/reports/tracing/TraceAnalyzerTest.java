@@ -0,0 +1,136 @@
+package reports.tracing;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+/**
+ * Тестовый класс для проверки разбора архивов трассировки и сводки по прогону на архивах, собранных в памяти.
+ *
+ * @since 2026-10-18
+ */
+public class TraceAnalyzerTest {
+    private static final String TRACE = """
+            {"version":7,"type":"context-options","browserName":"chromium"}
+            {"type":"before","callId":"call@1","startTime":1000,"apiName":"page.navigate","class":"Frame","method":"goto","params":{"url":"/dynamic_loading/1"}}
+            {"type":"frame-snapshot","snapshot":{}}
+            {"type":"after","callId":"call@1","endTime":1350}
+            {"type":"before","callId":"call@2","startTime":1400,"apiName":"page.click","class":"Frame","method":"click","params":{"selector":"button:text('Start')"}}
+            {"type":"screencast-frame","sha1":"a.jpeg"}
+            {"type":"before","callId":"call@3","startTime":1450,"apiName":"locator.waitFor","class":"Frame","method":"waitForSelector","params":{"selector":"#finish"}}
+            {"type":"after","callId":"call@2","endTime":1440}
+            {"type":"frame-snapshot","snapshot":{}}
+            {"type":"after","callId":"call@3","endTime":2450,"error":{"message":"Timeout 1000ms exceeded"}}
+            {"type":"before","callId":"call@4","startTime":2500,"class":"Tracing","method":"tracingStopChunk","params":{}}
+            """;
+    private static final String NETWORK = """
+            {"type":"resource-snapshot","snapshot":{"request":{"method":"GET","url":"http://127.0.0.1/js/app.js"},"response":{"status":200,"content":{"size":2048}},"time":40,"_monotonicTime":1360}}
+            {"type":"resource-snapshot","snapshot":{"request":{"method":"GET","url":"http://127.0.0.1/dynamic_loading/1"},"response":{"status":200,"content":{"size":512}},"time":120,"_monotonicTime":1010}}
+            """;
+
+    /**
+     * Проверяет разбор архива:
+     * 1. Действия собираются из пар before/after, незавершенные действия пропускаются
+     * 2. Сохраняются селектор и ошибка действия
+     * 3. Считаются снимки DOM и кадры скриншотов, запросы упорядочены по началу
+     */
+    @Test
+    void testActionsNetworkAndSnapshotsAreExtracted() throws IOException {
+        TraceSummary summary = TraceAnalyzer.analyze("test.zip", new ByteArrayInputStream(archive(TRACE, NETWORK)));
+
+        assertEquals(List.of("page.navigate", "page.click button:text('Start')", "locator.waitFor #finish"),
+                summary.actions().stream().map(TraceSummary.Action::key).toList());
+        assertEquals(350, summary.actions().get(0).durationMs());
+        assertEquals(40, summary.actions().get(1).durationMs());
+        assertEquals("Timeout 1000ms exceeded", summary.actions().get(2).error());
+        assertEquals(2, summary.snapshots());
+        assertEquals(1, summary.screenshots());
+        assertEquals(List.of("http://127.0.0.1/dynamic_loading/1", "http://127.0.0.1/js/app.js"),
+                summary.network().stream().map(TraceSummary.NetworkEntry::url).toList());
+        assertEquals(2048, summary.network().get(1).bytes());
+        String[] waterfall = summary.waterfall(20).split("\n");
+        assertTrue(waterfall[0].startsWith("      0     120 мс 200 ######               GET"), waterfall[0]);
+        assertTrue(waterfall[1].startsWith("    350      40 мс 200                  ##  GET"), waterfall[1]);
+    }
+
+    /**
+     * Проверяет сводку по прогону:
+     * 1. Действия двух архивов суммируются по вызову и селектору и упорядочены по суммарному времени
+     * 2. CSV и JSON-лента записываются в каталог отчета
+     */
+    @Test
+    void testRunReportRanksSlowestActions(@TempDir Path dir) throws IOException {
+        Path first = dir.resolve("first.zip");
+        Files.write(first, archive(TRACE, NETWORK));
+        TraceRunReport report = new TraceRunReport();
+        report.add(TraceAnalyzer.analyze(first));
+        report.add(TraceAnalyzer.analyze("second.zip", new ByteArrayInputStream(archive(TRACE, ""))));
+
+        report.write(dir);
+
+        List<String> csv = Files.readAllLines(dir.resolve("slowest-actions.csv"));
+        assertEquals(TraceRunReport.CSV_HEADER, csv.get(0));
+        assertTrue(csv.get(1).startsWith("locator.waitFor #finish,2,2000,"), csv.get(1));
+        assertTrue(csv.get(1).endsWith(",2"), csv.get(1));
+        assertTrue(csv.get(2).startsWith("page.navigate,2,700,"), csv.get(2));
+
+        JsonNode feed = new ObjectMapper().readTree(dir.resolve("trace-feed.json").toFile());
+        assertEquals("first.zip", feed.path("traces").get(0).path("trace").asText());
+        assertEquals(2, feed.path("traces").get(0).path("requests").asInt());
+        assertEquals(0, feed.path("traces").get(1).path("requests").asInt());
+        assertEquals("locator.waitFor #finish", feed.path("slowest").get(0).path("action").asText());
+    }
+
+    /**
+     * Проверяет разбор каталога архивов:
+     * 1. В сводку попадают все архивы *.zip каталога, прочие файлы пропускаются
+     * 2. Поврежденный архив не прерывает разбор остальных
+     * 3. Отчет записывается в тот же каталог
+     */
+    @Test
+    void testDirectoryOfArchivesIsAnalyzed(@TempDir Path dir) throws IOException {
+        Files.write(dir.resolve("first.zip"), archive(TRACE, NETWORK));
+        Files.write(dir.resolve("second.zip"), archive(TRACE, ""));
+        Files.writeString(dir.resolve("broken.zip"), "not a zip");
+        Files.writeString(dir.resolve("notes.txt"), "skip");
+
+        TraceRunReport report = TraceRunReport.analyze(dir);
+
+        JsonNode feed = new ObjectMapper().readTree(report.json());
+        assertEquals(3, feed.path("traces").size());
+        assertEquals(2, feed.path("slowest").get(0).path("count").asInt());
+        assertTrue(Files.exists(dir.resolve("slowest-actions.csv")));
+        assertTrue(Files.exists(dir.resolve("trace-feed.json")));
+    }
+
+    /**
+     * Собирает архив трассировки в памяти: файлы событий и ресурс, который разбор должен пропустить.
+     */
+    private static byte[] archive(String trace, String network) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ZipOutputStream zip = new ZipOutputStream(bytes)) {
+            zip.putNextEntry(new ZipEntry("trace.trace"));
+            zip.write(trace.getBytes(StandardCharsets.UTF_8));
+            zip.putNextEntry(new ZipEntry("resources/a.jpeg"));
+            zip.write(new byte[4096]);
+            zip.putNextEntry(new ZipEntry("trace.network"));
+            zip.write(network.getBytes(StandardCharsets.UTF_8));
+            zip.closeEntry();
+        }
+        return bytes.toByteArray();
+    }
+}
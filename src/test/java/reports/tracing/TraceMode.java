@@ -0,0 +1,25 @@
+package reports.tracing;
+
+import java.util.Locale;
+
+/**
+ * Режим трассировки тестов с {@link TraceOnFailure}.
+ *
+ * @since 2026-10-18
+ */
+public enum TraceMode {
+    /** Трассировка не ведется */
+    OFF,
+    /** Архив трассировки сохраняется после каждого теста */
+    ALWAYS,
+    /** Архив сохраняется только для упавшего или перезапущенного теста, в нем последние действия теста */
+    RETAIN_ON_FAILURE;
+
+    /**
+     * @param value значение параметра: off, always или retain-on-failure
+     * @return режим
+     */
+    public static TraceMode parse(String value) {
+        return valueOf(value.trim().toUpperCase(Locale.ROOT).replace('-', '_'));
+    }
+}
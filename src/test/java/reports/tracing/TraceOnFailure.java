@@ -0,0 +1,164 @@
+package reports.tracing;
+
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.Tracing;
+import org.junit.jupiter.api.extension.AfterTestExecutionCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+
+/**
+ * Расширение трассировки, сохраняющее архив только для упавших тестов. Регистрируется в тесте через
+ * {@code @RegisterExtension}, а тест передает ему контекст браузера методом {@link #start(BrowserContext)}.
+ *
+ * В режиме retain-on-failure трассировка ведется частями (chunks):
+ * 1. {@code tracing.start()} открывает первую часть со скриншотами и снимками DOM
+ * 2. Каждые {@code tracing.last-actions} действий теста (клики, ввод, навигация - см. {@link TracedActions})
+ *    текущая часть отбрасывается ({@code stopChunk()} без пути) и открывается новая, поэтому
+ *    в трассировке остаются только последние действия
+ * 3. После успешного теста часть отбрасывается без упаковки и записи архива
+ * 4. После упавшего теста, а также при повторном запуске ранее упавшего теста (перезапуск Surefire)
+ *    часть записывается в {@code tracing.dir}/&lt;класс&gt;.&lt;тест&gt;.zip
+ *
+ * Режим always записывает полный архив после каждого теста, off отключает трассировку. Итог прогона
+ * выводит {@link TraceStats}.
+ *
+ * Параметры (junit-platform.properties или системные свойства):
+ * - tracing.mode - off, always или retain-on-failure, по умолчанию retain-on-failure
+ * - tracing.last-actions - размер окна действий, по умолчанию 200
+ * - tracing.dir - каталог архивов, по умолчанию target/traces
+ *
+ * @since 2026-10-18
+ */
+public class TraceOnFailure implements BeforeEachCallback, AfterTestExecutionCallback {
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(TraceOnFailure.class);
+    private static final ThreadLocal<TraceOnFailure> CURRENT = new ThreadLocal<>();
+    private static final Set<String> FAILED = ConcurrentHashMap.newKeySet();
+
+    private TraceMode mode = TraceMode.RETAIN_ON_FAILURE;
+    private int lastActions = 200;
+    private Path dir = Path.of("target", "traces");
+    private TraceStats stats = new TraceStats(mode);
+    private String title = "test";
+    private Tracing tracing;
+    private int actions;
+
+    public TraceOnFailure() {
+    }
+
+    /**
+     * Конструктор для проверки без JUnit.
+     */
+    TraceOnFailure(TraceMode mode, int lastActions, Path dir, TraceStats stats, String title) {
+        this.mode = mode;
+        this.lastActions = lastActions;
+        this.dir = dir;
+        this.stats = stats;
+        this.title = title;
+    }
+
+    @Override
+    public void beforeEach(ExtensionContext context) {
+        mode = context.getConfigurationParameter("tracing.mode", TraceMode::parse).orElse(TraceMode.RETAIN_ON_FAILURE);
+        lastActions = context.getConfigurationParameter("tracing.last-actions", Integer::parseInt).orElse(200);
+        dir = context.getConfigurationParameter("tracing.dir", Path::of).orElse(Path.of("target", "traces"));
+        TraceMode runMode = mode;
+        stats = context.getRoot().getStore(NAMESPACE)
+                .getOrComputeIfAbsent(TraceStats.class, key -> new TraceStats(runMode), TraceStats.class);
+        title = context.getRequiredTestClass().getSimpleName() + "." + context.getRequiredTestMethod().getName();
+        CURRENT.set(this);
+    }
+
+    /**
+     * Начинает трассировку контекста теста.
+     *
+     * @param context контекст браузера
+     */
+    public void start(BrowserContext context) {
+        if (mode == TraceMode.OFF) {
+            return;
+        }
+        tracing = context.tracing();
+        actions = 0;
+        tracing.start(new Tracing.StartOptions()
+                .setTitle(title)
+                .setScreenshots(true)
+                .setSnapshots(true));
+    }
+
+    /**
+     * Учитывает действие теста в текущем потоке; вызывается аспектом {@link TracedActions}.
+     */
+    static void action() {
+        TraceOnFailure trace = CURRENT.get();
+        if (trace != null) {
+            trace.onAction();
+        }
+    }
+
+    void onAction() {
+        if (tracing == null || mode != TraceMode.RETAIN_ON_FAILURE || ++actions < lastActions) {
+            return;
+        }
+        tracing.stopChunk();
+        tracing.startChunk(new Tracing.StartChunkOptions().setTitle(title));
+        actions = 0;
+        stats.rotated();
+    }
+
+    @Override
+    public void afterTestExecution(ExtensionContext context) {
+        CURRENT.remove();
+        boolean failed = context.getExecutionException().isPresent();
+        boolean retried = FAILED.contains(context.getUniqueId());
+        if (failed) {
+            FAILED.add(context.getUniqueId());
+        }
+        finish(failed || retried);
+    }
+
+    /**
+     * Останавливает трассировку и записывает архив, если он нужен.
+     *
+     * @param keep тест упал или перезапущен
+     * @return записанный архив или null
+     */
+    Path finish(boolean keep) {
+        if (tracing == null) {
+            return null;
+        }
+        long start = System.nanoTime();
+        Path file = dir.resolve(title.replaceAll("[^\\w.-]", "_") + ".zip");
+        try {
+            if (mode == TraceMode.ALWAYS) {
+                tracing.stop(new Tracing.StopOptions().setPath(file));
+            } else if (keep) {
+                tracing.stopChunk(new Tracing.StopChunkOptions().setPath(file));
+                tracing.stop();
+            } else {
+                tracing.stop();
+                stats.discarded();
+                return null;
+            }
+            stats.saved(file, size(file));
+            return file;
+        } finally {
+            stats.stopped(System.nanoTime() - start);
+            tracing = null;
+        }
+    }
+
+    private static long size(Path file) {
+        try {
+            return Files.size(file);
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package reports.tracing;
+
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.Tracing;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+/**
+ * Тестовый класс для проверки решений {@link TraceOnFailure} на заглушке трассировки, без запуска браузера.
+ *
+ * @since 2026-10-18
+ */
+public class TraceOnFailureTest {
+    private final List<String> calls = new ArrayList<>();
+
+    /**
+     * Проверяет режим retain-on-failure:
+     * 1. Каждые lastActions действий текущая часть трассировки отбрасывается и начинается новая
+     * 2. После успешного теста трассировка останавливается без записи архива
+     * 3. После упавшего теста последняя часть записывается в архив
+     */
+    @Test
+    void testRetainOnFailureKeepsOnlyLastChunkOfFailedTest() {
+        TraceStats stats = new TraceStats(TraceMode.RETAIN_ON_FAILURE);
+        TraceOnFailure trace = new TraceOnFailure(TraceMode.RETAIN_ON_FAILURE, 3, Path.of("traces"), stats, "Test.passed");
+        trace.start(context());
+        for (int i = 0; i < 7; i++) {
+            trace.onAction();
+        }
+        assertNull(trace.finish(false));
+        assertEquals(List.of("start", "stopChunk:null", "startChunk", "stopChunk:null", "startChunk", "stop:null"), calls);
+
+        calls.clear();
+        trace = new TraceOnFailure(TraceMode.RETAIN_ON_FAILURE, 3, Path.of("traces"), stats, "Test.failed[1]");
+        trace.start(context());
+        trace.onAction();
+        assertEquals(Path.of("traces", "Test.failed_1_.zip"), trace.finish(true));
+        assertEquals(List.of("start", "stopChunk:traces/Test.failed_1_.zip", "stop:null"), calls);
+
+        assertEquals(1, stats.savedCount());
+        assertEquals(1, stats.discardedCount());
+        assertEquals(2, stats.rotations());
+    }
+
+    /**
+     * Проверяет режимы always и off:
+     * 1. always записывает полный архив после любого теста и не делит трассировку на части
+     * 2. off не обращается к трассировке
+     */
+    @Test
+    void testAlwaysAndOffModes() {
+        TraceStats stats = new TraceStats(TraceMode.ALWAYS);
+        TraceOnFailure trace = new TraceOnFailure(TraceMode.ALWAYS, 1, Path.of("traces"), stats, "Test.always");
+        trace.start(context());
+        trace.onAction();
+        trace.onAction();
+        assertEquals(Path.of("traces", "Test.always.zip"), trace.finish(false));
+        assertEquals(List.of("start", "stop:traces/Test.always.zip"), calls);
+
+        calls.clear();
+        trace = new TraceOnFailure(TraceMode.OFF, 1, Path.of("traces"), stats, "Test.off");
+        trace.start(context());
+        trace.onAction();
+        assertNull(trace.finish(true));
+        assertEquals(List.of(), calls);
+    }
+
+    /**
+     * Контекст-заглушка, трассировка которого записывает вызовы.
+     */
+    private BrowserContext context() {
+        Tracing tracing = (Tracing) Proxy.newProxyInstance(Tracing.class.getClassLoader(), new Class<?>[]{Tracing.class},
+                (proxy, method, args) -> {
+                    Object options = args == null || args.length == 0 ? null : args[0];
+                    switch (method.getName()) {
+                        case "start", "startChunk" -> calls.add(method.getName());
+                        case "stop" -> calls.add("stop:" + (options == null ? null : ((Tracing.StopOptions) options).path));
+                        case "stopChunk" -> calls.add("stopChunk:"
+                                + (options == null ? null : ((Tracing.StopChunkOptions) options).path));
+                        default -> throw new UnsupportedOperationException(method.getName());
+                    }
+                    return null;
+                });
+        return (BrowserContext) Proxy.newProxyInstance(BrowserContext.class.getClassLoader(),
+                new Class<?>[]{BrowserContext.class}, (proxy, method, args) -> {
+                    if (method.getName().equals("tracing")) {
+                        return tracing;
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+    }
+}
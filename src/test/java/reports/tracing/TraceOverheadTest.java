@@ -0,0 +1,66 @@
+package reports.tracing;
+
+import apiandui.EnvConfig;
+import browserpool.BrowserPoolExtension;
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.Locator;
+import com.microsoft.playwright.Page;
+import org.aeonbits.owner.ConfigFactory;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+
+/**
+ * Тестовый класс для сравнения стоимости трассировки успешных тестов в режимах always и retain-on-failure
+ * на сценарии динамической загрузки. Замер не входит в обычный прогон: {@code mvn test -Dgroups=benchmark -DexcludedGroups=}.
+ *
+ * @since 2026-10-18
+ */
+@Tag("benchmark")
+@ExtendWith(BrowserPoolExtension.class)
+public class TraceOverheadTest {
+    private static final int ROUNDS = 5;
+
+    private final EnvConfig config = ConfigFactory.create(EnvConfig.class, System.getProperties());
+
+    /**
+     * Выполняет сценарий {@value ROUNDS} раз в каждом режиме и сравнивает:
+     * 1. Время сценария вместе с остановкой трассировки
+     * 2. Число и объем записанных архивов: в режиме retain-on-failure успешные тесты архивов не пишут
+     */
+    @Test
+    void testRetainOnFailureSkipsArchivesOfPassedTests(BrowserContext context, Page page, @TempDir Path dir) {
+        TraceStats always = new TraceStats(TraceMode.ALWAYS);
+        TraceStats retained = new TraceStats(TraceMode.RETAIN_ON_FAILURE);
+        long alwaysNanos = 0;
+        long retainedNanos = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            alwaysNanos += run(context, page, new TraceOnFailure(TraceMode.ALWAYS, 200, dir, always, "always-" + round));
+            retainedNanos += run(context, page,
+                    new TraceOnFailure(TraceMode.RETAIN_ON_FAILURE, 200, dir, retained, "retained-" + round));
+        }
+
+        System.out.printf("Трассировка %d успешных тестов: always %.0f мс на тест, retain-on-failure %.0f мс на тест%n",
+                ROUNDS, alwaysNanos / 1e6 / ROUNDS, retainedNanos / 1e6 / ROUNDS);
+        System.out.println(always.summary());
+        System.out.println(retained.summary());
+        assertEquals(ROUNDS, always.savedCount());
+        assertEquals(0, retained.savedCount());
+    }
+
+    private long run(BrowserContext context, Page page, TraceOnFailure trace) {
+        long start = System.nanoTime();
+        trace.start(context);
+        page.navigate(config.baseUrl() + "/dynamic_loading/1");
+        page.click("button:text('Start')");
+        page.locator("#finish >> text=Hello World!").waitFor(new Locator.WaitForOptions().setTimeout(10000));
+        trace.finish(false);
+        return System.nanoTime() - start;
+    }
+}
@@ -0,0 +1,169 @@
+package reports.tracing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import networktiming.LatencyHistogram;
+import reports.CsvReport;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Stream;
+
+
+/**
+ * Сводка архивов трассировки прогона: таблица самых медленных действий (вызов и селектор) по суммарному времени
+ * и JSON-лента с итогами каждого архива и той же таблицей для сравнения прогонов между собой.
+ * Медленные действия при неизменном тесте указывают на регрессию приложения, а новые или участившиеся
+ * действия - на изменения тестов.
+ *
+ * В конце прогона сводка строится по архивам, записанным {@link TraceOnFailure}: в режиме retain-on-failure
+ * это только упавшие и перезапущенные тесты, полная картина прогона требует {@code tracing.mode=always}.
+ * Архивы, записанные иначе (например, другим прогоном или вручную), разбираются {@link #analyze(Path)}.
+ *
+ * @since 2026-10-18
+ */
+public class TraceRunReport {
+    /** Заголовок CSV таблицы действий */
+    static final String CSV_HEADER = "action,count,total_ms,p50_ms,p95_ms,max_ms,errors";
+    private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    private final List<TraceSummary> traces = new ArrayList<>();
+    private final Map<String, ActionStats> actions = new HashMap<>();
+
+    /**
+     * Накопленные длительности одного действия.
+     */
+    static class ActionStats {
+        final String action;
+        final LatencyHistogram histogram = new LatencyHistogram();
+        double totalMs;
+        int errors;
+
+        ActionStats(String action) {
+            this.action = action;
+        }
+
+        Map<String, Object> json() {
+            Map<String, Object> json = new LinkedHashMap<>();
+            json.put("action", action);
+            json.put("count", histogram.count());
+            json.put("totalMs", Math.round(totalMs));
+            json.put("p50Ms", histogram.percentileMillis(50));
+            json.put("p95Ms", histogram.percentileMillis(95));
+            json.put("maxMs", histogram.max() / 1000.0);
+            json.put("errors", errors);
+            return json;
+        }
+
+        String csv() {
+            return String.format(Locale.ROOT, "%s,%d,%.0f,%.1f,%.1f,%.1f,%d", CsvReport.quote(action), histogram.count(), totalMs,
+                    histogram.percentileMillis(50), histogram.percentileMillis(95), histogram.max() / 1000.0, errors);
+        }
+    }
+
+    /**
+     * Разбирает все архивы трассировки (*.zip) каталога и записывает сводку по ним в тот же каталог.
+     * Архив, который не удалось разобрать, пропускается с сообщением.
+     *
+     * @param dir каталог архивов
+     * @return сводка по архивам каталога
+     * @throws IOException если каталог не читается
+     */
+    public static TraceRunReport analyze(Path dir) throws IOException {
+        TraceRunReport report = new TraceRunReport();
+        List<Path> archives;
+        try (Stream<Path> files = Files.list(dir)) {
+            archives = files.filter(file -> file.getFileName().toString().endsWith(".zip")).sorted().toList();
+        }
+        for (Path archive : archives) {
+            try {
+                report.add(TraceAnalyzer.analyze(archive));
+            } catch (IOException e) {
+                System.err.println("Не удалось разобрать " + archive + ": " + e.getMessage());
+            }
+        }
+        report.write(dir);
+        return report;
+    }
+
+    /**
+     * Добавляет архив в сводку.
+     *
+     * @param trace сведения архива
+     */
+    public synchronized void add(TraceSummary trace) {
+        traces.add(trace);
+        for (TraceSummary.Action action : trace.actions()) {
+            ActionStats stats = actions.computeIfAbsent(action.key(), ActionStats::new);
+            stats.histogram.recordMillis(action.durationMs());
+            stats.totalMs += action.durationMs();
+            stats.errors += action.error() == null ? 0 : 1;
+        }
+    }
+
+    /**
+     * @return действия по убыванию суммарного времени
+     */
+    synchronized List<ActionStats> slowest() {
+        List<ActionStats> ranked = new ArrayList<>(actions.values());
+        ranked.sort(Comparator.comparingDouble((ActionStats stats) -> stats.totalMs).reversed());
+        return ranked;
+    }
+
+    /**
+     * @return JSON-лента: итоги архивов и действия по убыванию суммарного времени
+     */
+    public synchronized String json() {
+        List<Map<String, Object>> archives = new ArrayList<>();
+        for (TraceSummary trace : traces) {
+            Map<String, Object> json = new LinkedHashMap<>();
+            json.put("trace", trace.trace());
+            json.put("actions", trace.actions().size());
+            json.put("actionMs", Math.round(trace.actionMillis()));
+            json.put("requests", trace.network().size());
+            json.put("snapshots", trace.snapshots());
+            json.put("screenshots", trace.screenshots());
+            archives.add(json);
+        }
+        Map<String, Object> feed = new LinkedHashMap<>();
+        feed.put("traces", archives);
+        feed.put("slowest", slowest().stream().map(ActionStats::json).toList());
+        try {
+            return MAPPER.writeValueAsString(feed);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Записывает таблицу действий (slowest-actions.csv) и JSON-ленту (trace-feed.json) и выводит пять самых
+     * медленных действий.
+     *
+     * @param dir каталог отчета
+     */
+    public void write(Path dir) {
+        List<ActionStats> slowest = slowest();
+        if (slowest.isEmpty()) {
+            return;
+        }
+        Path csv = dir.resolve("slowest-actions.csv");
+        if (CsvReport.write(csv, CSV_HEADER, slowest.stream().map(ActionStats::csv).toList())) {
+            try {
+                Files.writeString(dir.resolve("trace-feed.json"), json());
+            } catch (IOException e) {
+                System.err.println("Не удалось сохранить отчет трассировки в " + dir + ": " + e.getMessage());
+            }
+        }
+        CsvReport.printTop("Самые медленные действия в трассировках (" + csv + "):", slowest, 5,
+                stats -> String.format(Locale.ROOT, "%-60s %4d раз, %8.0f мс, p95 %.1f мс", stats.action,
+                        stats.histogram.count(), stats.totalMs, stats.histogram.percentileMillis(95)));
+    }
+}
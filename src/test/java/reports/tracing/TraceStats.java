@@ -0,0 +1,99 @@
+package reports.tracing;
+
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+
+/**
+ * Итог трассировки прогона: сколько архивов записано и отброшено, их объем и время остановки трассировки,
+ * в которое входит упаковка архива. Выводится при закрытии корневого хранилища JUnit; по итогам прогонов
+ * в режимах always и retain-on-failure сравнивается стоимость трассировки. Записанные архивы разбираются
+ * {@link TraceAnalyzer}, а сводка по ним ({@link TraceRunReport}) записывается рядом с архивами; в режиме
+ * retain-on-failure в нее попадают только упавшие тесты.
+ *
+ * @since 2026-10-18
+ */
+public class TraceStats implements ExtensionContext.Store.CloseableResource {
+    private final TraceMode mode;
+    private final LongAdder saved = new LongAdder();
+    private final LongAdder discarded = new LongAdder();
+    private final LongAdder rotations = new LongAdder();
+    private final LongAdder bytes = new LongAdder();
+    private final LongAdder stopNanos = new LongAdder();
+    private final Queue<Path> archives = new ConcurrentLinkedQueue<>();
+
+    /**
+     * @param mode режим трассировки прогона
+     */
+    public TraceStats(TraceMode mode) {
+        this.mode = mode;
+    }
+
+    void saved(Path archive, long size) {
+        saved.increment();
+        bytes.add(size);
+        if (size > 0) {
+            archives.add(archive);
+        }
+    }
+
+    void discarded() {
+        discarded.increment();
+    }
+
+    void rotated() {
+        rotations.increment();
+    }
+
+    void stopped(long nanos) {
+        stopNanos.add(nanos);
+    }
+
+    long savedCount() {
+        return saved.sum();
+    }
+
+    long discardedCount() {
+        return discarded.sum();
+    }
+
+    long rotations() {
+        return rotations.sum();
+    }
+
+    /**
+     * @return итоговая строка для вывода в конце прогона
+     */
+    public String summary() {
+        long tests = saved.sum() + discarded.sum();
+        return String.format("Трассировка (%s): тестов %d, записано архивов %d (%.1f МБ), отброшено %d, "
+                        + "сдвигов окна %d, остановка трассировки %.0f мс (%.1f мс на тест)",
+                mode.name().toLowerCase(Locale.ROOT).replace('_', '-'), tests, saved.sum(), bytes.sum() / 1048576.0,
+                discarded.sum(), rotations.sum(), stopNanos.sum() / 1e6, tests == 0 ? 0 : stopNanos.sum() / 1e6 / tests);
+    }
+
+    @Override
+    public void close() {
+        if (saved.sum() + discarded.sum() > 0) {
+            System.out.println(summary());
+        }
+        if (archives.isEmpty()) {
+            return;
+        }
+        TraceRunReport report = new TraceRunReport();
+        for (Path archive : archives) {
+            try {
+                report.add(TraceAnalyzer.analyze(archive));
+            } catch (IOException e) {
+                System.err.println("Не удалось разобрать " + archive + ": " + e.getMessage());
+            }
+        }
+        report.write(archives.peek().toAbsolutePath().getParent());
+    }
+}
@@ -0,0 +1,85 @@
+package reports.tracing;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+
+/**
+ * Сведения одного архива трассировки, извлеченные {@link TraceAnalyzer}.
+ *
+ * @param trace       имя архива
+ * @param actions     действия в порядке начала
+ * @param network     сетевые запросы в порядке начала
+ * @param snapshots   число снимков DOM
+ * @param screenshots число кадров скриншотов
+ * @since 2026-10-18
+ */
+public record TraceSummary(String trace, List<Action> actions, List<NetworkEntry> network, int snapshots,
+                           int screenshots) {
+
+    /**
+     * Действие теста.
+     *
+     * @param api        вызов API, например {@code locator.click}
+     * @param selector   селектор или пустая строка
+     * @param startMs    начало по монотонным часам трассировки, мс
+     * @param durationMs длительность, мс
+     * @param error      сообщение об ошибке или null
+     */
+    public record Action(String api, String selector, double startMs, double durationMs, String error) {
+
+        /**
+         * @return ключ для сводки по прогону: вызов и селектор
+         */
+        public String key() {
+            return selector.isEmpty() ? api : api + " " + selector;
+        }
+    }
+
+    /**
+     * Сетевой запрос страницы.
+     *
+     * @param method     HTTP-метод
+     * @param url        адрес
+     * @param status     HTTP-статус; 0 - ответа нет
+     * @param startMs    начало по монотонным часам трассировки, мс
+     * @param durationMs длительность, мс
+     * @param bytes      размер тела ответа
+     */
+    public record NetworkEntry(String method, String url, int status, double startMs, double durationMs, long bytes) {
+    }
+
+    /**
+     * @return суммарная длительность действий, мс
+     */
+    public double actionMillis() {
+        return actions.stream().mapToDouble(Action::durationMs).sum();
+    }
+
+    /**
+     * Водопад запросов: смещение от первого запроса, длительность и полоса в масштабе всего водопада.
+     *
+     * @param width ширина полосы в символах
+     * @return текст водопада
+     */
+    public String waterfall(int width) {
+        if (network.isEmpty()) {
+            return "";
+        }
+        double origin = network.stream().mapToDouble(NetworkEntry::startMs).min().orElse(0);
+        double end = network.stream().mapToDouble(entry -> entry.startMs() + entry.durationMs()).max().orElse(origin);
+        double scale = Math.max(1, end - origin) / width;
+        return network.stream()
+                .sorted(Comparator.comparingDouble(NetworkEntry::startMs))
+                .map(entry -> {
+                    int offset = Math.min(width - 1, (int) ((entry.startMs() - origin) / scale));
+                    int length = Math.min(width - offset, Math.max(1, (int) (entry.durationMs() / scale)));
+                    String bar = " ".repeat(offset) + "#".repeat(length) + " ".repeat(width - offset - length);
+                    return String.format(Locale.ROOT, "%7.0f %7.0f мс %3d %s %s %s", entry.startMs() - origin,
+                            entry.durationMs(), entry.status(), bar, entry.method(), entry.url());
+                })
+                .collect(Collectors.joining("\n"));
+    }
+}
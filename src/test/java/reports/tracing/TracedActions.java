@@ -0,0 +1,29 @@
+package reports.tracing;
+
+import org.aspectj.lang.annotation.After;
+import org.aspectj.lang.annotation.Aspect;
+
+
+/**
+ * Аспект, считающий действия теста для окна трассировки {@link TraceOnFailure}: навигацию и действия
+ * со страницей, фреймами, локаторами и элементами, вызванные из кода тестов. Вплетается агентом aspectjweaver
+ * (см. META-INF/aop.xml).
+ *
+ * @since 2026-10-18
+ */
+@Aspect
+public class TracedActions {
+
+    @After("(call(* com.microsoft.playwright.*.navigate(..)) || call(* com.microsoft.playwright.*.reload(..)) "
+            + "|| call(* com.microsoft.playwright.*.goBack(..)) || call(* com.microsoft.playwright.*.goForward(..)) "
+            + "|| call(void com.microsoft.playwright.*.click(..)) || call(void com.microsoft.playwright.*.dblclick(..)) "
+            + "|| call(void com.microsoft.playwright.*.tap(..)) || call(void com.microsoft.playwright.*.fill(..)) "
+            + "|| call(void com.microsoft.playwright.*.type(..)) || call(void com.microsoft.playwright.*.press(..)) "
+            + "|| call(void com.microsoft.playwright.*.check(..)) || call(void com.microsoft.playwright.*.uncheck(..)) "
+            + "|| call(void com.microsoft.playwright.*.hover(..)) || call(* com.microsoft.playwright.*.selectOption(..)) "
+            + "|| call(void com.microsoft.playwright.*.setInputFiles(..)) || call(void com.microsoft.playwright.*.dragTo(..))) "
+            + "&& !within(com..*) && !within(org..*) && !within(io..*) && !within(net..*)")
+    public void action() {
+        TraceOnFailure.action();
+    }
+}
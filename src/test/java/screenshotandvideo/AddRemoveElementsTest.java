@@ -1,6 +1,8 @@
 package screenshotandvideo;
 
+import apiandui.EnvConfig;
 import com.microsoft.playwright.*;
+import org.aeonbits.owner.ConfigFactory;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
@@ -25,6 +27,8 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
  */
 @Execution(ExecutionMode.CONCURRENT)
 public class AddRemoveElementsTest {
+    private final EnvConfig config = ConfigFactory.create(EnvConfig.class, System.getProperties());
+    private final ScreenshotService screenshots = ScreenshotService.shared();
     private static Page page;
     private static Playwright playwright;
     private static Browser browser;
@@ -51,23 +55,22 @@ public class AddRemoveElementsTest {
      * 3. Создание скриншота после добавления
      * 4. Удаление элемента и проверка его отсутствия
      * 5. Создание скриншота после удаления
+     * Скриншоты записываются в фоне {@link ScreenshotService}, тест не ждет записи на диск
      */
     @Test
     void testAddRemoveElements() {
-        page.navigate("https://the-internet.herokuapp.com/add_remove_elements/");
+        page.navigate(config.baseUrl() + "/add_remove_elements/");
 
         page.click("button:text('Add Element')");
         Locator addedElement = page.locator("button.added-manually");
         assertTrue(addedElement.isVisible(), "Элемент не был добавлен");
 
-        addedElement.screenshot(new Locator.ScreenshotOptions()
-                .setPath(getTimestampPath("after_add.png")));
+        screenshots.capture(addedElement, ScreenshotService.Shot.png(getTimestampPath("after_add.png")));
 
         addedElement.click();
         assertTrue(addedElement.isHidden(), "Элемент не был удален");
 
-        page.locator("body").screenshot(new Locator.ScreenshotOptions()
-                .setPath(getTimestampPath("after_remove.png")));
+        screenshots.capture(page.locator("body"), ScreenshotService.Shot.png(getTimestampPath("after_remove.png")));
     }
 
     /**
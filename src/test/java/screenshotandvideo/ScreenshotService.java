@@ -0,0 +1,311 @@
+package screenshotandvideo;
+
+import com.aventstack.extentreports.ExtentTest;
+import com.microsoft.playwright.Locator;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.options.ScreenshotType;
+import io.qameta.allure.Allure;
+import io.qameta.allure.AllureLifecycle;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+
+/**
+ * Сервис скриншотов, выносящий из потока теста все, кроме самого снимка. В потоке теста браузер отдает
+ * снимок в память сразу в нужном формате (PNG или JPEG с заданным качеством, его кодирует браузер),
+ * а запись на диск и вложения Allure и Extent выполняются в фоновых потоках "screenshots".
+ *
+ * Очередь фоновой записи ограничена. Если она заполнена, запись выполняется в потоке теста
+ * (CallerRunsPolicy): тест замедляется, но память под необработанные снимки не растет. Итог, в том числе время,
+ * вынесенное из потока теста, выводится при закрытии сервиса; общий сервис закрывает {@link ScreenshotSession}.
+ *
+ * Вложение Allure регистрируется в потоке теста ({@code prepareAttachment}), потому что Allure определяет
+ * текущий тест по потоку, а его содержимое записывается в фоне ({@code writeAttachment}).
+ *
+ * Параметры общего сервиса (системные свойства):
+ * - screenshots.threads - число фоновых потоков, по умолчанию 2
+ * - screenshots.queue - емкость очереди, по умолчанию 16
+ *
+ * @since 2026-10-18
+ */
+public class ScreenshotService implements AutoCloseable {
+    private static volatile ScreenshotService shared;
+
+    private final ThreadPoolExecutor executor;
+    private final LongAdder shots = new LongAdder();
+    private final LongAdder captureNanos = new LongAdder();
+    private final LongAdder offloadedNanos = new LongAdder();
+    private final LongAdder inlineShots = new LongAdder();
+    private final LongAdder inlineNanos = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final AtomicInteger pending = new AtomicInteger();
+
+    /**
+     * Формат сохраняемого файла.
+     */
+    public enum Format {
+        PNG(ScreenshotType.PNG, "image/png", "png"),
+        JPEG(ScreenshotType.JPEG, "image/jpeg", "jpg");
+
+        final ScreenshotType type;
+        final String mimeType;
+        final String extension;
+
+        Format(ScreenshotType type, String mimeType, String extension) {
+            this.type = type;
+            this.mimeType = mimeType;
+            this.extension = extension;
+        }
+    }
+
+    /**
+     * Куда и как сохранить снимок.
+     *
+     * @param path       файл
+     * @param format     формат файла
+     * @param quality    качество JPEG от 0 до 1, для PNG не используется
+     * @param attachment имя вложения Allure или null
+     * @param extent     тест Extent для вложения или null
+     */
+    public record Shot(Path path, Format format, float quality, String attachment, ExtentTest extent) {
+
+        public static Shot png(Path path) {
+            return new Shot(path, Format.PNG, 1, null, null);
+        }
+
+        public static Shot jpeg(Path path, float quality) {
+            return new Shot(path, Format.JPEG, quality, null, null);
+        }
+
+        /**
+         * @param name имя вложения Allure
+         * @return снимок с вложением в текущий тест Allure
+         */
+        public Shot attach(String name) {
+            return new Shot(path, format, quality, name, extent);
+        }
+
+        /**
+         * @param test тест Extent
+         * @return снимок с вложением в тест Extent
+         */
+        public Shot extent(ExtentTest test) {
+            return new Shot(path, format, quality, attachment, test);
+        }
+
+        /**
+         * @return качество JPEG для Playwright от 0 до 100
+         */
+        int jpegQuality() {
+            return Math.round(quality * 100);
+        }
+
+        /**
+         * @return параметры снимка страницы в формате файла
+         */
+        Page.ScreenshotOptions pageOptions() {
+            Page.ScreenshotOptions options = new Page.ScreenshotOptions().setType(format.type);
+            return format == Format.JPEG ? options.setQuality(jpegQuality()) : options;
+        }
+
+        /**
+         * @return параметры снимка элемента в формате файла
+         */
+        Locator.ScreenshotOptions locatorOptions() {
+            Locator.ScreenshotOptions options = new Locator.ScreenshotOptions().setType(format.type);
+            return format == Format.JPEG ? options.setQuality(jpegQuality()) : options;
+        }
+    }
+
+    /**
+     * @param threads  число фоновых потоков
+     * @param capacity емкость очереди
+     */
+    public ScreenshotService(int threads, int capacity) {
+        AtomicInteger number = new AtomicInteger();
+        executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(capacity), runnable -> {
+                    Thread thread = new Thread(runnable, "screenshots-" + number.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    /**
+     * @return общий сервис прогона
+     */
+    public static ScreenshotService shared() {
+        ScreenshotService service = shared;
+        if (service == null) {
+            synchronized (ScreenshotService.class) {
+                service = shared;
+                if (service == null) {
+                    service = new ScreenshotService(Integer.getInteger("screenshots.threads", 2),
+                            Integer.getInteger("screenshots.queue", 16));
+                    shared = service;
+                }
+            }
+        }
+        return service;
+    }
+
+    /**
+     * Закрывает общий сервис, если он создавался.
+     */
+    static void closeShared() {
+        ScreenshotService service;
+        synchronized (ScreenshotService.class) {
+            service = shared;
+            shared = null;
+        }
+        if (service != null) {
+            service.close();
+        }
+    }
+
+    /**
+     * Снимает страницу и передает снимок в фоновую обработку.
+     *
+     * @param page страница
+     * @param shot параметры сохранения
+     * @return файл после записи
+     */
+    public CompletableFuture<Path> capture(Page page, Shot shot) {
+        long start = System.nanoTime();
+        byte[] image = page.screenshot(shot.pageOptions());
+        captureNanos.add(System.nanoTime() - start);
+        return submit(image, shot);
+    }
+
+    /**
+     * Снимает элемент и передает снимок в фоновую обработку.
+     *
+     * @param locator элемент
+     * @param shot    параметры сохранения
+     * @return файл после записи
+     */
+    public CompletableFuture<Path> capture(Locator locator, Shot shot) {
+        long start = System.nanoTime();
+        byte[] image = locator.screenshot(shot.locatorOptions());
+        captureNanos.add(System.nanoTime() - start);
+        return submit(image, shot);
+    }
+
+    /**
+     * Передает готовый снимок в фоновую запись.
+     *
+     * @param image снимок в формате {@code shot.format()}
+     * @param shot  параметры сохранения
+     * @return файл после записи
+     */
+    public CompletableFuture<Path> submit(byte[] image, Shot shot) {
+        shots.increment();
+        pending.incrementAndGet();
+        AllureLifecycle lifecycle = Allure.getLifecycle();
+        String source = shot.attachment() != null && lifecycle.getCurrentTestCaseOrStep().isPresent()
+                ? lifecycle.prepareAttachment(shot.attachment(), shot.format().mimeType, shot.format().extension)
+                : null;
+        Thread caller = Thread.currentThread();
+        return CompletableFuture.supplyAsync(() -> {
+            long start = System.nanoTime();
+            try {
+                Files.createDirectories(shot.path().toAbsolutePath().getParent());
+                Files.write(shot.path(), image);
+                if (source != null) {
+                    lifecycle.writeAttachment(source, new ByteArrayInputStream(image));
+                }
+                if (shot.extent() != null) {
+                    synchronized (shot.extent()) {
+                        shot.extent().addScreenCaptureFromPath(shot.path().toString());
+                    }
+                }
+                return shot.path();
+            } catch (IOException e) {
+                failures.increment();
+                System.err.println("Не удалось сохранить скриншот " + shot.path() + ": " + e.getMessage());
+                throw new UncheckedIOException(e);
+            } finally {
+                pending.decrementAndGet();
+                long nanos = System.nanoTime() - start;
+                if (Thread.currentThread() == caller) {
+                    inlineShots.increment();
+                    inlineNanos.add(nanos);
+                } else {
+                    offloadedNanos.add(nanos);
+                }
+            }
+        }, executor);
+    }
+
+    /**
+     * Ждет завершения переданных снимков, например перед {@code extent.flush()}.
+     *
+     * @param timeoutMs наибольшее время ожидания, мс
+     * @return true, если очередь обработана
+     */
+    public boolean drain(long timeoutMs) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+        while (pending.get() > 0) {
+            if (System.nanoTime() > deadline) {
+                return false;
+            }
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Время снимка (вместе с кодированием в браузере) остается в потоке теста; вынесенное время - только запись
+     * файлов и вложений в фоновых потоках.
+     *
+     * @return итоговая строка для вывода в конце прогона
+     */
+    public String summary() {
+        return String.format("Скриншоты: %d шт., снимок в потоке теста %.0f мс, запись файлов и вложений вынесена "
+                        + "из потока теста %.0f мс, записано в потоке теста из-за заполненной очереди %d шт. (%.0f мс), "
+                        + "ошибок %d",
+                shots.sum(), captureNanos.sum() / 1e6, offloadedNanos.sum() / 1e6, inlineShots.sum(),
+                inlineNanos.sum() / 1e6, failures.sum());
+    }
+
+    long offloadedNanos() {
+        return offloadedNanos.sum();
+    }
+
+    long inlineShots() {
+        return inlineShots.sum();
+    }
+
+    /**
+     * Дожидается обработки переданных снимков, останавливает потоки и выводит итог.
+     */
+    @Override
+    public void close() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+                System.err.println("Скриншоты не записаны за 30 с: " + executor.getQueue().size() + " в очереди");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (shots.sum() > 0) {
+            System.out.println(summary());
+        }
+    }
+}
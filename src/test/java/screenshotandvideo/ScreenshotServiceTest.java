@@ -0,0 +1,95 @@
+package screenshotandvideo;
+
+import com.microsoft.playwright.options.ScreenshotType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+/**
+ * Тестовый класс для проверки фоновой обработки скриншотов на изображении, созданном в памяти, без запуска браузера.
+ *
+ * @since 2026-10-18
+ */
+public class ScreenshotServiceTest {
+
+    /**
+     * Проверяет обработку:
+     * 1. Снимок записывается без перекодирования в формате, в котором его отдал браузер
+     * 2. При заполненной очереди запись выполняется в потоке теста, остальное - в фоне
+     * 3. После закрытия все файлы записаны
+     */
+    @Test
+    void testShotsAreWrittenInBackgroundWithBackpressure(@TempDir Path dir) throws IOException {
+        byte[] png = image(1200, 900, "png");
+        byte[] jpeg = image(1200, 900, "jpeg");
+        List<CompletableFuture<Path>> written = new ArrayList<>();
+        ScreenshotService service = new ScreenshotService(1, 1);
+        try (service) {
+            written.add(service.submit(png, ScreenshotService.Shot.png(dir.resolve("page.png"))));
+            for (int i = 0; i < 6; i++) {
+                written.add(service.submit(jpeg, ScreenshotService.Shot.jpeg(dir.resolve("page-" + i + ".jpg"), 0.5f)));
+            }
+            assertTrue(service.drain(30000));
+        }
+
+        written.forEach(future -> assertTrue(Files.exists(future.join())));
+        assertArrayEquals(png, Files.readAllBytes(dir.resolve("page.png")));
+        assertArrayEquals(jpeg, Files.readAllBytes(dir.resolve("page-0.jpg")));
+        assertTrue(service.inlineShots() > 0, service.summary());
+        assertTrue(service.offloadedNanos() > 0, service.summary());
+        System.out.println(service.summary());
+    }
+
+    /**
+     * Проверяет, что формат и качество снимка передаются браузеру:
+     * 1. Для JPEG задаются тип и качество от 0 до 100
+     * 2. Для PNG задается только тип
+     */
+    @Test
+    void testBrowserCapturesInTargetFormat() {
+        ScreenshotService.Shot jpeg = ScreenshotService.Shot.jpeg(Path.of("page.jpg"), 0.5f);
+        assertEquals(ScreenshotType.JPEG, jpeg.pageOptions().type);
+        assertEquals(50, jpeg.pageOptions().quality);
+        assertEquals(ScreenshotType.JPEG, jpeg.locatorOptions().type);
+        assertEquals(50, jpeg.locatorOptions().quality);
+
+        ScreenshotService.Shot png = ScreenshotService.Shot.png(Path.of("page.png"));
+        assertEquals(ScreenshotType.PNG, png.pageOptions().type);
+        assertNull(png.pageOptions().quality);
+        assertNull(png.locatorOptions().quality);
+    }
+
+    /**
+     * Изображение с градиентом и текстом в заданном формате ImageIO.
+     */
+    private static byte[] image(int width, int height, String format) throws IOException {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = image.createGraphics();
+        for (int x = 0; x < width; x++) {
+            graphics.setColor(new Color(x % 256, (x * 3) % 256, 200));
+            graphics.drawLine(x, 0, x, height);
+        }
+        graphics.setColor(Color.BLACK);
+        for (int y = 20; y < height; y += 20) {
+            graphics.drawString("Hello World! " + y, 10, y);
+        }
+        graphics.dispose();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, format, out);
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,19 @@
+package screenshotandvideo;
+
+import org.junit.platform.launcher.LauncherSession;
+import org.junit.platform.launcher.LauncherSessionListener;
+
+
+/**
+ * Слушатель сессии JUnit Platform, закрывающий общий {@link ScreenshotService} в конце прогона: дожидается записи
+ * переданных снимков и выводит итог. Регистрируется через META-INF/services.
+ *
+ * @since 2026-10-18
+ */
+public class ScreenshotSession implements LauncherSessionListener {
+
+    @Override
+    public void launcherSessionClosed(LauncherSession session) {
+        ScreenshotService.closeShared();
+    }
+}
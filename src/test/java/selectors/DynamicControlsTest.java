@@ -1,11 +1,16 @@
 package selectors;
 
+import apiandui.EnvConfig;
+import browserpool.BlockResources;
+import browserpool.BrowserPoolExtension;
 import com.microsoft.playwright.*;
 import com.microsoft.playwright.options.WaitForSelectorState;
-import org.junit.jupiter.api.AfterEach;
+import org.aeonbits.owner.ConfigFactory;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
 
+import static browserpool.BlockResources.Kind.*;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -17,22 +22,20 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
  * @author Oleg Todor
  * @since 2025-03-22
  */
+@ExtendWith(BrowserPoolExtension.class)
+@BlockResources({IMAGE, FONT, MEDIA, THIRD_PARTY})
 public class DynamicControlsTest {
-    Playwright playwright;
-    Browser browser;
+    private final EnvConfig config = ConfigFactory.create(EnvConfig.class, System.getProperties());
     Page page;
 
     /**
      * Настраивает окружение перед каждым тестом:
-     * 1. Создает экземпляр Playwright
-     * 2. Запускает браузер Chromium в режиме с графическим интерфейсом
-     * 3. Создает новую страницу для тестирования
+     * 1. Получает прогретый браузер и очищенный контекст из пула
+     * 2. Получает новую страницу с фильтром ненужных проверке ресурсов
      */
     @BeforeEach
-    void setUp() {
-        playwright = Playwright.create();
-        browser = playwright.chromium().launch(new BrowserType.LaunchOptions().setHeadless(false));
-        page = browser.newPage();
+    void setUp(Page page) {
+        this.page = page;
     }
 
     /**
@@ -46,7 +49,7 @@ public class DynamicControlsTest {
      */
     @Test
     void testDynamicCheckbox() {
-        page.navigate("https://the-internet.herokuapp.com/dynamic_controls");
+        page.navigate(config.baseUrl() + "/dynamic_controls");
 
         Locator checkbox = page.locator("input[type='checkbox']");
         Locator removeButton = page.locator("button:has-text('Remove')");
@@ -67,17 +70,4 @@ public class DynamicControlsTest {
         assertTrue(checkbox.isVisible(), "Чекбокс должен снова появиться");
         assertFalse(checkbox.isChecked(), "Чекбокс должен быть неактивным после восстановления");
     }
-
-    /**
-     * Выполняет очистку ресурсов после каждого теста:
-     * 1. Закрывает страницу
-     * 2. Закрывает браузер
-     * 3. Освобождает ресурсы Playwright
-     */
-    @AfterEach
-    void tearDown() {
-        page.close();
-        browser.close();
-        playwright.close();
-    }
-}
\ No newline at end of file
+}
@@ -1,8 +1,12 @@
 package selectors;
 
+import apiandui.EnvConfig;
+import browserpool.BrowserPoolExtension;
 import com.microsoft.playwright.*;
 import com.microsoft.playwright.options.LoadState;
+import org.aeonbits.owner.ConfigFactory;
 import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.extension.ExtendWith;
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
@@ -12,23 +16,20 @@ import static org.junit.jupiter.api.Assertions.*;
  * @author Oleg Todor
  * @since 2025-03-22
  */
+@ExtendWith(BrowserPoolExtension.class)
 public class HoverTest {
-    Playwright playwright;
-    Browser browser;
+    private final EnvConfig config = ConfigFactory.create(EnvConfig.class, System.getProperties());
     Page page;
 
     /**
      * Подготавливает окружение перед каждым тестом:
-     * 1. Инициализирует движок Playwright
-     * 2. Запускает браузер Chromium с графическим интерфейсом
-     * 3. Открывает тестовую страницу с элементами для наведения
+     * 1. Получает новую страницу в прогретом браузере из пула
+     * 2. Открывает тестовую страницу с элементами для наведения
      */
     @BeforeEach
-    void setUp() {
-        playwright = Playwright.create();
-        browser = playwright.chromium().launch(new BrowserType.LaunchOptions().setHeadless(false));
-        page = browser.newPage();
-        page.navigate("https://the-internet.herokuapp.com/hovers");
+    void setUp(Page page) {
+        this.page = page;
+        page.navigate(config.baseUrl() + "/hovers");
     }
 
     /**
@@ -62,17 +63,4 @@ public class HoverTest {
             figures = page.locator(".figure");
         }
     }
-
-    /**
-     * Очищает ресурсы после выполнения теста:
-     * 1. Закрывает текущую страницу
-     * 2. Останавливает браузер
-     * 3. Освобождает ресурсы Playwright
-     */
-    @AfterEach
-    void tearDown() {
-        page.close();
-        browser.close();
-        playwright.close();
-    }
 }
\ No newline at end of file
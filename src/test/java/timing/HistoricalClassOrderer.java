@@ -0,0 +1,37 @@
+package timing;
+
+import org.junit.jupiter.api.ClassDescriptor;
+import org.junit.jupiter.api.ClassOrderer;
+import org.junit.jupiter.api.ClassOrdererContext;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+
+/**
+ * Упорядочивает тестовые классы по истории {@link TimingStore} (см. {@link HistoricalOrder}):
+ * недавно упавшие первыми, затем самые долгие.
+ * Подключается в junit-platform.properties через junit.jupiter.testclass.order.default.
+ *
+ * При параллельном выполнении классы запускаются примерно в этом порядке, поэтому долгий класс
+ * (например, dynamic.DynamicContentTest с ожиданием 45 с) начинается сразу, а короткие
+ * заполняют освободившиеся потоки в конце прогона.
+ *
+ * @since 2026-10-18
+ */
+public class HistoricalClassOrderer implements ClassOrderer {
+    private static final int LOGGED_CLASSES = 5;
+
+    @Override
+    public void orderClasses(ClassOrdererContext context) {
+        List<? extends ClassDescriptor> descriptors = context.getClassDescriptors();
+        descriptors.sort(HistoricalOrder.<ClassDescriptor>comparator(descriptors, descriptor -> descriptor.getTestClass().getName(),
+                HistoricalOrder.store()));
+        if (descriptors.size() > 1 && !descriptors.get(0).getTestClass().isMemberClass()) {
+            System.out.println("Порядок классов по истории: " + descriptors.stream()
+                    .limit(LOGGED_CLASSES)
+                    .map(descriptor -> descriptor.getTestClass().getSimpleName())
+                    .collect(Collectors.joining(", ")) + (descriptors.size() > LOGGED_CLASSES ? ", ..." : ""));
+        }
+    }
+}
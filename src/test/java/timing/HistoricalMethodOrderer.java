@@ -0,0 +1,40 @@
+package timing;
+
+import org.junit.jupiter.api.MethodDescriptor;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.MethodOrdererContext;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+import org.junit.platform.engine.support.descriptor.MethodSource;
+
+import java.util.List;
+import java.util.Optional;
+
+
+/**
+ * Упорядочивает тестовые методы класса по истории {@link TimingStore} (см. {@link HistoricalOrder}):
+ * недавно упавшие первыми, затем самые долгие.
+ * Подключается в junit-platform.properties через junit.jupiter.testmethod.order.default.
+ *
+ * @since 2026-10-18
+ */
+public class HistoricalMethodOrderer implements MethodOrderer {
+
+    @Override
+    public void orderMethods(MethodOrdererContext context) {
+        String className = context.getTestClass().getName();
+        List<? extends MethodDescriptor> descriptors = context.getMethodDescriptors();
+        descriptors.sort(HistoricalOrder.<MethodDescriptor>comparator(descriptors, descriptor -> TimingStore.methodKey(className,
+                descriptor.getMethod().getName(),
+                MethodSource.from(context.getTestClass(), descriptor.getMethod()).getMethodParameterTypes()),
+                HistoricalOrder.store()));
+    }
+
+    /**
+     * Порядок нужен только для очередности запуска, поэтому методы остаются параллельными.
+     * Реализация по умолчанию вернула бы SAME_THREAD и выполняла бы методы класса последовательно.
+     */
+    @Override
+    public Optional<ExecutionMode> getDefaultExecutionMode() {
+        return Optional.empty();
+    }
+}
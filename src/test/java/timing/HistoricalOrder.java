@@ -0,0 +1,56 @@
+package timing;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.function.Function;
+
+
+/**
+ * Порядок выполнения по истории {@link TimingStore}:
+ * 1. Сначала тесты, падавшие в последних прогонах, чтобы о повторном падении стало известно раньше
+ * 2. Затем по убыванию длительности, чтобы самый долгий тест не начался последним и не растянул прогон
+ * 3. Тест без истории оценивается медианой известных длительностей среди упорядочиваемых
+ *
+ * История читается один раз на JVM и общая для упорядочивания классов и методов.
+ *
+ * @since 2026-10-18
+ */
+final class HistoricalOrder {
+    private static volatile TimingStore store;
+
+    private HistoricalOrder() {
+    }
+
+    static TimingStore store() {
+        if (store == null) {
+            synchronized (HistoricalOrder.class) {
+                if (store == null) {
+                    store = TimingStore.open();
+                }
+            }
+        }
+        return store;
+    }
+
+    /**
+     * Строит сравнение элементов по истории их ключей.
+     *
+     * @param items элементы, которые будут упорядочены
+     * @param key   ключ истории элемента
+     * @param store история длительностей и падений
+     * @return сравнение: недавно упавшие, затем по убыванию длительности
+     */
+    static <T> Comparator<T> comparator(Collection<? extends T> items, Function<T, String> key, TimingStore store) {
+        long[] known = items.stream()
+                .map(key)
+                .map(store::duration)
+                .filter(duration -> duration.isPresent())
+                .mapToLong(duration -> duration.getAsLong())
+                .sorted()
+                .toArray();
+        long median = known.length == 0 ? 0 : known[known.length / 2];
+        Comparator<T> failedFirst = Comparator.comparing(item -> !store.recentlyFailed(key.apply(item)));
+        return failedFirst.thenComparing(
+                Comparator.comparingLong((T item) -> store.duration(key.apply(item)).orElse(median)).reversed());
+    }
+}
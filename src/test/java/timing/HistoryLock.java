@@ -0,0 +1,65 @@
+package timing;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+
+/**
+ * Файловая блокировка истории прогонов ({@code .test-history}), общей для форков Surefire и контейнеров шардов.
+ * Блокируется не сам файл истории, а соседний {@code <имя>.lock}: файл истории может заменяться целиком
+ * (сжатие журнала), а блокировка должна пережить замену. Внутри действия файл перечитывается,
+ * изменения других процессов объединяются со своими и только затем записываются.
+ * Файловая блокировка принадлежит процессу, поэтому потоки одного процесса дополнительно
+ * синхронизируются по пути файла.
+ *
+ * @since 2026-10-18
+ */
+public final class HistoryLock {
+
+    /**
+     * Действие над файлом истории под блокировкой.
+     *
+     * @param <T> результат действия
+     */
+    @FunctionalInterface
+    public interface Action<T> {
+        T run() throws IOException;
+    }
+
+    private static final Map<Path, Object> MONITORS = new ConcurrentHashMap<>();
+
+    private HistoryLock() {
+    }
+
+    /**
+     * Выполняет действие, удерживая блокировку файла истории; каталог файла создается при необходимости.
+     *
+     * @param file   файл истории
+     * @param action действие
+     * @param <T>    результат действия
+     * @return результат действия
+     * @throws IOException если блокировку не удалось получить или действие завершилось ошибкой
+     */
+    public static <T> T locked(Path file, Action<T> action) throws IOException {
+        Path absolute = file.toAbsolutePath().normalize();
+        Path directory = absolute.getParent();
+        Files.createDirectories(directory);
+        synchronized (MONITORS.computeIfAbsent(absolute, key -> new Object())) {
+            try (FileChannel channel = FileChannel.open(directory.resolve(file.getFileName() + ".lock"),
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+                FileLock lock = channel.lock();
+                try {
+                    return action.run();
+                } finally {
+                    lock.release();
+                }
+            }
+        }
+    }
+}
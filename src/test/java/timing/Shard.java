@@ -0,0 +1,118 @@
+package timing;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Locale;
+import java.util.function.Function;
+
+
+/**
+ * Номер шарда текущего контейнера и общее число шардов.
+ * Значения берутся из системных свойств shard.* или переменных окружения SHARD_*:
+ * - shard.total / SHARD_TOTAL - число шардов; 1 или не задано - шардирование отключено
+ * - shard.index / SHARD_INDEX - номер шарда от 0, если задан явно
+ * - shard.dir / SHARD_DIR - общий каталог (том Docker) для захвата номера, если номер не задан
+ * - shard.run-id / SHARD_RUN_ID - идентификатор прогона, чтобы номера разных прогонов не пересекались;
+ *   обязателен при захвате номера через общий каталог
+ *
+ * Реплики {@code docker compose up --scale} запускаются с одинаковым окружением, поэтому номер
+ * захватывается атомарным созданием файла {@code <run-id>-<номер>} в общем каталоге.
+ * В файл записывается имя хоста, и повторный запуск в том же контейнере получает тот же номер.
+ * Файлы захвата остаются в томе между прогонами, а пересозданные контейнеры получают новые имена хостов,
+ * поэтому каждый прогон должен задавать свой идентификатор (например, {@code SHARD_RUN_ID=$(date +%s)}).
+ * По тому же идентификатору шарды прогона делят план распределения классов ({@link ShardFilter})
+ * и номер прогона в истории длительностей ({@link TimingStore}).
+ *
+ * @param index номер шарда от 0
+ * @param total число шардов
+ * @since 2026-10-18
+ */
+public record Shard(int index, int total) {
+
+    /**
+     * @return true, если тесты распределяются между несколькими шардами
+     */
+    public boolean enabled() {
+        return total > 1;
+    }
+
+    /**
+     * Определяет шард текущего процесса по системным свойствам и окружению.
+     *
+     * @return шард; при отключенном шардировании - единственный шард 0 из 1
+     */
+    public static Shard current() {
+        return resolve(Shard::setting, hostname());
+    }
+
+    /**
+     * @return идентификатор прогона из shard.run-id / SHARD_RUN_ID или null, если он не задан
+     */
+    public static String runId() {
+        String runId = setting("run-id");
+        return runId == null || runId.isBlank() ? null : runId.trim();
+    }
+
+    private static String setting(String key) {
+        String property = System.getProperty("shard." + key);
+        return property != null ? property : System.getenv("SHARD_" + key.replace('-', '_').toUpperCase(Locale.ROOT));
+    }
+
+    static Shard resolve(Function<String, String> settings, String owner) {
+        String total = settings.apply("total");
+        if (total == null || Integer.parseInt(total.trim()) <= 1) {
+            return new Shard(0, 1);
+        }
+        int shards = Integer.parseInt(total.trim());
+        String index = settings.apply("index");
+        if (index != null) {
+            return new Shard(Integer.parseInt(index.trim()), shards);
+        }
+        String dir = settings.apply("dir");
+        if (dir == null) {
+            throw new IllegalStateException("Для " + shards + " шардов нужен SHARD_INDEX или общий каталог SHARD_DIR");
+        }
+        String runId = settings.apply("run-id");
+        if (runId == null || runId.isBlank()) {
+            throw new IllegalStateException("Для захвата номера из " + shards
+                    + " шардов нужен уникальный для прогона SHARD_RUN_ID, например SHARD_RUN_ID=$(date +%s)");
+        }
+        return new Shard(claim(Paths.get(dir), runId.trim(), shards, owner), shards);
+    }
+
+    /**
+     * Захватывает первый свободный номер шарда в общем каталоге.
+     */
+    private static int claim(Path dir, String runId, int shards, String owner) {
+        try {
+            Files.createDirectories(dir);
+            for (int index = 0; index < shards; index++) {
+                Path claim = dir.resolve(runId + "-" + index);
+                try {
+                    Files.writeString(Files.createFile(claim), owner);
+                    return index;
+                } catch (FileAlreadyExistsException e) {
+                    if (Files.readString(claim).trim().equals(owner)) {
+                        return index;
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Не удалось захватить номер шарда в " + dir, e);
+        }
+        throw new IllegalStateException("Все " + shards + " шардов прогона " + runId + " уже заняты");
+    }
+
+    private static String hostname() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (IOException e) {
+            return String.valueOf(ProcessHandle.current().pid());
+        }
+    }
+}
@@ -0,0 +1,231 @@
+package timing;
+
+import org.junit.platform.engine.FilterResult;
+import org.junit.platform.engine.TestDescriptor;
+import org.junit.platform.engine.TestSource;
+import org.junit.platform.engine.support.descriptor.ClassSource;
+import org.junit.platform.engine.support.descriptor.MethodSource;
+import org.junit.platform.launcher.PostDiscoveryFilter;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Modifier;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+
+/**
+ * Фильтр после обнаружения тестов, оставляющий только классы текущего шарда.
+ * Регистрируется через META-INF/services.
+ *
+ * Surefire обнаруживает тесты несколько раз (сначала по одному классу, затем все вместе),
+ * поэтому план строится не по текущему обнаружению, а один раз по всем тестовым классам
+ * из каталогов classpath. Классы распределяются через {@link ShardPlanner} по истории {@link TimingStore},
+ * ожидаемая загрузка шардов выводится в лог.
+ *
+ * Реплики запускаются не одновременно, и шард, завершившийся первым, успевает дописать историю до того,
+ * как последний построит план. Поэтому при заданном идентификаторе прогона ({@link Shard#runId()}) план
+ * строит первый шард и сохраняет его рядом с историей ({@code shard-plan-<run-id>.properties}) под блокировкой
+ * журнала, а остальные читают сохраненный план. Без идентификатора каждый шард строит план сам, и история
+ * не должна меняться, пока шарды не прошли обнаружение тестов.
+ * Вложенные классы и методы попадают в шард своего внешнего класса; класс, не найденный
+ * при сканировании (например, унаследовавший все тесты), назначается по хешу имени.
+ *
+ * Без настроек шардирования (см. {@link Shard}) фильтр пропускает все тесты.
+ *
+ * @since 2026-10-18
+ */
+public class ShardFilter implements PostDiscoveryFilter {
+    private static final List<String> TEST_ANNOTATIONS = List.of(
+            "Lorg/junit/jupiter/api/Test;", "Lorg/junit/jupiter/params/ParameterizedTest;",
+            "Lorg/junit/jupiter/api/TestFactory;", "Lorg/junit/jupiter/api/RepeatedTest;",
+            "Lorg/junit/jupiter/api/TestTemplate;");
+
+    private final Shard shard = Shard.current();
+    private volatile Map<String, Integer> plan;
+
+    @Override
+    public FilterResult apply(TestDescriptor descriptor) {
+        if (!shard.enabled()) {
+            return FilterResult.included("Шардирование отключено");
+        }
+        Optional<String> className = topLevelClass(descriptor.getSource());
+        if (className.isEmpty()) {
+            return FilterResult.included("Не относится к тестовому классу");
+        }
+        Integer assigned = plan().get(className.get());
+        if (assigned == null) {
+            assigned = Math.floorMod(className.get().hashCode(), shard.total());
+        }
+        if (assigned == shard.index()) {
+            return FilterResult.included("Класс назначен шарду " + shard.index());
+        }
+        return FilterResult.excluded("Класс назначен шарду " + assigned);
+    }
+
+    private Map<String, Integer> plan() {
+        if (plan == null) {
+            synchronized (this) {
+                if (plan == null) {
+                    Supplier<ShardPlanner.Plan> planner = () -> ShardPlanner.plan(
+                            testClasses(Thread.currentThread().getContextClassLoader()),
+                            TimingStore.open()::duration, shard.total());
+                    String runId = Shard.runId();
+                    ShardPlanner.Plan planned = runId == null ? planner.get()
+                            : shared(Paths.get(System.getProperty("timing.file", ".test-history/timings.log")),
+                            runId, planner);
+                    for (int index = 0; index < shard.total(); index++) {
+                        System.out.printf("Шард %d из %d: классов %d, ожидаемая длительность %d с%s%n",
+                                index, shard.total(), planned.classes(index), planned.loads()[index] / 1000,
+                                index == shard.index() ? " (текущий)" : "");
+                    }
+                    plan = planned.assignment();
+                }
+            }
+        }
+        return plan;
+    }
+
+    /**
+     * Возвращает план прогона, общий для его шардов: сохраненный первым шардом или построенный и сохраненный
+     * сейчас. План хранится рядом с журналом истории и создается под его блокировкой.
+     *
+     * @param history файл журнала истории
+     * @param runId   идентификатор прогона
+     * @param planner построение плана по текущей истории
+     * @return план прогона
+     */
+    static ShardPlanner.Plan shared(Path history, String runId, Supplier<ShardPlanner.Plan> planner) {
+        Path file = history.toAbsolutePath()
+                .resolveSibling("shard-plan-" + runId.replaceAll("[^\\w.-]", "_") + ".properties");
+        try {
+            return HistoryLock.locked(history, () -> {
+                if (Files.exists(file)) {
+                    return read(file);
+                }
+                ShardPlanner.Plan planned = planner.get();
+                write(planned, file);
+                return planned;
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException("Не удалось получить план шардов " + file, e);
+        }
+    }
+
+    private static void write(ShardPlanner.Plan plan, Path file) throws IOException {
+        Properties properties = new Properties();
+        plan.assignment().forEach((className, shard) -> properties.setProperty("class." + className, shard.toString()));
+        for (int index = 0; index < plan.loads().length; index++) {
+            properties.setProperty("load." + index, String.valueOf(plan.loads()[index]));
+        }
+        Path temp = Files.createTempFile(file.getParent(), "shard-plan", ".tmp");
+        try (OutputStream stream = Files.newOutputStream(temp)) {
+            properties.store(stream, "План распределения классов по шардам");
+        }
+        Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static ShardPlanner.Plan read(Path file) throws IOException {
+        Properties properties = new Properties();
+        try (InputStream stream = Files.newInputStream(file)) {
+            properties.load(stream);
+        }
+        Map<String, Integer> assignment = new HashMap<>();
+        Map<Integer, Long> loads = new TreeMap<>();
+        for (String key : properties.stringPropertyNames()) {
+            if (key.startsWith("class.")) {
+                assignment.put(key.substring("class.".length()), Integer.parseInt(properties.getProperty(key)));
+            } else if (key.startsWith("load.")) {
+                loads.put(Integer.parseInt(key.substring("load.".length())), Long.parseLong(properties.getProperty(key)));
+            }
+        }
+        return new ShardPlanner.Plan(assignment, loads.values().stream().mapToLong(Long::longValue).toArray());
+    }
+
+    /**
+     * Находит в каталогах classpath конкретные классы верхнего уровня, в которых или во вложенных
+     * классах которых есть тестовые методы JUnit Jupiter.
+     *
+     * @param classLoader загрузчик тестовых классов
+     * @return имена тестовых классов
+     */
+    static Set<String> testClasses(ClassLoader classLoader) {
+        Set<String> classes = new TreeSet<>();
+        try {
+            Enumeration<URL> roots = classLoader.getResources("");
+            while (roots.hasMoreElements()) {
+                URL root = roots.nextElement();
+                if ("file".equals(root.getProtocol())) {
+                    scan(Paths.get(root.toURI()), classLoader, classes);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (URISyntaxException e) {
+            throw new IllegalStateException(e);
+        }
+        return classes;
+    }
+
+    private static void scan(Path root, ClassLoader classLoader, Set<String> classes) throws IOException {
+        try (Stream<Path> files = Files.walk(root)) {
+            for (Path file : (Iterable<Path>) files.filter(path -> path.toString().endsWith(".class"))::iterator) {
+                String relative = root.relativize(file).toString();
+                String bytes = new String(Files.readAllBytes(file), StandardCharsets.ISO_8859_1);
+                if (TEST_ANNOTATIONS.stream().noneMatch(bytes::contains)) {
+                    continue;
+                }
+                String name = relative.substring(0, relative.length() - ".class".length())
+                        .replace(File.separatorChar, '.');
+                if (name.contains("$")) {
+                    name = name.substring(0, name.indexOf('$'));
+                }
+                if (isConcrete(name, classLoader)) {
+                    classes.add(name);
+                }
+            }
+        }
+    }
+
+    private static boolean isConcrete(String name, ClassLoader classLoader) {
+        try {
+            Class<?> type = Class.forName(name, false, classLoader);
+            return !Modifier.isAbstract(type.getModifiers()) && !type.isInterface();
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+
+    static Optional<String> topLevelClass(Optional<TestSource> source) {
+        String name = null;
+        if (source.isPresent() && source.get() instanceof ClassSource classSource) {
+            name = classSource.getClassName();
+        } else if (source.isPresent() && source.get() instanceof MethodSource methodSource) {
+            name = methodSource.getClassName();
+        }
+        if (name == null) {
+            return Optional.empty();
+        }
+        int nested = name.indexOf('$');
+        return Optional.of(nested < 0 ? name : name.substring(0, nested));
+    }
+}
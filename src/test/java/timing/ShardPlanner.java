@@ -0,0 +1,96 @@
+package timing;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.function.Function;
+
+
+/**
+ * Распределение тестовых классов по шардам с учетом их исторической длительности.
+ * Используется жадный алгоритм LPT (longest processing time first): классы сортируются по убыванию
+ * длительности и по очереди назначаются наименее загруженному шарду. Так самые долгие классы
+ * не оказываются в одном шарде, и шарды завершаются примерно одновременно.
+ *
+ * Распределение детерминировано: при одинаковой истории все контейнеры получают одинаковый план
+ * и каждый выбирает из него только свою часть.
+ *
+ * @since 2026-10-18
+ */
+public final class ShardPlanner {
+    private static final long DEFAULT_DURATION_MILLIS = 10_000;
+
+    private ShardPlanner() {
+    }
+
+    /**
+     * План распределения.
+     *
+     * @param assignment номер шарда для каждого класса
+     * @param loads      ожидаемая длительность каждого шарда в миллисекундах
+     */
+    public record Plan(Map<String, Integer> assignment, long[] loads) {
+        /**
+         * @param shard номер шарда
+         * @return число классов, назначенных шарду
+         */
+        public long classes(int shard) {
+            return assignment.values().stream().filter(value -> value == shard).count();
+        }
+    }
+
+    /**
+     * Распределяет классы по шардам.
+     *
+     * @param classes  имена классов верхнего уровня
+     * @param duration историческая длительность класса в миллисекундах
+     * @param shards   число шардов
+     * @return план распределения
+     */
+    public static Plan plan(Set<String> classes, Function<String, OptionalLong> duration, int shards) {
+        Map<String, Long> estimates = new HashMap<>();
+        List<Long> known = new ArrayList<>();
+        for (String className : classes) {
+            OptionalLong millis = duration.apply(className);
+            if (millis.isPresent()) {
+                estimates.put(className, millis.getAsLong());
+                known.add(millis.getAsLong());
+            }
+        }
+        long unknown = median(known);
+        classes.forEach(className -> estimates.putIfAbsent(className, unknown));
+
+        List<String> ordered = new ArrayList<>(classes);
+        ordered.sort(Comparator.<String>comparingLong(estimates::get).reversed().thenComparing(Comparator.naturalOrder()));
+
+        long[] loads = new long[shards];
+        Map<String, Integer> assignment = new HashMap<>();
+        for (String className : ordered) {
+            int lightest = 0;
+            for (int shard = 1; shard < shards; shard++) {
+                if (loads[shard] < loads[lightest]) {
+                    lightest = shard;
+                }
+            }
+            loads[lightest] += estimates.get(className);
+            assignment.put(className, lightest);
+        }
+        return new Plan(assignment, loads);
+    }
+
+    /**
+     * Длительность класса без истории - медиана известных, иначе значение по умолчанию.
+     */
+    private static long median(List<Long> known) {
+        if (known.isEmpty()) {
+            return DEFAULT_DURATION_MILLIS;
+        }
+        List<Long> sorted = new ArrayList<>(known);
+        sorted.sort(null);
+        return sorted.get(sorted.size() / 2);
+    }
+}
@@ -0,0 +1,106 @@
+package timing;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+/**
+ * Тестовый класс для проверки распределения тестовых классов по шардам
+ * и захвата номера шарда репликами контейнера.
+ *
+ * @since 2026-10-18
+ */
+public class ShardPlannerTest {
+
+    @TempDir
+    Path shards;
+
+    /**
+     * Проверяет распределение по длительности:
+     * 1. Самые долгие классы попадают в разные шарды
+     * 2. Класс без истории оценивается медианой известных длительностей
+     * 3. Разница загрузки шардов не превышает самого короткого класса
+     */
+    @Test
+    void testLongestClassesAreSpreadAcrossShards() {
+        Map<String, Long> history = Map.of(
+                "dynamic.DynamicContentTest", 45_000L,
+                "selectors.DynamicControlsTest", 40_000L,
+                "selectors.HoverTest", 5_000L,
+                "faker.DynamicFakerTest", 4_000L,
+                "auto.ExampleTest", 1_000L);
+
+        ShardPlanner.Plan plan = ShardPlanner.plan(
+                new TreeSet<>(List.of("dynamic.DynamicContentTest", "selectors.DynamicControlsTest",
+                        "selectors.HoverTest", "faker.DynamicFakerTest", "auto.ExampleTest", "pom.tests.DragDropTest")),
+                className -> history.containsKey(className) ? OptionalLong.of(history.get(className)) : OptionalLong.empty(),
+                2);
+
+        assertNotEquals(plan.assignment().get("dynamic.DynamicContentTest"),
+                plan.assignment().get("selectors.DynamicControlsTest"));
+        assertEquals(6, plan.assignment().size());
+        assertEquals(100_000, plan.loads()[0] + plan.loads()[1], "Класс без истории должен получить медиану 5 с");
+        assertTrue(Math.abs(plan.loads()[0] - plan.loads()[1]) <= 1_000, "Шарды должны быть сбалансированы");
+    }
+
+    /**
+     * Проверяет захват номеров репликами с одинаковым окружением:
+     * 1. Разные хосты получают разные номера
+     * 2. Повторный запуск на том же хосте получает прежний номер
+     * 3. Лишняя реплика получает ошибку
+     * 4. Без идентификатора прогона номер не захватывается
+     */
+    @Test
+    void testReplicasClaimDistinctShards() {
+        Map<String, String> settings = Map.of("total", "2", "dir", shards.toString(), "run-id", "42");
+
+        assertEquals(new Shard(0, 2), Shard.resolve(settings::get, "tests-1"));
+        assertEquals(new Shard(1, 2), Shard.resolve(settings::get, "tests-2"));
+        assertEquals(new Shard(0, 2), Shard.resolve(settings::get, "tests-1"));
+        assertThrows(IllegalStateException.class, () -> Shard.resolve(settings::get, "tests-3"));
+        assertFalse(Shard.resolve(key -> null, "tests-1").enabled());
+        Map<String, String> withoutRunId = Map.of("total", "2", "dir", shards.toString());
+        assertThrows(IllegalStateException.class, () -> Shard.resolve(withoutRunId::get, "tests-1"));
+    }
+
+    /**
+     * Проверяет общий план прогона:
+     * 1. План строит только первый шард, остальные читают сохраненный, даже если история изменилась
+     * 2. Другой прогон строит свой план
+     */
+    @Test
+    void testShardsOfOneRunShareSavedPlan() {
+        Path history = shards.resolve("timings.log");
+        AtomicInteger planned = new AtomicInteger();
+        Set<String> classes = new TreeSet<>(List.of("dynamic.DynamicContentTest", "selectors.HoverTest",
+                "auto.ExampleTest"));
+        Map<String, Long> durations = new HashMap<>(Map.of("dynamic.DynamicContentTest", 45_000L));
+        Supplier<ShardPlanner.Plan> planner = () -> {
+            planned.incrementAndGet();
+            return ShardPlanner.plan(classes, className -> durations.containsKey(className)
+                    ? OptionalLong.of(durations.get(className)) : OptionalLong.empty(), 2);
+        };
+
+        ShardPlanner.Plan first = ShardFilter.shared(history, "42", planner);
+        durations.put("selectors.HoverTest", 90_000L);
+        ShardPlanner.Plan second = ShardFilter.shared(history, "42", planner);
+
+        assertEquals(1, planned.get());
+        assertEquals(first.assignment(), second.assignment());
+        assertArrayEquals(first.loads(), second.loads());
+        ShardFilter.shared(history, "43", planner);
+        assertEquals(2, planned.get());
+    }
+}
@@ -0,0 +1,73 @@
+package timing;
+
+import org.junit.platform.engine.TestExecutionResult;
+import org.junit.platform.engine.TestSource;
+import org.junit.platform.engine.support.descriptor.ClassSource;
+import org.junit.platform.engine.support.descriptor.MethodSource;
+import org.junit.platform.launcher.TestExecutionListener;
+import org.junit.platform.launcher.TestIdentifier;
+import org.junit.platform.launcher.TestPlan;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * Слушатель выполнения, замеряющий длительность тестовых классов верхнего уровня и тестовых методов
+ * и сохраняющий ее вместе с падениями в {@link TimingStore} по завершении прогона.
+ * Регистрируется через META-INF/services и работает для любого способа запуска (Maven, IDE).
+ * Длительность вложенных классов входит в длительность внешнего класса, длительность
+ * параметризованного метода - время выполнения всех его вызовов.
+ *
+ * @since 2026-10-18
+ */
+public class TimingRecorder implements TestExecutionListener {
+    private final Map<String, Long> started = new ConcurrentHashMap<>();
+    private final Map<String, Long> measured = new ConcurrentHashMap<>();
+    private final Set<String> failed = ConcurrentHashMap.newKeySet();
+
+    @Override
+    public void executionStarted(TestIdentifier testIdentifier) {
+        key(testIdentifier).ifPresent(key -> started.put(testIdentifier.getUniqueId(), System.nanoTime()));
+    }
+
+    @Override
+    public void executionFinished(TestIdentifier testIdentifier, TestExecutionResult testExecutionResult) {
+        key(testIdentifier).ifPresent(key -> {
+            Long start = started.remove(testIdentifier.getUniqueId());
+            if (start != null) {
+                measured.merge(key, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), Math::max);
+            }
+            if (testExecutionResult.getStatus() == TestExecutionResult.Status.FAILED) {
+                failed.add(key);
+                ShardFilter.topLevelClass(testIdentifier.getSource()).ifPresent(failed::add);
+            }
+        });
+    }
+
+    @Override
+    public void testPlanExecutionFinished(TestPlan testPlan) {
+        TimingStore.open().record(measured, failed);
+        measured.clear();
+        failed.clear();
+    }
+
+    /**
+     * Ключ истории: имя класса верхнего уровня или ключ метода.
+     * Вызовы параметризованного метода имеют тот же источник, что и сам метод,
+     * поэтому учитывается максимальная длительность - длительность контейнера со всеми вызовами.
+     */
+    private static Optional<String> key(TestIdentifier identifier) {
+        Optional<TestSource> source = identifier.getSource();
+        if (source.isPresent() && source.get() instanceof MethodSource method) {
+            return Optional.of(TimingStore.methodKey(method.getClassName(), method.getMethodName(),
+                    method.getMethodParameterTypes()));
+        }
+        return source.filter(ClassSource.class::isInstance)
+                .map(classSource -> ((ClassSource) classSource).getClassName())
+                .filter(name -> !name.contains("$"));
+    }
+}
@@ -0,0 +1,268 @@
+package timing;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.Set;
+
+
+/**
+ * История длительностей и падений тестов, сохраняемая между прогонами.
+ * Хранит записи двух видов:
+ * - класс верхнего уровня - ключ равен полному имени класса
+ * - тестовый метод - ключ {@code <класс>#<метод>(<типы параметров>)}
+ *
+ * Файл - журнал, в который каждый прогон только дописывает строки своих тестов, поля через табуляцию:
+ * {@code <номер прогона> <ключ> <мс> <номер прогона последнего падения или -1>}.
+ * При чтении строки одного ключа сворачиваются: длительность сглаживается с предыдущей,
+ * чтобы единичный медленный прогон не перестраивал порядок, а номер последнего падения берется максимальный.
+ * Когда строк становится заметно больше, чем ключей, журнал сжимается до одной строки на ключ.
+ *
+ * Файл может быть общим для нескольких контейнеров (том Docker), поэтому дозапись и сжатие
+ * выполняются под файловой блокировкой ({@link HistoryLock}).
+ *
+ * Номер прогона увеличивается один раз на прогон, а не на каждого писателя: шарды одного прогона
+ * (общий {@code SHARD_RUN_ID}, см. {@link Shard}) записывают результаты под одним номером, соответствие
+ * идентификаторов номерам хранится в соседнем файле {@code <файл>.runs}. Без идентификатора каждая запись
+ * открывает новый прогон.
+ *
+ * Расположение файла задается системным свойством timing.file, по умолчанию .test-history/timings.log.
+ *
+ * @since 2026-10-18
+ */
+public class TimingStore {
+    private static final int RECENT_RUNS = 3;
+    private static final int COMPACTION_SLACK = 100;
+    /** Число последних идентификаторов прогонов, хранимых в файле номеров */
+    private static final int KEPT_RUN_IDS = 50;
+
+    private final Path file;
+    private final Map<String, Entry> entries;
+    private long lastRun;
+
+    /**
+     * Свернутая история одного ключа.
+     *
+     * @param millis          сглаженная длительность в миллисекундах
+     * @param lastRun         номер последнего прогона, в котором ключ выполнялся
+     * @param lastFailedRun   номер последнего прогона с падением или -1
+     */
+    public record Entry(long millis, long lastRun, long lastFailedRun) {
+        Entry merge(Entry next) {
+            return new Entry(smooth(millis, next.millis), Math.max(lastRun, next.lastRun),
+                    Math.max(lastFailedRun, next.lastFailedRun));
+        }
+    }
+
+    private TimingStore(Path file, Map<String, Entry> entries, long lastRun) {
+        this.file = file;
+        this.entries = entries;
+        this.lastRun = lastRun;
+    }
+
+    /**
+     * @return хранилище по пути из системного свойства timing.file
+     */
+    public static TimingStore open() {
+        return load(Paths.get(System.getProperty("timing.file", ".test-history/timings.log")));
+    }
+
+    /**
+     * Загружает историю из файла.
+     *
+     * @param file файл истории; отсутствующий файл означает пустую историю
+     * @return хранилище с загруженными длительностями
+     */
+    public static TimingStore load(Path file) {
+        Map<String, Entry> entries = new HashMap<>();
+        long lastRun = fold(readLines(file), entries);
+        return new TimingStore(file, entries, lastRun);
+    }
+
+    /**
+     * Формирует ключ тестового метода.
+     *
+     * @param className      имя тестового класса
+     * @param methodName     имя метода
+     * @param parameterTypes типы параметров через запятую, как в {@code MethodSource}
+     * @return ключ {@code <класс>#<метод>(<типы параметров>)}
+     */
+    public static String methodKey(String className, String methodName, String parameterTypes) {
+        return className + "#" + methodName + "(" + parameterTypes + ")";
+    }
+
+    /**
+     * @param key имя класса или ключ метода
+     * @return длительность в миллисекундах или пустое значение, если тест еще не выполнялся
+     */
+    public OptionalLong duration(String key) {
+        Entry entry = entries.get(key);
+        return entry == null ? OptionalLong.empty() : OptionalLong.of(entry.millis());
+    }
+
+    /**
+     * Проверяет, падал ли тест в одном из последних прогонов.
+     *
+     * @param key имя класса или ключ метода
+     * @return true, если падение было в пределах трех последних прогонов
+     */
+    public boolean recentlyFailed(String key) {
+        Entry entry = entries.get(key);
+        return entry != null && entry.lastFailedRun() >= 0 && entry.lastFailedRun() > lastRun - RECENT_RUNS;
+    }
+
+    /**
+     * @return свернутая история всех ключей
+     */
+    public Map<String, Entry> entries() {
+        return Collections.unmodifiableMap(entries);
+    }
+
+    /**
+     * Дописывает результаты прогона в журнал и при необходимости сжимает его.
+     * Прогон определяется идентификатором {@link Shard#runId()}.
+     *
+     * @param measured длительности классов и методов текущего прогона в миллисекундах
+     * @param failed   ключи упавших классов и методов
+     */
+    public void record(Map<String, Long> measured, Set<String> failed) {
+        record(measured, failed, Shard.runId());
+    }
+
+    /**
+     * Дописывает результаты прогона в журнал и при необходимости сжимает его.
+     *
+     * @param measured длительности классов и методов текущего прогона в миллисекундах
+     * @param failed   ключи упавших классов и методов
+     * @param runId    идентификатор прогона, общий для его шардов, или null - запись открывает новый прогон
+     */
+    void record(Map<String, Long> measured, Set<String> failed, String runId) {
+        if (measured.isEmpty()) {
+            return;
+        }
+        try {
+            HistoryLock.locked(file, () -> {
+                List<String> lines = readLines(file);
+                long run = runNumber(fold(lines, new HashMap<>()), runId);
+
+                List<String> appended = new ArrayList<>();
+                measured.forEach((key, millis) -> appended.add(
+                        line(key, new Entry(millis, run, failed.contains(key) ? run : -1))));
+                Files.write(file, appended, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+
+                lines.addAll(appended);
+                entries.clear();
+                lastRun = fold(lines, entries);
+                if (lines.size() > entries.size() * 2 + COMPACTION_SLACK) {
+                    compact(file.toAbsolutePath().getParent());
+                }
+                return null;
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException("Не удалось сохранить историю длительностей " + file, e);
+        }
+    }
+
+    /**
+     * Номер прогона для записи: номер, уже выданный другому шарду с тем же идентификатором, или следующий
+     * за последним в журнале. Вызывается под блокировкой журнала.
+     *
+     * @param lastRun номер последнего прогона в журнале
+     * @param runId   идентификатор прогона или null
+     * @return номер прогона
+     */
+    private long runNumber(long lastRun, String runId) throws IOException {
+        if (runId == null) {
+            return lastRun + 1;
+        }
+        Path runs = file.resolveSibling(file.getFileName() + ".runs");
+        List<String> known = readLines(runs);
+        for (String line : known) {
+            String[] parts = line.split("\t");
+            if (parts.length == 2 && parts[0].equals(runId)) {
+                try {
+                    return Long.parseLong(parts[1]);
+                } catch (NumberFormatException ignored) {
+                    // Поврежденная строка пропускается
+                }
+            }
+        }
+        long run = lastRun + 1;
+        known.add(runId + "\t" + run);
+        Files.write(runs, known.subList(Math.max(0, known.size() - KEPT_RUN_IDS), known.size()), StandardCharsets.UTF_8);
+        return run;
+    }
+
+    /**
+     * Экспоненциальное сглаживание: новое значение входит с весом 1/2.
+     */
+    static long smooth(long previous, long current) {
+        return (previous + current) / 2;
+    }
+
+    /**
+     * Переписывает журнал по одной строке на ключ.
+     */
+    private void compact(Path directory) throws IOException {
+        Path temp = Files.createTempFile(directory, "timings", ".tmp");
+        try (Writer writer = Files.newBufferedWriter(temp)) {
+            for (Map.Entry<String, Entry> entry : entries.entrySet()) {
+                writer.write(line(entry.getKey(), entry.getValue()));
+                writer.write('\n');
+            }
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static String line(String key, Entry entry) {
+        return String.join("\t", String.valueOf(entry.lastRun()), key, String.valueOf(entry.millis()),
+                String.valueOf(entry.lastFailedRun()));
+    }
+
+    /**
+     * Сворачивает строки журнала в историю ключей.
+     *
+     * @return номер последнего прогона в журнале
+     */
+    private static long fold(List<String> lines, Map<String, Entry> entries) {
+        long lastRun = 0;
+        for (String line : lines) {
+            String[] parts = line.split("\t");
+            if (parts.length != 4) {
+                continue;
+            }
+            try {
+                Entry entry = new Entry(Long.parseLong(parts[2]), Long.parseLong(parts[0]), Long.parseLong(parts[3]));
+                entries.merge(parts[1], entry, Entry::merge);
+                lastRun = Math.max(lastRun, entry.lastRun());
+            } catch (NumberFormatException ignored) {
+                // Поврежденная строка журнала пропускается
+            }
+        }
+        return lastRun;
+    }
+
+    private static List<String> readLines(Path file) {
+        if (!Files.exists(file)) {
+            return new ArrayList<>();
+        }
+        try {
+            return new ArrayList<>(Files.readAllLines(file, StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            System.err.println("История длительностей не прочитана, используется пустая: " + e.getMessage());
+            return new ArrayList<>();
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package timing;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+/**
+ * Тестовый класс для проверки журнала длительностей и порядка запуска по истории.
+ *
+ * @since 2026-10-18
+ */
+public class TimingStoreTest {
+
+    @TempDir
+    Path history;
+
+    /**
+     * Проверяет дозапись и свертку журнала:
+     * 1. Каждый прогон дописывает строки и получает следующий номер
+     * 2. Длительность сглаживается с предыдущей
+     * 3. Падение считается недавним только в пределах трех прогонов
+     */
+    @Test
+    void testRunsAreAppendedAndFolded() throws Exception {
+        Path file = history.resolve("timings.log");
+        TimingStore.load(file).record(Map.of("auto.ExampleTest", 1_000L), Set.of("auto.ExampleTest"));
+        TimingStore.load(file).record(Map.of("auto.ExampleTest", 3_000L), Set.of());
+
+        TimingStore store = TimingStore.load(file);
+        assertEquals(2, Files.readAllLines(file).size());
+        assertEquals(OptionalLong.of(2_000), store.duration("auto.ExampleTest"));
+        assertTrue(store.recentlyFailed("auto.ExampleTest"));
+        assertEquals(OptionalLong.empty(), store.duration("selectors.HoverTest"));
+
+        store.record(Map.of("auto.ExampleTest", 2_000L), Set.of());
+        store.record(Map.of("auto.ExampleTest", 2_000L), Set.of());
+        assertFalse(TimingStore.load(file).recentlyFailed("auto.ExampleTest"));
+    }
+
+    /**
+     * Проверяет номер прогона при нескольких писателях:
+     * 1. Шарды одного прогона записывают результаты под одним номером
+     * 2. Следующий прогон получает следующий номер, а падение в нем считается недавним
+     */
+    @Test
+    void testShardsOfOneRunShareRunNumber() {
+        Path file = history.resolve("timings.log");
+        TimingStore.load(file).record(Map.of("auto.ExampleTest", 1_000L), Set.of(), "build-1");
+        TimingStore.load(file).record(Map.of("selectors.HoverTest", 2_000L), Set.of(), "build-1");
+        TimingStore.load(file).record(Map.of("faker.DynamicFakerTest", 3_000L), Set.of(), "build-1");
+
+        TimingStore store = TimingStore.load(file);
+        assertEquals(1, store.entries().get("auto.ExampleTest").lastRun());
+        assertEquals(1, store.entries().get("faker.DynamicFakerTest").lastRun());
+
+        TimingStore.load(file).record(Map.of("auto.ExampleTest", 1_000L), Set.of("auto.ExampleTest"), "build-2");
+        TimingStore.load(file).record(Map.of("selectors.HoverTest", 2_000L), Set.of(), "build-2");
+        store = TimingStore.load(file);
+        assertEquals(2, store.entries().get("selectors.HoverTest").lastRun());
+        assertTrue(store.recentlyFailed("auto.ExampleTest"));
+    }
+
+    /**
+     * Проверяет сжатие журнала: после множества прогонов одного ключа остается одна строка
+     * с той же свернутой историей.
+     */
+    @Test
+    void testJournalIsCompacted() throws Exception {
+        Path file = history.resolve("timings.log");
+        TimingStore store = TimingStore.load(file);
+        for (int run = 0; run < 150; run++) {
+            store.record(Map.of("dynamic.DynamicContentTest", 45_000L), Set.of());
+        }
+
+        assertTrue(Files.readAllLines(file).size() < 110, "Журнал должен сжиматься");
+        assertEquals(OptionalLong.of(45_000), TimingStore.load(file).duration("dynamic.DynamicContentTest"));
+        assertEquals(150, TimingStore.load(file).entries().get("dynamic.DynamicContentTest").lastRun());
+    }
+
+    /**
+     * Проверяет порядок запуска:
+     * 1. Недавно упавший класс идет первым независимо от длительности
+     * 2. Остальные - по убыванию длительности
+     * 3. Класс без истории оценивается медианой (5 с) и при равенстве сохраняет исходный порядок
+     */
+    @Test
+    void testFailedAndLongestClassesGoFirst() {
+        Path file = history.resolve("timings.log");
+        TimingStore.load(file).record(Map.of(
+                "dynamic.DynamicContentTest", 45_000L,
+                "selectors.HoverTest", 5_000L,
+                "faker.DynamicFakerTest", 4_000L,
+                "auto.ExampleTest", 1_000L), Set.of("auto.ExampleTest"));
+        TimingStore store = TimingStore.load(file);
+
+        List<String> classes = new ArrayList<>(List.of("faker.DynamicFakerTest", "auto.ExampleTest",
+                "pom.tests.DragDropTest", "selectors.HoverTest", "dynamic.DynamicContentTest"));
+        classes.sort(HistoricalOrder.comparator(classes, name -> name, store));
+
+        assertEquals(List.of("auto.ExampleTest", "dynamic.DynamicContentTest", "pom.tests.DragDropTest",
+                "selectors.HoverTest", "faker.DynamicFakerTest"), classes);
+    }
+}
@@ -0,0 +1,41 @@
+package waits;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+
+/**
+ * Переопределяет для теста параметры адаптивных таймаутов ожиданий ({@link AdaptiveTimeouts}).
+ * Нулевое значение параметра означает значение из junit-platform.properties.
+ * Аннотация на методе заменяет аннотацию класса; у вложенных классов учитываются внешние.
+ *
+ * @since 2026-10-18
+ */
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Inherited
+public @interface AdaptiveTimeout {
+
+    /**
+     * @return false - ожидания теста используют таймауты, заданные в коде
+     */
+    boolean enabled() default true;
+
+    /**
+     * @return множитель к p99 длительности ожидания
+     */
+    double multiplier() default 0;
+
+    /**
+     * @return нижняя граница таймаута, мс
+     */
+    long floorMs() default 0;
+
+    /**
+     * @return верхняя граница таймаута, мс
+     */
+    long ceilingMs() default 0;
+}
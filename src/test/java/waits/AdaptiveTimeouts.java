@@ -0,0 +1,273 @@
+package waits;
+
+import org.junit.jupiter.api.extension.ExtensionContext;
+import reports.CsvReport;
+import timing.HistoryLock;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+
+/**
+ * Таймауты ожиданий, вычисляемые по истории их длительности: p99 последних {@value #SAMPLES} успешных ожиданий
+ * операции, умноженный на коэффициент и ограниченный снизу и сверху, но не больше таймаута из кода. Зависшее
+ * ожидание освобождает поток через несколько p99, а не через минуту, заданную в коде с запасом.
+ *
+ * Операция - вызов, цель и состояние ожидания, например {@code Locator.waitFor #finish [VISIBLE]}.
+ * Таймаут из кода используется, пока у операции меньше minSamples наблюдений, и для тестов
+ * с {@code @AdaptiveTimeout(enabled = false)}. Длительности прогона добавляются в историю при его завершении,
+ * а выбранные таймауты записываются в target/wait-profile/timeouts.csv.
+ *
+ * Длительности зависят от тестируемого окружения (локальный сервер страниц отвечает быстрее реального сайта),
+ * поэтому у каждого адреса base.url своя история: .test-history/wait-timeouts-&lt;адрес&gt;.properties
+ * (см. {@link #historyFile(Path, String)}). Файл истории общий для форков Surefire и контейнеров шардов:
+ * при сохранении он перечитывается под блокировкой {@link HistoryLock}, и длительности прогона
+ * добавляются к уже сохраненным другими процессами.
+ *
+ * @since 2026-10-18
+ */
+public class AdaptiveTimeouts implements ExtensionContext.Store.CloseableResource {
+    /** Число последних длительностей операции, хранимых в истории */
+    static final int SAMPLES = 50;
+    /** Заголовок CSV отчета */
+    static final String CSV_HEADER = "operation,samples,p99_ms,requested_ms,chosen_ms";
+
+    private static volatile AdaptiveTimeouts current;
+    private static final ThreadLocal<Policy> POLICY = new ThreadLocal<>();
+
+    private final Path file;
+    private final Path report;
+    private final Policy defaults;
+    private final Properties history = new Properties();
+    private final Map<String, List<Long>> observed = new HashMap<>();
+    private final Map<String, Choice> choices = new TreeMap<>();
+
+    /**
+     * Параметры расчета таймаута.
+     *
+     * @param enabled    вычислять ли таймаут по истории
+     * @param multiplier множитель к p99
+     * @param floorMs    нижняя граница, мс
+     * @param ceilingMs  верхняя граница, мс
+     * @param minSamples наименьшее число наблюдений операции для расчета
+     */
+    public record Policy(boolean enabled, double multiplier, long floorMs, long ceilingMs, int minSamples) {
+
+        /**
+         * @param annotation переопределение теста или null
+         * @return параметры с учетом переопределения
+         */
+        Policy with(AdaptiveTimeout annotation) {
+            if (annotation == null) {
+                return this;
+            }
+            return new Policy(enabled && annotation.enabled(),
+                    annotation.multiplier() > 0 ? annotation.multiplier() : multiplier,
+                    annotation.floorMs() > 0 ? annotation.floorMs() : floorMs,
+                    annotation.ceilingMs() > 0 ? annotation.ceilingMs() : ceilingMs, minSamples);
+        }
+    }
+
+    /**
+     * Таймаут, выбранный для операции; при нескольких выборах хранится последний.
+     */
+    record Choice(int samples, long p99, double requested, double chosen) {
+    }
+
+    /**
+     * @param file     файл истории длительностей
+     * @param report   CSV-файл выбранных таймаутов
+     * @param defaults параметры по умолчанию
+     */
+    public AdaptiveTimeouts(Path file, Path report, Policy defaults) {
+        this.file = file;
+        this.report = report;
+        this.defaults = defaults;
+        load();
+    }
+
+    private void load() {
+        if (Files.exists(file)) {
+            try (InputStream stream = Files.newInputStream(file)) {
+                history.load(stream);
+            } catch (IOException e) {
+                System.err.println("Не удалось прочитать " + file + ": " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Делает сервис текущим для ожиданий прогона.
+     *
+     * @param timeouts сервис или null, чтобы отключить адаптацию
+     */
+    static void use(AdaptiveTimeouts timeouts) {
+        current = timeouts;
+    }
+
+    /**
+     * Устанавливает параметры теста в текущем потоке.
+     *
+     * @param annotation переопределение теста или null
+     */
+    static void enter(AdaptiveTimeout annotation) {
+        AdaptiveTimeouts timeouts = current;
+        if (timeouts != null) {
+            POLICY.set(timeouts.defaults.with(annotation));
+        }
+    }
+
+    static void leave() {
+        POLICY.remove();
+    }
+
+    /**
+     * Таймаут ожидания операции для текущего теста.
+     *
+     * @param operation операция
+     * @param requested таймаут из кода, мс
+     * @return таймаут, мс
+     */
+    static double adapt(String operation, double requested) {
+        AdaptiveTimeouts timeouts = current;
+        Policy policy = POLICY.get();
+        return timeouts == null || policy == null ? requested : timeouts.choose(operation, requested, policy);
+    }
+
+    /**
+     * Записывает длительность успешного ожидания операции. Ожидания тестов с отключенной адаптацией
+     * в историю не попадают.
+     *
+     * @param operation операция
+     * @param millis    длительность, мс
+     */
+    static void observe(String operation, long millis) {
+        AdaptiveTimeouts timeouts = current;
+        Policy policy = POLICY.get();
+        if (timeouts != null && policy != null && policy.enabled()) {
+            timeouts.add(operation, millis);
+        }
+    }
+
+    /**
+     * Таймаут по умолчанию для страницы или контекста ({@code setDefaultTimeout}): значение из кода,
+     * ограниченное сверху верхней границей адаптивных таймаутов теста.
+     *
+     * @param requested таймаут из кода, мс
+     * @return таймаут, мс
+     */
+    public static double pageDefault(double requested) {
+        Policy policy = POLICY.get();
+        return policy == null || !policy.enabled() ? requested : Math.min(requested, policy.ceilingMs());
+    }
+
+    synchronized double choose(String operation, double requested, Policy policy) {
+        if (!policy.enabled()) {
+            return requested;
+        }
+        long[] samples = samples(operation);
+        if (samples.length < policy.minSamples()) {
+            return requested;
+        }
+        long p99 = p99(samples);
+        double chosen = Math.min(requested,
+                Math.min(policy.ceilingMs(), Math.max(policy.floorMs(), Math.ceil(p99 * policy.multiplier()))));
+        choices.put(operation, new Choice(samples.length, p99, requested, chosen));
+        return chosen;
+    }
+
+    /**
+     * Файл истории для адреса тестируемого приложения: схема, хост и порт адреса. Порт локального адреса
+     * не учитывается - локальный сервер страниц получает новый порт в каждом прогоне.
+     *
+     * @param dir     каталог истории
+     * @param baseUrl адрес тестируемого приложения (base.url)
+     * @return файл истории
+     */
+    static Path historyFile(Path dir, String baseUrl) {
+        String origin;
+        try {
+            URI uri = URI.create(baseUrl);
+            boolean local = "localhost".equals(uri.getHost()) || "127.0.0.1".equals(uri.getHost());
+            origin = uri.getScheme() + "-" + uri.getHost() + (uri.getPort() < 0 || local ? "" : "-" + uri.getPort());
+        } catch (IllegalArgumentException | NullPointerException e) {
+            origin = "default";
+        }
+        return dir.resolve("wait-timeouts-" + origin.replaceAll("[^\\w.-]", "_") + ".properties");
+    }
+
+    synchronized void add(String operation, long millis) {
+        observed.computeIfAbsent(operation, key -> new ArrayList<>()).add(millis);
+    }
+
+    /**
+     * @return длительности операции из истории, от старых к новым
+     */
+    synchronized long[] samples(String operation) {
+        String value = history.getProperty(operation);
+        return value == null || value.isEmpty() ? new long[0]
+                : Arrays.stream(value.split(",")).mapToLong(Long::parseLong).toArray();
+    }
+
+    static long p99(long[] samples) {
+        long[] sorted = samples.clone();
+        Arrays.sort(sorted);
+        return sorted[Math.max(0, (int) Math.ceil(sorted.length * 0.99) - 1)];
+    }
+
+    /**
+     * Добавляет длительности прогона в историю, оставляя последние {@value #SAMPLES} у каждой операции,
+     * и записывает отчет о выбранных таймаутах.
+     */
+    @Override
+    public synchronized void close() {
+        if (current == this) {
+            current = null;
+        }
+        if (!observed.isEmpty()) {
+            try {
+                HistoryLock.locked(file, () -> {
+                    history.clear();
+                    load();
+                    observed.forEach((operation, millis) -> {
+                        List<Long> merged = new ArrayList<>(Arrays.stream(samples(operation)).boxed().toList());
+                        merged.addAll(millis);
+                        history.setProperty(operation, merged.subList(Math.max(0, merged.size() - SAMPLES),
+                                merged.size()).stream().map(String::valueOf).collect(Collectors.joining(",")));
+                    });
+                    try (OutputStream stream = Files.newOutputStream(file)) {
+                        history.store(stream, "Длительности успешных ожиданий по операциям, мс");
+                    }
+                    return null;
+                });
+            } catch (IOException e) {
+                System.err.println("Не удалось сохранить " + file + ": " + e.getMessage());
+            }
+        }
+        if (choices.isEmpty()) {
+            return;
+        }
+        CsvReport.write(report, CSV_HEADER, choices.entrySet().stream()
+                .map(entry -> String.format(Locale.ROOT, "%s,%d,%d,%.0f,%.0f", CsvReport.quote(entry.getKey()),
+                        entry.getValue().samples(), entry.getValue().p99(), entry.getValue().requested(),
+                        entry.getValue().chosen()))
+                .toList());
+        double requested = choices.values().stream().mapToDouble(Choice::requested).sum();
+        double chosen = choices.values().stream().mapToDouble(Choice::chosen).sum();
+        System.out.printf(Locale.ROOT, "Адаптивные таймауты (%s): %d операций, сумма таймаутов %.1f с вместо %.1f с%n",
+                report, choices.size(), chosen / 1000, requested / 1000);
+    }
+}
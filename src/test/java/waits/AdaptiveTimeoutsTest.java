@@ -0,0 +1,137 @@
+package waits;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+/**
+ * Тестовый класс для проверки расчета адаптивных таймаутов по истории длительностей ожиданий.
+ *
+ * @since 2026-10-18
+ */
+public class AdaptiveTimeoutsTest {
+    private static final AdaptiveTimeouts.Policy POLICY = new AdaptiveTimeouts.Policy(true, 3, 2000, 30000, 5);
+    private static final String FINISH = "Locator.waitFor #finish >> text=Hello World! [VISIBLE]";
+
+    /**
+     * Проверяет выбор таймаута:
+     * 1. Без достаточной истории используется таймаут из кода
+     * 2. С историей таймаут равен p99 × k в пределах нижней и верхней границы
+     * 3. Таймаут никогда не превышает таймаут из кода, даже если нижняя граница или p99 × k больше
+     * 4. Переопределение теста меняет коэффициент или отключает адаптацию
+     */
+    @Test
+    void testTimeoutIsP99TimesMultiplierWithinBounds(@TempDir Path dir) throws IOException {
+        Files.writeString(dir.resolve("history.properties"), String.join("\n",
+                "Locator.waitFor\\ \\#finish\\ >>\\ text\\=Hello\\ World\\!\\ [VISIBLE]=600,700,650,900,800,720",
+                "Page.waitForSelector\\ \\#loading\\ [HIDDEN]=10,20,15,12,11",
+                "Page.waitForResponse\\ predicate=9000,12000,15000,11000,10000",
+                "Page.waitForLoadState\\ [LOAD]=300,400"));
+        AdaptiveTimeouts timeouts = new AdaptiveTimeouts(dir.resolve("history.properties"), dir.resolve("timeouts.csv"),
+                POLICY);
+
+        assertEquals(2700, timeouts.choose(FINISH, 45000, POLICY));
+        assertEquals(2000, timeouts.choose("Page.waitForSelector #loading [HIDDEN]", 10000, POLICY));
+        assertEquals(30000, timeouts.choose("Page.waitForResponse predicate", 60000, POLICY));
+        assertEquals(10000, timeouts.choose("Page.waitForLoadState [LOAD]", 10000, POLICY));
+        assertEquals(10000, timeouts.choose("Locator.waitFor #unknown", 10000, POLICY));
+
+        assertEquals(1000, timeouts.choose("Page.waitForSelector #loading [HIDDEN]", 1000, POLICY));
+        assertEquals(2500, timeouts.choose(FINISH, 2500, POLICY));
+
+        assertEquals(4500, timeouts.choose(FINISH, 45000, POLICY.with(annotation(true, 5))));
+        assertEquals(45000, timeouts.choose(FINISH, 45000, POLICY.with(annotation(false, 0))));
+    }
+
+    /**
+     * Проверяет сохранение истории и отчет:
+     * 1. Длительности прогона добавляются к истории, у операции остаются последние {@value AdaptiveTimeouts#SAMPLES}
+     * 2. Отчет содержит выбранные таймауты с p99 и таймаутом из кода
+     */
+    @Test
+    void testRunDurationsAreAppendedToHistoryAndChoicesReported(@TempDir Path dir) throws IOException {
+        Path history = dir.resolve("history.properties");
+        Files.writeString(history, "Page.waitForSelector\\ \\#loading\\ [HIDDEN]="
+                + LongStream.rangeClosed(1, 48).mapToObj(String::valueOf).collect(Collectors.joining(",")));
+        AdaptiveTimeouts timeouts = new AdaptiveTimeouts(history, dir.resolve("timeouts.csv"), POLICY);
+        assertEquals(2000, timeouts.choose("Page.waitForSelector #loading [HIDDEN]", 10000, POLICY));
+        timeouts.add("Page.waitForSelector #loading [HIDDEN]", 100);
+        timeouts.add("Page.waitForSelector #loading [HIDDEN]", 200);
+        timeouts.add("Page.waitForSelector #loading [HIDDEN]", 300);
+        timeouts.close();
+
+        long[] samples = new AdaptiveTimeouts(history, dir.resolve("other.csv"), POLICY)
+                .samples("Page.waitForSelector #loading [HIDDEN]");
+        assertEquals(AdaptiveTimeouts.SAMPLES, samples.length);
+        assertEquals(2, samples[0]);
+        assertEquals(300, samples[samples.length - 1]);
+
+        List<String> report = Files.readAllLines(dir.resolve("timeouts.csv"));
+        assertEquals(List.of(AdaptiveTimeouts.CSV_HEADER, "Page.waitForSelector #loading [HIDDEN],48,48,10000,2000"),
+                report);
+    }
+
+    /**
+     * Проверяет разделение и слияние истории:
+     * 1. У локального сервера и реального сайта разные файлы истории, порт локального адреса не учитывается
+     * 2. Процессы, сохраняющие общий файл, не теряют длительности друг друга
+     */
+    @Test
+    void testHistoryIsSplitByOriginAndMergedOnSave(@TempDir Path dir) {
+        Path fixture = AdaptiveTimeouts.historyFile(dir, "http://127.0.0.1:41234");
+        assertEquals(fixture, AdaptiveTimeouts.historyFile(dir, "http://127.0.0.1:52001"));
+        assertNotEquals(fixture, AdaptiveTimeouts.historyFile(dir, "https://the-internet.herokuapp.com"));
+        assertEquals(dir.resolve("wait-timeouts-https-the-internet.herokuapp.com.properties"),
+                AdaptiveTimeouts.historyFile(dir, "https://the-internet.herokuapp.com/"));
+
+        AdaptiveTimeouts first = new AdaptiveTimeouts(fixture, dir.resolve("first.csv"), POLICY);
+        AdaptiveTimeouts second = new AdaptiveTimeouts(fixture, dir.resolve("second.csv"), POLICY);
+        first.add(FINISH, 600);
+        second.add(FINISH, 700);
+        second.add("Page.waitForLoadState [LOAD]", 300);
+        first.close();
+        second.close();
+
+        AdaptiveTimeouts merged = new AdaptiveTimeouts(fixture, dir.resolve("merged.csv"), POLICY);
+        assertArrayEquals(new long[]{600, 700}, merged.samples(FINISH));
+        assertArrayEquals(new long[]{300}, merged.samples("Page.waitForLoadState [LOAD]"));
+    }
+
+    private static AdaptiveTimeout annotation(boolean enabled, double multiplier) {
+        return new AdaptiveTimeout() {
+            @Override
+            public boolean enabled() {
+                return enabled;
+            }
+
+            @Override
+            public double multiplier() {
+                return multiplier;
+            }
+
+            @Override
+            public long floorMs() {
+                return 0;
+            }
+
+            @Override
+            public long ceilingMs() {
+                return 0;
+            }
+
+            @Override
+            public Class<AdaptiveTimeout> annotationType() {
+                return AdaptiveTimeout.class;
+            }
+        };
+    }
+}
@@ -0,0 +1,102 @@
+package waits;
+
+import apiandui.EnvConfig;
+import browserpool.BrowserPoolExtension;
+import com.microsoft.playwright.Locator;
+import com.microsoft.playwright.Page;
+import org.aeonbits.owner.ConfigFactory;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+
+/**
+ * Тестовый класс для сравнения ожидания условия опросом из Java ({@code page.waitForCondition})
+ * и проверкой условия в странице по изменениям DOM ({@link Waits#until}) на странице динамических элементов.
+ * Замер не входит в обычный прогон: {@code mvn test -Dgroups=benchmark -DexcludedGroups=}.
+ *
+ * @since 2026-10-18
+ */
+@Tag("benchmark")
+@ExtendWith(BrowserPoolExtension.class)
+public class ConditionWaitBenchmarkTest {
+    private static final int ROUNDS = 5;
+    /**
+     * Отмечает в странице момент, когда поле стало доступным, чтобы измерить запаздывание ожидания.
+     */
+    private static final String MARK_ENABLED = """
+            input => new MutationObserver((records, observer) => {
+                if (!input.disabled) {
+                    window.__enabledAt = performance.timeOrigin + performance.now();
+                    observer.disconnect();
+                }
+            }).observe(input, {attributes: true})
+            """;
+
+    private final EnvConfig config = ConfigFactory.create(EnvConfig.class, System.getProperties());
+
+    /**
+     * Сравнивает способы ожидания на {@value ROUNDS} включениях поля ввода:
+     * 1. Опрос: каждая проверка {@code isEnabled()} - отдельный запрос к браузеру
+     * 2. Проверка в странице: один запрос на ожидание
+     * 3. Для обоих способов замеряется запаздывание - время от включения поля до возврата из ожидания
+     */
+    @Test
+    void testInPageConditionNeedsSingleRoundTrip(Page page) {
+        AtomicInteger pollingTrips = new AtomicInteger();
+        long pollingLag = 0;
+        long observerLag = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            Locator input = enable(page);
+            page.waitForCondition(() -> {
+                pollingTrips.incrementAndGet();
+                return input.isEnabled();
+            }, new Page.WaitForConditionOptions().setTimeout(10000));
+            pollingLag += lag(page);
+
+            Locator next = enable(page);
+            Waits.until(next, "el => !el.disabled", Duration.ofSeconds(10));
+            observerLag += lag(page);
+            assertTrue(next.isEnabled());
+        }
+
+        System.out.printf("Ожидание условия, %d раз: опрос - %.1f запросов и %.1f мс запаздывания на ожидание, "
+                        + "в странице - 1 запрос и %.1f мс%n",
+                ROUNDS, pollingTrips.get() / (double) ROUNDS, pollingLag / (double) ROUNDS, observerLag / (double) ROUNDS);
+        assertTrue(pollingTrips.get() > ROUNDS, "Опрос должен проверять условие несколько раз за ожидание");
+    }
+
+    /**
+     * Проверяет, что выполненное условие возвращается сразу, без ожидания изменений DOM.
+     */
+    @Test
+    void testSatisfiedConditionResolvesImmediately(Page page) {
+        page.navigate(config.baseUrl() + "/dynamic_controls");
+        assertEquals(0, Waits.until(page.locator("input[type='text']"), "el => el.disabled", Duration.ofSeconds(1)));
+    }
+
+    /**
+     * Открывает страницу, отмечает момент включения поля и нажимает Enable.
+     */
+    private Locator enable(Page page) {
+        page.navigate(config.baseUrl() + "/dynamic_controls");
+        Locator input = page.locator("input[type='text']");
+        input.evaluate(MARK_ENABLED);
+        page.locator("button:has-text('Enable')").click();
+        return input;
+    }
+
+    /**
+     * @return время от включения поля в странице до текущего момента, мс
+     */
+    private static long lag(Page page) {
+        long now = System.currentTimeMillis();
+        return now - ((Number) page.evaluate("() => window.__enabledAt")).longValue();
+    }
+}
@@ -0,0 +1,33 @@
+package waits;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+
+
+/**
+ * Аспект, записывающий в {@link SleepLedger} каждую фиксированную паузу теста: {@code Page.waitForTimeout},
+ * {@code Frame.waitForTimeout} и {@code Thread.sleep}. Вплетается при загрузке классов агентом aspectjweaver,
+ * подключенным в Surefire (см. META-INF/aop.xml). Пауза выполняется как обычно: аспект только ведет учет.
+ * Вызовы из библиотек (пакеты com, org, io, net) не учитываются.
+ *
+ * @since 2026-10-18
+ */
+@Aspect
+public class SleepGuard {
+
+    @Around("(call(void com.microsoft.playwright.Page.waitForTimeout(double)) "
+            + "|| call(void com.microsoft.playwright.Frame.waitForTimeout(double))) && args(millis)")
+    public Object pageTimeout(ProceedingJoinPoint point, double millis) throws Throwable {
+        SleepLedger.record(point.getSignature().getDeclaringType().getSimpleName() + ".waitForTimeout",
+                String.valueOf(point.getSourceLocation()), Math.round(millis));
+        return point.proceed();
+    }
+
+    @Around("call(void java.lang.Thread.sleep(long)) && args(millis) "
+            + "&& !within(com..*) && !within(org..*) && !within(io..*) && !within(net..*)")
+    public Object threadSleep(ProceedingJoinPoint point, long millis) throws Throwable {
+        SleepLedger.record("Thread.sleep", String.valueOf(point.getSourceLocation()), millis);
+        return point.proceed();
+    }
+}
@@ -0,0 +1,54 @@
+package waits;
+
+import io.qameta.allure.Allure;
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+
+/**
+ * Расширение, ведущее учет фиксированных пауз каждого теста. Регистрируется автоматически
+ * (META-INF/services и junit.jupiter.extensions.autodetection.enabled) и охватывает пользовательские
+ * {@code @BeforeEach} и {@code @AfterEach} теста.
+ *
+ * Если тест делал паузы, их число и суммарное время публикуются как fixed.sleeps, а список пауз с местами вызова
+ * прикладывается к тесту в Allure. Итог по прогону выводится по его завершении.
+ *
+ * @since 2026-10-18
+ */
+public class SleepGuardExtension implements BeforeEachCallback, AfterEachCallback {
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(SleepGuardExtension.class);
+
+    @Override
+    public void beforeEach(ExtensionContext context) {
+        SleepLedger.open();
+        context.getRoot().getStore(NAMESPACE).getOrComputeIfAbsent(Summary.class, key -> new Summary(), Summary.class);
+    }
+
+    @Override
+    public void afterEach(ExtensionContext context) {
+        List<SleepLedger.Sleep> sleeps = SleepLedger.close();
+        if (sleeps.isEmpty()) {
+            return;
+        }
+        long millis = sleeps.stream().mapToLong(SleepLedger.Sleep::millis).sum();
+        context.publishReportEntry("fixed.sleeps", sleeps.size() + " шт., " + millis + " мс");
+        Allure.addAttachment("Фиксированные паузы",
+                sleeps.stream().map(SleepLedger.Sleep::toString).collect(Collectors.joining("\n")));
+    }
+
+    /**
+     * Выводит итог по прогону при закрытии корневого хранилища.
+     */
+    private static class Summary implements ExtensionContext.Store.CloseableResource {
+        @Override
+        public void close() {
+            if (SleepLedger.totalSleeps() > 0) {
+                System.out.println(SleepLedger.summary());
+            }
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package waits;
+
+import com.microsoft.playwright.Page;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+/**
+ * Тестовый класс для проверки учета фиксированных пауз аспектом {@link SleepGuard} на заглушке страницы,
+ * без запуска браузера. Аспект вплетается агентом aspectjweaver, подключенным в Surefire.
+ *
+ * @since 2026-10-18
+ */
+public class SleepGuardTest {
+
+    /**
+     * Проверяет учет пауз:
+     * 1. waitForTimeout страницы и Thread.sleep записываются с длительностью и местом вызова
+     * 2. Пауза выполняется: вызов доходит до страницы
+     * 3. Паузы вне открытого учета не записываются
+     */
+    @Test
+    void testFixedSleepsAreRecordedWithLocation() throws InterruptedException {
+        double[] waited = new double[1];
+        Page page = (Page) Proxy.newProxyInstance(Page.class.getClassLoader(), new Class<?>[]{Page.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("waitForTimeout")) {
+                        waited[0] = (double) args[0];
+                        return null;
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+
+        SleepLedger.open();
+        page.waitForTimeout(300);
+        Thread.sleep(1);
+        List<SleepLedger.Sleep> sleeps = SleepLedger.close();
+        page.waitForTimeout(100);
+
+        assertEquals(100, waited[0]);
+        assertEquals(2, sleeps.size(), sleeps.toString());
+        assertEquals("Page.waitForTimeout", sleeps.get(0).call());
+        assertEquals(300, sleeps.get(0).millis());
+        assertTrue(sleeps.get(0).location().startsWith("SleepGuardTest.java:"), sleeps.get(0).location());
+        assertEquals("Thread.sleep", sleeps.get(1).call());
+        assertEquals(1, sleeps.get(1).millis());
+        assertTrue(SleepLedger.totalSleeps() >= 2);
+    }
+}
@@ -0,0 +1,83 @@
+package waits;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.LongAdder;
+
+
+/**
+ * Учет фиксированных пауз ({@code waitForTimeout}, {@code Thread.sleep}) текущего теста.
+ * Паузы записывает аспект {@link SleepGuard}, а {@link SleepGuardExtension} открывает учет перед тестом
+ * и публикует итог после него. Паузы вне теста (фоновые потоки, инфраструктура прогона) не учитываются.
+ *
+ * @since 2026-10-18
+ */
+public final class SleepLedger {
+    private static final ThreadLocal<List<Sleep>> CURRENT = new ThreadLocal<>();
+    private static final LongAdder TOTAL_SLEEPS = new LongAdder();
+    private static final LongAdder TOTAL_MILLIS = new LongAdder();
+
+    /**
+     * Одна фиксированная пауза.
+     *
+     * @param call     вызов, например {@code Page.waitForTimeout}
+     * @param location место вызова в исходном коде
+     * @param millis   длительность паузы, мс
+     */
+    public record Sleep(String call, String location, long millis) {
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT, "%s %d мс (%s)", call, millis, location);
+        }
+    }
+
+    private SleepLedger() {
+    }
+
+    /**
+     * Открывает учет пауз для теста в текущем потоке.
+     */
+    static void open() {
+        CURRENT.set(new ArrayList<>());
+    }
+
+    /**
+     * Закрывает учет пауз теста в текущем потоке.
+     *
+     * @return паузы теста в порядке выполнения
+     */
+    static List<Sleep> close() {
+        List<Sleep> sleeps = CURRENT.get();
+        CURRENT.remove();
+        return sleeps == null ? List.of() : sleeps;
+    }
+
+    /**
+     * Записывает паузу, если в текущем потоке выполняется тест.
+     *
+     * @param call     вызов
+     * @param location место вызова
+     * @param millis   длительность, мс
+     */
+    static void record(String call, String location, long millis) {
+        List<Sleep> sleeps = CURRENT.get();
+        if (sleeps != null) {
+            sleeps.add(new Sleep(call, location, millis));
+            TOTAL_SLEEPS.increment();
+            TOTAL_MILLIS.add(millis);
+        }
+    }
+
+    /**
+     * @return итог по всем тестам прогона
+     */
+    static String summary() {
+        return String.format("Фиксированные паузы в тестах: %d, потеряно %.1f с",
+                TOTAL_SLEEPS.sum(), TOTAL_MILLIS.sum() / 1000.0);
+    }
+
+    static long totalSleeps() {
+        return TOTAL_SLEEPS.sum();
+    }
+}
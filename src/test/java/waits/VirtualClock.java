@@ -0,0 +1,117 @@
+package waits;
+
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.Clock;
+import com.microsoft.playwright.Locator;
+import com.microsoft.playwright.TimeoutError;
+
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * Ожидания в виртуальном времени страницы. Страницы на таймерах (dynamic_loading, dynamic_controls)
+ * показывают результат через секунды после действия, и обычный {@code waitFor} все это время просто ждет.
+ *
+ * Ожидание элемента:
+ * 1. Короткая проверка условия в реальном времени ({@value #PROBE_MS} мс)
+ * 2. Если условие не выполнено - {@code clock.runFor(шаг)}: все таймеры страницы в пределах шага срабатывают сразу
+ * 3. Повтор, пока условие не выполнится или виртуальное время не превысит таймаут ожидания
+ * Сэкономленное время - виртуальное время, прокрученное ожиданиями, за вычетом реального времени этих ожиданий.
+ *
+ * Часы устанавливаются до загрузки страницы, иначе таймеры, запущенные раньше, останутся реальными.
+ *
+ * @since 2026-10-18
+ */
+public class VirtualClock {
+    private static final double PROBE_MS = 50;
+    private static final double DEFAULT_TIMEOUT_MS = 30_000;
+
+    private final Clock clock;
+    private final long stepMs;
+    private long advancedMillis;
+    private long waitNanos;
+
+    VirtualClock(Clock clock, long stepMs) {
+        this.clock = clock;
+        this.stepMs = stepMs;
+    }
+
+    /**
+     * Устанавливает часы Playwright во все страницы контекста.
+     *
+     * @param context контекст браузера
+     * @param stepMs  шаг виртуального времени между проверками, мс
+     * @return виртуальные часы контекста
+     */
+    public static VirtualClock install(BrowserContext context, long stepMs) {
+        context.clock().install();
+        return new VirtualClock(context.clock(), stepMs);
+    }
+
+    /**
+     * Ждет появления элемента, прокручивая виртуальное время.
+     *
+     * @param locator ожидаемый элемент
+     */
+    public void waitFor(Locator locator) {
+        waitFor(locator, new Locator.WaitForOptions());
+    }
+
+    /**
+     * Ждет состояния элемента, прокручивая виртуальное время. Таймаут из параметров отсчитывается
+     * в виртуальном времени страницы.
+     *
+     * @param locator ожидаемый элемент
+     * @param options состояние и таймаут, как у {@link Locator#waitFor(Locator.WaitForOptions)}
+     */
+    public void waitFor(Locator locator, Locator.WaitForOptions options) {
+        double timeout = options.timeout == null ? DEFAULT_TIMEOUT_MS : options.timeout;
+        Locator.WaitForOptions probe = new Locator.WaitForOptions().setTimeout(PROBE_MS);
+        if (options.state != null) {
+            probe.setState(options.state);
+        }
+        long start = System.nanoTime();
+        long virtual = 0;
+        try {
+            while (true) {
+                try {
+                    locator.waitFor(probe);
+                    return;
+                } catch (TimeoutError e) {
+                    if (virtual >= timeout) {
+                        throw e;
+                    }
+                    clock.runFor(stepMs);
+                    virtual += stepMs;
+                }
+            }
+        } finally {
+            advancedMillis += virtual;
+            waitNanos += System.nanoTime() - start;
+        }
+    }
+
+    /**
+     * Прокручивает виртуальное время вместо реальной паузы.
+     *
+     * @param millis длительность паузы, мс
+     */
+    public void sleep(long millis) {
+        clock.runFor(millis);
+        advancedMillis += millis;
+    }
+
+    /**
+     * @return виртуальное время, прокрученное ожиданиями и паузами, мс
+     */
+    public long advancedMillis() {
+        return advancedMillis;
+    }
+
+    /**
+     * @return сэкономленное реальное время, мс
+     */
+    public long savedMillis() {
+        return Math.max(0, advancedMillis - TimeUnit.NANOSECONDS.toMillis(waitNanos));
+    }
+}
@@ -0,0 +1,73 @@
+package waits;
+
+import com.microsoft.playwright.Clock;
+import com.microsoft.playwright.Locator;
+import com.microsoft.playwright.TimeoutError;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+/**
+ * Тестовый класс для проверки ожиданий в виртуальном времени на заглушках часов и локатора, без запуска браузера.
+ *
+ * @since 2026-10-18
+ */
+public class VirtualClockTest {
+
+    /**
+     * Проверяет ожидание:
+     * 1. Пока таймер страницы не сработал, часы прокручиваются шагами
+     * 2. Элемент появляется после прокрутки на время таймера, реальное ожидание несравнимо меньше
+     * 3. Если условие не выполняется, ожидание падает по таймауту в виртуальном времени
+     */
+    @Test
+    void testWaitAdvancesVirtualTimeUntilTimerFires() {
+        AtomicLong now = new AtomicLong();
+        VirtualClock clock = new VirtualClock(clock(now), 250);
+
+        clock.waitFor(locator(now, 5000));
+        assertEquals(5000, clock.advancedMillis());
+        assertTrue(clock.savedMillis() > 4000, "Сэкономлено " + clock.savedMillis() + " мс");
+
+        clock.sleep(1000);
+        assertEquals(6000, now.get());
+
+        assertThrows(TimeoutError.class,
+                () -> clock.waitFor(locator(now, Long.MAX_VALUE), new Locator.WaitForOptions().setTimeout(2000)));
+        assertEquals(8000, now.get());
+    }
+
+    /**
+     * Часы-заглушка: runFor сдвигает виртуальное время.
+     */
+    private static Clock clock(AtomicLong now) {
+        return (Clock) Proxy.newProxyInstance(Clock.class.getClassLoader(), new Class<?>[]{Clock.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("runFor") && args[0] instanceof Long millis) {
+                        now.addAndGet(millis);
+                        return null;
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    /**
+     * Локатор-заглушка: элемент появляется, когда виртуальное время достигает момента срабатывания таймера.
+     */
+    private static Locator locator(AtomicLong now, long firesAt) {
+        return (Locator) Proxy.newProxyInstance(Locator.class.getClassLoader(), new Class<?>[]{Locator.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("waitFor")) {
+                        if (now.get() < firesAt) {
+                            throw new TimeoutError("Timeout 50ms exceeded");
+                        }
+                        return null;
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+    }
+}
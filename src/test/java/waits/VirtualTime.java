@@ -0,0 +1,29 @@
+package waits;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+
+/**
+ * Включает для теста из {@link browserpool.BrowserPoolExtension} виртуальное время страницы: перед тестом
+ * в контекст устанавливаются часы Playwright ({@code context.clock().install()}), а тест получает параметр
+ * {@link VirtualClock}, ожидания которого прокручивают таймеры страницы вместо реального ожидания.
+ * Аннотация на методе заменяет аннотацию класса; у вложенных классов учитываются внешние.
+ *
+ * Установленные часы нельзя снять, поэтому контекст такого теста не возвращается в пул.
+ *
+ * @since 2026-10-18
+ */
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Inherited
+public @interface VirtualTime {
+
+    /**
+     * @return шаг виртуального времени между проверками ожидаемого условия, мс
+     */
+    long stepMs() default 250;
+}
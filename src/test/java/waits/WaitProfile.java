@@ -0,0 +1,209 @@
+package waits;
+
+import networktiming.LatencyHistogram;
+import reports.CsvReport;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+
+/**
+ * Профиль ожиданий прогона: сколько времени тесты проводят в {@code Locator.waitFor}, {@code waitForSelector},
+ * {@code waitForResponse} и {@code waitForLoadState}. Ожидания записывает аспект {@link WaitProfiler}
+ * и группирует по классу теста, вызову, цели (селектор, URL) и состоянию.
+ *
+ * Отчет ранжирует группы по суммарному времени ожидания. Группа помечается, если ожидания регулярно - не реже
+ * чем в половине вызовов - используют больше 80% своего таймаута или падают по нему: такое ожидание близко
+ * к нестабильности, и ему нужен либо запас по таймауту, либо более точное условие.
+ *
+ * @since 2026-10-18
+ */
+public class WaitProfile {
+    /** Доля таймаута, после которой ожидание считается близким к таймауту */
+    static final double NEAR_TIMEOUT = 0.8;
+    /** Доля вызовов с близким таймаутом, при которой группа помечается */
+    static final double REGULAR_SHARE = 0.5;
+    /** Таймаут Playwright по умолчанию, если не задан ни в параметрах вызова, ни через setDefaultTimeout */
+    static final double DEFAULT_TIMEOUT_MS = 30000;
+    /** Заголовок CSV отчета */
+    static final String CSV_HEADER =
+            "suite,call,target,state,count,total_ms,p95_ms,max_ms,timeout_ms,near_timeout,timed_out,flagged";
+
+    private static final WaitProfile RUN = new WaitProfile();
+    private static final ThreadLocal<Scope> SCOPE = new ThreadLocal<>();
+
+    private final Map<Key, Group> groups = new HashMap<>();
+
+    /**
+     * Одно ожидание.
+     *
+     * @param call          вызов, например {@code Locator.waitFor}
+     * @param target        селектор, URL или шаблон
+     * @param state         ожидаемое состояние или пустая строка
+     * @param timeoutMillis таймаут ожидания, мс
+     * @param millis        фактическая длительность, мс
+     * @param timedOut      ожидание завершилось по таймауту
+     */
+    public record Wait(String call, String target, String state, double timeoutMillis, long millis, boolean timedOut) {
+        boolean nearTimeout() {
+            return timedOut || millis >= timeoutMillis * NEAR_TIMEOUT;
+        }
+
+        /**
+         * @return операция ожидания для {@link AdaptiveTimeouts}: вызов, цель и состояние
+         */
+        String operation() {
+            return call + " " + target + (state.isEmpty() ? "" : " [" + state + "]");
+        }
+
+        Wait withTimeout(double timeout) {
+            return new Wait(call, target, state, timeout, millis, timedOut);
+        }
+
+        Wait finished(long duration, boolean timeout) {
+            return new Wait(call, target, state, timeoutMillis, duration, timeout);
+        }
+    }
+
+    record Key(String suite, String call, String target, String state) {
+    }
+
+    /**
+     * Накопленные ожидания одной группы.
+     */
+    static class Group {
+        final Key key;
+        final LatencyHistogram histogram = new LatencyHistogram();
+        long totalMillis;
+        double timeoutMillis;
+        int nearTimeout;
+        int timedOut;
+
+        Group(Key key) {
+            this.key = key;
+        }
+
+        void add(Wait wait) {
+            histogram.recordMillis(wait.millis());
+            totalMillis += wait.millis();
+            timeoutMillis = Math.max(timeoutMillis, wait.timeoutMillis());
+            nearTimeout += wait.nearTimeout() ? 1 : 0;
+            timedOut += wait.timedOut() ? 1 : 0;
+        }
+
+        long count() {
+            return histogram.count();
+        }
+
+        boolean flagged() {
+            return nearTimeout > 0 && nearTimeout >= count() * REGULAR_SHARE;
+        }
+
+        String csv() {
+            return String.join(",", CsvReport.quote(key.suite()), CsvReport.quote(key.call()), CsvReport.quote(key.target()),
+                    CsvReport.quote(key.state()),
+                    String.valueOf(count()), String.valueOf(totalMillis),
+                    String.format(Locale.ROOT, "%.1f", histogram.percentileMillis(95)),
+                    String.valueOf(histogram.max() / 1000), String.format(Locale.ROOT, "%.0f", timeoutMillis),
+                    String.valueOf(nearTimeout), String.valueOf(timedOut), String.valueOf(flagged()));
+        }
+
+        String text() {
+            return String.format(Locale.ROOT, "%s %s %s%s: %d раз, %d мс, максимум %d мс из %.0f, близко к таймауту %d",
+                    key.suite(), key.call(), key.target(), key.state().isEmpty() ? "" : " [" + key.state() + "]",
+                    count(), totalMillis, histogram.max() / 1000, timeoutMillis, nearTimeout);
+        }
+    }
+
+    /**
+     * Ожидания текущего теста.
+     */
+    static class Scope {
+        final String suite;
+        int count;
+        long millis;
+
+        Scope(String suite) {
+            this.suite = suite;
+        }
+    }
+
+    /**
+     * @return профиль текущего прогона
+     */
+    static WaitProfile run() {
+        return RUN;
+    }
+
+    /**
+     * Начинает учет ожиданий теста в текущем потоке.
+     *
+     * @param suite класс теста
+     */
+    static void enter(String suite) {
+        SCOPE.set(new Scope(suite));
+    }
+
+    /**
+     * Завершает учет ожиданий теста в текущем потоке.
+     *
+     * @return ожидания теста или null, если учет не был начат
+     */
+    static Scope leave() {
+        Scope scope = SCOPE.get();
+        SCOPE.remove();
+        return scope;
+    }
+
+    /**
+     * Записывает ожидание в профиль прогона. Ожидания вне теста относятся к группе "вне теста".
+     *
+     * @param wait ожидание
+     */
+    static void record(Wait wait) {
+        Scope scope = SCOPE.get();
+        if (scope != null) {
+            scope.count++;
+            scope.millis += wait.millis();
+        }
+        RUN.add(scope == null ? "вне теста" : scope.suite, wait);
+    }
+
+    synchronized void add(String suite, Wait wait) {
+        Key key = new Key(suite, wait.call(), wait.target(), wait.state());
+        groups.computeIfAbsent(key, Group::new).add(wait);
+    }
+
+    /**
+     * @return группы по убыванию суммарного времени ожидания
+     */
+    synchronized List<Group> ranked() {
+        List<Group> ranked = new ArrayList<>(groups.values());
+        ranked.sort(Comparator.comparingLong((Group group) -> group.totalMillis).reversed());
+        return ranked;
+    }
+
+    /**
+     * Записывает CSV и выводит десять самых долгих групп ожиданий и помеченные группы.
+     *
+     * @param file CSV-файл отчета
+     */
+    void report(Path file) {
+        List<Group> ranked = ranked();
+        if (ranked.isEmpty()) {
+            return;
+        }
+        CsvReport.write(file, CSV_HEADER, ranked.stream().map(Group::csv).toList());
+        CsvReport.printTop("Самые долгие ожидания (" + file + "):", ranked, 10, Group::text);
+        List<Group> flagged = ranked.stream().filter(Group::flagged).toList();
+        if (!flagged.isEmpty()) {
+            System.out.printf(Locale.ROOT, "Ожидания, регулярно использующие больше %.0f%% таймаута:%n", NEAR_TIMEOUT * 100);
+            flagged.forEach(group -> System.out.println("  " + group.text()));
+        }
+    }
+}
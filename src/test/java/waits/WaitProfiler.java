@@ -0,0 +1,175 @@
+package waits;
+
+import com.microsoft.playwright.Frame;
+import com.microsoft.playwright.Locator;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.TimeoutError;
+import com.microsoft.playwright.options.LoadState;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+
+/**
+ * Аспект, записывающий в {@link WaitProfile} каждое ожидание Playwright из кода тестов: {@code Locator.waitFor},
+ * {@code Page/Frame.waitForSelector}, {@code Page.waitForResponse} и {@code Page/Frame.waitForLoadState}.
+ * Вплетается агентом aspectjweaver вместе с {@link SleepGuard} (см. META-INF/aop.xml).
+ *
+ * Для каждого вызова определяются цель (селектор локатора, селектор, URL или шаблон ответа), ожидаемое состояние
+ * и таймаут из параметров вызова; если таймаут не задан, берется действующий таймаут страницы по умолчанию
+ * с учетом {@code setDefaultTimeout} страницы и ее контекста.
+ * Если вызов передает параметры, в вызов передается их копия с таймаутом, выбранным {@link AdaptiveTimeouts}
+ * по истории операции; объект параметров теста не меняется и может использоваться повторно.
+ * Вызовы внутри библиотек и короткие пробы {@link VirtualClock} не учитываются.
+ *
+ * @since 2026-10-18
+ */
+@Aspect
+public class WaitProfiler {
+
+    @Around("(call(void com.microsoft.playwright.Locator.waitFor(..)) "
+            + "|| call(* com.microsoft.playwright.Page.waitForSelector(..)) "
+            + "|| call(* com.microsoft.playwright.Frame.waitForSelector(..)) "
+            + "|| call(* com.microsoft.playwright.Page.waitForResponse(..)) "
+            + "|| call(void com.microsoft.playwright.Page.waitForLoadState(..)) "
+            + "|| call(void com.microsoft.playwright.Frame.waitForLoadState(..))) "
+            + "&& !within(com..*) && !within(org..*) && !within(io..*) && !within(net..*) && !within(waits.VirtualClock)")
+    public Object profile(ProceedingJoinPoint point) throws Throwable {
+        String call = point.getSignature().getDeclaringType().getSimpleName() + "." + point.getSignature().getName();
+        Object[] args = point.getArgs();
+        WaitProfile.Wait wait = describe(call, point.getTarget(), args);
+        int index = options(args);
+        if (index >= 0) {
+            double timeout = AdaptiveTimeouts.adapt(wait.operation(), wait.timeoutMillis());
+            if (timeout != wait.timeoutMillis()) {
+                args[index] = withTimeout(args[index], timeout);
+                wait = wait.withTimeout(timeout);
+            }
+        }
+        long start = System.nanoTime();
+        boolean timedOut = false;
+        try {
+            return point.proceed(args);
+        } catch (TimeoutError e) {
+            timedOut = true;
+            throw e;
+        } finally {
+            long millis = (System.nanoTime() - start) / 1_000_000;
+            WaitProfile.record(wait.finished(millis, timedOut));
+            if (!timedOut) {
+                AdaptiveTimeouts.observe(wait.operation(), millis);
+            }
+        }
+    }
+
+    /**
+     * Описывает ожидание по аргументам вызова: строка или шаблон - цель, {@link LoadState} - состояние,
+     * объект параметров ({@code *Options}) - поля state и timeout.
+     *
+     * @param call   вызов
+     * @param target объект вызова; для локатора его селектор - цель ожидания
+     * @param args   аргументы вызова
+     * @return ожидание для профиля с нулевой длительностью
+     */
+    static WaitProfile.Wait describe(String call, Object target, Object[] args) {
+        String subject = call.startsWith("Locator.") ? String.valueOf(target).replaceFirst("^Locator@", "") : "";
+        String state = "";
+        double timeout = defaultTimeout(target);
+        for (Object arg : args) {
+            if (arg instanceof String || arg instanceof Pattern) {
+                subject = arg.toString();
+            } else if (arg instanceof Predicate<?>) {
+                subject = "predicate";
+            } else if (arg instanceof LoadState loadState) {
+                state = loadState.name();
+            } else if (isOptions(arg)) {
+                Object optionState = field(arg, "state");
+                if (optionState != null) {
+                    state = optionState.toString();
+                }
+                if (field(arg, "timeout") instanceof Double optionTimeout) {
+                    timeout = optionTimeout;
+                }
+            }
+        }
+        return new WaitProfile.Wait(call, subject, state, timeout, 0, false);
+    }
+
+    /**
+     * Действующий таймаут по умолчанию страницы, к которой относится ожидание. Playwright не дает его прочитать,
+     * поэтому значение берется из настроек таймаутов реализации страницы; все профилируемые ожидания используют
+     * именно его, а не таймаут навигации. Страница берется через {@code mainFrame().page()}, так как тесту
+     * может быть выдана обертка над страницей.
+     *
+     * @param target локатор, фрейм или страница ожидания
+     * @return таймаут в миллисекундах или {@link WaitProfile#DEFAULT_TIMEOUT_MS}, если страницу определить нельзя
+     */
+    static double defaultTimeout(Object target) {
+        try {
+            Page page = target instanceof Locator locator ? locator.page()
+                    : target instanceof Frame frame ? frame.page()
+                    : target instanceof Page wrapped ? wrapped.mainFrame().page()
+                    : null;
+            if (page == null) {
+                return WaitProfile.DEFAULT_TIMEOUT_MS;
+            }
+            Field field = page.getClass().getDeclaredField("timeoutSettings");
+            field.setAccessible(true);
+            Object settings = field.get(page);
+            Method timeout = settings.getClass().getDeclaredMethod("timeout", Double.class);
+            timeout.setAccessible(true);
+            return (Double) timeout.invoke(settings, (Double) null);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return WaitProfile.DEFAULT_TIMEOUT_MS;
+        }
+    }
+
+    /**
+     * @return индекс объекта параметров вызова ({@code *Options}) или -1
+     */
+    private static int options(Object[] args) {
+        for (int i = 0; i < args.length; i++) {
+            if (isOptions(args[i])) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Копирует объект параметров Playwright (открытые поля и конструктор без аргументов) и задает копии таймаут.
+     *
+     * @param options параметры вызова
+     * @param timeout таймаут, мс
+     * @return копия параметров
+     */
+    static Object withTimeout(Object options, double timeout) throws ReflectiveOperationException {
+        Object copy = options.getClass().getConstructor().newInstance();
+        for (Field field : options.getClass().getFields()) {
+            if (!Modifier.isStatic(field.getModifiers()) && !Modifier.isFinal(field.getModifiers())) {
+                field.set(copy, field.get(options));
+            }
+        }
+        options.getClass().getField("timeout").set(copy, timeout);
+        return copy;
+    }
+
+    private static boolean isOptions(Object arg) {
+        return arg != null && arg.getClass().getSimpleName().endsWith("Options");
+    }
+
+    private static Object field(Object options, String name) {
+        try {
+            Field field = options.getClass().getField(name);
+            return field.get(options);
+        } catch (NoSuchFieldException | IllegalAccessException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package waits;
+
+import apiandui.EnvConfig;
+import org.aeonbits.owner.ConfigFactory;
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.platform.commons.support.AnnotationSupport;
+import org.junit.platform.commons.support.SearchOption;
+
+import java.nio.file.Path;
+import java.util.Optional;
+
+
+/**
+ * Расширение, относящее ожидания Playwright к тестам для {@link WaitProfile}. Регистрируется автоматически
+ * (META-INF/services) вместе с {@link SleepGuardExtension}.
+ *
+ * Время ожиданий теста публикуется как waits, а по завершении прогона отчет о самых долгих ожиданиях
+ * записывается в target/wait-profile/top-waits.csv.
+ *
+ * Расширение также подключает {@link AdaptiveTimeouts} с учетом {@link AdaptiveTimeout} теста; история таймаутов
+ * ведется отдельно для каждого адреса base.url.
+ * Параметры (junit-platform.properties или системные свойства):
+ * - waits.timeouts.adaptive - вычислять таймауты ожиданий по истории, по умолчанию true
+ * - waits.timeouts.multiplier - множитель к p99 длительности операции, по умолчанию 3
+ * - waits.timeouts.floor-ms - нижняя граница таймаута, по умолчанию 2000
+ * - waits.timeouts.ceiling-ms - верхняя граница таймаута, по умолчанию 30000
+ * - waits.timeouts.min-samples - наименьшее число наблюдений операции для расчета, по умолчанию 5
+ *
+ * @since 2026-10-18
+ */
+public class WaitProfilerExtension implements BeforeEachCallback, AfterEachCallback {
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(WaitProfilerExtension.class);
+    private static final Path REPORT = Path.of("target", "wait-profile", "top-waits.csv");
+    private static final Path TIMEOUTS_REPORT = Path.of("target", "wait-profile", "timeouts.csv");
+    private static final Path TIMEOUTS_HISTORY = Path.of(".test-history");
+
+    @Override
+    public void beforeEach(ExtensionContext context) {
+        WaitProfile.enter(context.getRequiredTestClass().getName());
+        context.getRoot().getStore(NAMESPACE).getOrComputeIfAbsent(Report.class, key -> new Report(), Report.class);
+        context.getRoot().getStore(NAMESPACE).getOrComputeIfAbsent(AdaptiveTimeouts.class,
+                key -> createTimeouts(context), AdaptiveTimeouts.class);
+        AdaptiveTimeouts.enter(findAnnotation(context).orElse(null));
+    }
+
+    @Override
+    public void afterEach(ExtensionContext context) {
+        AdaptiveTimeouts.leave();
+        WaitProfile.Scope scope = WaitProfile.leave();
+        if (scope != null && scope.count > 0) {
+            context.publishReportEntry("waits", scope.count + " шт., " + scope.millis + " мс");
+        }
+    }
+
+    private static AdaptiveTimeouts createTimeouts(ExtensionContext context) {
+        String baseUrl = ConfigFactory.create(EnvConfig.class, System.getProperties()).baseUrl();
+        AdaptiveTimeouts timeouts = new AdaptiveTimeouts(AdaptiveTimeouts.historyFile(TIMEOUTS_HISTORY, baseUrl),
+                TIMEOUTS_REPORT, new AdaptiveTimeouts.Policy(
+                context.getConfigurationParameter("waits.timeouts.adaptive", Boolean::parseBoolean).orElse(true),
+                context.getConfigurationParameter("waits.timeouts.multiplier", Double::parseDouble).orElse(3.0),
+                context.getConfigurationParameter("waits.timeouts.floor-ms", Long::parseLong).orElse(2000L),
+                context.getConfigurationParameter("waits.timeouts.ceiling-ms", Long::parseLong).orElse(30000L),
+                context.getConfigurationParameter("waits.timeouts.min-samples", Integer::parseInt).orElse(5)));
+        AdaptiveTimeouts.use(timeouts);
+        return timeouts;
+    }
+
+    private static Optional<AdaptiveTimeout> findAnnotation(ExtensionContext context) {
+        Optional<AdaptiveTimeout> onMethod = AnnotationSupport.findAnnotation(context.getRequiredTestMethod(),
+                AdaptiveTimeout.class);
+        if (onMethod.isPresent()) {
+            return onMethod;
+        }
+        return AnnotationSupport.findAnnotation(context.getRequiredTestClass(), AdaptiveTimeout.class,
+                SearchOption.INCLUDE_ENCLOSING_CLASSES);
+    }
+
+    /**
+     * Записывает отчет прогона при закрытии корневого хранилища.
+     */
+    private static class Report implements ExtensionContext.Store.CloseableResource {
+        @Override
+        public void close() {
+            WaitProfile.run().report(REPORT);
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package waits;
+
+import com.microsoft.playwright.Locator;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.options.LoadState;
+import com.microsoft.playwright.options.WaitForSelectorState;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+/**
+ * Тестовый класс для проверки профиля ожиданий на заглушках страницы и локатора, без запуска браузера.
+ * Аспект {@link WaitProfiler} вплетается агентом aspectjweaver, подключенным в Surefire. Адаптивные таймауты
+ * отключены, чтобы проверяемые таймауты не зависели от истории прошлых прогонов.
+ *
+ * @since 2026-10-18
+ */
+@AdaptiveTimeout(enabled = false)
+public class WaitProfilerTest {
+
+    /**
+     * Проверяет запись ожиданий аспектом:
+     * 1. Для локатора целью становится его селектор, состояние и таймаут берутся из параметров
+     * 2. Для waitForSelector и waitForLoadState - селектор, состояние и таймаут по умолчанию
+     * 3. Ожидания относятся к классу теста
+     */
+    @Test
+    void testWaitsAreRecordedWithSelectorStateAndTimeout() {
+        Locator locator = (Locator) Proxy.newProxyInstance(Locator.class.getClassLoader(), new Class<?>[]{Locator.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "waitFor" -> {
+                        Thread.sleep(90);
+                        yield null;
+                    }
+                    case "toString" -> "Locator@#finish >> text=Hello World!";
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+        Page page = (Page) Proxy.newProxyInstance(Page.class.getClassLoader(), new Class<?>[]{Page.class},
+                (proxy, method, args) -> null);
+
+        locator.waitFor(new Locator.WaitForOptions().setState(WaitForSelectorState.VISIBLE).setTimeout(100));
+        page.waitForSelector("#loading", new Page.WaitForSelectorOptions().setState(WaitForSelectorState.HIDDEN));
+        page.waitForLoadState(LoadState.NETWORKIDLE);
+
+        List<WaitProfile.Group> groups = WaitProfile.run().ranked().stream()
+                .filter(group -> group.key.suite().equals(WaitProfilerTest.class.getName()))
+                .toList();
+        assertEquals(3, groups.size(), groups.toString());
+        WaitProfile.Group slowest = groups.get(0);
+        assertEquals(new WaitProfile.Key(WaitProfilerTest.class.getName(), "Locator.waitFor",
+                "#finish >> text=Hello World!", "VISIBLE"), slowest.key);
+        assertEquals(100, slowest.timeoutMillis);
+        assertTrue(slowest.flagged(), slowest.text());
+        assertTrue(groups.stream().anyMatch(group -> group.key.call().equals("Page.waitForSelector")
+                && group.key.target().equals("#loading") && group.key.state().equals("HIDDEN")
+                && group.timeoutMillis == WaitProfile.DEFAULT_TIMEOUT_MS && !group.flagged()));
+        assertTrue(groups.stream().anyMatch(group -> group.key.call().equals("Page.waitForLoadState")
+                && group.key.state().equals("NETWORKIDLE")));
+    }
+
+    /**
+     * Проверяет отчет:
+     * 1. Группы упорядочены по суммарному времени ожидания
+     * 2. Группа помечается, если близко к таймауту завершается не меньше половины ожиданий
+     */
+    @Test
+    void testReportRanksGroupsAndFlagsRegularNearTimeouts(@TempDir Path dir) throws IOException {
+        WaitProfile profile = new WaitProfile();
+        profile.add("StatusCodeTest", new WaitProfile.Wait("Page.waitForResponse", "**/status_codes/404", "", 10000, 8500, false));
+        profile.add("StatusCodeTest", new WaitProfile.Wait("Page.waitForResponse", "**/status_codes/404", "", 10000, 1200, false));
+        profile.add("DynamicTest", new WaitProfile.Wait("Locator.waitFor", "#finish", "VISIBLE", 10000, 9000, false));
+        profile.add("DynamicTest", new WaitProfile.Wait("Locator.waitFor", "#finish", "VISIBLE", 10000, 300, false));
+        profile.add("DynamicTest", new WaitProfile.Wait("Locator.waitFor", "#finish", "VISIBLE", 10000, 200, false));
+        profile.add("DynamicTest", new WaitProfile.Wait("Page.waitForSelector", "#loading", "HIDDEN", 5000, 5000, true));
+
+        List<WaitProfile.Group> ranked = profile.ranked();
+        assertEquals(List.of("Page.waitForResponse", "Locator.waitFor", "Page.waitForSelector"),
+                ranked.stream().map(group -> group.key.call()).toList());
+        assertTrue(ranked.get(0).flagged());
+        assertFalse(ranked.get(1).flagged());
+        assertTrue(ranked.get(2).flagged());
+        assertEquals(1, ranked.get(2).timedOut);
+
+        Path file = dir.resolve("top-waits.csv");
+        profile.report(file);
+        List<String> lines = Files.readAllLines(file);
+        assertEquals(WaitProfile.CSV_HEADER, lines.get(0));
+        assertTrue(lines.get(1).startsWith("StatusCodeTest,Page.waitForResponse,**/status_codes/404,,2,9700,"), lines.get(1));
+        assertTrue(lines.get(1).endsWith(",10000,1,0,true"), lines.get(1));
+    }
+
+    /**
+     * Проверяет замену таймаута адаптивным:
+     * 1. Таймаут задается копии параметров вместе с остальными полями
+     * 2. Параметры теста не меняются и при повторном использовании сохраняют таймаут из кода
+     */
+    @Test
+    void testAdaptedTimeoutIsAppliedToCopyOfOptions() throws ReflectiveOperationException {
+        Locator.WaitForOptions options = new Locator.WaitForOptions().setState(WaitForSelectorState.VISIBLE).setTimeout(10000);
+
+        Locator.WaitForOptions copy = (Locator.WaitForOptions) WaitProfiler.withTimeout(options, 2700);
+        WaitProfiler.withTimeout(options, 2700);
+
+        assertNotSame(options, copy);
+        assertEquals(2700, copy.timeout);
+        assertEquals(WaitForSelectorState.VISIBLE, copy.state);
+        assertEquals(10000, options.timeout);
+    }
+}
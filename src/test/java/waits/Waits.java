@@ -0,0 +1,160 @@
+package waits;
+
+import com.microsoft.playwright.Dialog;
+import com.microsoft.playwright.Locator;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.Request;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+
+/**
+ * Ожидания для Page Object, которые завершаются, как только наступило событие, вместо фиксированной паузы.
+ * Каждое ожидание подписывается на событие до действия, поэтому событие, наступившее сразу после действия,
+ * не теряется:
+ * - {@link #domChange(Locator, String, Runnable, Duration)} - изменение DOM внутри элемента (MutationObserver)
+ * - {@link #until(Locator, String, Duration)} - выполнение условия для элемента, проверяемого в странице
+ * - {@link #networkIdle(Page, Predicate, Duration, Duration, Runnable)} - завершение запросов к выбранным адресам
+ * - {@link #dialog(Page, Runnable, Duration)} - появление диалога alert/confirm/prompt
+ *
+ * @since 2026-10-18
+ */
+public final class Waits {
+    /**
+     * Наблюдатель изменений: проверяет условие при каждом изменении DOM внутри {@code root} и разрешает обещание
+     * числом изменений, когда условие выполнено, или отклоняет его по таймауту. Условие вписывается в текст
+     * скрипта, а не строится через {@code new Function}, чтобы ожидание работало на страницах с CSP.
+     */
+    private static final String OBSERVE = """
+            (root, condition, timeout, checkNow) => new Promise((resolve, reject) => {
+                if (checkNow && condition()) {
+                    resolve(0);
+                    return;
+                }
+                let mutations = 0;
+                const observer = new MutationObserver(() => {
+                    mutations++;
+                    if (condition()) {
+                        observer.disconnect();
+                        clearTimeout(timer);
+                        resolve(mutations);
+                    }
+                });
+                const timer = setTimeout(() => {
+                    observer.disconnect();
+                    reject(new Error('Условие не выполнено за ' + timeout + ' мс: ' + condition));
+                }, timeout);
+                observer.observe(root, {attributes: true, childList: true, subtree: true, characterData: true});
+            })
+            """;
+
+    private Waits() {
+    }
+
+    /**
+     * Выполняет действие и ждет изменения DOM внутри элемента. Наблюдатель ставится до действия,
+     * результат приходит одним ответом браузера, без опроса.
+     *
+     * @param root      элемент, внутри которого ожидается изменение
+     * @param condition JavaScript-функция от элемента ({@code root => ...}), которая должна стать истинной
+     *                  после очередного изменения; null - достаточно любого изменения
+     * @param action    действие, вызывающее изменение
+     * @param timeout   наибольшее время ожидания
+     */
+    public static void domChange(Locator root, String condition, Runnable action, Duration timeout) {
+        String predicate = condition == null ? "() => true" : "() => (" + condition + ")(root)";
+        // Тело в фигурных скобках: обещание, возвращенное из evaluate, Playwright дождался бы до действия
+        root.evaluate("root => { root.__waitsMutation = (" + OBSERVE + ")(root, " + predicate + ", "
+                + timeout.toMillis() + ", false); }");
+        action.run();
+        root.evaluate("root => root.__waitsMutation");
+    }
+
+    /**
+     * Ждет, пока условие для элемента станет истинным. Условие проверяется в странице сразу и затем
+     * после каждого изменения документа, отмеченного MutationObserver; ожидание занимает один запрос к браузеру,
+     * ответ на который приходит, когда условие выполнено. В отличие от {@code page.waitForCondition},
+     * который опрашивает условие из Java, протокол браузера на время ожидания не загружается.
+     *
+     * @param element   элемент, передаваемый в условие
+     * @param condition JavaScript-функция от элемента ({@code el => ...}), например {@code el => !el.disabled}
+     * @param timeout   наибольшее время ожидания
+     * @return число изменений DOM, после которых проверялось условие; 0, если оно выполнялось сразу
+     * @throws com.microsoft.playwright.PlaywrightException если условие не выполнилось за отведенное время
+     */
+    public static int until(Locator element, String condition, Duration timeout) {
+        Object mutations = element.evaluate("el => (" + OBSERVE + ")(el.ownerDocument, () => (" + condition
+                + ")(el), " + timeout.toMillis() + ", true)");
+        return ((Number) mutations).intValue();
+    }
+
+    /**
+     * Выполняет действие и ждет, пока запросы к выбранным адресам завершатся и новых не будет в течение паузы.
+     * Другие запросы страницы (аналитика, долгие соединения) на ожидание не влияют.
+     *
+     * @param page    страница
+     * @param urls    адреса, запросы к которым учитываются
+     * @param quiet   время без активности учитываемых запросов
+     * @param timeout наибольшее время ожидания
+     * @param action  действие, порождающее запросы
+     */
+    public static void networkIdle(Page page, Predicate<String> urls, Duration quiet, Duration timeout,
+                                   Runnable action) {
+        Set<Request> inFlight = ConcurrentHashMap.newKeySet();
+        AtomicLong lastActivity = new AtomicLong(System.nanoTime());
+        Consumer<Request> started = request -> {
+            if (urls.test(request.url())) {
+                inFlight.add(request);
+                lastActivity.set(System.nanoTime());
+            }
+        };
+        Consumer<Request> finished = request -> {
+            if (inFlight.remove(request)) {
+                lastActivity.set(System.nanoTime());
+            }
+        };
+        page.onRequest(started);
+        page.onRequestFinished(finished);
+        page.onRequestFailed(finished);
+        try {
+            action.run();
+            page.waitForCondition(() -> inFlight.isEmpty() && System.nanoTime() - lastActivity.get() >= quiet.toNanos(),
+                    new Page.WaitForConditionOptions().setTimeout(timeout.toMillis()));
+        } finally {
+            page.offRequest(started);
+            page.offRequestFinished(finished);
+            page.offRequestFailed(finished);
+        }
+    }
+
+    /**
+     * Выполняет действие, ждет диалога, принимает его и возвращает текст.
+     *
+     * @param page    страница
+     * @param action  действие, открывающее диалог
+     * @param timeout наибольшее время ожидания
+     * @return текст диалога
+     */
+    public static String dialog(Page page, Runnable action, Duration timeout) {
+        AtomicReference<String> message = new AtomicReference<>();
+        Consumer<Dialog> handler = dialog -> {
+            message.set(dialog.message());
+            dialog.accept();
+        };
+        page.onceDialog(handler);
+        try {
+            action.run();
+            page.waitForCondition(() -> message.get() != null,
+                    new Page.WaitForConditionOptions().setTimeout(timeout.toMillis()));
+            return message.get();
+        } finally {
+            page.offDialog(handler);
+        }
+    }
+}
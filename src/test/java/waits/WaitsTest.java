@@ -0,0 +1,91 @@
+package waits;
+
+import browserpool.BrowserPoolExtension;
+import com.microsoft.playwright.Locator;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.PlaywrightException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+/**
+ * Тестовый класс для проверки ожидания изменений DOM ({@link Waits#domChange}) в браузере
+ * на странице, заданной через {@code setContent}.
+ *
+ * @since 2026-10-18
+ */
+@ExtendWith(BrowserPoolExtension.class)
+public class WaitsTest {
+    private static final String CONTENT = """
+            <div id="list"></div>
+            <script>
+                function add(text) {
+                    const item = document.createElement('p');
+                    item.textContent = text;
+                    document.getElementById('list').appendChild(item);
+                }
+            </script>
+            """;
+
+    private Page page;
+
+    @BeforeEach
+    void setUp(Page page) {
+        this.page = page;
+        page.setContent(CONTENT);
+    }
+
+    /**
+     * Проверяет ожидание любого изменения:
+     * 1. Действие выполняется сразу, а не после ожидания
+     * 2. Ожидание завершается по изменению, задолго до таймаута
+     */
+    @Test
+    void testActionRunsBeforeWaitAndChangeEndsIt() {
+        Locator list = page.locator("#list");
+        AtomicBoolean ran = new AtomicBoolean();
+        long start = System.nanoTime();
+
+        Waits.domChange(list, null, () -> {
+            ran.set(true);
+            page.evaluate("add('first')");
+        }, Duration.ofSeconds(10));
+
+        long millis = (System.nanoTime() - start) / 1_000_000;
+        assertTrue(ran.get());
+        assertTrue(millis < 5000, "Ожидание заняло " + millis + " мс");
+        assertEquals(1, list.locator("p").count());
+    }
+
+    /**
+     * Проверяет ожидание условия: изменения, после которых условие ложно, ожидание не завершают.
+     */
+    @Test
+    void testWaitEndsWhenConditionHolds() {
+        Locator list = page.locator("#list");
+
+        Waits.domChange(list, "root => root.children.length === 3",
+                () -> page.evaluate("add('a'); setTimeout(() => add('b'), 100); setTimeout(() => add('c'), 200)"),
+                Duration.ofSeconds(10));
+
+        assertEquals(3, list.locator("p").count());
+    }
+
+    /**
+     * Проверяет, что без изменений DOM ожидание завершается ошибкой по таймауту.
+     */
+    @Test
+    void testNoChangeFailsAfterTimeout() {
+        Locator list = page.locator("#list");
+
+        PlaywrightException error = assertThrows(PlaywrightException.class,
+                () -> Waits.domChange(list, null, () -> { }, Duration.ofMillis(300)));
+        assertTrue(error.getMessage().contains("300"), error.getMessage());
+    }
+}
@@ -0,0 +1,7 @@
+// Подсветка ссылок подвала, как в общем скрипте the-internet; на проверки тестов не влияет
+document.addEventListener('DOMContentLoaded', function () {
+  var links = document.querySelectorAll('#page-footer a');
+  for (var i = 0; i < links.length; i++) {
+    links[i].setAttribute('rel', 'noopener');
+  }
+});
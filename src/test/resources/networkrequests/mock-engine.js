@@ -0,0 +1,60 @@
+// Отвечает на fetch и XMLHttpRequest страницы статическими моками без обращения к Java.
+// Определения подставляет MockRegistry: [{regex, status, headers, body}], последний совпавший мок главнее.
+(() => {
+    const mocks = __MOCKS__.map(mock => ({...mock, pattern: new RegExp(mock.regex)}));
+    const engine = window.__mockEngine = {hits: 0};
+
+    const find = url => {
+        const absolute = new URL(url, location.href).href;
+        for (let i = mocks.length - 1; i >= 0; i--) {
+            if (mocks[i].pattern.test(absolute)) {
+                return mocks[i];
+            }
+        }
+        return null;
+    };
+
+    const nativeFetch = window.fetch;
+    window.fetch = function (input, init) {
+        const mock = find(input instanceof Request ? input.url : String(input));
+        if (!mock) {
+            return nativeFetch.apply(this, arguments);
+        }
+        engine.hits++;
+        return Promise.resolve(new Response(mock.status === 204 ? null : mock.body,
+            {status: mock.status, headers: mock.headers}));
+    };
+
+    const open = XMLHttpRequest.prototype.open;
+    const send = XMLHttpRequest.prototype.send;
+    XMLHttpRequest.prototype.open = function (method, url) {
+        this.__mock = find(String(url));
+        this.__mockUrl = String(url);
+        return open.apply(this, arguments);
+    };
+    XMLHttpRequest.prototype.send = function () {
+        const mock = this.__mock;
+        if (!mock) {
+            return send.apply(this, arguments);
+        }
+        engine.hits++;
+        const headers = Object.entries(mock.headers);
+        const define = (name, value) => Object.defineProperty(this, name, {configurable: true, value});
+        define('readyState', 4);
+        define('status', mock.status);
+        define('statusText', '');
+        define('responseText', mock.body);
+        define('response', this.responseType === 'json' ? JSON.parse(mock.body) : mock.body);
+        define('responseURL', new URL(this.__mockUrl, location.href).href);
+        define('getResponseHeader', name => {
+            const header = headers.find(([key]) => key.toLowerCase() === String(name).toLowerCase());
+            return header ? header[1] : null;
+        });
+        define('getAllResponseHeaders', () => headers.map(([key, value]) => key + ': ' + value + '\r\n').join(''));
+        setTimeout(() => {
+            for (const type of ['readystatechange', 'load', 'loadend']) {
+                this.dispatchEvent(new Event(type));
+            }
+        });
+    };
+})();